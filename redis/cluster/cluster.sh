@@ -0,0 +1,64 @@
+#!/usr/bin/env bash
+# 로컬 Redis Cluster (master 3, replica 3) 를 redis-server 프로세스로 실행합니다.
+#
+#   ./redis/cluster/cluster.sh start    # 노드 실행 및 cluster 생성
+#   ./redis/cluster/cluster.sh status   # CLUSTER NODES 출력
+#   ./redis/cluster/cluster.sh stop     # 노드 종료
+#   ./redis/cluster/cluster.sh clean    # 종료 후 데이터(nodes.conf, rdb, aof) 삭제
+#
+# 환경 변수 : CLUSTER_HOST(127.0.0.1), CLUSTER_PORT(7000), CLUSTER_NODES(6), CLUSTER_REPLICAS(1)
+set -euo pipefail
+
+HOST=${CLUSTER_HOST:-127.0.0.1}
+PORT=${CLUSTER_PORT:-7000}
+NODES=${CLUSTER_NODES:-6}
+REPLICAS=${CLUSTER_REPLICAS:-1}
+DIR="$(cd "$(dirname "$0")" && pwd)/data"
+
+ports() {
+  seq "$PORT" $((PORT + NODES - 1))
+}
+
+start() {
+  for port in $(ports); do
+    mkdir -p "$DIR/$port"
+    redis-server \
+      --port "$port" \
+      --bind "$HOST" \
+      --cluster-enabled yes \
+      --cluster-config-file nodes.conf \
+      --cluster-node-timeout 5000 \
+      --appendonly yes \
+      --dir "$DIR/$port" \
+      --logfile "$DIR/$port/redis.log" \
+      --daemonize yes
+  done
+
+  for port in $(ports); do
+    until redis-cli -h "$HOST" -p "$port" ping >/dev/null 2>&1; do sleep 0.1; done
+  done
+
+  if redis-cli -h "$HOST" -p "$PORT" cluster info | grep -q "cluster_state:ok"; then
+    echo "cluster already created"
+  else
+    # shellcheck disable=SC2046
+    redis-cli --cluster create $(for port in $(ports); do printf "%s:%s " "$HOST" "$port"; done) \
+      --cluster-replicas "$REPLICAS" --cluster-yes
+  fi
+  until redis-cli -h "$HOST" -p "$PORT" cluster info | grep -q "cluster_state:ok"; do sleep 0.2; done
+  echo "cluster ready : $HOST:$PORT ~ $((PORT + NODES - 1))"
+}
+
+stop() {
+  for port in $(ports); do
+    redis-cli -h "$HOST" -p "$port" shutdown nosave >/dev/null 2>&1 || true
+  done
+}
+
+case "${1:-start}" in
+  start) start ;;
+  stop) stop ;;
+  status) redis-cli -h "$HOST" -p "$PORT" cluster nodes ;;
+  clean) stop; rm -rf "$DIR" ;;
+  *) echo "usage: $0 {start|stop|status|clean}" >&2; exit 1 ;;
+esac
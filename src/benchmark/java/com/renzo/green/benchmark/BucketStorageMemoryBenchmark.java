@@ -0,0 +1,197 @@
+package com.renzo.green.benchmark;
+
+import com.renzo.green.persistence.RedisDataPersistence;
+import com.renzo.green.serializer.BucketEntrySerializer;
+import com.renzo.green.serializer.RedisDataPersistenceSerializer;
+import com.renzo.green.service.BucketedStorage;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.ScriptOutputType;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.async.RedisAsyncCommands;
+import io.lettuce.core.codec.ByteArrayCodec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 같은 데이터를 key 별 string(JSON codec, BINARY codec)과 hash bucket 으로 저장했을 때의 Redis 메모리 사용량을 비교합니다.
+ * <p>
+ * 저장 형식마다 database 를 FLUSHDB 한 뒤 keyCount 개를 기록하고 INFO memory 의 used_memory 증가량을 측정합니다.
+ * 기록하는 bytes 는 애플리케이션의 serializer(RedisDataPersistenceSerializer, BucketEntrySerializer)로 만듭니다.
+ * <p>
+ * bucket field 는 TTL 이 없어 만료되어도 Redis 가 회수하지 않으므로, 이미 만료된 값을 기록한 경우(bucketed-expired)와
+ * 그 값을 모두 조회하여 BucketedStorage 가 만료 field 를 삭제(scripts/prune-bucket.lua)한 뒤(bucketed-expired-read)의
+ * 사용량도 함께 측정합니다.
+ * <b>지정한 database(기본 15)의 데이터는 삭제되므로</b> 전용 redis-server 또는 사용하지 않는 database 를 지정합니다.
+ * <pre>
+ * ./gradlew bucketMemoryBenchmark -PkeyCount=1000000 -PvalueSize=16 -PredisPort=6379 -Pdatabase=15
+ * </pre>
+ * 결과(key 당 bytes, 100만 key 당 절감량)는 build/reports/benchmark/bucket-memory.json 에 기록됩니다.
+ */
+@Slf4j
+public class BucketStorageMemoryBenchmark {
+
+    private static final String KEY_PREFIX = "green:benchmark:";
+    private static final String BUCKET_PREFIX = "green:bucket:";
+    private static final int ENTRIES_PER_BUCKET = 100;
+    private static final int PIPELINE_SIZE = 1000;
+    private static final Pattern USED_MEMORY = Pattern.compile("used_memory:(\\d+)");
+
+    public static void main(String[] args) throws Exception {
+        int keyCount = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int valueSize = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+        int redisPort = args.length > 2 ? Integer.parseInt(args[2]) : 6379;
+        int database = args.length > 3 ? Integer.parseInt(args[3]) : 15;
+        Path output = Path.of(args.length > 4 ? args[4] : "build/reports/benchmark/bucket-memory.json");
+        int buckets = Math.max(1, keyCount / ENTRIES_PER_BUCKET);
+
+        var json = new GenericJackson2JsonRedisSerializer();
+        var jsonCodec = new RedisDataPersistenceSerializer(json, false);
+        var binaryCodec = new RedisDataPersistenceSerializer(json, true);
+        String value = "v".repeat(valueSize);
+
+        RedisClient client = RedisClient.create(RedisURI.builder()
+                .withHost("localhost")
+                .withPort(redisPort)
+                .withDatabase(database)
+                .build());
+        List<Result> results = new ArrayList<>();
+        try (StatefulRedisConnection<byte[], byte[]> connection = client.connect(ByteArrayCodec.INSTANCE)) {
+            var commands = connection.async();
+            results.add(measure("flat-json", keyCount, connection, i -> {
+                String key = KEY_PREFIX + i;
+                return commands.set(bytes(key), jsonCodec.serialize(persistence(key, value)));
+            }));
+            results.add(measure("flat-binary", keyCount, connection, i -> {
+                String key = KEY_PREFIX + i;
+                return commands.set(bytes(key), binaryCodec.serialize(persistence(key, value)));
+            }));
+            results.add(measure("bucketed", keyCount, connection, i -> {
+                String key = KEY_PREFIX + i;
+                return commands.hset(bytes(BucketedStorage.bucketKey(key, BUCKET_PREFIX, buckets)), bytes(key),
+                        BucketEntrySerializer.serialize(persistence(key, value), 0));
+            }));
+            String encoding = commands.objectEncoding(
+                    bytes(BucketedStorage.bucketKey(KEY_PREFIX + 0, BUCKET_PREFIX, buckets))).get();
+            log.info("Bucket encoding : {} ({} buckets)", encoding, buckets);
+
+            // 만료 시각 1(epoch 초)은 이미 지났으므로 모든 field 가 만료된 값입니다.
+            Result expired = measure("bucketed-expired", keyCount, connection, i -> {
+                String key = KEY_PREFIX + i;
+                return commands.hset(bytes(BucketedStorage.bucketKey(key, BUCKET_PREFIX, buckets)), bytes(key),
+                        BucketEntrySerializer.serialize(persistence(key, value), 1));
+            });
+            results.add(expired);
+            String pruneScript = new ClassPathResource("scripts/prune-bucket.lua").getContentAsString(StandardCharsets.UTF_8);
+            long beforePrune = usedMemory(commands);
+            pipeline(keyCount, connection, i -> {
+                String key = KEY_PREFIX + i;
+                return commands.eval(pruneScript, ScriptOutputType.INTEGER,
+                        new byte[][]{bytes(BucketedStorage.bucketKey(key, BUCKET_PREFIX, buckets))},
+                        bytes(key), BucketEntrySerializer.serialize(persistence(key, value), 1));
+            });
+            long reclaimed = beforePrune - usedMemory(commands);
+            results.add(new Result("bucketed-expired-read", expired.usedBytes() - reclaimed,
+                    (double) (expired.usedBytes() - reclaimed) / keyCount));
+            log.info("Expired bucket fields : {} bytes held until read, {} bytes reclaimed on read",
+                    expired.usedBytes(), reclaimed);
+            commands.flushdb().get();
+        } finally {
+            client.shutdown();
+        }
+
+        double baseline = results.get(0).bytesPerKey();
+        results.forEach(result -> log.info("{} : {} bytes/key, saved {} MB per million keys vs flat-json",
+                result.layout(), format(result.bytesPerKey()), format(baseline - result.bytesPerKey())));
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        Files.writeString(output, "[" + String.join(",", results.stream()
+                .map(result -> result.toJson(keyCount, valueSize, baseline))
+                .toList()) + "]");
+        log.info("Benchmark report : {}", output.toAbsolutePath());
+    }
+
+    /**
+     * database 를 비우고 keyCount 개를 pipeline 으로 기록한 뒤 used_memory 증가량을 측정합니다.
+     */
+    private static Result measure(String layout, int keyCount, StatefulRedisConnection<byte[], byte[]> connection,
+                                  IntFunction<RedisFuture<?>> write) throws Exception {
+        RedisAsyncCommands<byte[], byte[]> commands = connection.async();
+        commands.flushdb().get();
+        long before = usedMemory(commands);
+
+        pipeline(keyCount, connection, write);
+
+        long after = usedMemory(commands);
+        var result = new Result(layout, after - before, (double) (after - before) / keyCount);
+        log.info("{} : {} keys, {} bytes", layout, keyCount, after - before);
+        return result;
+    }
+
+    /**
+     * keyCount 개의 command 를 PIPELINE_SIZE 단위 pipeline 으로 실행합니다.
+     */
+    private static void pipeline(int keyCount, StatefulRedisConnection<byte[], byte[]> connection,
+                                 IntFunction<RedisFuture<?>> write) throws Exception {
+        connection.setAutoFlushCommands(false);
+        try {
+            List<RedisFuture<?>> futures = new ArrayList<>(PIPELINE_SIZE);
+            for (int i = 0; i < keyCount; i++) {
+                futures.add(write.apply(i));
+                if (futures.size() >= PIPELINE_SIZE || i == keyCount - 1) {
+                    connection.flushCommands();
+                    for (RedisFuture<?> future : futures) {
+                        future.get(10, TimeUnit.SECONDS);
+                    }
+                    futures.clear();
+                }
+            }
+        } finally {
+            connection.setAutoFlushCommands(true);
+        }
+    }
+
+    private static long usedMemory(RedisAsyncCommands<byte[], byte[]> commands) throws Exception {
+        Matcher matcher = USED_MEMORY.matcher(commands.info("memory").get());
+        if (!matcher.find()) {
+            throw new IllegalStateException("INFO memory has no used_memory");
+        }
+        return Long.parseLong(matcher.group(1));
+    }
+
+    private static RedisDataPersistence persistence(String key, String value) {
+        return RedisDataPersistence.builder().key(key).value(value).build();
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.1f", value);
+    }
+
+    /**
+     * bytes/key 는 100만 key 당 MB(10^6 bytes) 와 같은 값입니다.
+     */
+    private record Result(String layout, long usedBytes, double bytesPerKey) {
+        String toJson(int keyCount, int valueSize, double baselineBytesPerKey) {
+            return String.format(Locale.ROOT, "{\"layout\":\"%s\",\"keyCount\":%d,\"valueSize\":%d,\"usedBytes\":%d,"
+                            + "\"bytesPerKey\":%.1f,\"mbPerMillionKeys\":%.1f,\"savedMbPerMillionKeysVsFlatJson\":%.1f}",
+                    layout, keyCount, valueSize, usedBytes, bytesPerKey, bytesPerKey,
+                    baselineBytesPerKey - bytesPerKey);
+        }
+    }
+}
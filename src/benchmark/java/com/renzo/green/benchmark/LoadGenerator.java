@@ -0,0 +1,523 @@
+package com.renzo.green.benchmark;
+
+import com.renzo.green.GreenApplication;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * REST API(RedisController -> RedisService -> Lettuce) 전체 경로의 부하 테스트 도구입니다.
+ * <ul>
+ *     <li>open : rate(req/s) 로 정해진 시각에 요청을 보냅니다. 지연시간은 예정 시각부터 측정하므로
+ *     응답이 밀려도 요청이 함께 늦춰지지 않습니다. (coordinated omission 보정)</li>
+ *     <li>closed : concurrency 개의 client 가 응답을 받는 즉시 다음 요청을 보냅니다.
+ *     warm-up 의 평균 지연시간을 기대 간격으로 HdrHistogram 의 recordValueWithExpectedInterval 보정을 적용합니다.</li>
+ * </ul>
+ * key 는 uniform 또는 zipfian 분포로 선택하며, readRatio 비율로 GET /register/{key}, 나머지는 POST /register 를 호출합니다.
+ * <p>
+ * url 을 지정하지 않으면 애플리케이션을 random port 로 기동합니다. redisPort 를 지정하면 localhost 의 redis-server 를,
+ * 아니면 In-Process RESP stand-in 을 사용합니다. "--" 로 시작하는 인자는 애플리케이션 설정으로 전달됩니다.
+ * <pre>
+ * ./gradlew loadTest -Pload.args="mode=open rate=5000 durationSec=30 distribution=zipfian readRatio=0.9"
+ * ./gradlew loadTest -Pload.args="mode=closed concurrency=256 baseline=build/reports/load/baseline.json"
+ * </pre>
+ * 결과는 report(기본 build/reports/load/load-test.json)와 같은 이름의 .hgrm(percentile 분포)으로 기록됩니다.
+ * baseline 이 지정되면 처리량과 p99 를 비교하여 tolerance 를 넘게 나빠졌거나, 오류율/drop 비율이 baseline 보다 높아진 경우
+ * exit code 1 로 종료합니다.
+ * <p>
+ * open 모드에서 maxInFlight 때문에 보내지 못한(dropped) 요청은 응답 시간을 측정할 수 없어 histogram 이 실제보다 좋게 나오므로,
+ * dropped 가 하나라도 있으면 baseline 과 관계없이 exit code 1 로 종료합니다. (maxInFlight 또는 rate 를 조정합니다.)
+ */
+@Slf4j
+public class LoadGenerator {
+
+    private static final String KEY_PREFIX = "green:load:";
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        List<String> applicationArgs = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--")) {
+                applicationArgs.add(arg);
+            } else if (arg.contains("=")) {
+                options.put(arg.substring(0, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        var config = Config.of(options);
+        log.info("Load test : {}", config);
+
+        Result result;
+        if (config.url() != null) {
+            result = run(config, config.url());
+        } else {
+            try (RespStandInServer standIn = config.redisPort() == null ? RespStandInServer.start() : null;
+                 ConfigurableApplicationContext context = startApplication(
+                         standIn != null ? standIn.getPort() : config.redisPort(), applicationArgs)) {
+                result = run(config, "http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+            }
+        }
+
+        Files.createDirectories(config.report().toAbsolutePath().getParent());
+        Files.writeString(config.report(), result.toJson());
+        Path hgrm = Path.of(config.report().toString().replaceFirst("\\.json$", "") + ".hgrm");
+        try (PrintStream out = new PrintStream(Files.newOutputStream(hgrm))) {
+            out.println("# read (corrected, milliseconds)");
+            result.read().outputPercentileDistribution(out, 1000.0);
+            out.println("# write (corrected, milliseconds)");
+            result.write().outputPercentileDistribution(out, 1000.0);
+        }
+        log.info("{}", result.toJson());
+        log.info("Load test report : {}, {}", config.report().toAbsolutePath(), hgrm.toAbsolutePath());
+
+        if (result.dropped() > 0) {
+            log.error("### Load Test Invalid !!! ::: {} requests dropped by maxInFlight={}, latency histogram is incomplete",
+                    result.dropped(), config.maxInFlight());
+            System.exit(1);
+        }
+        if (config.baseline() != null && !compare(config, result)) {
+            System.exit(1);
+        }
+    }
+
+    private static ConfigurableApplicationContext startApplication(int redisPort, List<String> applicationArgs) {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--spring.data.redis.host=localhost",
+                "--spring.data.redis.port=" + redisPort,
+                "--spring.data.redis.replica.nodes[0].host=localhost",
+                "--spring.data.redis.replica.nodes[0].port=" + redisPort));
+        args.addAll(applicationArgs);
+        return new SpringApplicationBuilder(GreenApplication.class).run(args.toArray(String[]::new));
+    }
+
+    private static Result run(Config config, String baseUrl) throws Exception {
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .executor(clients)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            var target = new Target(httpClient, baseUrl, config);
+            target.preload();
+
+            // warm-up 결과는 closed loop 의 기대 간격 계산에만 사용합니다.
+            Measurement warmup = measure(config, target, clients, Duration.ofSeconds(config.warmupSec()), 0);
+            long expectedIntervalMicros = (long) warmup.read().getMean();
+
+            Measurement measurement = measure(config, target, clients, Duration.ofSeconds(config.durationSec()),
+                    expectedIntervalMicros);
+            return new Result(config, measurement);
+        }
+    }
+
+    private static Measurement measure(Config config, Target target, ExecutorService clients, Duration duration,
+                                       long expectedIntervalMicros) throws Exception {
+        var measurement = new Measurement();
+        long started = System.nanoTime();
+        long deadline = started + duration.toNanos();
+        if (config.mode() == Mode.OPEN) {
+            openLoop(config, target, measurement, started, deadline);
+        } else {
+            closedLoop(config, target, clients, measurement, deadline, expectedIntervalMicros);
+        }
+        measurement.finish(System.nanoTime() - started);
+        return measurement;
+    }
+
+    /**
+     * i 번째 요청을 started + i * interval 에 보냅니다. 발송 thread 가 늦어져도 지연시간은 예정 시각부터 측정합니다.
+     * 처리되지 않은 요청이 maxInFlight 를 넘으면 보내지 않고 dropped 로 기록합니다.
+     * dropped 요청은 응답 시간이 없으므로 결과를 무효로 처리합니다. ({@link #main})
+     */
+    private static void openLoop(Config config, Target target, Measurement measurement, long started, long deadline) {
+        double intervalNanos = 1_000_000_000d / config.rate();
+        var inFlight = new Semaphore(config.maxInFlight());
+        for (long i = 0; ; i++) {
+            long intended = started + (long) (i * intervalNanos);
+            if (intended >= deadline) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (!inFlight.tryAcquire()) {
+                measurement.dropped.increment();
+                continue;
+            }
+            boolean read = target.nextIsRead();
+            long sent = System.nanoTime();
+            target.sendAsync(read).whenComplete((status, e) -> {
+                long completed = System.nanoTime();
+                measurement.record(read, completed - intended, completed - sent, e == null && status < 300);
+                inFlight.release();
+            });
+        }
+        // 진행 중인 요청이 끝날 때까지 기다립니다.
+        inFlight.acquireUninterruptibly(config.maxInFlight());
+    }
+
+    private static void closedLoop(Config config, Target target, ExecutorService clients, Measurement measurement,
+                                   long deadline, long expectedIntervalMicros) throws Exception {
+        List<Future<?>> futures = new ArrayList<>(config.concurrency());
+        for (int i = 0; i < config.concurrency(); i++) {
+            futures.add(clients.submit(() -> {
+                while (System.nanoTime() < deadline) {
+                    boolean read = target.nextIsRead();
+                    long start = System.nanoTime();
+                    boolean success;
+                    try {
+                        success = target.send(read) < 300;
+                    } catch (IOException e) {
+                        success = false;
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    long latency = System.nanoTime() - start;
+                    measurement.record(read, latency, latency, success, expectedIntervalMicros);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+    }
+
+    /**
+     * 처리량과 read p99 는 tolerance 까지 나빠지는 것을 허용합니다.
+     * 오류율과 drop 비율은 baseline 비율의 (1 + tolerance) 배를 넘으면 실패이며, baseline 이 0 이면 하나만 있어도 실패입니다.
+     * 오류가 늘면 빠르게 실패한 응답 때문에 처리량과 p99 가 오히려 좋아 보일 수 있기 때문입니다.
+     */
+    private static boolean compare(Config config, Result result) throws IOException {
+        String baseline = Files.readString(config.baseline());
+        double baseThroughput = number(baseline, "throughput");
+        double baseP99 = number(baseline, "readP99Millis");
+        double baseAttempted = number(baseline, "requests") + number(baseline, "dropped");
+        double baseErrorRate = baseAttempted == 0 ? 0 : number(baseline, "errors") / baseAttempted;
+        double baseDropRate = baseAttempted == 0 ? 0 : number(baseline, "dropped") / baseAttempted;
+        double throughputChange = (result.throughput() - baseThroughput) / baseThroughput;
+        double p99Change = (result.readP99Millis() - baseP99) / baseP99;
+        boolean errorsPassed = result.errorRate() <= baseErrorRate * (1 + config.tolerance());
+        boolean dropsPassed = result.dropRate() <= baseDropRate * (1 + config.tolerance());
+        boolean passed = throughputChange >= -config.tolerance() && p99Change <= config.tolerance()
+                && errorsPassed && dropsPassed;
+        log.info("Baseline {} : throughput {} -> {} ({}), read p99 {}ms -> {}ms ({}), error rate {} -> {}, "
+                        + "drop rate {} -> {} => {}", config.baseline(),
+                format(baseThroughput), format(result.throughput()), percent(throughputChange),
+                format(baseP99), format(result.readP99Millis()), percent(p99Change),
+                percent(baseErrorRate), percent(result.errorRate()), percent(baseDropRate), percent(result.dropRate()),
+                passed ? "PASS" : "REGRESSION");
+        return passed;
+    }
+
+    private static double number(String json, String field) {
+        Matcher matcher = Pattern.compile("\"" + field + "\":([0-9.Ee+-]+)").matcher(json);
+        if (!matcher.find()) {
+            throw new IllegalArgumentException("Baseline has no " + field);
+        }
+        return Double.parseDouble(matcher.group(1));
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+
+    private static String percent(double ratio) {
+        return String.format(Locale.ROOT, "%+.1f%%", ratio * 100);
+    }
+
+    enum Mode {
+        OPEN,
+        CLOSED
+    }
+
+    enum Distribution {
+        UNIFORM,
+        ZIPFIAN
+    }
+
+    record Config(Mode mode, int rate, int concurrency, int maxInFlight, int durationSec, int warmupSec,
+                  int keyCount, Distribution distribution, double zipfTheta, double readRatio, int valueSize,
+                  String url, Integer redisPort, Path report, Path baseline, double tolerance) {
+
+        static Config of(Map<String, String> options) {
+            return new Config(
+                    Mode.valueOf(options.getOrDefault("mode", "open").toUpperCase(Locale.ROOT)),
+                    Integer.parseInt(options.getOrDefault("rate", "2000")),
+                    Integer.parseInt(options.getOrDefault("concurrency", "64")),
+                    Integer.parseInt(options.getOrDefault("maxInFlight", "10000")),
+                    Integer.parseInt(options.getOrDefault("durationSec", "30")),
+                    Integer.parseInt(options.getOrDefault("warmupSec", "5")),
+                    Integer.parseInt(options.getOrDefault("keyCount", "10000")),
+                    Distribution.valueOf(options.getOrDefault("distribution", "uniform").toUpperCase(Locale.ROOT)),
+                    Double.parseDouble(options.getOrDefault("zipfTheta", "0.99")),
+                    Double.parseDouble(options.getOrDefault("readRatio", "0.9")),
+                    Integer.parseInt(options.getOrDefault("valueSize", "100")),
+                    options.get("url"),
+                    options.containsKey("redisPort") ? Integer.valueOf(options.get("redisPort")) : null,
+                    Path.of(options.getOrDefault("report", "build/reports/load/load-test.json")),
+                    options.containsKey("baseline") ? Path.of(options.get("baseline")) : null,
+                    Double.parseDouble(options.getOrDefault("tolerance", "0.1")));
+        }
+    }
+
+    /**
+     * 요청 대상. key 선택과 요청 생성을 담당합니다.
+     */
+    private static final class Target {
+
+        private final HttpClient httpClient;
+        private final String baseUrl;
+        private final Config config;
+        private final ZipfianGenerator zipfian;
+        private final String value;
+
+        private Target(HttpClient httpClient, String baseUrl, Config config) {
+            this.httpClient = httpClient;
+            this.baseUrl = baseUrl;
+            this.config = config;
+            this.zipfian = config.distribution() == Distribution.ZIPFIAN
+                    ? new ZipfianGenerator(config.keyCount(), config.zipfTheta())
+                    : null;
+            this.value = "v".repeat(config.valueSize());
+        }
+
+        boolean nextIsRead() {
+            return ThreadLocalRandom.current().nextDouble() < config.readRatio();
+        }
+
+        private String nextKey() {
+            long index = zipfian != null ? zipfian.next() : ThreadLocalRandom.current().nextInt(config.keyCount());
+            return KEY_PREFIX + index;
+        }
+
+        private HttpRequest request(boolean read) {
+            String key = nextKey();
+            if (read) {
+                return HttpRequest.newBuilder(URI.create(baseUrl + "/register/" + key)).GET().build();
+            }
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/register"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"key\":\"" + key + "\",\"value\":\"" + value + "\"}"))
+                    .build();
+        }
+
+        int send(boolean read) throws IOException, InterruptedException {
+            return httpClient.send(request(read), HttpResponse.BodyHandlers.discarding()).statusCode();
+        }
+
+        CompletableFuture<Integer> sendAsync(boolean read) {
+            return httpClient.sendAsync(request(read), HttpResponse.BodyHandlers.discarding())
+                    .thenApply(HttpResponse::statusCode);
+        }
+
+        /**
+         * 조회 요청이 404 가 되지 않도록 모든 key 를 batch 로 등록합니다.
+         */
+        void preload() throws IOException, InterruptedException {
+            int batchSize = 500;
+            for (int from = 0; from < config.keyCount(); from += batchSize) {
+                StringBuilder body = new StringBuilder("[");
+                for (int i = from; i < Math.min(config.keyCount(), from + batchSize); i++) {
+                    if (i > from) {
+                        body.append(',');
+                    }
+                    body.append("{\"key\":\"").append(KEY_PREFIX).append(i)
+                            .append("\",\"value\":\"").append(value).append("\"}");
+                }
+                body.append(']');
+                httpClient.send(HttpRequest.newBuilder(URI.create(baseUrl + "/register/batch"))
+                                .header("Content-Type", "application/json")
+                                .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                                .build(),
+                        HttpResponse.BodyHandlers.discarding());
+            }
+        }
+    }
+
+    /**
+     * YCSB 의 ZipfianGenerator 와 같은 방식(Gray et al., "Quickly Generating Billion-Record Synthetic Databases")으로
+     * 0 ~ items-1 을 선택합니다. 0 이 가장 자주 선택됩니다.
+     */
+    static final class ZipfianGenerator {
+
+        private final long items;
+        private final double theta;
+        private final double zetaN;
+        private final double alpha;
+        private final double eta;
+
+        ZipfianGenerator(long items, double theta) {
+            this.items = items;
+            this.theta = theta;
+            this.zetaN = zeta(items, theta);
+            double zeta2 = zeta(2, theta);
+            this.alpha = 1.0 / (1.0 - theta);
+            this.eta = (1 - Math.pow(2.0 / items, 1 - theta)) / (1 - zeta2 / zetaN);
+        }
+
+        private static double zeta(long n, double theta) {
+            double sum = 0;
+            for (long i = 1; i <= n; i++) {
+                sum += 1 / Math.pow(i, theta);
+            }
+            return sum;
+        }
+
+        long next() {
+            double u = ThreadLocalRandom.current().nextDouble();
+            double uz = u * zetaN;
+            if (uz < 1.0) {
+                return 0;
+            }
+            if (uz < 1.0 + Math.pow(0.5, theta)) {
+                return 1;
+            }
+            return Math.min(items - 1, (long) (items * Math.pow(eta * u - eta + 1, alpha)));
+        }
+    }
+
+    /**
+     * 요청 종류별 HdrHistogram(µs). corrected 는 coordinated omission 보정값, uncorrected 는 실제 응답 시간입니다.
+     */
+    private static final class Measurement {
+
+        private final Recorder read = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+        private final Recorder write = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+        private final Recorder uncorrected = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+        private final LongAdder completed = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+        private Histogram readHistogram;
+        private Histogram writeHistogram;
+        private Histogram uncorrectedHistogram;
+        private long elapsedNanos;
+
+        void record(boolean isRead, long correctedNanos, long uncorrectedNanos, boolean success) {
+            record(isRead, correctedNanos, uncorrectedNanos, success, 0);
+        }
+
+        void record(boolean isRead, long correctedNanos, long uncorrectedNanos, boolean success,
+                    long expectedIntervalMicros) {
+            long corrected = Math.min(HIGHEST_TRACKABLE_MICROS, TimeUnit.NANOSECONDS.toMicros(correctedNanos));
+            if (expectedIntervalMicros > 0) {
+                (isRead ? read : write).recordValueWithExpectedInterval(corrected, expectedIntervalMicros);
+            } else {
+                (isRead ? read : write).recordValue(corrected);
+            }
+            if (isRead) {
+                uncorrected.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS, TimeUnit.NANOSECONDS.toMicros(uncorrectedNanos)));
+            }
+            completed.increment();
+            if (!success) {
+                errors.increment();
+            }
+        }
+
+        void finish(long elapsedNanos) {
+            this.elapsedNanos = elapsedNanos;
+            this.readHistogram = read.getIntervalHistogram();
+            this.writeHistogram = write.getIntervalHistogram();
+            this.uncorrectedHistogram = uncorrected.getIntervalHistogram();
+        }
+
+        Histogram read() {
+            return readHistogram;
+        }
+    }
+
+    private record Result(Config config, Measurement measurement) {
+
+        Histogram read() {
+            return measurement.readHistogram;
+        }
+
+        Histogram write() {
+            return measurement.writeHistogram;
+        }
+
+        /**
+         * 실제 완료된 요청 수. (보정으로 histogram 에 추가된 값은 포함하지 않습니다.)
+         */
+        long requests() {
+            return measurement.completed.sum();
+        }
+
+        double throughput() {
+            return requests() / (measurement.elapsedNanos / 1_000_000_000d);
+        }
+
+        long dropped() {
+            return measurement.dropped.sum();
+        }
+
+        /**
+         * 보내려고 한 요청(완료 + dropped) 중 실패한 요청의 비율
+         */
+        double errorRate() {
+            long attempted = requests() + dropped();
+            return attempted == 0 ? 0 : (double) measurement.errors.sum() / attempted;
+        }
+
+        double dropRate() {
+            long attempted = requests() + dropped();
+            return attempted == 0 ? 0 : (double) dropped() / attempted;
+        }
+
+        double readP99Millis() {
+            return read().getValueAtPercentile(99) / 1000d;
+        }
+
+        String toJson() {
+            Histogram read = read();
+            Histogram write = write();
+            Histogram uncorrected = measurement.uncorrectedHistogram;
+            return String.format(Locale.ROOT, "{\"mode\":\"%s\",\"rate\":%d,\"concurrency\":%d,"
+                            + "\"distribution\":\"%s\",\"keyCount\":%d,\"readRatio\":%.2f,\"durationSec\":%d,"
+                            + "\"requests\":%d,\"errors\":%d,\"dropped\":%d,\"errorRate\":%.6f,\"dropRate\":%.6f,"
+                            + "\"throughput\":%.1f,"
+                            + "\"readP50Millis\":%.3f,\"readP99Millis\":%.3f,\"readP999Millis\":%.3f,\"readMaxMillis\":%.3f,"
+                            + "\"writeP50Millis\":%.3f,\"writeP99Millis\":%.3f,\"writeP999Millis\":%.3f,"
+                            + "\"readUncorrectedP99Millis\":%.3f}",
+                    config.mode(), config.rate(), config.concurrency(), config.distribution(), config.keyCount(),
+                    config.readRatio(), config.durationSec(), requests(), measurement.errors.sum(),
+                    dropped(), errorRate(), dropRate(), throughput(),
+                    read.getValueAtPercentile(50) / 1000d, read.getValueAtPercentile(99) / 1000d,
+                    read.getValueAtPercentile(99.9) / 1000d, read.getMaxValue() / 1000d,
+                    write.getValueAtPercentile(50) / 1000d, write.getValueAtPercentile(99) / 1000d,
+                    write.getValueAtPercentile(99.9) / 1000d,
+                    uncorrected.getValueAtPercentile(99) / 1000d);
+        }
+    }
+}
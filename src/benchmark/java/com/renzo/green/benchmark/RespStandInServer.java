@@ -0,0 +1,238 @@
+package com.renzo.green.benchmark;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Benchmark 용 In-Process RESP2 서버 입니다.
+ * redis-server 없이 Lettuce 의 연결/직렬화/pipeline 경로를 측정하기 위해 사용하며,
+ * 실제 Redis 의 지연 특성(single thread, 메모리 관리 등)은 재현하지 않습니다.
+ * <p>
+ * 지원 command : PING, GET, SET, MGET, MSET, DEL, EXISTS, ROLE, INFO, PUBLISH, SELECT, CLIENT, AUTH
+ * (HELLO 는 ERR 로 응답하여 Lettuce 가 RESP2 로 동작하도록 합니다.)
+ */
+@Slf4j
+public class RespStandInServer implements AutoCloseable {
+
+    private final ServerSocket serverSocket;
+    private final Map<String, byte[]> store = new ConcurrentHashMap<>();
+    private volatile boolean running = true;
+
+    private RespStandInServer(ServerSocket serverSocket) {
+        this.serverSocket = serverSocket;
+    }
+
+    /**
+     * 사용 가능한 임의 port 로 서버를 시작합니다.
+     */
+    public static RespStandInServer start() throws IOException {
+        var server = new RespStandInServer(new ServerSocket(0, 1024, InetAddress.getLoopbackAddress()));
+        Thread.ofPlatform().name("resp-stand-in-acceptor").daemon().start(server::accept);
+        log.info("RESP stand-in started : {}", server.getPort());
+        return server;
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public int size() {
+        return store.size();
+    }
+
+    private void accept() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                Thread.ofVirtual().start(() -> serve(socket));
+            } catch (IOException e) {
+                if (running) {
+                    log.warn("RESP stand-in accept error : {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket;
+             InputStream in = new BufferedInputStream(socket.getInputStream(), 64 * 1024);
+             OutputStream out = new BufferedOutputStream(socket.getOutputStream(), 64 * 1024)) {
+            while (running) {
+                List<byte[]> command = readCommand(in);
+                execute(command, out);
+                // pipeline 으로 들어온 command 는 모아서 한 번에 응답합니다.
+                if (in.available() == 0) {
+                    out.flush();
+                }
+            }
+        } catch (EOFException | SocketException e) {
+            // client closed
+        } catch (IOException e) {
+            log.warn("RESP stand-in connection error : {}", e.getMessage());
+        }
+    }
+
+    private List<byte[]> readCommand(InputStream in) throws IOException {
+        int type = in.read();
+        if (type == -1) {
+            throw new EOFException();
+        }
+        if (type != '*') {
+            throw new IOException("Unsupported RESP type : " + (char) type);
+        }
+        int count = (int) readLong(in);
+        List<byte[]> args = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            if (in.read() != '$') {
+                throw new IOException("Expected bulk string");
+            }
+            int length = (int) readLong(in);
+            byte[] arg = in.readNBytes(length);
+            if (arg.length != length) {
+                throw new EOFException();
+            }
+            in.skipNBytes(2);
+            args.add(arg);
+        }
+        return args;
+    }
+
+    private long readLong(InputStream in) throws IOException {
+        long value = 0;
+        boolean negative = false;
+        int b;
+        while ((b = in.read()) != '\r') {
+            if (b == -1) {
+                throw new EOFException();
+            }
+            if (b == '-') {
+                negative = true;
+            } else {
+                value = value * 10 + (b - '0');
+            }
+        }
+        in.read(); // \n
+        return negative ? -value : value;
+    }
+
+    private void execute(List<byte[]> args, OutputStream out) throws IOException {
+        String name = new String(args.get(0), StandardCharsets.US_ASCII).toUpperCase();
+        switch (name) {
+            case "PING" -> writeSimple(out, "PONG");
+            case "GET" -> writeBulk(out, store.get(key(args.get(1))));
+            case "SET" -> {
+                store.put(key(args.get(1)), args.get(2));
+                writeSimple(out, "OK");
+            }
+            case "MGET" -> {
+                writeArrayHeader(out, args.size() - 1);
+                for (int i = 1; i < args.size(); i++) {
+                    writeBulk(out, store.get(key(args.get(i))));
+                }
+            }
+            case "MSET" -> {
+                for (int i = 1; i + 1 < args.size(); i += 2) {
+                    store.put(key(args.get(i)), args.get(i + 1));
+                }
+                writeSimple(out, "OK");
+            }
+            case "DEL" -> {
+                long removed = 0;
+                for (int i = 1; i < args.size(); i++) {
+                    removed += store.remove(key(args.get(i))) == null ? 0 : 1;
+                }
+                writeInteger(out, removed);
+            }
+            case "EXISTS" -> {
+                long exists = 0;
+                for (int i = 1; i < args.size(); i++) {
+                    exists += store.containsKey(key(args.get(i))) ? 1 : 0;
+                }
+                writeInteger(out, exists);
+            }
+            case "ROLE" -> {
+                writeArrayHeader(out, 3);
+                writeBulk(out, "master".getBytes(StandardCharsets.US_ASCII));
+                writeInteger(out, 0);
+                writeArrayHeader(out, 0);
+            }
+            case "INFO" -> writeBulk(out, "# Replication\r\nrole:master\r\nconnected_slaves:0\r\n"
+                    .getBytes(StandardCharsets.US_ASCII));
+            case "PUBLISH" -> writeInteger(out, 0);
+            case "SELECT", "CLIENT", "AUTH", "FLUSHALL", "FLUSHDB" -> {
+                if (name.startsWith("FLUSH")) {
+                    store.clear();
+                }
+                writeSimple(out, "OK");
+            }
+            default -> writeError(out, "ERR unknown command '" + name + "'");
+        }
+    }
+
+    private static String key(byte[] key) {
+        return new String(key, StandardCharsets.ISO_8859_1);
+    }
+
+    private static void writeSimple(OutputStream out, String value) throws IOException {
+        out.write('+');
+        out.write(value.getBytes(StandardCharsets.US_ASCII));
+        writeCrlf(out);
+    }
+
+    private static void writeError(OutputStream out, String message) throws IOException {
+        out.write('-');
+        out.write(message.getBytes(StandardCharsets.US_ASCII));
+        writeCrlf(out);
+    }
+
+    private static void writeInteger(OutputStream out, long value) throws IOException {
+        out.write(':');
+        out.write(Long.toString(value).getBytes(StandardCharsets.US_ASCII));
+        writeCrlf(out);
+    }
+
+    private static void writeArrayHeader(OutputStream out, int size) throws IOException {
+        out.write('*');
+        out.write(Integer.toString(size).getBytes(StandardCharsets.US_ASCII));
+        writeCrlf(out);
+    }
+
+    private static void writeBulk(OutputStream out, byte[] value) throws IOException {
+        if (value == null) {
+            out.write("$-1\r\n".getBytes(StandardCharsets.US_ASCII));
+            return;
+        }
+        out.write('$');
+        out.write(Integer.toString(value.length).getBytes(StandardCharsets.US_ASCII));
+        writeCrlf(out);
+        out.write(value);
+        writeCrlf(out);
+    }
+
+    private static void writeCrlf(OutputStream out) throws IOException {
+        out.write('\r');
+        out.write('\n');
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        serverSocket.close();
+    }
+}
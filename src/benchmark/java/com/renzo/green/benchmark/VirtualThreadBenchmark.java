@@ -0,0 +1,177 @@
+package com.renzo.green.benchmark;
+
+import com.renzo.green.GreenApplication;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Platform thread 모드와 Virtual thread 모드(spring.threads.virtual.enabled)의
+ * 처리량과 p50/p99/p999 지연시간을 비교합니다.
+ * <p>
+ * 각 모드마다 애플리케이션을 random port 로 기동하고, 고정 동시성(closed loop)으로 GET /register/{key} 를 호출합니다.
+ * localhost:6379 의 redis-server 가 필요합니다.
+ * <pre>
+ * ./gradlew virtualThreadBenchmark -Pconcurrency=2000 -PdurationSec=30
+ * </pre>
+ * 결과는 build/reports/benchmark/virtual-thread.json 에 기록됩니다.
+ */
+@Slf4j
+public class VirtualThreadBenchmark {
+
+    private static final String KEY_PREFIX = "green:benchmark:";
+
+    public static void main(String[] args) throws Exception {
+        int concurrency = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int durationSec = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        int keyCount = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+        Path output = Path.of(args.length > 3 ? args[3] : "build/reports/benchmark/virtual-thread.json");
+
+        List<Result> results = new ArrayList<>();
+        for (boolean virtual : new boolean[]{false, true}) {
+            results.add(run(virtual, concurrency, durationSec, keyCount));
+        }
+
+        results.forEach(result -> log.info("{}", result));
+        Files.createDirectories(output.getParent());
+        Files.writeString(output, "[" + String.join(",", results.stream().map(Result::toJson).toList()) + "]");
+        log.info("Benchmark report : {}", output.toAbsolutePath());
+    }
+
+    private static Result run(boolean virtual, int concurrency, int durationSec, int keyCount) throws Exception {
+        String mode = virtual ? "virtual" : "platform";
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(GreenApplication.class)
+                .run("--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtual,
+                        "--spring.data.redis.near-cache.enabled=false");
+             ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .executor(clients)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            preload(httpClient, baseUrl, keyCount);
+
+            // warm-up
+            load(httpClient, clients, baseUrl, concurrency, keyCount, System.nanoTime() + Duration.ofSeconds(5).toNanos());
+
+            long started = System.nanoTime();
+            Recorder recorder = load(httpClient, clients, baseUrl, concurrency, keyCount,
+                    started + Duration.ofSeconds(durationSec).toNanos());
+            long elapsed = System.nanoTime() - started;
+            return recorder.toResult(mode, concurrency, elapsed);
+        }
+    }
+
+    private static void preload(HttpClient httpClient, String baseUrl, int keyCount) throws IOException, InterruptedException {
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < keyCount; i++) {
+            if (i > 0) {
+                body.append(',');
+            }
+            body.append("{\"key\":\"").append(KEY_PREFIX).append(i).append("\",\"value\":\"value-").append(i).append("\"}");
+        }
+        body.append(']');
+        httpClient.send(HttpRequest.newBuilder(URI.create(baseUrl + "/register/batch"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                        .build(),
+                HttpResponse.BodyHandlers.discarding());
+    }
+
+    private static Recorder load(HttpClient httpClient, ExecutorService clients, String baseUrl,
+                                 int concurrency, int keyCount, long deadline) throws Exception {
+        List<Future<Recorder>> futures = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            futures.add(clients.submit(() -> {
+                Recorder recorder = new Recorder();
+                while (System.nanoTime() < deadline) {
+                    var request = HttpRequest.newBuilder(URI.create(baseUrl + "/register/" + KEY_PREFIX
+                            + ThreadLocalRandom.current().nextInt(keyCount))).GET().build();
+                    long start = System.nanoTime();
+                    try {
+                        var response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                        recorder.record(System.nanoTime() - start, response.statusCode() == 200);
+                    } catch (IOException e) {
+                        recorder.record(System.nanoTime() - start, false);
+                    }
+                }
+                return recorder;
+            }));
+        }
+        Recorder total = new Recorder();
+        for (Future<Recorder> future : futures) {
+            total.merge(future.get());
+        }
+        return total;
+    }
+
+    private static final class Recorder {
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+
+        void record(long latencyNanos, boolean success) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+            if (!success) {
+                errors++;
+            }
+        }
+
+        void merge(Recorder other) {
+            if (count + other.count > latencies.length) {
+                latencies = Arrays.copyOf(latencies, count + other.count);
+            }
+            System.arraycopy(other.latencies, 0, latencies, count, other.count);
+            count += other.count;
+            errors += other.errors;
+        }
+
+        Result toResult(String mode, int concurrency, long elapsedNanos) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return new Result(mode, concurrency, count, errors,
+                    count / (elapsedNanos / 1_000_000_000d),
+                    percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 0.999));
+        }
+
+        private static double percentile(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1_000_000d;
+        }
+    }
+
+    private record Result(String mode, int concurrency, long requests, long errors, double throughput,
+                          double p50Millis, double p99Millis, double p999Millis) {
+
+        String toJson() {
+            return String.format(Locale.ROOT, "{\"mode\":\"%s\",\"concurrency\":%d,\"requests\":%d,\"errors\":%d,"
+                            + "\"throughput\":%.1f,\"p50Millis\":%.3f,\"p99Millis\":%.3f,\"p999Millis\":%.3f}",
+                    mode, concurrency, requests, errors, throughput, p50Millis, p99Millis, p999Millis);
+        }
+    }
+}
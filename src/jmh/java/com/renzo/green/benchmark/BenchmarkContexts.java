@@ -0,0 +1,46 @@
+package com.renzo.green.benchmark;
+
+import com.renzo.green.GreenApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JMH State 에서 사용할 애플리케이션 Context 를 기동합니다.
+ * -Dbenchmark.redis.port 가 지정되면 localhost 의 redis-server 를, 아니면 In-Process RESP stand-in 을 사용합니다.
+ */
+final class BenchmarkContexts {
+
+    private BenchmarkContexts() {
+    }
+
+    static RespStandInServer startStandInIfNeeded() throws IOException {
+        return System.getProperty("benchmark.redis.port") == null ? RespStandInServer.start() : null;
+    }
+
+    static int redisPort(RespStandInServer standIn) {
+        return standIn != null ? standIn.getPort() : Integer.getInteger("benchmark.redis.port");
+    }
+
+    /**
+     * application.yml 보다 우선 적용되도록 command line argument 로 전달합니다.
+     */
+    static ConfigurableApplicationContext start(int redisPort, String... properties) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.main.web-application-type=none",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--spring.data.redis.host=localhost",
+                "--spring.data.redis.port=" + redisPort,
+                "--spring.data.redis.replica.nodes[0].host=localhost",
+                "--spring.data.redis.replica.nodes[0].port=" + redisPort,
+                "--spring.data.redis.near-cache.enabled=false"));
+        for (String property : properties) {
+            args.add("--" + property);
+        }
+        return new SpringApplicationBuilder(GreenApplication.class).run(args.toArray(String[]::new));
+    }
+}
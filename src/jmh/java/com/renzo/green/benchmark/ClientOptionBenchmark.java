@@ -0,0 +1,76 @@
+package com.renzo.green.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * (c) ClientOptionFactory / Pool 구성(pooled vs shared native connection, tcpNoDelay)에 따른
+ * RedisTemplate GET/SET 비용을 비교합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(8)
+public class ClientOptionBenchmark {
+
+    private static final String KEY = "green:benchmark:client-option";
+
+    @Param({"true", "false"})
+    public boolean poolEnabled;
+
+    @Param({"true", "false"})
+    public boolean shareNativeConnection;
+
+    @Param({"true", "false"})
+    public boolean tcpNoDelay;
+
+    private RespStandInServer standIn;
+    private ConfigurableApplicationContext context;
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        standIn = BenchmarkContexts.startStandInIfNeeded();
+        context = BenchmarkContexts.start(BenchmarkContexts.redisPort(standIn),
+                "spring.data.redis.pool.enabled=" + poolEnabled,
+                "spring.data.redis.pool.max-active=8",
+                "spring.data.redis.pool.max-idle=8",
+                "spring.data.redis.pool.min-idle=8",
+                "spring.data.redis.share-native-connection=" + shareNativeConnection,
+                "spring.data.redis.client-options.socket-options.tcp-no-delay=" + tcpNoDelay);
+        redisTemplate = context.getBean("redisTemplate", RedisTemplate.class);
+        redisTemplate.opsForValue().set(KEY, "green_val");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        context.close();
+        if (standIn != null) {
+            standIn.close();
+        }
+    }
+
+    @Benchmark
+    public Object get() {
+        return redisTemplate.opsForValue().get(KEY);
+    }
+
+    @Benchmark
+    public void set() {
+        redisTemplate.opsForValue().set(KEY, "green_val");
+    }
+}
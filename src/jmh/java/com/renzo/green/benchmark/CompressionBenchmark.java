@@ -0,0 +1,110 @@
+package com.renzo.green.benchmark;
+
+import com.renzo.green.persistence.RedisDataPersistence;
+import com.renzo.green.serializer.CompressingRedisSerializer;
+import com.renzo.green.serializer.RedisDataPersistenceSerializer;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CompressingRedisSerializer 의 압축/해제 CPU 비용과 압축률을 측정합니다.
+ * <ul>
+ *     <li>payload=json : 반복 구조가 많은 JSON 문자열 (압축 효과가 큰 경우)</li>
+ *     <li>payload=random : 난수 hex 문자열 (압축 효과가 작은 경우)</li>
+ *     <li>threshold=MAX : 압축하지 않는 기준값</li>
+ * </ul>
+ * 압축률은 결과의 rawBytes / storedBytes (AuxCounters) 로 확인합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CompressionBenchmark {
+
+    @Param({"json", "random"})
+    public String payload;
+
+    @Param({"1024", "16384"})
+    public int valueSize;
+
+    @Param({"0", "MAX"})
+    public String threshold;
+
+    @Param({"1", "6"})
+    public int level;
+
+    private RedisSerializer<Object> codec;
+    private RedisSerializer<Object> serializer;
+    private RedisDataPersistence persistence;
+    private byte[] serialized;
+    private int rawSize;
+
+    @Setup
+    public void setUp() {
+        codec = new RedisDataPersistenceSerializer(new GenericJackson2JsonRedisSerializer(), true);
+        serializer = new CompressingRedisSerializer(codec,
+                "MAX".equals(threshold) ? Integer.MAX_VALUE : Integer.parseInt(threshold), level, null);
+        persistence = RedisDataPersistence.builder()
+                .key("green:renzo:code")
+                .value(payload(payload, valueSize))
+                .build();
+        serialized = serializer.serialize(persistence);
+        rawSize = codec.serialize(persistence).length;
+    }
+
+    private static String payload(String kind, int size) {
+        var builder = new StringBuilder(size + 64);
+        if ("random".equals(kind)) {
+            var random = new Random(42);
+            while (builder.length() < size) {
+                builder.append(Long.toHexString(random.nextLong()));
+            }
+        } else {
+            for (int i = 0; builder.length() < size; i++) {
+                builder.append("{\"id\":").append(i)
+                        .append(",\"zone\":\"zone-").append(i % 16)
+                        .append("\",\"status\":\"ACTIVE\",\"tags\":[\"green\",\"renzo\"]},");
+            }
+        }
+        builder.setLength(size);
+        return builder.toString();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Sizes {
+        public long rawBytes;
+        public long storedBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            rawBytes = 0;
+            storedBytes = 0;
+        }
+    }
+
+    @Benchmark
+    public byte[] serialize(Sizes sizes) {
+        byte[] bytes = serializer.serialize(persistence);
+        sizes.rawBytes += rawSize;
+        sizes.storedBytes += bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return serializer.deserialize(serialized);
+    }
+}
@@ -0,0 +1,71 @@
+package com.renzo.green.benchmark;
+
+import com.renzo.green.cache.HotKeyDetector;
+import com.renzo.green.config.RedisCacheProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HotKeyDetector.record 의 조회당 비용을 측정합니다.
+ * -prof gc 로 실행하면 gc.alloc.rate.norm 이 0 B/op 인지 확인할 수 있습니다.
+ * <ul>
+ *     <li>skewed : 소수의 key 에 조회가 집중되어 topK 갱신(lock) 경로를 타는 경우</li>
+ *     <li>uniform : key 가 고르게 분포되어 sketch 만 갱신하는 경우</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(4)
+public class HotKeyDetectorBenchmark {
+
+    private static final int KEY_COUNT = 1 << 16;
+
+    @Param({"skewed", "uniform"})
+    public String distribution;
+
+    @Param({"1", "16"})
+    public int sampleRate;
+
+    private HotKeyDetector detector;
+    private String[] keys;
+
+    @Setup
+    public void setUp() {
+        var properties = new RedisCacheProperties();
+        properties.getHotKey().setEnabled(true);
+        properties.getHotKey().setSampleRate(sampleRate);
+        detector = new HotKeyDetector(properties);
+        keys = new String[KEY_COUNT];
+        for (int i = 0; i < KEY_COUNT; i++) {
+            // String.hashCode 를 미리 계산해 둡니다. (요청 key 도 첫 hashCode 호출 이후에는 캐시됩니다.)
+            keys[i] = ("green:renzo:" + ("skewed".equals(distribution) ? i % 8 : i)).intern();
+            keys[i].hashCode();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int index;
+    }
+
+    @Benchmark
+    public void record(Cursor cursor) {
+        detector.record(keys[cursor.index++ & (KEY_COUNT - 1)]);
+    }
+
+    @TearDown
+    public void tearDown() {
+        detector.close();
+    }
+}
@@ -0,0 +1,77 @@
+package com.renzo.green.benchmark;
+
+import com.renzo.green.persistence.RedisDataPersistence;
+import com.renzo.green.service.RedisService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * (b) RedisService register / retrieve 의 처리량과 지연시간 분포(SampleTime)를 측정합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(4)
+public class RedisServiceBenchmark {
+
+    private static final String KEY_PREFIX = "green:benchmark:";
+
+    @Param({"json", "binary"})
+    public String codec;
+
+    @Param({"1000"})
+    public int keyCount;
+
+    private RespStandInServer standIn;
+    private ConfigurableApplicationContext context;
+    private RedisService redisService;
+    private RedisDataPersistence[] persistences;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        standIn = BenchmarkContexts.startStandInIfNeeded();
+        context = BenchmarkContexts.start(BenchmarkContexts.redisPort(standIn),
+                "spring.data.redis.codec=" + codec);
+        redisService = context.getBean(RedisService.class);
+
+        persistences = new RedisDataPersistence[keyCount];
+        for (int i = 0; i < keyCount; i++) {
+            persistences[i] = RedisDataPersistence.builder()
+                    .key(KEY_PREFIX + i)
+                    .value("value-" + i)
+                    .build();
+            redisService.registerData(persistences[i]);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        context.close();
+        if (standIn != null) {
+            standIn.close();
+        }
+    }
+
+    @Benchmark
+    public void register() {
+        redisService.registerData(persistences[ThreadLocalRandom.current().nextInt(keyCount)]);
+    }
+
+    @Benchmark
+    public RedisDataPersistence retrieve() {
+        return redisService.retrieveData(persistences[ThreadLocalRandom.current().nextInt(keyCount)].getKey());
+    }
+}
@@ -0,0 +1,61 @@
+package com.renzo.green.benchmark;
+
+import com.renzo.green.persistence.RedisDataPersistence;
+import com.renzo.green.serializer.RedisDataPersistenceSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * (a) RedisConfig.redisValueSerializer 와 동일하게 구성한 Serializer 의 RedisDataPersistence round trip 비용을 측정합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SerializerBenchmark {
+
+    @Param({"JSON", "BINARY"})
+    public String codec;
+
+    @Param({"16", "1024"})
+    public int valueSize;
+
+    private RedisSerializer<Object> serializer;
+    private RedisDataPersistence persistence;
+    private byte[] serialized;
+
+    @Setup
+    public void setUp() {
+        serializer = new RedisDataPersistenceSerializer(new GenericJackson2JsonRedisSerializer(),
+                "BINARY".equals(codec));
+        persistence = RedisDataPersistence.builder()
+                .key("green:renzo:code")
+                .value("v".repeat(valueSize))
+                .build();
+        serialized = serializer.serialize(persistence);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(persistence);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return serializer.deserialize(serialized);
+    }
+
+    @Benchmark
+    public Object roundTrip() {
+        return serializer.deserialize(serializer.serialize(persistence));
+    }
+}
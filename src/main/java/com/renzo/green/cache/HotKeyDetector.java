@@ -0,0 +1,310 @@
+package com.renzo.green.cache;
+
+import com.renzo.green.config.RedisCacheProperties;
+import com.renzo.green.dto.HotKeyStats;
+import com.renzo.green.persistence.RedisDataPersistence;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * RedisService 조회 key 중 접근이 집중되는 key(hot key)를 찾습니다.
+ * <p>
+ * 조회를 sampleRate 건당 1건 비율로 sampling 하여 Count-Min Sketch 에 기록하고,
+ * 추정 횟수가 가장 큰 topK 개의 key 를 고정 크기 배열로 유지합니다.
+ * window 마다 topK 중 minRate(초당 조회 수) 이상인 key 를 hot key 로 확정하고 sketch 를 초기화합니다.
+ * <ul>
+ *     <li>기록은 난수 1회, 배열 depth 회 증가로 끝나며 객체를 생성하지 않습니다.
+ *     (String.hashCode 는 String 에 캐시됩니다.)</li>
+ *     <li>topK 포함 여부는 lock 없이 hash 배열로 확인하고, 추정 횟수가 hot 기준과 topK 최소값을 넘은
+ *     새 key 만 lock 을 잡고 topK 에 추가합니다.</li>
+ *     <li>pin 이 활성화되면 hot key 의 값을 pin.ttl 동안 로컬에 보관하여 Redis 를 조회하지 않습니다.
+ *     로컬 변경은 즉시 제거되고, 다른 인스턴스의 변경은 최대 pin.ttl 동안 반영되지 않습니다.</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class HotKeyDetector implements MeterBinder {
+
+    private static final int[] SEEDS = {0x9E3779B1, 0x85EBCA77, 0xC2B2AE3D, 0x27D4EB2F, 0x165667B1, 0xD3A2646C,
+            0xFD7046C5, 0xB55A4F09};
+    private static final int PIN_GENERATION_STRIPES = 1024;
+
+    private final boolean enabled;
+    private final int sampleMask;
+    private final int sampleRate;
+    private final int depth;
+    private final int width;
+    private final long windowMillis;
+    private final long minCount;
+    private final AtomicLongArray sketch;
+
+    private final String[] topKeys;
+    private final int[] topHashes;
+    private volatile long topMin;
+
+    private final boolean pinEnabled;
+    private final long pinTtlNanos;
+    private final Map<String, Pinned> pins = new ConcurrentHashMap<>();
+    private final AtomicLongArray pinGenerations = new AtomicLongArray(PIN_GENERATION_STRIPES);
+    private final LongAdder pinHits = new LongAdder();
+
+    private volatile Map<String, HotKeyStats> hotKeys = Map.of();
+    private final ScheduledExecutorService scheduler;
+
+    private record Pinned(RedisDataPersistence value, long expiresAt) {
+    }
+
+    public HotKeyDetector(RedisCacheProperties cacheProperties) {
+        var properties = cacheProperties.getHotKey();
+        this.enabled = Boolean.TRUE.equals(properties.getEnabled());
+        // sampling 과 index 계산을 mask 로 하기 위해 2 의 거듭제곱으로 맞춥니다.
+        this.sampleRate = powerOfTwo(properties.getSampleRate());
+        this.sampleMask = sampleRate - 1;
+        this.depth = Math.min(properties.getDepth(), SEEDS.length);
+        this.width = powerOfTwo(properties.getWidth());
+        this.windowMillis = properties.getWindow();
+        this.minCount = Math.max(1, (long) (properties.getMinRate() * windowMillis / 1000.0 / sampleRate));
+        this.sketch = new AtomicLongArray(enabled ? depth * width : 0);
+        this.topKeys = new String[properties.getTopK()];
+        this.topHashes = new int[properties.getTopK()];
+        this.pinEnabled = enabled && Boolean.TRUE.equals(properties.getPin().getEnabled());
+        this.pinTtlNanos = TimeUnit.MILLISECONDS.toNanos(properties.getPin().getTtl());
+
+        if (enabled) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                    .name("redis-hot-key-window")
+                    .daemon()
+                    .factory());
+            scheduler.scheduleAtFixedRate(this::roll, windowMillis, windowMillis, TimeUnit.MILLISECONDS);
+        } else {
+            scheduler = null;
+        }
+        log.info("HotKeyDetector enabled : {}, pin : {}", enabled, pinEnabled);
+    }
+
+    private static int powerOfTwo(int value) {
+        return value <= 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 조회를 기록합니다. sampling 된 조회만 sketch 에 반영됩니다.
+     */
+    public void record(String key) {
+        if (!enabled || (ThreadLocalRandom.current().nextInt() & sampleMask) != 0) {
+            return;
+        }
+        int hash = key.hashCode();
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, sketch.incrementAndGet(index(hash, row)));
+        }
+        if (estimate >= minCount && estimate > topMin && !isTracked(key, hash)) {
+            offer(key, hash, estimate);
+        }
+    }
+
+    private int index(int hash, int row) {
+        int h = hash * SEEDS[row];
+        return row * width + ((h ^ (h >>> 16)) & (width - 1));
+    }
+
+    private long estimate(int hash) {
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, sketch.get(index(hash, row)));
+        }
+        return estimate;
+    }
+
+    /**
+     * lock 없이 topK 에 포함되어 있는지 확인합니다. hash 가 같을 때만 equals 를 호출합니다.
+     * 갱신 중인 배열을 읽어 false 가 반환되더라도 offer 에서 다시 확인합니다.
+     */
+    private boolean isTracked(String key, int hash) {
+        for (int i = 0; i < topHashes.length; i++) {
+            if (topHashes[i] == hash && key.equals(topKeys[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * topK 에 없는 key 를 추가합니다. 가득 차 있으면 sketch 기준 추정 횟수가 가장 작은 key 와 교체합니다.
+     * 이미 포함된 key 의 횟수는 sketch 에 있으므로 topK 배열은 key 만 관리합니다.
+     */
+    private synchronized void offer(String key, int hash, long estimate) {
+        int slot = -1;
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < topKeys.length; i++) {
+            if (topKeys[i] == null) {
+                slot = i;
+                min = 0;
+                break;
+            }
+            if (topHashes[i] == hash && key.equals(topKeys[i])) {
+                return;
+            }
+            long count = estimate(topHashes[i]);
+            if (count < min) {
+                min = count;
+                slot = i;
+            }
+        }
+        if (min >= estimate) {
+            topMin = min;
+            return;
+        }
+        topHashes[slot] = hash;
+        topKeys[slot] = key;
+        // 교체된 key 의 횟수는 새 topK 최소값의 하한이므로 filter 기준으로 사용할 수 있습니다.
+        topMin = min;
+    }
+
+    /**
+     * window 의 topK 중 hot 기준을 넘은 key 를 확정하고 sketch 와 topK 를 초기화합니다.
+     */
+    synchronized void roll() {
+        Map<String, HotKeyStats> next = new HashMap<>();
+        for (int i = 0; i < topKeys.length; i++) {
+            long count = topKeys[i] == null ? 0 : estimate(topHashes[i]);
+            if (count >= minCount) {
+                long estimated = count * sampleRate;
+                next.put(topKeys[i], HotKeyStats.builder()
+                        .key(topKeys[i])
+                        .estimatedCount(estimated)
+                        .rate(estimated * 1000.0 / windowMillis)
+                        .build());
+            }
+            topKeys[i] = null;
+            topHashes[i] = 0;
+        }
+        topMin = 0;
+        for (int i = 0; i < sketch.length(); i++) {
+            sketch.set(i, 0);
+        }
+        hotKeys = Map.copyOf(next);
+        pins.keySet().retainAll(next.keySet());
+        if (!next.isEmpty()) {
+            log.debug("HotKeyDetector hot keys : {}", next.keySet());
+        }
+    }
+
+    public boolean isHot(String key) {
+        return hotKeys.containsKey(key);
+    }
+
+    /**
+     * 유효한 pin 이 있으면 값을 반환합니다.
+     */
+    public RedisDataPersistence pinned(String key) {
+        if (!pinEnabled) {
+            return null;
+        }
+        Pinned pinned = pins.get(key);
+        if (pinned == null || System.nanoTime() - pinned.expiresAt() >= 0) {
+            return null;
+        }
+        pinHits.increment();
+        return pinned.value();
+    }
+
+    /**
+     * 조회를 시작하기 전에 기록해 두고 {@link #pin(String, RedisDataPersistence, long)} 에 전달합니다.
+     */
+    public long pinGeneration(String key) {
+        return pinEnabled ? pinGenerations.get(stripe(key)) : 0;
+    }
+
+    /**
+     * hot key 이면 값을 pin.ttl 동안 로컬에 보관합니다.
+     * 조회 중 unpin 된 key 는 이전 값을 읽었을 수 있으므로 보관하지 않습니다. (generation 변경)
+     */
+    public void pin(String key, RedisDataPersistence value, long generation) {
+        if (!pinEnabled || value == null || !isHot(key) || pinGeneration(key) != generation) {
+            return;
+        }
+        Pinned pinned = new Pinned(value, System.nanoTime() + pinTtlNanos);
+        pins.put(key, pinned);
+        // put 과 unpin 이 겹친 경우: unpin 은 generation 을 먼저 올리므로 여기서 제거합니다.
+        if (pinGeneration(key) != generation) {
+            pins.remove(key, pinned);
+        }
+    }
+
+    /**
+     * pin 을 제거하고 generation 을 올려 진행 중인 조회가 이전 값을 pin 하지 않도록 합니다.
+     */
+    public void unpin(String key) {
+        if (pinEnabled) {
+            pinGenerations.incrementAndGet(stripe(key));
+            pins.remove(key);
+        }
+    }
+
+    public void unpin(Collection<String> keys) {
+        if (pinEnabled) {
+            keys.forEach(key -> pinGenerations.incrementAndGet(stripe(key)));
+            if (!pins.isEmpty()) {
+                keys.forEach(pins::remove);
+            }
+        }
+    }
+
+    private static int stripe(String key) {
+        return (key.hashCode() & Integer.MAX_VALUE) % PIN_GENERATION_STRIPES;
+    }
+
+    /**
+     * 직전 window 의 hot key 를 조회 수가 많은 순서로 반환합니다.
+     */
+    public List<HotKeyStats> hotKeys() {
+        List<HotKeyStats> result = new ArrayList<>(hotKeys.size());
+        hotKeys.values().forEach(stats -> result.add(stats.toBuilder().pinned(pins.containsKey(stats.getKey())).build()));
+        result.sort(Comparator.comparingLong(HotKeyStats::getEstimatedCount).reversed());
+        return result;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!enabled) {
+            return;
+        }
+        Gauge.builder("green.redis.hot-key.count", this, detector -> detector.hotKeys.size())
+                .register(registry);
+        Gauge.builder("green.redis.hot-key.pinned", pins, Map::size)
+                .register(registry);
+        FunctionCounter.builder("green.redis.hot-key.pin.hits", pinHits, LongAdder::sum)
+                .register(registry);
+    }
+
+    @PreDestroy
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,453 @@
+package com.renzo.green.cache;
+
+import com.renzo.green.config.RedisCacheProperties;
+import com.renzo.green.persistence.RedisDataPersistence;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32C;
+
+/**
+ * Near Cache(L1) 뒤의 off-heap L2 계층입니다. 직렬화된 RedisDataPersistence 를 memory-mapped 파일에 보관합니다.
+ * <p>
+ * 파일은 header, index, data 영역으로 구성됩니다.
+ * <ul>
+ *     <li>index : key hash, data 위치, 만료 시각, 길이, 상태를 담은 32 bytes slot 의 open addressing(linear probing) 테이블</li>
+ *     <li>data : [전체 길이][key 길이][key][value][CRC32C] record 를 순환(append-only ring) 기록하는 영역.
+ *     256MB({@link #MAX_SEGMENT_SIZE})를 넘는 용량은 256MB segment 여러 개로 나누어 mapping 하며(segment 단위로 올림),
+ *     record 는 segment 경계를 넘지 않습니다. segment 보다 큰 record 는 보관하지 않습니다.</li>
+ * </ul>
+ * data 위치는 계속 증가하는 논리 위치로 저장하므로, 한 바퀴 이상 덮어쓴 record 는 위치만으로 무효를 판단합니다.
+ * 재시작 시 같은 설정의 파일이면 그대로 다시 열어 warm start 하고, 조회할 때 만료 시각과 CRC 를 확인합니다.
+ * <p>
+ * 값은 heap 밖에 있으므로 GC 대상이 아니며, 조회 시에만 value bytes 를 복사하여 역직렬화합니다.
+ * 다른 인스턴스의 변경은 invalidation 채널로 제거되지만, 중단되어 있던 동안의 변경은 ttl 이 지날 때까지 반영되지 않습니다.
+ */
+@Slf4j
+@Component
+public class MappedLocalTier implements MeterBinder {
+
+    private static final int MAGIC = 0x47524C32;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 4096;
+    private static final int SLOT_SIZE = 32;
+    private static final int MAX_PROBE = 64;
+    // MappedByteBuffer 의 int 한도(2GB)보다 작게 나누어 segment 끝에 버려지는 공간을 줄입니다.
+    private static final long MAX_SEGMENT_SIZE = 1L << 28;
+    private static final int MAX_SLOTS = 1 << 25;
+
+    private static final int EMPTY = 0;
+    private static final int USED = 1;
+    private static final int DELETED = 2;
+
+    // header offsets
+    private static final int H_MAGIC = 0;
+    private static final int H_VERSION = 4;
+    private static final int H_SLOTS = 8;
+    private static final int H_SEGMENTS = 12;
+    private static final int H_SEGMENT_SIZE = 16;
+    private static final int H_WRITE_POSITION = 24;
+
+    // slot offsets
+    private static final int S_HASH = 0;
+    private static final int S_POSITION = 8;
+    private static final int S_EXPIRES_AT = 16;
+    private static final int S_LENGTH = 24;
+    private static final int S_STATE = 28;
+
+    private final boolean enabled;
+    private final RedisSerializer<Object> serializer;
+    private final long ttlMillis;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private FileChannel channel;
+    private MappedByteBuffer index;
+    private MappedByteBuffer[] segments;
+    private int slotMask;
+    private long segmentSize;
+    private long capacity;
+    private long writePosition;
+    private volatile long entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public MappedLocalTier(RedisCacheProperties cacheProperties, RedisSerializer<Object> redisValueSerializer) {
+        var properties = cacheProperties.getLocalTier();
+        this.enabled = Boolean.TRUE.equals(properties.getEnabled());
+        this.serializer = redisValueSerializer;
+        this.ttlMillis = properties.getTtl();
+        if (enabled) {
+            open(Path.of(properties.getPath()), properties.getCapacity().toBytes(), properties.getMaxEntries());
+        }
+        log.info("MappedLocalTier enabled : {}", enabled);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    private void open(Path path, long requestedCapacity, long maxEntries) {
+        int slots = (int) Math.min(MAX_SLOTS, Long.highestOneBit(Math.max(2, maxEntries * 2 - 1)) << 1);
+        long size = Math.min(MAX_SEGMENT_SIZE, Math.max(requestedCapacity, 1L << 20));
+        int segmentCount = (int) ((Math.max(requestedCapacity, size) + size - 1) / size);
+        long indexBytes = HEADER_SIZE + (long) slots * SLOT_SIZE;
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            if (channel.size() != indexBytes + size * segmentCount) {
+                // 크기가 다른 파일은 설정이 바뀐 것이므로 비우고 다시 만듭니다. (sparse file)
+                channel.truncate(0);
+                channel.write(ByteBuffer.wrap(new byte[1]), indexBytes + size * segmentCount - 1);
+            }
+            index = channel.map(FileChannel.MapMode.READ_WRITE, 0, indexBytes);
+            segments = new MappedByteBuffer[segmentCount];
+            for (int i = 0; i < segmentCount; i++) {
+                segments[i] = channel.map(FileChannel.MapMode.READ_WRITE, indexBytes + size * i, size);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("MappedLocalTier open failed : " + path, e);
+        }
+        this.slotMask = slots - 1;
+        this.segmentSize = size;
+        this.capacity = size * segmentCount;
+
+        if (index.getInt(H_MAGIC) == MAGIC && index.getInt(H_VERSION) == VERSION
+                && index.getInt(H_SLOTS) == slots && index.getInt(H_SEGMENTS) == segmentCount
+                && index.getLong(H_SEGMENT_SIZE) == size) {
+            writePosition = index.getLong(H_WRITE_POSITION);
+            long now = System.currentTimeMillis();
+            long live = 0;
+            for (int slot = 0; slot <= slotMask; slot++) {
+                if (state(slot) == USED && isLive(slot, now)) {
+                    live++;
+                }
+            }
+            entries = live;
+            log.info("MappedLocalTier reopened : {} ({} entries)", path, entries);
+        } else {
+            clearIndex();
+            index.putInt(H_MAGIC, MAGIC);
+            index.putInt(H_VERSION, VERSION);
+            index.putInt(H_SLOTS, slots);
+            index.putInt(H_SEGMENTS, segmentCount);
+            index.putLong(H_SEGMENT_SIZE, size);
+            log.info("MappedLocalTier created : {} (capacity {} bytes, {} slots)", path, capacity, slots);
+        }
+    }
+
+    public RedisDataPersistence get(String key) {
+        if (!enabled) {
+            return null;
+        }
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        byte[] value;
+        lock.readLock().lock();
+        try {
+            int slot = find(keyBytes, hash(keyBytes));
+            value = slot < 0 ? null : readValue(slot, keyBytes.length);
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (value == null) {
+            misses.increment();
+            return null;
+        }
+        try {
+            var persistence = (RedisDataPersistence) serializer.deserialize(value);
+            hits.increment();
+            return persistence;
+        } catch (Exception e) {
+            log.error("### MappedLocalTier Deserialize Error !!! ::: {}", e.getMessage());
+            invalidate(key);
+            misses.increment();
+            return null;
+        }
+    }
+
+    public void put(String key, RedisDataPersistence persistence) {
+        if (!enabled) {
+            return;
+        }
+        if (persistence == null) {
+            invalidate(key);
+            return;
+        }
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        byte[] value = serializer.serialize(persistence);
+        if (value == null || 12L + keyBytes.length + value.length > segmentSize) {
+            return;
+        }
+        long length = 12L + keyBytes.length + value.length;
+        long hash = hash(keyBytes);
+        long now = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            long position = append(keyBytes, value, (int) length);
+            int slot = slotFor(keyBytes, hash, now);
+            if (state(slot) != USED || !isLive(slot, now)) {
+                entries++;
+            }
+            int base = slotOffset(slot);
+            index.putLong(base + S_HASH, hash);
+            index.putLong(base + S_POSITION, position);
+            index.putLong(base + S_EXPIRES_AT, now + ttlMillis);
+            index.putInt(base + S_LENGTH, (int) length);
+            index.putInt(base + S_STATE, USED);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void invalidate(String key) {
+        if (!enabled) {
+            return;
+        }
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        lock.writeLock().lock();
+        try {
+            int slot = find(keyBytes, hash(keyBytes));
+            if (slot >= 0) {
+                index.putInt(slotOffset(slot) + S_STATE, DELETED);
+                entries--;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void invalidate(Collection<String> keys) {
+        if (enabled) {
+            keys.forEach(this::invalidate);
+        }
+    }
+
+    public void invalidateAll() {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            clearIndex();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 유효한 엔트리 개수의 추정치입니다. 만료되었거나 순환 기록으로 덮어쓴 엔트리는 slot 이 재사용될 때 빠집니다.
+     */
+    public long size() {
+        return entries;
+    }
+
+    /**
+     * 유효한 key 의 slot 을 찾습니다. 없으면 -1 입니다.
+     */
+    private int find(byte[] keyBytes, long hash) {
+        long now = System.currentTimeMillis();
+        int home = (int) hash & slotMask;
+        for (int probe = 0; probe < MAX_PROBE; probe++) {
+            int slot = (home + probe) & slotMask;
+            int state = state(slot);
+            if (state == EMPTY) {
+                return -1;
+            }
+            if (state == USED && index.getLong(slotOffset(slot) + S_HASH) == hash && keyEquals(slot, keyBytes)) {
+                return isLive(slot, now) ? slot : -1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 기록할 slot 을 찾습니다. 같은 key 의 slot, 첫 번째 빈/삭제/만료 slot 순서로 사용하고,
+     * MAX_PROBE 안에 없으면 home slot 을 덮어씁니다.
+     */
+    private int slotFor(byte[] keyBytes, long hash, long now) {
+        int home = (int) hash & slotMask;
+        int free = -1;
+        for (int probe = 0; probe < MAX_PROBE; probe++) {
+            int slot = (home + probe) & slotMask;
+            int state = state(slot);
+            if (state == EMPTY) {
+                return free >= 0 ? free : slot;
+            }
+            if (state == USED && index.getLong(slotOffset(slot) + S_HASH) == hash && keyEquals(slot, keyBytes)) {
+                return slot;
+            }
+            if (free < 0 && (state == DELETED || !isLive(slot, now))) {
+                free = slot;
+            }
+        }
+        if (free >= 0) {
+            return free;
+        }
+        evictions.increment();
+        return home;
+    }
+
+    /**
+     * data 영역에 record 를 기록하고 논리 위치를 반환합니다.
+     */
+    private long append(byte[] keyBytes, byte[] value, int length) {
+        long offset = writePosition % capacity;
+        if (offset % segmentSize + length > segmentSize) {
+            // segment 끝에 남은 공간은 건너뜁니다.
+            writePosition += segmentSize - offset % segmentSize;
+            offset = writePosition % capacity;
+        }
+        MappedByteBuffer segment = segments[(int) (offset / segmentSize)];
+        int at = (int) (offset % segmentSize);
+        var crc = new CRC32C();
+        crc.update(keyBytes);
+        crc.update(value);
+        segment.putInt(at, length);
+        segment.putInt(at + 4, keyBytes.length);
+        segment.put(at + 8, keyBytes);
+        segment.put(at + 8 + keyBytes.length, value);
+        segment.putInt(at + length - 4, (int) crc.getValue());
+
+        long position = writePosition;
+        writePosition += length;
+        index.putLong(H_WRITE_POSITION, writePosition);
+        return position;
+    }
+
+    private boolean isLive(int slot, long now) {
+        int base = slotOffset(slot);
+        long position = index.getLong(base + S_POSITION);
+        return index.getLong(base + S_EXPIRES_AT) > now
+                && position >= 0 && position < writePosition
+                && position + capacity >= writePosition;
+    }
+
+    private boolean keyEquals(int slot, byte[] keyBytes) {
+        int base = slotOffset(slot);
+        long position = index.getLong(base + S_POSITION);
+        int length = index.getInt(base + S_LENGTH);
+        if (position < 0 || length < 12 + keyBytes.length || length > segmentSize) {
+            return false;
+        }
+        long offset = position % capacity;
+        MappedByteBuffer segment = segments[(int) (offset / segmentSize)];
+        int at = (int) (offset % segmentSize);
+        if (at + length > segmentSize || segment.getInt(at + 4) != keyBytes.length) {
+            return false;
+        }
+        for (int i = 0; i < keyBytes.length; i++) {
+            if (segment.get(at + 8 + i) != keyBytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * value bytes 를 복사하고 CRC 를 확인합니다. 손상된 record 는 null 입니다.
+     */
+    private byte[] readValue(int slot, int keyLength) {
+        int base = slotOffset(slot);
+        long offset = index.getLong(base + S_POSITION) % capacity;
+        int length = index.getInt(base + S_LENGTH);
+        MappedByteBuffer segment = segments[(int) (offset / segmentSize)];
+        int at = (int) (offset % segmentSize);
+        if (segment.getInt(at) != length) {
+            return null;
+        }
+        byte[] record = new byte[length - 12];
+        segment.get(at + 8, record);
+        var crc = new CRC32C();
+        crc.update(record);
+        if ((int) crc.getValue() != segment.getInt(at + length - 4)) {
+            return null;
+        }
+        return Arrays.copyOfRange(record, keyLength, record.length);
+    }
+
+    private int state(int slot) {
+        return index.getInt(slotOffset(slot) + S_STATE);
+    }
+
+    private static int slotOffset(int slot) {
+        return HEADER_SIZE + slot * SLOT_SIZE;
+    }
+
+    private void clearIndex() {
+        for (int slot = 0; slot <= slotMask; slot++) {
+            index.putInt(slotOffset(slot) + S_STATE, EMPTY);
+        }
+        entries = 0;
+    }
+
+    /**
+     * FNV-1a 64bit hash 입니다.
+     */
+    private static long hash(byte[] keyBytes) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : keyBytes) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        return hash ^ (hash >>> 32);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!enabled) {
+            return;
+        }
+        Gauge.builder("green.redis.local-tier.entries", this, MappedLocalTier::size)
+                .register(registry);
+        Gauge.builder("green.redis.local-tier.capacity", this, tier -> tier.capacity)
+                .baseUnit("bytes")
+                .register(registry);
+        FunctionCounter.builder("green.redis.local-tier.gets", hits, LongAdder::sum)
+                .tag("result", "hit").register(registry);
+        FunctionCounter.builder("green.redis.local-tier.gets", misses, LongAdder::sum)
+                .tag("result", "miss").register(registry);
+        FunctionCounter.builder("green.redis.local-tier.evictions", evictions, LongAdder::sum)
+                .register(registry);
+    }
+
+    @PreDestroy
+    public void close() {
+        if (channel == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            index.force();
+            for (MappedByteBuffer segment : segments) {
+                segment.force();
+            }
+            channel.close();
+        } catch (IOException e) {
+            log.error("### MappedLocalTier Close Error !!! ::: {}", e.getMessage());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package com.renzo.green.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.renzo.green.config.RedisCacheProperties;
+import com.renzo.green.metrics.RedisMetrics;
+import com.renzo.green.persistence.RedisDataPersistence;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+/**
+ * RedisService.retrieveData 앞단의 In-Process 캐시 입니다.
+ * Caffeine(W-TinyLFU) 으로 크기를 제한하며, 비활성화 상태에서는 loader 를 그대로 호출합니다.
+ * 키가 덮어써지면 로컬 엔트리를 제거하고 invalidation 채널로 다른 인스턴스에 전파합니다.
+ * <p>
+ * {@link MappedLocalTier} 가 활성화되면 Caffeine(L1) miss 시 L2 를 먼저 조회하고, L2 도 miss 이면 loader 결과를 L2 에 적재합니다.
+ * invalidation 은 두 계층에 모두 반영됩니다.
+ * <p>
+ * loader 가 실행되는 동안 같은 key 가 invalidate 되면 loader 결과는 이전 값일 수 있으므로 L2 에 남기지 않습니다.
+ * key hash 별 generation 을 loader 호출 전에 기록해 두고, 적재 후 generation 이 바뀌었으면 적재한 값을 제거합니다.
+ */
+@Slf4j
+@Component
+public class NearCache implements MeterBinder {
+
+    private static final String KEY_DELIMITER = "\n";
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final AsyncCache<String, RedisDataPersistence> cache;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final String invalidationChannel;
+    private final RedisMetrics redisMetrics;
+    private final MappedLocalTier localTier;
+    /**
+     * key hash 별 invalidation 횟수. 서로 다른 key 가 같은 stripe 를 공유하면 적재를 한 번 더 건너뛸 뿐입니다.
+     */
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+    private final AtomicLong allGeneration = new AtomicLong();
+
+    public NearCache(RedisCacheProperties cacheProperties, StringRedisTemplate stringRedisTemplate,
+                     RedisMetrics redisMetrics, MappedLocalTier localTier) {
+        var properties = cacheProperties.getNearCache();
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.redisMetrics = redisMetrics;
+        this.localTier = localTier;
+        this.invalidationChannel = properties.getInvalidationChannel();
+        this.cache = Boolean.TRUE.equals(properties.getEnabled()) ? createCache(properties) : null;
+        log.info("NearCache enabled : {}, local tier : {}", cache != null, localTier.isEnabled());
+    }
+
+    private AsyncCache<String, RedisDataPersistence> createCache(RedisCacheProperties.NearCache properties) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder().recordStats();
+        if (properties.getExpireAfterWrite() > 0) {
+            builder.expireAfterWrite(Duration.ofMillis(properties.getExpireAfterWrite()));
+        }
+        if (properties.getMaximumWeight() > 0) {
+            return builder.maximumWeight(properties.getMaximumWeight())
+                    .<String, RedisDataPersistence>weigher(NearCache::weigh)
+                    .buildAsync();
+        }
+        return builder.maximumSize(properties.getMaximumSize()).buildAsync();
+    }
+
+    /**
+     * key/value 문자열 길이로 엔트리 크기를 추정합니다. (UTF-16 기준 2 bytes/char)
+     */
+    private static int weigh(String key, RedisDataPersistence value) {
+        int length = key.length() + (value.getValue() == null ? 0 : value.getValue().length());
+        return length * 2;
+    }
+
+    public String getInvalidationChannel() {
+        return invalidationChannel;
+    }
+
+    public boolean isEnabled() {
+        return cache != null || localTier.isEnabled();
+    }
+
+    /**
+     * 로컬에 있으면 바로 반환하고, 없으면 loader 로 조회한 값을 적재합니다.
+     * 같은 키에 대한 동시 miss 는 한 번의 loader 호출을 공유하며, null 은 적재하지 않습니다.
+     * <p>
+     * loader 는 Cache 내부 lock(synchronized) 밖에서 호출 스레드가 직접 실행합니다.
+     * Redis I/O 동안 virtual thread 가 carrier thread 에 고정(pinning)되지 않도록 하기 위함입니다.
+     * loader 의 RuntimeException 은 load 를 공유한 호출에도 감싸지 않고 그대로 전달합니다.
+     * (RedisUnavailableException 의 stale fallback 등 호출자의 예외 처리가 같게 적용되도록 합니다.)
+     */
+    public RedisDataPersistence get(String key, Function<String, RedisDataPersistence> loader) {
+        if (cache == null) {
+            return load(key, loader);
+        }
+        var created = new CompletableFuture<RedisDataPersistence>();
+        var future = cache.get(key, (k, executor) -> created);
+        if (future == created) {
+            try {
+                created.complete(load(key, loader));
+            } catch (Throwable e) {
+                created.completeExceptionally(e);
+                throw e;
+            }
+        }
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * L2 계층을 거쳐 조회합니다. loader 가 예외를 던지면 적재하지 않습니다.
+     * loader 실행 중 invalidate 된 key 는 적재하지 않거나, 적재 직후 제거합니다.
+     */
+    private RedisDataPersistence load(String key, Function<String, RedisDataPersistence> loader) {
+        if (!localTier.isEnabled()) {
+            return loader.apply(key);
+        }
+        RedisDataPersistence persistence = localTier.get(key);
+        if (persistence == null) {
+            long generation = generation(key);
+            persistence = loader.apply(key);
+            if (generation(key) == generation) {
+                localTier.put(key, persistence);
+                // put 과 invalidate 가 겹친 경우: invalidate 는 generation 을 먼저 올리므로 여기서 제거합니다.
+                if (generation(key) != generation) {
+                    localTier.invalidate(key);
+                }
+            }
+        }
+        return persistence;
+    }
+
+    private long generation(String key) {
+        return allGeneration.get() + generations.get(stripe(key));
+    }
+
+    /**
+     * 로컬 계층에서 제거하기 전에 호출하여 진행 중인 load 가 이전 값을 적재하지 않도록 합니다.
+     */
+    private void advance(Collection<String> keys) {
+        keys.forEach(key -> generations.incrementAndGet(stripe(key)));
+    }
+
+    private static int stripe(String key) {
+        return (key.hashCode() & Integer.MAX_VALUE) % GENERATION_STRIPES;
+    }
+
+    /**
+     * 로컬 엔트리를 제거하고 다른 인스턴스에 invalidation 을 전파합니다.
+     */
+    public void invalidate(String key) {
+        if (!isEnabled()) {
+            return;
+        }
+        advance(List.of(key));
+        if (cache != null) {
+            cache.synchronous().invalidate(key);
+        }
+        localTier.invalidate(key);
+        try {
+            stringRedisTemplate.convertAndSend(invalidationChannel, key);
+        } catch (Exception e) {
+            redisMetrics.recordError("publish", e);
+            log.error("### NearCache Invalidation Publish Error !!! ::: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 여러 키를 한 번에 제거하고, 하나의 invalidation 메시지(개행 구분)로 전파합니다.
+     */
+    public void invalidate(Collection<String> keys) {
+        if (!isEnabled() || keys.isEmpty()) {
+            return;
+        }
+        advance(keys);
+        if (cache != null) {
+            cache.synchronous().invalidateAll(keys);
+        }
+        localTier.invalidate(keys);
+        try {
+            stringRedisTemplate.convertAndSend(invalidationChannel, String.join(KEY_DELIMITER, keys));
+        } catch (Exception e) {
+            redisMetrics.recordError("publish", e);
+            log.error("### NearCache Invalidation Publish Error !!! ::: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 다른 인스턴스에서 전달된 invalidation 메시지를 로컬에만 반영합니다.
+     */
+    public void invalidateLocal(String message) {
+        if (!isEnabled()) {
+            return;
+        }
+        List<String> keys = message.contains(KEY_DELIMITER) ? Arrays.asList(message.split(KEY_DELIMITER)) : List.of(message);
+        advance(keys);
+        if (cache != null) {
+            cache.synchronous().invalidateAll(keys);
+        }
+        localTier.invalidate(keys);
+    }
+
+    /**
+     * L1 을 비웁니다. includeLocalTier 가 true 이면 L2 도 비웁니다.
+     */
+    public void invalidateAllLocal(boolean includeLocalTier) {
+        allGeneration.incrementAndGet();
+        if (cache != null) {
+            cache.synchronous().invalidateAll();
+        }
+        if (includeLocalTier) {
+            localTier.invalidateAll();
+        }
+    }
+
+    public CacheStats stats() {
+        return cache == null ? CacheStats.empty() : cache.synchronous().stats();
+    }
+
+    public long estimatedSize() {
+        return cache == null ? 0 : cache.synchronous().estimatedSize();
+    }
+
+    public long localTierSize() {
+        return localTier.size();
+    }
+
+    /**
+     * cache.gets{result=hit|miss}, cache.evictions, cache.size 등을 cache=near-cache 로 등록합니다.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (cache != null) {
+            CaffeineCacheMetrics.monitor(registry, cache.synchronous(), "near-cache");
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.renzo.green.cache;
+
+import com.renzo.green.config.MasterRedisURI;
+import com.renzo.green.config.RedisCacheProperties;
+import io.lettuce.core.RedisChannelHandler;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisConnectionStateAdapter;
+import io.lettuce.core.pubsub.RedisPubSubAdapter;
+import io.lettuce.core.pubsub.StatefulRedisPubSubConnection;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.stereotype.Component;
+
+import java.net.SocketAddress;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 다른 인스턴스가 발행한 Near Cache invalidation 메시지를 구독합니다.
+ * <p>
+ * StaticMasterReplica 구성의 LettuceConnectionFactory 는 Pub/Sub 연결을 지원하지 않으므로
+ * master 노드에 대한 전용 Pub/Sub 연결을 사용합니다.
+ * 연결이 끊긴 동안의 메시지는 유실되므로 재연결 시 로컬 캐시를 비웁니다.
+ * 최초 연결 시에는 재시작 전 내용을 warm start 에 사용할 수 있도록 L2 계층({@link MappedLocalTier})을 유지합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnExpression("${spring.data.redis.near-cache.enabled:false} or ${spring.data.redis.local-tier.enabled:false}")
+public class NearCacheInvalidationListener {
+
+    private final NearCache nearCache;
+    private final RedisProperties redisProperties;
+    private final RedisCacheProperties cacheProperties;
+
+    private RedisClient redisClient;
+    private StatefulRedisPubSubConnection<String, String> connection;
+    private final AtomicBoolean connected = new AtomicBoolean();
+
+    @PostConstruct
+    public void subscribe() {
+        redisClient = RedisClient.create(MasterRedisURI.create(redisProperties, cacheProperties));
+        redisClient.addListener(new RedisConnectionStateAdapter() {
+            @Override
+            public void onRedisConnected(RedisChannelHandler<?, ?> handler, SocketAddress socketAddress) {
+                log.info("NearCache invalidation channel connected : {}", socketAddress);
+                nearCache.invalidateAllLocal(connected.getAndSet(true));
+            }
+        });
+
+        connection = redisClient.connectPubSub();
+        connection.addListener(new RedisPubSubAdapter<>() {
+            @Override
+            public void message(String channel, String message) {
+                nearCache.invalidateLocal(message);
+            }
+        });
+        connection.sync().subscribe(cacheProperties.getNearCache().getInvalidationChannel());
+        log.info("NearCache invalidation subscribed : {}", cacheProperties.getNearCache().getInvalidationChannel());
+    }
+
+    @PreDestroy
+    public void close() {
+        if (connection != null) {
+            connection.close();
+        }
+        if (redisClient != null) {
+            redisClient.shutdown();
+        }
+    }
+}
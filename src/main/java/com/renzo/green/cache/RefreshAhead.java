@@ -0,0 +1,131 @@
+package com.renzo.green.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 만료 전에 값을 미리 다시 계산(refresh-ahead)할지 판단하고, 재계산을 background executor 로 실행합니다.
+ * <ul>
+ *     <li>XFETCH : {@code now - delta * beta * ln(random) >= expiresAt} 이면 재계산합니다.
+ *     재계산 시간(delta)이 길수록, 만료가 가까울수록 재계산 확률이 높아지므로
+ *     여러 인스턴스가 같은 시점에 동시에 재계산하지 않습니다.</li>
+ *     <li>FRACTION : TTL 의 refreshFraction 이 지난 뒤 첫 조회에서 재계산합니다.</li>
+ * </ul>
+ * 같은 key 의 재계산은 하나만 예약되며, executor 가 가득 차면 예약하지 않고 기존 값을 계속 사용합니다.
+ */
+@Slf4j
+public class RefreshAhead implements MeterBinder {
+
+    public enum Mode {
+        XFETCH,
+        FRACTION
+    }
+
+    private final String name;
+    private final Mode mode;
+    private final double beta;
+    private final double refreshFraction;
+    private final Executor executor;
+    private final Set<Object> refreshing = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 재계산 시간의 EWMA(밀리초). 재계산 시간이 함께 저장되지 않은 값에 사용합니다.
+     */
+    private volatile double recomputeMillis;
+
+    private final LongAdder scheduled = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    public RefreshAhead(String name, Mode mode, double beta, double refreshFraction, Executor executor) {
+        this.name = name;
+        this.mode = mode;
+        this.beta = beta;
+        this.refreshFraction = refreshFraction;
+        this.executor = executor;
+    }
+
+    public boolean shouldRefresh(RefreshAheadValue entry, long now) {
+        if (entry.getTtl() <= 0 || now >= entry.getExpiresAt()) {
+            return false;
+        }
+        if (mode == Mode.FRACTION) {
+            return now >= entry.getExpiresAt() - (long) (entry.getTtl() * (1 - refreshFraction));
+        }
+        double delta = entry.getDelta() > 0 ? entry.getDelta() : recomputeMillis;
+        // 1 - nextDouble() 는 (0, 1] 이므로 ln 이 -Infinity 가 되지 않습니다.
+        double gap = -delta * beta * Math.log(1 - ThreadLocalRandom.current().nextDouble());
+        return now + gap >= entry.getExpiresAt();
+    }
+
+    /**
+     * 재계산을 예약합니다. 이미 예약된 key 이거나 executor 가 가득 차면 false 를 반환합니다.
+     */
+    public boolean schedule(Object key, Runnable refresh) {
+        if (!refreshing.add(key)) {
+            return false;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    refresh.run();
+                    succeeded.increment();
+                } catch (Exception e) {
+                    failed.increment();
+                    log.error("### Redis Cache Refresh Error !!! ::: {}", e.getMessage());
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+            scheduled.increment();
+            return true;
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(key);
+            rejected.increment();
+            return false;
+        }
+    }
+
+    public void recordRecompute(long millis) {
+        double current = recomputeMillis;
+        recomputeMillis = current == 0 ? millis : current * 0.8 + millis * 0.2;
+    }
+
+    public long recomputeMillis() {
+        return (long) recomputeMillis;
+    }
+
+    public int refreshingCount() {
+        return refreshing.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("green.redis.cache.refresh.recompute", this, RefreshAhead::recomputeMillis)
+                .tag("cache", name)
+                .baseUnit("milliseconds")
+                .register(registry);
+        Gauge.builder("green.redis.cache.refresh.inflight", refreshing, Set::size)
+                .tag("cache", name)
+                .register(registry);
+        FunctionCounter.builder("green.redis.cache.refresh", scheduled, LongAdder::sum)
+                .tag("cache", name).tag("result", "scheduled").register(registry);
+        FunctionCounter.builder("green.redis.cache.refresh", rejected, LongAdder::sum)
+                .tag("cache", name).tag("result", "rejected").register(registry);
+        FunctionCounter.builder("green.redis.cache.refresh", succeeded, LongAdder::sum)
+                .tag("cache", name).tag("result", "success").register(registry);
+        FunctionCounter.builder("green.redis.cache.refresh", failed, LongAdder::sum)
+                .tag("cache", name).tag("result", "failure").register(registry);
+    }
+}
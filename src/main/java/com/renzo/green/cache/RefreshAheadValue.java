@@ -0,0 +1,43 @@
+package com.renzo.green.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.io.Serializable;
+
+/**
+ * refresh-ahead 가 활성화된 캐시에 저장되는 값입니다.
+ * <p>
+ * 만료 시각과 재계산 시간을 값과 함께 저장하므로, 조회 시 PTTL 을 추가로 호출하지 않고
+ * 조기 재계산 여부를 판단할 수 있습니다.
+ */
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshAheadValue implements Serializable {
+
+    /**
+     * 캐시 값 (store value)
+     */
+    private Object value;
+
+    /**
+     * 만료 시각(epoch 밀리초)
+     */
+    private long expiresAt;
+
+    /**
+     * 저장 시점의 TTL(밀리초)
+     */
+    private long ttl;
+
+    /**
+     * 값을 계산하는 데 걸린 시간(밀리초)
+     */
+    private long delta;
+}
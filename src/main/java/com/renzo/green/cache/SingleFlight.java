@@ -0,0 +1,115 @@
+package com.renzo.green.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 같은 key 에 대한 동시 조회(load)를 하나로 합칩니다(single-flight).
+ * <p>
+ * 먼저 도착한 호출(leader)이 loader 를 실행하고, 그 사이 도착한 호출은 leader 의 결과를 공유합니다.
+ * 결과는 보관하지 않으며 load 가 끝나면 바로 제거되므로 캐시가 아닌 in-flight 요청의 합류 지점입니다.
+ * <ul>
+ *     <li>in-flight 목록은 ConcurrentHashMap 으로 관리합니다. 조회는 lock 이 없고 등록은 bin 단위 lock 만 사용하므로
+ *     서로 다른 key 끼리 경합하지 않습니다.</li>
+ *     <li>대기는 CompletableFuture 로 하므로 virtual thread 가 carrier thread 에 고정되지 않습니다.</li>
+ *     <li>waitTimeout 안에 leader 가 끝나지 않으면 대기 중인 호출이 직접 loader 를 실행합니다.</li>
+ *     <li>leader 의 예외는 대기 중인 호출에도 그대로 전달됩니다.</li>
+ * </ul>
+ */
+@Slf4j
+public class SingleFlight<K, V> implements MeterBinder {
+
+    private final String name;
+    private final boolean enabled;
+    private final long waitTimeoutNanos;
+    private final ConcurrentMap<K, CompletableFuture<V>> inflight = new ConcurrentHashMap<>();
+
+    private final LongAdder leaders = new LongAdder();
+    private final LongAdder shared = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    public SingleFlight(String name, boolean enabled, long waitTimeoutMillis) {
+        this.name = name;
+        this.enabled = enabled;
+        this.waitTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(waitTimeoutMillis);
+    }
+
+    public V execute(K key, Supplier<V> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        var created = new CompletableFuture<V>();
+        var existing = inflight.putIfAbsent(key, created);
+        if (existing != null) {
+            return await(key, existing, loader);
+        }
+        leaders.increment();
+        try {
+            V value = loader.get();
+            created.complete(value);
+            return value;
+        } catch (Throwable e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            inflight.remove(key, created);
+        }
+    }
+
+    private V await(K key, CompletableFuture<V> future, Supplier<V> loader) {
+        shared.increment();
+        try {
+            return future.get(waitTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            timeouts.increment();
+            log.warn("SingleFlight[{}] wait timeout, loading directly : {}", name, key);
+            return loader.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (CancellationException e) {
+            return loader.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for in-flight load : " + key, e);
+        }
+    }
+
+    public int inflightCount() {
+        return inflight.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!enabled) {
+            return;
+        }
+        Gauge.builder("green.redis.single-flight.inflight", inflight, ConcurrentMap::size)
+                .tag("name", name)
+                .register(registry);
+        FunctionCounter.builder("green.redis.single-flight.calls", leaders, LongAdder::sum)
+                .tag("name", name).tag("result", "leader").register(registry);
+        FunctionCounter.builder("green.redis.single-flight.calls", shared, LongAdder::sum)
+                .tag("name", name).tag("result", "shared").register(registry);
+        FunctionCounter.builder("green.redis.single-flight.calls", timeouts, LongAdder::sum)
+                .tag("name", name).tag("result", "timeout").register(registry);
+    }
+}
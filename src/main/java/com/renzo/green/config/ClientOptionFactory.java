@@ -3,7 +3,10 @@ package com.renzo.green.config;
 import io.lettuce.core.ClientOptions;
 import io.lettuce.core.SocketOptions;
 import io.lettuce.core.TimeoutOptions;
+import io.lettuce.core.cluster.ClusterClientOptions;
+import io.lettuce.core.cluster.ClusterTopologyRefreshOptions;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
 
 import java.time.Duration;
 
@@ -30,6 +33,26 @@ class ClientOptionFactory {
 				.build();
 	}
 
+	/**
+	 * Cluster 구성에서 사용하는 ClientOptions 입니다.
+	 * 기본 ClientOptions 에 topology refresh 설정을 추가합니다.
+	 * adaptive 활성화 시 MOVED/ASK redirect, 재연결 실패 등이 발생하면 즉시 topology 를 갱신합니다.
+	 */
+	public ClusterClientOptions createCluster(RedisProperties.Lettuce.Cluster.Refresh refresh) {
+		var topologyRefreshOptions = ClusterTopologyRefreshOptions.builder()
+				.dynamicRefreshSources(refresh.isDynamicRefreshSources());
+		if (refresh.isAdaptive()) {
+			topologyRefreshOptions.enableAllAdaptiveRefreshTriggers();
+		}
+		if (refresh.getPeriod() != null) {
+			topologyRefreshOptions.enablePeriodicRefresh(refresh.getPeriod());
+		}
+		log.info("Cluster Topology Refresh : adaptive={}, period={}", refresh.isAdaptive(), refresh.getPeriod());
+		return ClusterClientOptions.builder(create())
+				.topologyRefreshOptions(topologyRefreshOptions.build())
+				.build();
+	}
+
 	protected TimeoutOptions createTimeoutOptions(
 			RedisCacheProperties.TimeoutOptionsProperties timeoutOptionsProperties) {
 		if (timeoutOptionsProperties == null) {
@@ -0,0 +1,43 @@
+package com.renzo.green.config;
+
+import com.renzo.green.cache.RefreshAheadValue;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 기본 TTL 에 0 ~ ttl * jitter 범위의 무작위 시간을 더합니다.
+ * 같은 시점에 기록된 엔트리의 만료가 한 시점에 몰려 load 가 동시에 발생하지 않도록 분산합니다.
+ * TTL 이 0(만료 없음)이거나 jitter 가 0 이면 기본 TTL 을 그대로 사용합니다.
+ * <p>
+ * {@link RefreshAheadValue} 는 만료 시각을 계산할 때 이미 TTL 을 정했으므로 그 TTL({@link RefreshAheadValue#getTtl()})을 그대로 사용합니다.
+ * 다시 계산하면 저장된 expiresAt 과 Redis 의 실제 만료가 달라집니다.
+ */
+class JitteredTtlFunction implements RedisCacheWriter.TtlFunction {
+
+	private final Duration ttl;
+	private final long jitterMillis;
+
+	JitteredTtlFunction(Duration ttl, double jitter) {
+		this.ttl = ttl;
+		this.jitterMillis = ttl.isZero() || ttl.isNegative() ? 0 : (long) (ttl.toMillis() * Math.max(0, Math.min(1, jitter)));
+	}
+
+	@Override
+	public Duration getTimeToLive(Object key, @Nullable Object value) {
+		if (value instanceof RefreshAheadValue entry && entry.getTtl() > 0) {
+			return Duration.ofMillis(entry.getTtl());
+		}
+		if (jitterMillis <= 0) {
+			return ttl;
+		}
+		return ttl.plusMillis(ThreadLocalRandom.current().nextLong(jitterMillis + 1));
+	}
+
+	@Override
+	public String toString() {
+		return "JitteredTtlFunction[ttl=" + ttl + ", jitter=" + Duration.ofMillis(jitterMillis) + "]";
+	}
+}
@@ -0,0 +1,49 @@
+package com.renzo.green.config;
+
+import io.lettuce.core.RedisURI;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.util.ObjectUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * LettuceConnectionFactory 밖에서 master(또는 cluster seed) 노드에 직접 연결할 때 사용하는 RedisURI 를 생성합니다.
+ * (Pub/Sub, INFO replication 조회 등 Master/Replica 구성에서 지원되지 않거나 특정 노드를 지정해야 하는 경우)
+ */
+public final class MasterRedisURI {
+
+	private MasterRedisURI() {
+	}
+
+	/**
+	 * Cluster 구성에서는 첫 번째 seed 노드에 연결합니다.
+	 * (PUBLISH 는 cluster 전체로 전파되므로 Pub/Sub 은 어느 노드에 연결해도 수신됩니다.)
+	 */
+	public static RedisURI create(RedisProperties redisProperties, RedisCacheProperties cacheProperties) {
+		if (cacheProperties.getTopology() == RedisCacheProperties.Topology.CLUSTER
+				&& redisProperties.getCluster() != null
+				&& !ObjectUtils.isEmpty(redisProperties.getCluster().getNodes())) {
+			String node = redisProperties.getCluster().getNodes().get(0);
+			int separator = node.lastIndexOf(':');
+			return create(node.substring(0, separator), Integer.parseInt(node.substring(separator + 1)),
+					redisProperties, cacheProperties);
+		}
+		return create(redisProperties.getHost(), redisProperties.getPort(), redisProperties, cacheProperties);
+	}
+
+	public static RedisURI create(String host, int port, RedisProperties redisProperties,
+			RedisCacheProperties cacheProperties) {
+		var builder = RedisURI.builder()
+				.withHost(host)
+				.withPort(port)
+				.withSsl(Boolean.TRUE.equals(cacheProperties.getSsl().getEnabled()))
+				.withVerifyPeer(!Boolean.TRUE.equals(cacheProperties.getDisablePeerVerification()));
+		if (StringUtils.hasText(redisProperties.getPassword())) {
+			if (StringUtils.hasText(redisProperties.getUsername())) {
+				builder.withAuthentication(redisProperties.getUsername(), redisProperties.getPassword());
+			} else {
+				builder.withPassword(redisProperties.getPassword().toCharArray());
+			}
+		}
+		return builder.build();
+	}
+}
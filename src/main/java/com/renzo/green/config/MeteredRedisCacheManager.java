@@ -0,0 +1,89 @@
+package com.renzo.green.config;
+
+import com.renzo.green.cache.RefreshAhead;
+import com.renzo.green.cache.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.actuate.metrics.cache.RedisCacheMetrics;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 캐시가 생성될 때마다 cache.gets / cache.puts / cache.evictions 등을 Micrometer 에 등록하는 RedisCacheManager 입니다.
+ * 초기 캐시(zone)뿐 아니라 런타임에 생성되는 default 캐시도 등록됩니다.
+ * 태그는 CacheMetricsRegistrar 와 동일하게 cache.manager=redis 를 사용합니다.
+ * 각 캐시는 {@link SingleFlightRedisCache} 로 생성되어 sync load 가 key 단위로 합쳐집니다.
+ * refresh-ahead 가 활성화되면 캐시별 {@link RefreshAhead} 가 공용 refreshExecutor 로 재계산을 실행합니다.
+ * refreshExecutor 는 Bean 으로 등록하지 않습니다. Executor Bean 이 있으면 Boot 의 applicationTaskExecutor 가 생성되지 않습니다.
+ */
+class MeteredRedisCacheManager extends RedisCacheManager implements DisposableBean {
+
+	private static final Tags TAGS = Tags.of("cache.manager", "redis");
+
+	private final RedisCacheWriter cacheWriter;
+	private final RedisCacheProperties.SingleFlight singleFlightProperties;
+	private final RedisCacheProperties.RefreshAhead refreshAheadProperties;
+	private final ThreadPoolExecutor refreshExecutor;
+	private final MeterRegistry meterRegistry;
+
+	MeteredRedisCacheManager(RedisCacheWriter cacheWriter, RedisCacheConfiguration defaultCacheConfiguration,
+			Map<String, RedisCacheConfiguration> initialCacheConfigurations,
+			RedisCacheProperties cacheProperties, MeterRegistry meterRegistry) {
+		super(cacheWriter, defaultCacheConfiguration, initialCacheConfigurations, true);
+		this.cacheWriter = cacheWriter;
+		this.singleFlightProperties = cacheProperties.getSingleFlight();
+		this.refreshAheadProperties = cacheProperties.getRefreshAhead();
+		this.refreshExecutor = Boolean.TRUE.equals(refreshAheadProperties.getEnabled())
+				? createRefreshExecutor(refreshAheadProperties)
+				: null;
+		this.meterRegistry = meterRegistry;
+	}
+
+	/**
+	 * 대기열이 가득 차면 재계산을 건너뛰고(RejectedExecutionException) 기존 값을 계속 사용합니다.
+	 */
+	private static ThreadPoolExecutor createRefreshExecutor(RedisCacheProperties.RefreshAhead properties) {
+		var executor = new ThreadPoolExecutor(properties.getThreads(), properties.getThreads(),
+				60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+				Thread.ofPlatform().name("redis-cache-refresh-", 0).daemon().factory(),
+				new ThreadPoolExecutor.AbortPolicy());
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
+	@Override
+	protected RedisCache createRedisCache(String name, RedisCacheConfiguration cacheConfiguration) {
+		var singleFlight = new SingleFlight<>("cache:" + name,
+				Boolean.TRUE.equals(singleFlightProperties.getEnabled()), singleFlightProperties.getWaitTimeout());
+		RefreshAhead refreshAhead = refreshExecutor != null
+				? new RefreshAhead(name, refreshAheadProperties.getMode(), refreshAheadProperties.getBeta(),
+						refreshAheadProperties.getRefreshFraction(), refreshExecutor)
+				: null;
+		RedisCache cache = new SingleFlightRedisCache(name, cacheWriter,
+				cacheConfiguration != null ? cacheConfiguration : getDefaultCacheConfiguration(), singleFlight,
+				refreshAhead);
+		if (meterRegistry != null) {
+			new RedisCacheMetrics(cache, TAGS).bindTo(meterRegistry);
+			singleFlight.bindTo(meterRegistry);
+			if (refreshAhead != null) {
+				refreshAhead.bindTo(meterRegistry);
+			}
+		}
+		return cache;
+	}
+
+	@Override
+	public void destroy() {
+		if (refreshExecutor != null) {
+			refreshExecutor.shutdownNow();
+		}
+	}
+}
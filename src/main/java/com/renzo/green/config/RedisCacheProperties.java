@@ -9,8 +9,11 @@ import lombok.ToString;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.util.ObjectUtils;
+import org.springframework.util.unit.DataSize;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Getter
 @Setter
@@ -34,10 +37,102 @@ public class RedisCacheProperties {
 	private String keyPrefix = "";
 
 	/**
-	 * TTL 설정 시간을 가져옵니다. 단위는 초(sec) 입니다.
-	 * 기본값은 -1(무한대) 입니다.
+	 * TTL 설정 시간을 가져옵니다. 단위는 초(sec) 입니다. 0 이하이면 만료되지 않습니다.
+	 * RedisCacheManager 의 기본 TTL 로 사용되며, caches 에 TTL 이 지정되지 않은 캐시에도 적용됩니다.
+	 * 지정하지 않으면 CacheKey.DEFAULT_EXPIRE_SEC(60초) 를 사용합니다.
 	 */
-	private long timeToLive = -1;
+	private Long timeToLive;
+
+	/**
+	 * RedisCacheManager 캐시 TTL 에 더할 무작위 비율(0~1)입니다. 0.1 이면 TTL 의 0~10% 를 더합니다.
+	 * 같은 시점에 기록된 엔트리가 같은 시점에 만료되지 않도록 분산합니다. 기본값은 0(사용 안 함) 입니다.
+	 */
+	private double ttlJitter = 0;
+
+	/**
+	 * RedisCacheManager 의 캐시별 설정. key 는 캐시 이름입니다.
+	 * 지정하지 않은 항목은 timeToLive, ttlJitter, keyPrefix, codec 전역 설정을 사용합니다.
+	 */
+	private Map<String, CacheSpec> caches = new LinkedHashMap<>();
+
+	@Getter
+	@Setter
+	@ToString
+	public static class CacheSpec {
+		/**
+		 * TTL(초). 0 이하이면 만료되지 않습니다.
+		 */
+		private Long timeToLive;
+
+		/**
+		 * TTL 에 더할 무작위 비율(0~1)
+		 */
+		private Double ttlJitter;
+
+		/**
+		 * Value Codec. 어느 Codec 을 선택하더라도 JSON, BINARY 포맷 값을 모두 읽을 수 있습니다.
+		 */
+		private Codec codec;
+
+		/**
+		 * null 값을 캐시할지 여부. 기본값은 false 입니다.
+		 */
+		private Boolean cacheNullValues = false;
+
+		/**
+		 * Key Prefix. 실제 key 는 {keyPrefix}{캐시 이름}::{key} 입니다.
+		 */
+		private String keyPrefix;
+
+		public static CacheSpec ofTimeToLive(long seconds) {
+			var spec = new CacheSpec();
+			spec.setTimeToLive(seconds);
+			return spec;
+		}
+	}
+
+	/**
+	 * RedisTemplate, RedisCacheManager 의 Value Codec 을 설정합니다.
+	 * 어느 Codec 을 선택하더라도 JSON, BINARY 포맷 값을 모두 읽을 수 있습니다.
+	 * 기본값은 JSON 입니다.
+	 */
+	private Codec codec = Codec.JSON;
+
+	public enum Codec {
+		/**
+		 * GenericJackson2JsonRedisSerializer ("@class" 타입 정보 포함)
+		 */
+		JSON,
+		/**
+		 * RedisDataPersistence 를 type tag + length-prefixed UTF-8 로 기록합니다.
+		 * 그 외 타입은 JSON 으로 기록합니다.
+		 */
+		BINARY
+	}
+
+	/**
+	 * GET /register/{key} 응답을 RedisDataPersistence 로 역직렬화하지 않고 저장된 bytes 에서 바로 기록할지 여부를 설정합니다.
+	 * Near Cache 가 활성화되어 있거나 hot key 인 경우에는 로컬 캐시를 사용합니다. 기본값은 false 입니다.
+	 */
+	private Boolean rawRead = Boolean.FALSE;
+
+	/**
+	 * Redis 구성 방식을 설정합니다. 기본값은 MASTER_REPLICA 입니다.
+	 * CLUSTER 는 spring.data.redis.cluster.nodes / max-redirects 와
+	 * spring.data.redis.lettuce.cluster.refresh.* 설정을 사용합니다.
+	 */
+	private Topology topology = Topology.MASTER_REPLICA;
+
+	public enum Topology {
+		/**
+		 * host/port 의 master 와 replica.nodes 로 구성된 Static Master/Replica
+		 */
+		MASTER_REPLICA,
+		/**
+		 * Redis Cluster. 다건 command 는 hash slot 별로 나누어 각 노드에 병렬로 전송합니다.
+		 */
+		CLUSTER
+	}
 
 	/**
 	 * Lettuce Client 의 SSL 연결 활성화 여부를 설정 합니다.
@@ -61,6 +156,12 @@ public class RedisCacheProperties {
 	 */
 	private Boolean eagerInitialization = Boolean.FALSE;
 
+	/**
+	 * 일반 command 에 하나의 native 커넥션을 공유(multiplexing)할지 여부를 설정합니다.
+	 * false 이면 command 마다 전용 커넥션(Pool 활성화 시 Pool 에서 대여)을 사용합니다.
+	 */
+	private Boolean shareNativeConnection = Boolean.TRUE;
+
 	private Replica replica;
 
 	private ClientOptionsProperties clientOptions;
@@ -106,6 +207,537 @@ public class RedisCacheProperties {
 		 */
 		@Deprecated
 		private Long minEvictableIdleTime = 1000L * 60L * 30L;//
+
+		/**
+		 * Pool 크기 결정 방식. 기본값은 FIXED 입니다.
+		 */
+		private Mode mode = Mode.FIXED;
+
+		/**
+		 * ADAPTIVE 모드의 크기 조정 설정
+		 */
+		private Adaptive adaptive = new Adaptive();
+
+		public enum Mode {
+			/**
+			 * maxIdle / minIdle / maxActive 를 그대로 사용합니다.
+			 */
+			FIXED,
+			/**
+			 * borrow 대기 시간, 사용률, 커넥션 점유 시간을 보고 maxActive 를 adaptive.min-active ~ max-active 범위에서 조정합니다.
+			 * 일반 command 는 공유(multiplexing) 커넥션으로 보내고, blocking / transaction command 만 Pool 커넥션을 사용합니다.
+			 * (shareNativeConnection 은 true 로 강제됩니다.)
+			 */
+			ADAPTIVE
+		}
+
+		@Getter
+		@Setter
+		@ToString
+		public static class Adaptive {
+			/**
+			 * 최소 커넥션 개수. 공유 커넥션 1개가 포함됩니다.
+			 */
+			private Integer minActive = 2;
+
+			/**
+			 * 최대 커넥션 개수
+			 */
+			private Integer maxActive = 32;
+
+			/**
+			 * 크기를 평가하는 주기(밀리초)
+			 */
+			private Long interval = 1000L;
+
+			/**
+			 * 늘리는 기준 평균 borrow 대기 시간(밀리초). 대기 중인 요청이 있어도 늘립니다.
+			 */
+			private Long growBorrowWait = 5L;
+
+			/**
+			 * 늘리는 기준 사용률(active / maxActive, 0~1)
+			 */
+			private Double highUtilization = 0.8;
+
+			/**
+			 * 줄이는 기준 사용률(0~1)
+			 */
+			private Double lowUtilization = 0.3;
+
+			/**
+			 * 사용률이 lowUtilization 이하로 연속 몇 번 평가되면 1개 줄일지 설정합니다.
+			 */
+			private Integer shrinkAfter = 30;
+
+			/**
+			 * 평균 커넥션 점유 시간(borrow ~ 반납, 밀리초)이 이 값을 넘으면 늘리지 않습니다.
+			 * Redis 자체가 느린 상황에서 커넥션을 늘리면 부하만 커지기 때문입니다.
+			 * command latency 가 아니라 점유 시간이므로 transaction / pipeline 사이의 애플리케이션 처리 시간도 포함됩니다.
+			 */
+			private Long holdTimeCeiling = 50L;
+		}
+	}
+
+	/**
+	 * RedisService 앞단의 In-Process Near Cache 설정
+	 */
+	private NearCache nearCache = new NearCache();
+
+	@Getter
+	@Setter
+	@ToString
+	public static class NearCache {
+		/**
+		 * Near Cache 활성화 여부
+		 */
+		private Boolean enabled = false;
+
+		/**
+		 * 최대 엔트리 개수. W-TinyLFU 정책으로 빈도가 낮은 엔트리부터 제거됩니다.
+		 * maximumWeight 가 지정된 경우 무시됩니다.
+		 */
+		private Long maximumSize = 10_000L;
+
+		/**
+		 * 최대 보관 용량(bytes, key/value 문자열 기준 추정치). 0 이하이면 maximumSize 를 사용합니다.
+		 */
+		private Long maximumWeight = 0L;
+
+		/**
+		 * 로컬 엔트리 만료 시간(밀리초). invalidation 메시지 유실에 대비한 상한입니다.
+		 */
+		private Long expireAfterWrite = CacheKey.DEFAULT_EXPIRE_SEC * 1000L;
+
+		/**
+		 * 노드 간 invalidation 메시지를 전달할 pub/sub 채널
+		 */
+		private String invalidationChannel = "green:near-cache:invalidation";
+	}
+
+	/**
+	 * Near Cache 뒤의 off-heap L2 계층(memory-mapped 파일) 설정.
+	 * 재시작 시 같은 파일을 다시 열어 warm start 합니다. Near Cache 와 별도로 활성화할 수 있습니다.
+	 */
+	private LocalTier localTier = new LocalTier();
+
+	@Getter
+	@Setter
+	@ToString
+	public static class LocalTier {
+		/**
+		 * L2 계층 활성화 여부
+		 */
+		private Boolean enabled = false;
+
+		/**
+		 * memory-mapped 파일 경로. 인스턴스마다 다른 경로를 사용해야 합니다.
+		 */
+		private String path = "./data/green-l2.dat";
+
+		/**
+		 * data 영역 크기. 가득 차면 오래된 record 부터 덮어씁니다.
+		 */
+		private DataSize capacity = DataSize.ofGigabytes(1);
+
+		/**
+		 * index 가 수용하는 최대 엔트리 개수. slot 은 이 값의 2배(2 의 거듭제곱)만큼 만들어집니다.
+		 */
+		private Long maxEntries = 1_000_000L;
+
+		/**
+		 * 엔트리 만료 시간(밀리초). 중단되어 있던 동안의 다른 인스턴스 변경이 반영되지 않을 수 있는 최대 시간입니다.
+		 */
+		private Long ttl = 10L * 60L * 1000L;
+	}
+
+	/**
+	 * 큰 값의 압축 저장 설정. RedisTemplate, RedisCacheManager 가 공유하는 Value Serializer 에 적용됩니다.
+	 */
+	private Compression compression = new Compression();
+
+	@Getter
+	@Setter
+	@ToString
+	public static class Compression {
+		/**
+		 * 압축 활성화 여부. 비활성화 상태에서도 압축된 값은 읽을 수 있습니다.
+		 */
+		private Boolean enabled = false;
+
+		/**
+		 * 압축 대상 최소 크기(bytes). 직렬화 결과가 이보다 작으면 압축하지 않습니다.
+		 */
+		private Integer threshold = 1024;
+
+		/**
+		 * Deflater 압축 레벨(1~9). 1(BEST_SPEED)이 CPU 비용이 가장 낮습니다.
+		 */
+		private Integer level = 1;
+	}
+
+	/**
+	 * 같은 key 의 동시 miss/load 를 하나로 합치는 Single-Flight 설정
+	 * (RedisService 조회, RedisCacheManager 의 {@code @Cacheable(sync = true)} load)
+	 */
+	private SingleFlight singleFlight = new SingleFlight();
+
+	@Getter
+	@Setter
+	@ToString
+	public static class SingleFlight {
+		/**
+		 * Single-Flight 활성화 여부
+		 */
+		private Boolean enabled = true;
+
+		/**
+		 * 진행 중인 load 를 기다리는 최대 시간(밀리초). 초과 시 직접 load 합니다.
+		 */
+		private Long waitTimeout = 3000L;
+	}
+
+	/**
+	 * RedisService 의 Circuit Breaker 및 장애 시 fallback 설정
+	 */
+	private CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+	@Getter
+	@Setter
+	@ToString
+	public static class CircuitBreaker {
+		/**
+		 * Circuit Breaker 활성화 여부
+		 */
+		private Boolean enabled = false;
+
+		/**
+		 * OPEN 으로 전환하는 실패율(%)
+		 */
+		private Double failureRateThreshold = 50.0;
+
+		/**
+		 * OPEN 으로 전환하는 slow call 비율(%)
+		 */
+		private Double slowCallRateThreshold = 80.0;
+
+		/**
+		 * slow call 로 판단하는 응답 시간(밀리초)
+		 */
+		private Long slowCallDuration = 500L;
+
+		/**
+		 * 실패율을 계산하기 위한 window 내 최소 호출 수
+		 */
+		private Integer minimumCalls = 20;
+
+		/**
+		 * 실패율을 계산하는 window(초)
+		 */
+		private Integer window = 10;
+
+		/**
+		 * OPEN 상태를 유지하는 시간(밀리초). 이후 HALF_OPEN 으로 전환됩니다.
+		 */
+		private Long openDuration = 5000L;
+
+		/**
+		 * HALF_OPEN 상태에서 허용하는 시험 호출 수
+		 */
+		private Integer halfOpenCalls = 5;
+
+		/**
+		 * OPEN 상태의 쓰기 처리 방식. QUEUE(보관 후 CLOSED 시 기록) 또는 REJECT(503)
+		 */
+		private OpenWrites openWrites = OpenWrites.REJECT;
+
+		/**
+		 * QUEUE 모드에서 보관할 수 있는 최대 key 개수
+		 */
+		private Integer writeQueueCapacity = 10_000;
+
+		/**
+		 * 장애 시 반환할 last-known value 의 최대 개수
+		 */
+		private Long staleMaximumSize = 10_000L;
+
+		/**
+		 * last-known value 의 최대 보관 시간(밀리초)
+		 */
+		private Long staleExpireAfterWrite = 10L * 60L * 1000L;
+
+		public enum OpenWrites {
+			QUEUE,
+			REJECT
+		}
+	}
+
+	/**
+	 * Hot Key 탐지 및 로컬 pin 설정
+	 */
+	private HotKey hotKey = new HotKey();
+
+	@Getter
+	@Setter
+	@ToString
+	public static class HotKey {
+		/**
+		 * Hot Key 탐지 활성화 여부
+		 */
+		private Boolean enabled = false;
+
+		/**
+		 * sampling 비율. N 건당 1건을 기록합니다. (2 의 거듭제곱으로 올림)
+		 */
+		private Integer sampleRate = 16;
+
+		/**
+		 * Count-Min Sketch 의 row 수 (최대 8)
+		 */
+		private Integer depth = 4;
+
+		/**
+		 * Count-Min Sketch 의 row 당 counter 수 (2 의 거듭제곱으로 올림)
+		 */
+		private Integer width = 4096;
+
+		/**
+		 * 추적할 상위 key 개수
+		 */
+		private Integer topK = 32;
+
+		/**
+		 * 집계 window(밀리초). window 마다 hot key 를 확정하고 sketch 를 초기화합니다.
+		 */
+		private Long window = 10_000L;
+
+		/**
+		 * hot key 로 판단하는 최소 초당 조회 수
+		 */
+		private Double minRate = 100.0;
+
+		private Pin pin = new Pin();
+
+		@Getter
+		@Setter
+		@ToString
+		public static class Pin {
+			/**
+			 * hot key 의 값을 로컬에 보관할지 여부
+			 */
+			private Boolean enabled = false;
+
+			/**
+			 * 로컬 보관 시간(밀리초). 다른 인스턴스의 변경이 반영되지 않을 수 있는 최대 시간입니다.
+			 */
+			private Long ttl = 1000L;
+		}
+	}
+
+	/**
+	 * RedisCacheManager 캐시의 refresh-ahead(만료 전 background 재계산) 설정
+	 * {@code @Cacheable(sync = true)} 조회에만 적용됩니다.
+	 */
+	private RefreshAhead refreshAhead = new RefreshAhead();
+
+	@Getter
+	@Setter
+	@ToString
+	public static class RefreshAhead {
+		/**
+		 * refresh-ahead 활성화 여부
+		 */
+		private Boolean enabled = false;
+
+		/**
+		 * 재계산 시점 결정 방식. XFETCH(확률적 조기 재계산) 또는 FRACTION(TTL 비율 경과 후 재계산)
+		 */
+		private com.renzo.green.cache.RefreshAhead.Mode mode = com.renzo.green.cache.RefreshAhead.Mode.XFETCH;
+
+		/**
+		 * XFETCH 의 beta. 1.0 보다 크면 더 일찍 재계산합니다.
+		 */
+		private Double beta = 1.0;
+
+		/**
+		 * FRACTION 모드에서 재계산을 시작하는 TTL 경과 비율 (0 ~ 1)
+		 */
+		private Double refreshFraction = 0.8;
+
+		/**
+		 * 재계산 executor 의 thread 수
+		 */
+		private Integer threads = 4;
+
+		/**
+		 * 재계산 executor 의 대기열 크기. 가득 차면 재계산을 건너뛰고 기존 값을 사용합니다.
+		 */
+		private Integer queueCapacity = 1000;
+	}
+
+	/**
+	 * 다건 등록/조회(batch) 관련 설정
+	 */
+	private Batch batch = new Batch();
+
+	@Getter
+	@Setter
+	@ToString
+	public static class Batch {
+		/**
+		 * 한 번의 요청으로 처리할 수 있는 최대 key 개수
+		 */
+		private Integer maxSize = 1000;
+
+		/**
+		 * Reactive 다건 조회(stream) 시 동시에 요청하는 GET 개수.
+		 * Lettuce 는 하나의 커넥션에서 응답을 기다리지 않고 command 를 연속 기록하므로 pipeline 과 유사하게 동작합니다.
+		 */
+		private Integer streamConcurrency = 64;
+	}
+
+	/**
+	 * NDJSON 대량 import / SCAN 기반 export 설정
+	 */
+	private Bulk bulk = new Bulk();
+
+	@Getter
+	@Setter
+	@ToString
+	public static class Bulk {
+		/**
+		 * import 시 한 번의 pipeline 으로 기록하는 레코드 개수. batch.maxSize 를 넘을 수 없습니다.
+		 */
+		private Integer importBatchSize = 500;
+
+		/**
+		 * export 시 한 번의 MGET 으로 조회하는 key 개수. batch.maxSize 를 넘을 수 없습니다.
+		 */
+		private Integer exportBatchSize = 500;
+
+		/**
+		 * SCAN COUNT 힌트
+		 */
+		private Long scanCount = 1000L;
+
+		/**
+		 * 진행 상황을 로그로 남기는 레코드 간격
+		 */
+		private Long progressLogInterval = 100_000L;
+
+		/**
+		 * 결과에 포함할 최대 오류 메시지 개수
+		 */
+		private Integer maxErrors = 10;
+	}
+
+	/**
+	 * RedisService 값을 key 별 string 대신 hash bucket 에 저장하는 설정
+	 */
+	private BucketStorage bucketStorage = new BucketStorage();
+
+	@Getter
+	@Setter
+	@ToString
+	public static class BucketStorage {
+		/**
+		 * 활성화 시 RedisService 는 key 를 buckets 개의 hash 중 하나에 HSET/HGET 으로 기록/조회합니다.
+		 */
+		private Boolean enabled = false;
+
+		/**
+		 * bucket(hash) 개수. bucket 당 field 수가 hash-max-listpack-entries(기본 128) 이하가 되도록
+		 * 예상 key 개수 / 100 이상으로 설정합니다. 운영 중 변경하면 기존 값을 찾을 수 없습니다.
+		 */
+		private Integer buckets = 65536;
+
+		/**
+		 * bucket key prefix
+		 */
+		private String keyPrefix = "green:bucket:";
+
+		/**
+		 * 값의 유효 시간(초). 0 이면 만료되지 않습니다.
+		 * 만료 시각은 값에 기록되어 조회 시 확인하고, bucket 에는 마지막 쓰기 기준으로 같은 TTL 을 설정합니다.
+		 */
+		private Long ttl = 0L;
+
+		/**
+		 * bucket 에 없는 key 를 기존 key 별 string 에서 조회합니다. 이전(migration)이 끝나면 비활성화합니다.
+		 */
+		private Boolean readFlatFallback = true;
+	}
+
+	/**
+	 * prefix 조회용 lexicographic key index(ZSET) 설정
+	 */
+	private KeyIndex keyIndex = new KeyIndex();
+
+	@Getter
+	@Setter
+	@ToString
+	public static class KeyIndex {
+		/**
+		 * 활성화 시 RedisService 의 쓰기/삭제가 같은 Lua script 안에서 namespace 별 ZSET 에 key 를 추가/제거합니다.
+		 * key 별 string 저장에서만 사용할 수 있습니다. (CLUSTER topology, bucket-storage 와 함께 사용할 수 없습니다.)
+		 */
+		private Boolean enabled = false;
+
+		/**
+		 * index(ZSET) key prefix. index key 는 keyPrefix + namespace 입니다.
+		 */
+		private String keyPrefix = "green:index:";
+
+		/**
+		 * namespace 구분자. key 의 마지막 구분자 앞까지가 namespace 입니다. (green:renzo:code → green:renzo)
+		 */
+		private String delimiter = ":";
+
+		/**
+		 * prefix 조회의 기본 page 크기. 최대값은 batch.max-size 입니다.
+		 */
+		private Integer pageSize = 100;
+	}
+
+	/**
+	 * registerData Write-Behind(비동기 일괄 기록) 설정
+	 */
+	private WriteBehind writeBehind = new WriteBehind();
+
+	@Getter
+	@Setter
+	@ToString
+	public static class WriteBehind {
+		/**
+		 * Write-Behind 활성화 여부. 비활성화 시 registerData 는 즉시 SET 을 수행합니다.
+		 */
+		private Boolean enabled = false;
+
+		/**
+		 * 버퍼에 보관할 수 있는 최대 key 개수. 같은 key 의 반복 쓰기는 하나로 합쳐집니다.
+		 */
+		private Integer capacity = 10_000;
+
+		/**
+		 * 버퍼에 쌓인 key 개수가 이 값 이상이면 즉시 flush 합니다. pipeline 한 번에 기록하는 최대 개수이기도 합니다.
+		 */
+		private Integer batchSize = 500;
+
+		/**
+		 * 최대 flush 주기(밀리초)
+		 */
+		private Long flushInterval = 50L;
+
+		/**
+		 * 버퍼가 가득 찼을 때 공간이 생기기를 기다리는 시간(밀리초).
+		 * 초과 시 쓰기를 버리지 않고 호출 스레드에서 직접 SET 을 수행합니다.
+		 */
+		private Long offerTimeout = 1000L;
+
+		/**
+		 * 종료 시 남은 쓰기를 기록하기 위해 기다리는 최대 시간(밀리초)
+		 */
+		private Long drainTimeout = 10_000L;
 	}
 
 	@Getter
@@ -116,6 +748,79 @@ public class RedisCacheProperties {
 
 		private List<Node> nodes;
 
+		/**
+		 * 노드별 latency, replication lag 기반 Adaptive ReadFrom 설정.
+		 * 활성화 시 readFrom 설정은 무시됩니다.
+		 */
+		private Adaptive adaptive = new Adaptive();
+
+		@Getter
+		@Setter
+		@ToString
+		public static class Adaptive {
+			/**
+			 * Adaptive ReadFrom 활성화 여부
+			 */
+			private Boolean enabled = false;
+
+			/**
+			 * EWMA 가중치(0~1). 클수록 최근 latency 에 민감하게 반응합니다.
+			 */
+			private Double ewmaAlpha = 0.2;
+
+			/**
+			 * 가장 빠른 노드 대비 latency 가 이 배수를 넘으면 outlier 로 보고 읽기 대상에서 제외합니다.
+			 */
+			private Double outlierFactor = 3.0;
+
+			/**
+			 * 제외된 노드의 latency 를 다시 측정하기 위해 읽기를 보내는 확률(0~1)
+			 */
+			private Double explorationRate = 0.02;
+
+			/**
+			 * 허용 replication lag(bytes). master_repl_offset - replica offset 기준입니다.
+			 */
+			private Long maxLagBytes = 1024L * 1024L;
+
+			/**
+			 * 허용 replication lag(초). INFO replication 의 lag 기준입니다.
+			 */
+			private Long maxLagSeconds = 5L;
+
+			/**
+			 * master 에 INFO replication 을 조회하는 주기(밀리초)
+			 */
+			private Long lagProbeInterval = 1000L;
+		}
+
+		/**
+		 * read-your-writes(session consistency) 설정
+		 */
+		private Session session = new Session();
+
+		@Getter
+		@Setter
+		@ToString
+		public static class Session {
+			/**
+			 * 활성화 시 쓰기 응답의 header 로 master replication offset(token)을 전달하고,
+			 * 같은 token 을 전달한 읽기는 해당 offset 까지 복제된 replica 또는 master 에서 읽습니다.
+			 * MASTER_REPLICA topology 에서만 동작하며, write-behind 또는 circuit-breaker.open-writes=QUEUE 와 함께 사용할 수 없습니다.
+			 */
+			private Boolean enabled = false;
+
+			/**
+			 * token 을 주고받는 HTTP header 이름
+			 */
+			private String header = "X-Redis-Session";
+
+			/**
+			 * token 을 만족하는 replica 가 없을 때 ROLE 로 replica offset 을 다시 조회하는 최소 간격(밀리초)
+			 */
+			private Long refreshInterval = 5L;
+		}
+
 		@Getter
 		@Setter
 		public static class Node {
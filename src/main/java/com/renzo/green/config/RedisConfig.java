@@ -1,29 +1,63 @@
 package com.renzo.green.config;
 
+import com.renzo.green.cache.SingleFlight;
+import com.renzo.green.persistence.RedisDataPersistence;
+import com.renzo.green.pool.AdaptivePoolSizer;
+import com.renzo.green.pool.AdaptivePoolingConnectionProvider;
+import com.renzo.green.routing.AdaptiveReadFrom;
+import com.renzo.green.routing.NodeLatencyRegistry;
+import com.renzo.green.routing.SessionConsistency;
+import com.renzo.green.routing.SessionReadFrom;
+import com.renzo.green.serializer.CompressingRedisSerializer;
+import com.renzo.green.serializer.RedisDataPersistenceSerializer;
+import io.lettuce.core.AbstractRedisClient;
+import io.lettuce.core.ReadFrom;
+import io.lettuce.core.api.StatefulConnection;
+import io.lettuce.core.codec.ByteArrayCodec;
+import io.lettuce.core.codec.RedisCodec;
+import io.lettuce.core.metrics.CommandLatencyRecorder;
+import io.lettuce.core.metrics.MicrometerCommandLatencyRecorder;
+import io.lettuce.core.metrics.MicrometerOptions;
+import io.lettuce.core.resource.ClientResources;
+import io.lettuce.core.resource.DefaultClientResources;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.commonspool2.CommonsObjectPool2Metrics;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
 import org.springframework.boot.autoconfigure.data.redis.LettuceClientConfigurationBuilderCustomizer;
 import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.boot.thread.Threading;
 import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.data.redis.cache.CacheKeyPrefix;
+import org.springframework.data.redis.cache.CacheStatisticsCollector;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
-import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisClusterConfiguration;
+import org.springframework.data.redis.connection.RedisConfiguration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisStaticMasterReplicaConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionProvider;
 import org.springframework.data.redis.connection.lettuce.LettucePoolingClientConfiguration;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.Duration;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 @Slf4j
@@ -33,6 +67,12 @@ public class RedisConfig {
 
     private final RedisCacheProperties cacheProperties;
     private final RedisProperties redisProperties;
+    private final Environment environment;
+    private final NodeLatencyRegistry nodeLatencyRegistry;
+    private final AdaptivePoolSizer adaptivePoolSizer;
+    private final SessionConsistency sessionConsistency;
+
+    private static final String POOL_JMX_NAME_PREFIX = "lettuce";
 
     /**
      * clientConfigurationBuilder 확장 구현을 위한 method
@@ -43,8 +83,21 @@ public class RedisConfig {
     void externalConfigurationClientConfigurationBuilder(
             LettuceClientConfiguration.LettuceClientConfigurationBuilder clientConfigurationBuilder,
             RedisCacheProperties cacheProperties) {
-        log.debug("MasterReplica Type ReadFrom : {}", cacheProperties.getReplica().getReadFrom());
-        clientConfigurationBuilder.readFrom(cacheProperties.getReplica().getReadFrom());
+        var replica = cacheProperties.getReplica();
+        ReadFrom readFrom;
+        if (Boolean.TRUE.equals(replica.getAdaptive().getEnabled())) {
+            log.debug("MasterReplica Type ReadFrom : Adaptive {}", replica.getAdaptive());
+            readFrom = new AdaptiveReadFrom(nodeLatencyRegistry, replica.getAdaptive());
+        } else {
+            log.debug("MasterReplica Type ReadFrom : {}", replica.getReadFrom());
+            readFrom = replica.getReadFrom();
+        }
+        // read-your-writes : session token 을 따라잡지 못한 replica 는 요청 단위로 제외합니다.
+        if (sessionConsistency.isEnabled()) {
+            log.debug("MasterReplica Type ReadFrom : Session {}", replica.getSession());
+            readFrom = new SessionReadFrom(readFrom, sessionConsistency);
+        }
+        clientConfigurationBuilder.readFrom(readFrom);
     }
 
     /**
@@ -67,27 +120,76 @@ public class RedisConfig {
     protected LettuceClientConfiguration.LettuceClientConfigurationBuilder createPoolingConfigurationBuilder(
             RedisCacheProperties.Pool poolProperties) {
         log.info("LettuceClientConfigurationBuilder - Pooling Configuration Builder");
-        var poolConfig = new GenericObjectPoolConfig();
+        return LettucePoolingClientConfiguration.builder()
+                .poolConfig(createPoolConfig(poolProperties));
+    }
+
+    protected <T> GenericObjectPoolConfig<T> createPoolConfig(RedisCacheProperties.Pool poolProperties) {
+        var poolConfig = new GenericObjectPoolConfig<T>();
         poolConfig.setMaxIdle(poolProperties.getMaxIdle());
         poolConfig.setMinIdle(poolProperties.getMinIdle());
         poolConfig.setMaxTotal(poolProperties.getMaxActive());
         poolConfig.setMaxWait(Duration.ofMillis(poolProperties.getMaxWait()));
         poolConfig.setTimeBetweenEvictionRuns(Duration.ofMillis(poolProperties.getTimeBetweenEvictionRuns()));
-        return LettucePoolingClientConfiguration.builder()
-                .poolConfig(poolConfig);
+        // CommonsObjectPool2Metrics 가 JMX MBean(org.apache.commons.pool2:type=GenericObjectPool,name=lettuce*)으로 수집합니다.
+        poolConfig.setJmxEnabled(true);
+        poolConfig.setJmxNamePrefix(POOL_JMX_NAME_PREFIX);
+        if (Threading.VIRTUAL.isActive(environment)) {
+            applyVirtualThreadPoolConfig(poolConfig, poolProperties);
+        }
+        return poolConfig;
+    }
+
+    /**
+     * ADAPTIVE 모드의 초기 Pool 설정입니다. maxActive 를 adaptive.min-active ~ max-active 범위로 맞추며,
+     * 이후 크기는 {@link AdaptivePoolSizer} 가 조정합니다.
+     */
+    protected GenericObjectPoolConfig<StatefulConnection<?, ?>> createAdaptivePoolConfig(
+            RedisCacheProperties.Pool poolProperties) {
+        log.info("LettuceConnectionFactory - Adaptive Pool Configuration : {}", poolProperties.getAdaptive());
+        GenericObjectPoolConfig<StatefulConnection<?, ?>> poolConfig = createPoolConfig(poolProperties);
+        int maxTotal = adaptivePoolSizer.initialSize(poolProperties.getMaxActive());
+        poolConfig.setMaxTotal(maxTotal);
+        poolConfig.setMaxIdle(maxTotal);
+        poolConfig.setMinIdle(Threading.VIRTUAL.isActive(environment) ? maxTotal : Math.min(poolConfig.getMinIdle(), maxTotal));
+        return poolConfig;
+    }
+
+    /**
+     * GenericObjectPool.create() 는 synchronized(makeObjectCountLock) 안에서 wait 하므로
+     * virtual thread 가 borrow 중 커넥션을 생성하면 carrier thread 가 고정(pinning)됩니다.
+     * maxActive 만큼 커넥션을 유지하고, 부족분은 evictor(platform thread) 가 채우도록 하여
+     * 요청 스레드의 borrow 가 idle 커넥션 획득(ReentrantLock 기반)으로만 끝나도록 합니다.
+     * 일반 command 는 shareNativeConnection 으로 pool 을 거치지 않습니다.
+     */
+    protected void applyVirtualThreadPoolConfig(GenericObjectPoolConfig<?> poolConfig,
+                                                RedisCacheProperties.Pool poolProperties) {
+        log.info("LettuceClientConfigurationBuilder - Virtual Thread Pool Configuration");
+        poolConfig.setMinIdle(poolProperties.getMaxActive());
+        poolConfig.setMaxIdle(poolProperties.getMaxActive());
+        poolConfig.setMinEvictableIdleDuration(Duration.ofMillis(-1));
+        poolConfig.setTimeBetweenEvictionRuns(Duration.ofSeconds(1));
     }
 
     protected boolean isPoolEnable(RedisCacheProperties.Pool poolProperties) {
         return poolProperties != null && poolProperties.getEnabled();
     }
 
+    /**
+     * ADAPTIVE 모드는 LettucePoolingClientConfiguration 대신 {@link AdaptivePoolingConnectionProvider} 로 Pool 을 구성합니다.
+     */
+    protected boolean isFixedPoolEnable(RedisCacheProperties.Pool poolProperties) {
+        return isPoolEnable(poolProperties) && !adaptivePoolSizer.isEnabled();
+    }
+
     protected LettuceClientConfiguration.LettuceClientConfigurationBuilder createDefaultClientConfigurationBuilder() {
         log.info("LettuceClientConfigurationBuilder - Default Configuration Builder");
         return LettuceClientConfiguration.builder();
     }
 
-    protected LettuceClientConfiguration createLettuceClientConfiguration(RedisCacheProperties cacheProperties) {
-        var builder = isPoolEnable(cacheProperties.getPool()) ?
+    protected LettuceClientConfiguration createLettuceClientConfiguration(RedisCacheProperties cacheProperties,
+                                                                          ClientResources clientResources) {
+        var builder = isFixedPoolEnable(cacheProperties.getPool()) ?
                 createPoolingConfigurationBuilder(cacheProperties.getPool()) :
                 createDefaultClientConfigurationBuilder();
 
@@ -95,14 +197,88 @@ public class RedisConfig {
             builder.useSsl();
         }
         createLettuceClientConfigurationBuilderCustomizer(cacheProperties).customize(builder);
-        builder.clientOptions(new ClientOptionFactory(cacheProperties.getClientOptions()).create());
+        var clientOptionFactory = new ClientOptionFactory(cacheProperties.getClientOptions());
+        builder.clientOptions(cacheProperties.getTopology() == RedisCacheProperties.Topology.CLUSTER ?
+                clientOptionFactory.createCluster(redisProperties.getLettuce().getCluster().getRefresh()) :
+                clientOptionFactory.create());
+        builder.clientResources(clientResources);
         return builder.build();
     }
 
 
+    /**
+     * Command 별 latency(lettuce.command.completion / firstresponse) 를 Micrometer 로 기록하는 ClientResources 입니다.
+     * Adaptive ReadFrom 활성화 시 같은 latency 를 노드별 EWMA 로도 기록합니다.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ClientResources lettuceClientResources(MeterRegistry meterRegistry) {
+        var options = MicrometerOptions.builder()
+                .histogram(true)
+                .targetPercentiles(new double[]{0.5, 0.99, 0.999})
+                .build();
+        CommandLatencyRecorder recorder = new MicrometerCommandLatencyRecorder(meterRegistry, options);
+        if (nodeLatencyRegistry.isEnabled()) {
+            recorder = nodeLatencyRecorder(recorder);
+        }
+        return DefaultClientResources.builder()
+                .commandLatencyRecorder(recorder)
+                .build();
+    }
+
+    private CommandLatencyRecorder nodeLatencyRecorder(CommandLatencyRecorder delegate) {
+        return (local, remote, commandType, firstResponseLatency, completionLatency) -> {
+            delegate.recordCommandLatency(local, remote, commandType, firstResponseLatency, completionLatency);
+            nodeLatencyRegistry.recordLatency(remote, completionLatency);
+        };
+    }
+
+    /**
+     * Connection Pool 의 active, idle, waiters, borrow wait time 등을 commons.pool2.* 로 노출합니다.
+     */
+    @Bean
+    public CommonsObjectPool2Metrics redisPoolMetrics() {
+        return new CommonsObjectPool2Metrics(Tags.of("pool", "redis"));
+    }
+
     // lettuce 사용시
     @Bean
-    public RedisConnectionFactory redisConnectionFactory(){
+    public LettuceConnectionFactory redisConnectionFactory(ClientResources lettuceClientResources){
+        var configuration = cacheProperties.getTopology() == RedisCacheProperties.Topology.CLUSTER ?
+                createClusterConfiguration() :
+                createMasterReplicaConfiguration();
+
+        var clientConfiguration = createLettuceClientConfiguration(cacheProperties, lettuceClientResources);
+        var result = adaptivePoolSizer.isEnabled() ?
+                createAdaptivePoolConnectionFactory(configuration, clientConfiguration) :
+                new LettuceConnectionFactory(configuration, clientConfiguration);
+        result.setEagerInitialization(cacheProperties.getEagerInitialization());
+        result.setShareNativeConnection(adaptivePoolSizer.isEnabled() || cacheProperties.getShareNativeConnection());
+        return result;
+    }
+
+    /**
+     * 일반 command 는 공유 커넥션으로, blocking / transaction command 는 크기가 조정되는 Pool 로 보내는 ConnectionFactory 입니다.
+     * 전용 커넥션이 필요한 작업만 Pool 을 사용하도록 shareNativeConnection 을 강제합니다.
+     */
+    protected LettuceConnectionFactory createAdaptivePoolConnectionFactory(RedisConfiguration configuration,
+                                                                          LettuceClientConfiguration clientConfiguration) {
+        if (!Boolean.TRUE.equals(cacheProperties.getShareNativeConnection())) {
+            log.warn("shareNativeConnection=false is ignored in ADAPTIVE pool mode");
+        }
+        var poolConfig = createAdaptivePoolConfig(cacheProperties.getPool());
+        boolean pinnedIdle = Threading.VIRTUAL.isActive(environment);
+        return new LettuceConnectionFactory(configuration, clientConfiguration) {
+            @Override
+            protected LettuceConnectionProvider doCreateConnectionProvider(AbstractRedisClient client,
+                                                                           RedisCodec<?, ?> codec) {
+                String name = codec instanceof ByteArrayCodec ? "redis" : "reactive";
+                return new AdaptivePoolingConnectionProvider(name, super.doCreateConnectionProvider(client, codec),
+                        poolConfig, adaptivePoolSizer, pinnedIdle);
+            }
+        };
+    }
+
+    protected RedisConfiguration createMasterReplicaConfiguration() {
         log.debug("RedisConnectionFactory Type : MasterReplica");
         var properties = redisProperties;
         var masterReplicaConfiguration
@@ -112,38 +288,112 @@ public class RedisConfig {
 
         cacheProperties.getReplica().getNodes().forEach(node -> masterReplicaConfiguration
                 .addNode(node.getHost(), node.getPort()));
+        return masterReplicaConfiguration;
+    }
 
-        var result = new LettuceConnectionFactory(masterReplicaConfiguration,
-                createLettuceClientConfiguration(cacheProperties));
-        result.setEagerInitialization(cacheProperties.getEagerInitialization());
-        return result;
+    /**
+     * spring.data.redis.cluster.nodes 를 seed 로 사용하는 Cluster 구성입니다.
+     * 전체 topology 는 seed 노드의 CLUSTER NODES 로 조회되며 refresh 설정에 따라 갱신됩니다.
+     */
+    protected RedisConfiguration createClusterConfiguration() {
+        log.debug("RedisConnectionFactory Type : Cluster");
+        var properties = redisProperties;
+        var cluster = properties.getCluster();
+        if (cluster == null || cluster.getNodes() == null || cluster.getNodes().isEmpty()) {
+            throw new IllegalStateException("spring.data.redis.cluster.nodes is required for CLUSTER topology");
+        }
+        var clusterConfiguration = new RedisClusterConfiguration(cluster.getNodes());
+        if (cluster.getMaxRedirects() != null) {
+            clusterConfiguration.setMaxRedirects(cluster.getMaxRedirects());
+        }
+        clusterConfiguration.setUsername(properties.getUsername());
+        clusterConfiguration.setPassword(properties.getPassword());
+        return clusterConfiguration;
     }
 
+    /**
+     * RedisTemplate, RedisCacheManager 가 공유하는 Value Serializer 입니다.
+     * Codec, Compression 설정과 무관하게 JSON, BINARY, 압축 포맷을 모두 읽으므로 운영 중 전환이 가능합니다.
+     * (압축 비활성화 상태에서도 압축된 값을 읽을 수 있도록 항상 CompressingRedisSerializer 로 감쌉니다.)
+     */
     @Bean
-    public CacheManager redisCacheManager(RedisConnectionFactory redisConnectionFactory){
+    public RedisSerializer<Object> redisValueSerializer(MeterRegistry meterRegistry) {
+        log.info("Redis Value Codec : {}, Compression : {}", cacheProperties.getCodec(), cacheProperties.getCompression());
+        return createValueSerializer(cacheProperties.getCodec(), meterRegistry);
+    }
+
+    protected RedisSerializer<Object> createValueSerializer(RedisCacheProperties.Codec codec, MeterRegistry meterRegistry) {
+        var compression = cacheProperties.getCompression();
+        var serializer = new RedisDataPersistenceSerializer(new GenericJackson2JsonRedisSerializer(),
+                codec == RedisCacheProperties.Codec.BINARY);
+        int threshold = Boolean.TRUE.equals(compression.getEnabled()) ? compression.getThreshold() : Integer.MAX_VALUE;
+        return new CompressingRedisSerializer(serializer, threshold, compression.getLevel(), meterRegistry);
+    }
+
+    /**
+     * 캐시별 설정은 spring.data.redis.caches 로 선언합니다. 선언되지 않은 캐시는 전역 설정(timeToLive, ttlJitter, keyPrefix, codec)을 사용합니다.
+     * TTL 이 어디에도 지정되지 않으면 CacheKey.DEFAULT_EXPIRE_SEC 를 사용합니다.
+     * 모든 캐시가 같은 Key/Value Serializer 계열을 사용하므로 JDK 직렬화로 기록되는 캐시가 없습니다.
+     */
+    @Bean
+    public CacheManager redisCacheManager(RedisConnectionFactory redisConnectionFactory,
+                                          RedisSerializer<Object> redisValueSerializer,
+                                          MeterRegistry meterRegistry){
+        Map<RedisCacheProperties.Codec, RedisSerializer<Object>> serializers = new EnumMap<>(RedisCacheProperties.Codec.class);
+        serializers.put(cacheProperties.getCodec(), redisValueSerializer);
+
+        RedisCacheConfiguration configuration = createCacheConfiguration(new RedisCacheProperties.CacheSpec(),
+                serializers, meterRegistry);
+
+        // 코드 기본값(CacheKey) 위에 spring.data.redis.caches 설정을 덮어씁니다.
+        Map<String, RedisCacheProperties.CacheSpec> specs = new LinkedHashMap<>();
+        specs.put(CacheKey.ZONE, RedisCacheProperties.CacheSpec.ofTimeToLive(CacheKey.ZONE_EXPIRE_SEC));
+        specs.putAll(cacheProperties.getCaches());
+
+        Map<String, RedisCacheConfiguration> cacheConfiguration = new HashMap<>();
+        specs.forEach((name, spec) -> {
+            log.info("Redis Cache [{}] : {}", name, spec);
+            cacheConfiguration.put(name, createCacheConfiguration(spec, serializers, meterRegistry));
+        });
+
+        // 캐시별 hit/miss/put/eviction 통계를 수집하고, 런타임에 생성되는 캐시도 Micrometer 에 등록합니다.
+        var cacheWriter = RedisCacheWriter.nonLockingRedisCacheWriter(redisConnectionFactory)
+                .withStatisticsCollector(CacheStatisticsCollector.create());
+        return new MeteredRedisCacheManager(cacheWriter, configuration, cacheConfiguration,
+                cacheProperties, meterRegistry);
+    }
+
+    protected RedisCacheConfiguration createCacheConfiguration(RedisCacheProperties.CacheSpec spec,
+                                                               Map<RedisCacheProperties.Codec, RedisSerializer<Object>> serializers,
+                                                               MeterRegistry meterRegistry) {
+        long timeToLive = spec.getTimeToLive() != null ? spec.getTimeToLive() :
+                cacheProperties.getTimeToLive() != null ? cacheProperties.getTimeToLive() : CacheKey.DEFAULT_EXPIRE_SEC;
+        double jitter = spec.getTtlJitter() != null ? spec.getTtlJitter() : cacheProperties.getTtlJitter();
+        String keyPrefix = spec.getKeyPrefix() != null ? spec.getKeyPrefix() : cacheProperties.getKeyPrefix();
+        var codec = spec.getCodec() != null ? spec.getCodec() : cacheProperties.getCodec();
+
         RedisCacheConfiguration configuration = RedisCacheConfiguration.defaultCacheConfig()
-                .disableCachingNullValues()
-                .entryTtl(Duration.ofSeconds(CacheKey.DEFAULT_EXPIRE_SEC))
-                .computePrefixWith(CacheKeyPrefix.simple())
+                .entryTtl(new JitteredTtlFunction(timeToLive > 0 ? Duration.ofSeconds(timeToLive) : Duration.ZERO, jitter))
+                .computePrefixWith(cacheName -> keyPrefix + CacheKeyPrefix.simple().compute(cacheName))
                 .serializeKeysWith(
                     RedisSerializationContext.SerializationPair
                     .fromSerializer(new StringRedisSerializer()))
 
                 .serializeValuesWith(RedisSerializationContext
                     .SerializationPair
-                    .fromSerializer(new GenericJackson2JsonRedisSerializer()));
+                    .fromSerializer(serializers.computeIfAbsent(codec, c -> createValueSerializer(c, meterRegistry))));
 
+        return Boolean.TRUE.equals(spec.getCacheNullValues()) ? configuration : configuration.disableCachingNullValues();
+    }
 
-        // 캐시키 별 default 유효시간 설정
-        Map<String, RedisCacheConfiguration> cacheConfiguration = new HashMap<>();
-        cacheConfiguration.put(CacheKey.ZONE,RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofSeconds(CacheKey.ZONE_EXPIRE_SEC)));
-
-        return RedisCacheManager.RedisCacheManagerBuilder
-                .fromConnectionFactory(redisConnectionFactory)
-                .cacheDefaults(configuration)
-                .withInitialCacheConfigurations(cacheConfiguration)
-                .build();
+    /**
+     * RedisService 조회(GET)용 Single-Flight 입니다.
+     */
+    @Bean
+    public SingleFlight<String, RedisDataPersistence> redisServiceSingleFlight() {
+        var properties = cacheProperties.getSingleFlight();
+        return new SingleFlight<>("redis-service", Boolean.TRUE.equals(properties.getEnabled()),
+                properties.getWaitTimeout());
     }
 
     @Bean
@@ -156,13 +406,33 @@ public class RedisConfig {
     }
 
     @Bean
-    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory redisConnectionFactory){
+    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory redisConnectionFactory,
+                                                       RedisSerializer<Object> redisValueSerializer){
         RedisTemplate<String, Object> redisTemplate = new RedisTemplate<>();
         redisTemplate.setConnectionFactory(redisConnectionFactory);
         redisTemplate.setKeySerializer(new StringRedisSerializer());
-        redisTemplate.setValueSerializer(new GenericJackson2JsonRedisSerializer() );
+        redisTemplate.setValueSerializer(redisValueSerializer);
 
         return redisTemplate;
     }
 
+    /**
+     * RedisTemplate 과 동일한 LettuceConnectionFactory, Value Serializer 를 사용하는 Reactive Template 입니다.
+     * ReadFrom 등 Client 설정도 동일하게 적용됩니다.
+     */
+    @Bean
+    public ReactiveRedisTemplate<String, Object> reactiveRedisTemplate(LettuceConnectionFactory redisConnectionFactory,
+                                                                       RedisSerializer<Object> redisValueSerializer){
+        RedisSerializationContext<String, Object> serializationContext = RedisSerializationContext
+                .<String, Object>newSerializationContext(new StringRedisSerializer())
+                .value(redisValueSerializer)
+                .build();
+        return new ReactiveRedisTemplate<>(redisConnectionFactory, serializationContext);
+    }
+
+    @Bean
+    public ReactiveStringRedisTemplate reactiveStringRedisTemplate(LettuceConnectionFactory redisConnectionFactory){
+        return new ReactiveStringRedisTemplate(redisConnectionFactory);
+    }
+
 }
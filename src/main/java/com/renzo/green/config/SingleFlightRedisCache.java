@@ -0,0 +1,123 @@
+package com.renzo.green.config;
+
+import com.renzo.green.cache.RefreshAhead;
+import com.renzo.green.cache.RefreshAheadValue;
+import com.renzo.green.cache.SingleFlight;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+/**
+ * {@code @Cacheable(sync = true)} 의 load 를 key 단위 single-flight 로 처리하는 RedisCache 입니다.
+ * <p>
+ * RedisCache 기본 구현은 캐시 전체에 대한 synchronized 로 load 를 직렬화하므로
+ * 서로 다른 key 의 miss 도 서로를 기다리고, virtual thread 가 carrier thread 에 고정됩니다.
+ * 이 구현은 같은 key 의 동시 miss 만 하나의 load 를 공유합니다.
+ * sync 가 아닌 {@code @Cacheable} 은 Spring 이 조회/저장을 따로 호출하므로 합쳐지지 않습니다.
+ * <p>
+ * refreshAhead 가 설정되면 값을 {@link RefreshAheadValue} 로 감싸 만료 시각과 재계산 시간을 함께 저장하고,
+ * sync 조회가 hit 일 때 만료 전에 background 에서 값을 다시 계산합니다. 재계산이 끝날 때까지 기존 값을 반환합니다.
+ * 재계산은 executor thread 에서 실행되므로 요청 thread 의 ThreadLocal(Request, Security Context 등)은 사용할 수 없습니다.
+ */
+class SingleFlightRedisCache extends RedisCache {
+
+	private final SingleFlight<Object, Object> singleFlight;
+	private final RefreshAhead refreshAhead;
+
+	SingleFlightRedisCache(String name, RedisCacheWriter cacheWriter, RedisCacheConfiguration cacheConfiguration,
+			SingleFlight<Object, Object> singleFlight, @Nullable RefreshAhead refreshAhead) {
+		super(name, cacheWriter, cacheConfiguration);
+		this.singleFlight = singleFlight;
+		this.refreshAhead = refreshAhead;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T get(Object key, Callable<T> valueLoader) {
+		if (refreshAhead != null) {
+			Object stored = lookupEntry(key);
+			if (stored instanceof RefreshAheadValue entry) {
+				if (refreshAhead.shouldRefresh(entry, System.currentTimeMillis())) {
+					refreshAhead.schedule(key, () -> singleFlight.execute(key, () -> loadAndPut(key, valueLoader)));
+				}
+				return (T) fromStoreValue(entry);
+			}
+			if (stored != null) {
+				return (T) fromStoreValue(stored);
+			}
+		} else {
+			ValueWrapper result = get(key);
+			if (result != null) {
+				return (T) result.get();
+			}
+		}
+		return (T) singleFlight.execute(key, () -> load(key, valueLoader));
+	}
+
+	private <T> Object load(Object key, Callable<T> valueLoader) {
+		// 앞선 leader 가 방금 저장한 값이 있으면 다시 load 하지 않습니다.
+		ValueWrapper result = get(key);
+		if (result != null) {
+			return result.get();
+		}
+		return loadAndPut(key, valueLoader);
+	}
+
+	private <T> Object loadAndPut(Object key, Callable<T> valueLoader) {
+		long started = System.nanoTime();
+		T value;
+		try {
+			value = valueLoader.call();
+		} catch (Exception e) {
+			throw new ValueRetrievalException(key, valueLoader, e);
+		}
+		long delta = Duration.ofNanos(System.nanoTime() - started).toMillis();
+		if (refreshAhead != null) {
+			refreshAhead.recordRecompute(delta);
+		}
+		if (value != null || isAllowNullValues()) {
+			put(key, value, delta);
+		}
+		return value;
+	}
+
+	@Override
+	public void put(Object key, @Nullable Object value) {
+		put(key, value, refreshAhead != null ? refreshAhead.recomputeMillis() : 0);
+	}
+
+	/**
+	 * jitter 가 적용된 TTL 은 여기서 한 번만 계산합니다. RedisCache.put 은 TtlFunction 을 다시 호출하지만
+	 * {@link JitteredTtlFunction} 은 RefreshAheadValue 의 ttl 을 그대로 반환하므로 expiresAt 과 Redis TTL 이 같습니다.
+	 */
+	private void put(Object key, @Nullable Object value, long delta) {
+		Duration ttl = refreshAhead != null && value != null ? getTimeToLive(key, value) : null;
+		if (ttl == null || ttl.isZero() || ttl.isNegative()) {
+			// 만료가 없는 값은 미리 갱신할 필요가 없으므로 그대로 저장합니다.
+			super.put(key, value);
+			return;
+		}
+		super.put(key, new RefreshAheadValue(value, System.currentTimeMillis() + ttl.toMillis(), ttl.toMillis(), delta));
+	}
+
+	/**
+	 * {@link RefreshAheadValue} 를 풀지 않은 저장 값을 조회합니다.
+	 * RedisCache 의 lookup 을 그대로 사용하므로 hit/miss 통계(getStatistics)와 time-to-idle 이 다른 조회와 같게 적용됩니다.
+	 */
+	@Nullable
+	private Object lookupEntry(Object key) {
+		return lookup(key);
+	}
+
+	/**
+	 * 저장 값이 {@link RefreshAheadValue} 이면 감싼 값을 반환합니다. (get, retrieve, putIfAbsent 등 모든 조회 경로)
+	 */
+	@Override
+	protected Object fromStoreValue(@Nullable Object storeValue) {
+		return super.fromStoreValue(storeValue instanceof RefreshAheadValue entry ? entry.getValue() : storeValue);
+	}
+}
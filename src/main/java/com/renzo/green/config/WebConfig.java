@@ -0,0 +1,22 @@
+package com.renzo.green.config;
+
+import com.renzo.green.controller.SessionConsistencyAdvice;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final SessionConsistencyAdvice sessionConsistencyAdvice;
+
+    /**
+     * RedisService 를 호출하는 RedisController 경로에만 session token 을 적용합니다.
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(sessionConsistencyAdvice).addPathPatterns("/register", "/register/**");
+    }
+}
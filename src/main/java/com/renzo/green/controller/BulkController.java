@@ -0,0 +1,76 @@
+package com.renzo.green.controller;
+
+import com.renzo.green.resilience.RedisUnavailableException;
+import com.renzo.green.service.BulkTransferService;
+import io.swagger.v3.oas.annotations.Operation;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+
+/**
+ * NDJSON 대량 import / export 를 제공합니다.
+ * 요청/응답 body 를 한 번에 메모리에 올리지 않도록 Servlet stream 을 직접 사용합니다.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/bulk")
+public class BulkController {
+
+    private final BulkTransferService bulkTransferService;
+
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, "application/x-ndjson"})
+    @Operation(
+            summary = "Redis Key 대량 등록 (NDJSON)",
+            description = "한 줄에 하나의 {\"key\":..,\"value\":..} 를 읽어 pipeline 단위로 등록하고 처리 결과를 제공합니다."
+    )
+    public ResponseEntity<?> importNdjson(HttpServletRequest request) throws IOException {
+        return ResponseEntity.status(HttpStatus.OK).body(bulkTransferService.importNdjson(request.getInputStream()));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+            summary = "Redis Key 대량 조회 (NDJSON)",
+            description = "pattern 에 매칭되는 Key 를 SCAN 으로 찾아 NDJSON stream 으로 제공합니다."
+    )
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(defaultValue = "*") String pattern) {
+        return ResponseEntity.status(HttpStatus.OK)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> bulkTransferService.export(pattern, out));
+    }
+
+    @PostMapping("/migrate-buckets")
+    @Operation(
+            summary = "Key 별 string 을 bucket 저장 형식으로 이전",
+            description = "pattern 에 매칭되는 Key 를 SCAN 으로 찾아 hash bucket 으로 옮기고 처리 결과를 제공합니다. "
+                    + "bucket-storage 가 활성화되어 있어야 하며, deleteSource 이면 옮긴 Key 를 삭제합니다."
+    )
+    public ResponseEntity<?> migrateBuckets(@RequestParam(defaultValue = "*") String pattern,
+                                            @RequestParam(defaultValue = "true") boolean deleteSource) {
+        return ResponseEntity.status(HttpStatus.OK).body(bulkTransferService.migrateToBuckets(pattern, deleteSource));
+    }
+
+    @GetMapping("/progress")
+    @Operation(
+            summary = "대량 import / export 진행 상황 조회",
+            description = "진행 중이거나 최근 완료된 작업의 처리 건수, 처리량(records/s), 오류를 제공합니다."
+    )
+    public ResponseEntity<?> getProgress() {
+        return ResponseEntity.status(HttpStatus.OK).body(bulkTransferService.transfers());
+    }
+
+    @ExceptionHandler(UnsupportedOperationException.class)
+    public ResponseEntity<?> handleUnsupportedOperation(UnsupportedOperationException e) {
+        return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED).body(e.getMessage());
+    }
+
+    @ExceptionHandler(RedisUnavailableException.class)
+    public ResponseEntity<?> handleRedisUnavailable(RedisUnavailableException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
+    }
+}
@@ -0,0 +1,80 @@
+package com.renzo.green.controller;
+
+import com.renzo.green.dto.RedisBatchResult;
+import com.renzo.green.dto.RedisData;
+import com.renzo.green.persistence.RedisDataPersistence;
+import com.renzo.green.service.ReactiveRedisService;
+import io.swagger.v3.oas.annotations.Operation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * RedisController 의 Non-Blocking 버전입니다.
+ * Mono/Flux 반환 시 Servlet 요청 스레드는 반납되고, 응답은 Redis 결과가 도착한 시점에 기록됩니다.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/reactive")
+public class ReactiveRedisController {
+
+    private final ReactiveRedisService reactiveRedisService;
+
+    @PostMapping("/register")
+    @Operation(
+            summary = "Redis Key 등록 (Reactive)",
+            description = "Key 등록 기능을 Non-Blocking 으로 제공합니다."
+    )
+    public Mono<ResponseEntity<?>> registRedis(@RequestBody RedisData redisData) {
+        return reactiveRedisService.registerData(RedisDataPersistence.builder()
+                        .key(redisData.getKey())
+                        .value(redisData.getValue())
+                        .build())
+                .map(result -> ResponseEntity.status(HttpStatus.OK).body("Success"));
+    }
+
+    @GetMapping("/register/{key}")
+    @Operation(
+            summary = "Redis Key 조회 (Reactive)",
+            description = "Key 조회 기능을 Non-Blocking 으로 제공합니다. Key 가 없으면 404 를 반환합니다."
+    )
+    public Mono<ResponseEntity<?>> getRedis(@PathVariable String key) {
+        return reactiveRedisService.retrieveData(key)
+                .<ResponseEntity<?>>map(persistence -> {
+                    RedisData redisData = new RedisData();
+                    redisData.setKey(persistence.getKey());
+                    redisData.setValue(persistence.getValue());
+                    return ResponseEntity.status(HttpStatus.OK).body(redisData);
+                })
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+    }
+
+    @GetMapping(value = "/register", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+            summary = "Redis Key 다건 조회 (Reactive Stream)",
+            description = "여러 Key 의 조회 결과를 요청 순서대로 NDJSON stream 으로 제공합니다."
+    )
+    public Flux<RedisBatchResult.Item> getRedisStream(@RequestParam List<String> keys) {
+        return reactiveRedisService.retrieveStream(keys);
+    }
+
+    @PostMapping(value = "/register/multi-get", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+            summary = "Redis Key 다건 조회 (Reactive Stream, POST)",
+            description = "Body 로 받은 Key 목록의 조회 결과를 NDJSON stream 으로 제공합니다."
+    )
+    public Flux<RedisBatchResult.Item> getRedisStreamByBody(@RequestBody List<String> keys) {
+        return reactiveRedisService.retrieveStream(keys);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<?> handleIllegalArgument(IllegalArgumentException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+    }
+}
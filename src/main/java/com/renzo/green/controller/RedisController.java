@@ -1,21 +1,46 @@
 package com.renzo.green.controller;
 
+import com.renzo.green.cache.HotKeyDetector;
+import com.renzo.green.cache.NearCache;
+import com.renzo.green.config.RedisCacheProperties;
+import com.renzo.green.dto.ConditionalWriteResult;
+import com.renzo.green.dto.NearCacheStats;
+import com.renzo.green.dto.RawRedisData;
+import com.renzo.green.dto.RedisBatchResult;
 import com.renzo.green.dto.RedisData;
 import com.renzo.green.persistence.RedisDataPersistence;
+import com.renzo.green.resilience.RedisUnavailableException;
+import com.renzo.green.serializer.RedisDataJsonWriter;
+import com.renzo.green.routing.NodeLatencyRegistry;
+import com.renzo.green.service.PendingWriteConflictException;
 import com.renzo.green.service.RedisService;
+import com.renzo.green.service.WriteBehindBuffer;
 import io.swagger.v3.oas.annotations.Operation;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.BeanUtils;
 
+import org.springframework.data.redis.serializer.SerializationException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+
 @RestController
 @RequiredArgsConstructor
 public class RedisController {
 
     private final RedisService redisService;
+    private final NearCache nearCache;
+    private final WriteBehindBuffer writeBehindBuffer;
+    private final NodeLatencyRegistry nodeLatencyRegistry;
+    private final HotKeyDetector hotKeyDetector;
+    private final RedisDataJsonWriter redisDataJsonWriter;
+    private final RedisCacheProperties cacheProperties;
 
     @PostMapping("/register")
     @Operation(
@@ -33,13 +58,243 @@ public class RedisController {
     @GetMapping("/register/{key}")
     @Operation(
             summary = "Redis Key 조회",
-            description = "Key 조회 기능을 제공합니다."
+            description = "Key 조회 기능을 제공합니다. Key 가 없으면 404 를 반환합니다. "
+                    + "raw-read 활성화 시 저장된 값을 역직렬화하지 않고 응답에 기록합니다."
     )
-    public ResponseEntity<?> getRedis(@PathVariable String key) {
+    public ResponseEntity<?> getRedis(@PathVariable String key, HttpServletResponse response) throws IOException {
+        if (Boolean.TRUE.equals(cacheProperties.getRawRead())) {
+            return writeRaw(key, redisService.retrieveRaw(key), response);
+        }
         RedisDataPersistence redisDataVO = redisService.retrieveData(key);
+        if (redisDataVO == null) {
+            return notFound(key);
+        }
         RedisData redisData = new RedisData();
         BeanUtils.copyProperties(redisDataVO, redisData);
         return ResponseEntity.status(HttpStatus.OK).body(redisData);
     }
 
+    /**
+     * 조회 결과를 응답 stream 에 직접 기록합니다. 응답을 기록한 경우 null 을 반환하여 MVC 가 body 를 다시 쓰지 않도록 합니다.
+     * <p>
+     * 저장된 값이 손상되어 변환 중 SerializationException 이 발생하면 200 과 일부만 기록된 body 가 이미 전송될 수 있으므로,
+     * 먼저 buffer 에 변환한 뒤 status 를 설정하고 기록합니다. 변환이 실패하면 응답은 아직 commit 되지 않았으므로 오류 응답으로 처리됩니다.
+     */
+    private ResponseEntity<?> writeRaw(String key, RawRedisData raw, HttpServletResponse response) throws IOException {
+        if (raw.isMissing()) {
+            return notFound(key);
+        }
+        var body = new ByteArrayOutputStream(raw.getBytes() != null ? raw.getBytes().length + 64 : 256);
+        if (raw.getBytes() != null) {
+            redisDataJsonWriter.write(raw.getBytes(), body);
+        } else {
+            redisDataJsonWriter.write(raw.getPersistence(), body);
+        }
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.size());
+        body.writeTo(response.getOutputStream());
+        return null;
+    }
+
+    private static ResponseEntity<?> notFound(String key) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Key not found : " + key);
+    }
+
+    @PostMapping("/register/batch")
+    @Operation(
+            summary = "Redis Key 다건 등록",
+            description = "여러 Key 를 하나의 pipeline 으로 등록하고 Key 별 결과를 제공합니다."
+    )
+    public ResponseEntity<?> registRedisBatch(@RequestBody List<RedisData> redisDataList) {
+        RedisBatchResult result = redisService.registerBatch(redisDataList.stream()
+                .map(redisData -> RedisDataPersistence.builder()
+                        .key(redisData.getKey())
+                        .value(redisData.getValue())
+                        .build())
+                .toList());
+        return ResponseEntity.status(HttpStatus.OK).body(result);
+    }
+
+    @GetMapping(value = "/register", params = "keys")
+    @Operation(
+            summary = "Redis Key 다건 조회",
+            description = "여러 Key 를 하나의 MGET 으로 조회하고 Key 별 결과(누락/실패 포함)를 제공합니다."
+    )
+    public ResponseEntity<?> getRedisBatch(@RequestParam List<String> keys) {
+        return ResponseEntity.status(HttpStatus.OK).body(redisService.retrieveBatch(keys));
+    }
+
+    @GetMapping(value = "/register", params = "prefix")
+    @Operation(
+            summary = "Redis Key prefix 조회",
+            description = "key-index 로 prefix 로 시작하는 Key 를 사전 순으로 page 단위 조회합니다. "
+                    + "nextCursor 를 cursor 로 전달하면 다음 page 를 조회하며, values=true 이면 값도 함께 제공합니다. "
+                    + "prefix 의 마지막 구분자 앞까지가 namespace 이며 더 깊은 namespace 의 Key 는 포함되지 않습니다."
+    )
+    public ResponseEntity<?> getRedisByPrefix(@RequestParam String prefix,
+                                              @RequestParam(required = false) String cursor,
+                                              @RequestParam(required = false) Integer limit,
+                                              @RequestParam(defaultValue = "false") boolean values) {
+        return ResponseEntity.status(HttpStatus.OK).body(redisService.findByPrefix(prefix, cursor, limit, values));
+    }
+
+    @PostMapping("/register/multi-get")
+    @Operation(
+            summary = "Redis Key 다건 조회 (POST)",
+            description = "Query String 길이 제한을 피하기 위해 Body 로 Key 목록을 받아 조회합니다."
+    )
+    public ResponseEntity<?> getRedisBatchByBody(@RequestBody List<String> keys) {
+        return ResponseEntity.status(HttpStatus.OK).body(redisService.retrieveBatch(keys));
+    }
+
+    @DeleteMapping("/register")
+    @Operation(
+            summary = "Redis Key 다건 삭제",
+            description = "여러 Key 를 삭제하고 삭제된 Key 개수를 제공합니다."
+    )
+    public ResponseEntity<?> deleteRedisBatch(@RequestParam List<String> keys) {
+        return ResponseEntity.status(HttpStatus.OK).body(redisService.deleteBatch(keys));
+    }
+
+    @PostMapping("/register/if-absent")
+    @Operation(
+            summary = "Redis Key 조건부 등록 (set if absent)",
+            description = "Key 가 없을 때만 version 1 로 등록합니다. 이미 있으면 409 와 현재 값/version 을 반환합니다."
+    )
+    public ResponseEntity<?> registRedisIfAbsent(@RequestBody RedisData redisData) {
+        return conditionalWriteResponse(redisService.setIfAbsent(toPersistence(redisData)));
+    }
+
+    @PostMapping("/register/compare-and-set")
+    @Operation(
+            summary = "Redis Key 버전 조건부 등록 (compare and set)",
+            description = "현재 version 이 요청의 version 과 같을 때만 등록하고 version 을 1 증가시킵니다. "
+                    + "version 이 다르면 409 와 현재 값/version 을 반환합니다. (Key 가 없으면 version 0)"
+    )
+    public ResponseEntity<?> compareAndSetRedis(@RequestBody RedisData redisData) {
+        return conditionalWriteResponse(redisService.compareAndSet(toPersistence(redisData)));
+    }
+
+    @PostMapping("/register/{key}/increment")
+    @Operation(
+            summary = "Redis Key 값 증가",
+            description = "정수 값을 delta 만큼 증가시키고 증가된 값과 version 을 반환합니다. Key 가 없으면 0 에서 시작합니다."
+    )
+    public ResponseEntity<?> incrementRedis(@PathVariable String key, @RequestParam(defaultValue = "1") long delta) {
+        return ResponseEntity.status(HttpStatus.OK).body(redisService.increment(key, delta));
+    }
+
+    @PostMapping("/register/batch/if-absent")
+    @Operation(
+            summary = "Redis Key 다건 조건부 등록 (set if absent)",
+            description = "Key 별로 없을 때만 등록하고 Key 별 결과(이미 있으면 CONFLICT)를 제공합니다."
+    )
+    public ResponseEntity<?> registRedisBatchIfAbsent(@RequestBody List<RedisData> redisDataList) {
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(redisService.setIfAbsentBatch(redisDataList.stream().map(RedisController::toPersistence).toList()));
+    }
+
+    @PostMapping("/register/batch/compare-and-set")
+    @Operation(
+            summary = "Redis Key 다건 버전 조건부 등록 (compare and set)",
+            description = "Key 별로 version 이 같을 때만 등록하고 Key 별 결과(version 이 다르면 CONFLICT)를 제공합니다."
+    )
+    public ResponseEntity<?> compareAndSetRedisBatch(@RequestBody List<RedisData> redisDataList) {
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(redisService.compareAndSetBatch(redisDataList.stream().map(RedisController::toPersistence).toList()));
+    }
+
+    @PostMapping("/register/batch/increment")
+    @Operation(
+            summary = "Redis Key 다건 값 증가",
+            description = "여러 Key 의 정수 값을 delta 만큼 증가시키고 Key 별 결과를 제공합니다."
+    )
+    public ResponseEntity<?> incrementRedisBatch(@RequestParam List<String> keys,
+                                                 @RequestParam(defaultValue = "1") long delta) {
+        return ResponseEntity.status(HttpStatus.OK).body(redisService.incrementBatch(keys, delta));
+    }
+
+    private static RedisDataPersistence toPersistence(RedisData redisData) {
+        return RedisDataPersistence.builder()
+                .key(redisData.getKey())
+                .value(redisData.getValue())
+                .version(redisData.getVersion())
+                .build();
+    }
+
+    private static ResponseEntity<?> conditionalWriteResponse(ConditionalWriteResult result) {
+        return ResponseEntity.status(result.isApplied() ? HttpStatus.OK : HttpStatus.CONFLICT).body(result);
+    }
+
+    @ExceptionHandler(PendingWriteConflictException.class)
+    public ResponseEntity<?> handlePendingWriteConflict(PendingWriteConflictException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+    }
+
+    @ExceptionHandler(UnsupportedOperationException.class)
+    public ResponseEntity<?> handleUnsupportedOperation(UnsupportedOperationException e) {
+        return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED).body(e.getMessage());
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<?> handleIllegalArgument(IllegalArgumentException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+    }
+
+    @ExceptionHandler(SerializationException.class)
+    public ResponseEntity<?> handleSerialization(SerializationException e) {
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Stored value could not be read : " + e.getMessage());
+    }
+
+    @ExceptionHandler(RedisUnavailableException.class)
+    public ResponseEntity<?> handleRedisUnavailable(RedisUnavailableException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
+    }
+
+    @GetMapping("/near-cache/stats")
+    @Operation(
+            summary = "Near Cache 통계 조회",
+            description = "Near Cache 의 hit ratio 및 eviction 통계와 L2 계층 엔트리 개수를 제공합니다."
+    )
+    public ResponseEntity<?> getNearCacheStats() {
+        var stats = nearCache.stats();
+        return ResponseEntity.status(HttpStatus.OK).body(NearCacheStats.builder()
+                .enabled(nearCache.isEnabled())
+                .estimatedSize(nearCache.estimatedSize())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictionCount(stats.evictionCount())
+                .localTierSize(nearCache.localTierSize())
+                .build());
+    }
+
+    @GetMapping("/write-behind/stats")
+    @Operation(
+            summary = "Write-Behind 통계 조회",
+            description = "Write-Behind 버퍼의 queue depth, coalescing ratio, flush latency 를 제공합니다."
+    )
+    public ResponseEntity<?> getWriteBehindStats() {
+        return ResponseEntity.status(HttpStatus.OK).body(writeBehindBuffer.stats());
+    }
+
+    @GetMapping("/replica/routing")
+    @Operation(
+            summary = "Replica 읽기 라우팅 조회",
+            description = "노드별 latency EWMA, replication lag 및 실제 읽기가 전달된 비율(weight)을 제공합니다."
+    )
+    public ResponseEntity<?> getReplicaRouting() {
+        return ResponseEntity.status(HttpStatus.OK).body(nodeLatencyRegistry.stats());
+    }
+
+    @GetMapping("/hot-keys")
+    @Operation(
+            summary = "Hot Key 조회",
+            description = "직전 집계 window 에서 조회가 집중된 Key 와 추정 초당 조회 수, 로컬 pin 여부를 제공합니다."
+    )
+    public ResponseEntity<?> getHotKeys() {
+        return ResponseEntity.status(HttpStatus.OK).body(hotKeyDetector.hotKeys());
+    }
+
 }
@@ -0,0 +1,64 @@
+package com.renzo.green.controller;
+
+import com.renzo.green.routing.SessionConsistency;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * RedisController 요청의 session token 을 주고받습니다. (replica.session.enabled)
+ * <p>
+ * 요청 header 의 token 을 요청 스레드에 설정하고, 응답 body 를 기록하기 전에 새 token 을 같은 header 로 전달합니다.
+ * 쓰기가 있었던 요청은 쓰기 이후의 master offset 을, 읽기 요청은 전달받은 token 을 그대로 반환합니다.
+ * 형식이 잘못된 token 은 무시합니다.
+ */
+@Slf4j
+@ControllerAdvice(assignableTypes = RedisController.class)
+@RequiredArgsConstructor
+public class SessionConsistencyAdvice implements HandlerInterceptor, ResponseBodyAdvice<Object> {
+
+    private final SessionConsistency sessionConsistency;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String token = request.getHeader(sessionConsistency.getHeader());
+        if (sessionConsistency.isEnabled() && token != null) {
+            try {
+                sessionConsistency.begin(Long.parseLong(token.trim()));
+            } catch (NumberFormatException e) {
+                log.debug("Invalid session token : {}", token);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        sessionConsistency.end();
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return sessionConsistency.isEnabled();
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        Long token = sessionConsistency.token();
+        if (token != null) {
+            response.getHeaders().set(sessionConsistency.getHeader(), String.valueOf(token));
+        }
+        return body;
+    }
+}
@@ -0,0 +1,21 @@
+package com.renzo.green.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@ToString
+@Getter
+@Builder
+public class BulkTransferStats {
+    private String id;
+    private String operation;
+    private boolean running;
+    private long processed;
+    private long succeeded;
+    private long failed;
+    private long malformed;
+    private long elapsedMillis;
+    private double recordsPerSecond;
+    private List<String> errors;
+}
@@ -0,0 +1,16 @@
+package com.renzo.green.dto;
+
+import lombok.*;
+
+/**
+ * 조건부 쓰기 결과. 기록되지 않은 경우(applied=false) version/value 는 Redis 의 현재 값입니다.
+ */
+@ToString
+@Getter
+@Builder
+public class ConditionalWriteResult {
+    private String key;
+    private boolean applied;
+    private long version;
+    private String value;
+}
@@ -0,0 +1,13 @@
+package com.renzo.green.dto;
+
+import lombok.*;
+
+@ToString
+@Getter
+@Builder(toBuilder = true)
+public class HotKeyStats {
+    private String key;
+    private long estimatedCount;
+    private double rate;
+    private boolean pinned;
+}
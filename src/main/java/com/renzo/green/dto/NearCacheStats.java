@@ -0,0 +1,16 @@
+package com.renzo.green.dto;
+
+import lombok.*;
+
+@ToString
+@Getter
+@Builder
+public class NearCacheStats {
+    private boolean enabled;
+    private long estimatedSize;
+    private long hitCount;
+    private long missCount;
+    private double hitRate;
+    private long evictionCount;
+    private long localTierSize;
+}
@@ -0,0 +1,18 @@
+package com.renzo.green.dto;
+
+import com.renzo.green.persistence.RedisDataPersistence;
+import lombok.*;
+
+/**
+ * Raw 조회 결과. Redis 에서 읽은 값은 bytes, 로컬(Near Cache, Write-Behind 등)에서 읽은 값은 persistence 에 담깁니다.
+ */
+@Getter
+@Builder
+public class RawRedisData {
+    private byte[] bytes;
+    private RedisDataPersistence persistence;
+
+    public boolean isMissing() {
+        return bytes == null && persistence == null;
+    }
+}
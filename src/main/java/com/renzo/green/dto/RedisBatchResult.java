@@ -0,0 +1,54 @@
+package com.renzo.green.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@ToString
+@Getter
+@Builder
+public class RedisBatchResult {
+    private int requested;
+    private int succeeded;
+    private int missing;
+    private int conflict;
+    private int failed;
+    private List<Item> results;
+
+    public enum Status {
+        OK,
+        MISSING,
+        /**
+         * 조건부 쓰기의 조건이 맞지 않아 기록되지 않음 (value/version 은 현재 값)
+         */
+        CONFLICT,
+        FAILED
+    }
+
+    @ToString
+    @Getter
+    @Builder
+    public static class Item {
+        private String key;
+        private String value;
+        private Long version;
+        private Status status;
+        private String error;
+    }
+
+    public static RedisBatchResult of(List<Item> results) {
+        var builder = RedisBatchResult.builder()
+                .requested(results.size())
+                .results(results);
+        int succeeded = 0, missing = 0, conflict = 0, failed = 0;
+        for (Item item : results) {
+            switch (item.getStatus()) {
+                case OK -> succeeded++;
+                case MISSING -> missing++;
+                case CONFLICT -> conflict++;
+                case FAILED -> failed++;
+            }
+        }
+        return builder.succeeded(succeeded).missing(missing).conflict(conflict).failed(failed).build();
+    }
+}
@@ -8,4 +8,8 @@ import lombok.*;
 public class RedisData {
     private String key;
     private String value;
+    /**
+     * 조회 시 현재 version, compare-and-set 요청 시 기대하는 version
+     */
+    private long version;
 }
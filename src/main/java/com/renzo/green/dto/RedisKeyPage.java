@@ -0,0 +1,21 @@
+package com.renzo.green.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * prefix 조회 결과 page. nextCursor 가 null 이면 마지막 page 입니다.
+ */
+@ToString
+@Getter
+@Builder
+public class RedisKeyPage {
+    private String prefix;
+    private List<String> keys;
+    /**
+     * values=true 로 조회한 경우에만 key 순서대로 값을 담습니다.
+     */
+    private List<RedisBatchResult.Item> results;
+    private String nextCursor;
+}
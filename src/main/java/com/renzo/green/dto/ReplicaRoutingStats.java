@@ -0,0 +1,19 @@
+package com.renzo.green.dto;
+
+import lombok.*;
+
+@ToString
+@Getter
+@Builder
+public class ReplicaRoutingStats {
+    private String node;
+    private String role;
+    private boolean healthy;
+    private boolean outlier;
+    private double ewmaLatencyMillis;
+    private long latencySamples;
+    private long lagBytes;
+    private long lagSeconds;
+    private long selected;
+    private double weight;
+}
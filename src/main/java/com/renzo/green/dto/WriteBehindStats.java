@@ -0,0 +1,20 @@
+package com.renzo.green.dto;
+
+import lombok.*;
+
+@ToString
+@Getter
+@Builder
+public class WriteBehindStats {
+    private boolean enabled;
+    private long queueDepth;
+    private long enqueued;
+    private long written;
+    private long failed;
+    private long rejected;
+    private double coalescingRatio;
+    private long flushCount;
+    private double lastFlushMillis;
+    private double avgFlushMillis;
+    private double maxFlushMillis;
+}
@@ -0,0 +1,25 @@
+package com.renzo.green.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Redis 접근 중 발생한 오류를 operation, exception type 별 counter 로 기록합니다.
+ * (green.redis.errors{operation, exception})
+ */
+@Component
+@RequiredArgsConstructor
+public class RedisMetrics {
+
+    public static final String ERRORS = "green.redis.errors";
+
+    private final MeterRegistry meterRegistry;
+
+    public void recordError(String operation, Throwable e) {
+        meterRegistry.counter(ERRORS,
+                        "operation", operation,
+                        "exception", e.getClass().getSimpleName())
+                .increment();
+    }
+}
@@ -10,4 +10,8 @@ import lombok.*;
 public class RedisDataPersistence {
     private String key;
     private String value;
+    /**
+     * 조건부 쓰기(compare-and-set, increment) 마다 1 씩 증가합니다. 일반 SET 으로 기록된 값은 0 입니다.
+     */
+    private long version;
 }
@@ -0,0 +1,188 @@
+package com.renzo.green.pool;
+
+import com.renzo.green.config.RedisCacheProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.pool2.impl.GenericObjectPool;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link AdaptivePoolingConnectionProvider} 가 만든 GenericObjectPool 의 maxTotal 을 주기적으로 조정합니다.
+ * <ul>
+ *     <li>대기 중인 borrow 가 있거나 평균 borrow 대기 시간이 growBorrowWait 이상이고, 사용률이 highUtilization 이상이면
+ *     25%(최소 1개) 늘립니다. 평균 커넥션 점유 시간이 holdTimeCeiling 을 넘으면 Redis 가 병목이므로 늘리지 않습니다.</li>
+ *     <li>대기 없이 사용률이 lowUtilization 이하인 상태가 shrinkAfter 번 연속되면 1개 줄입니다.
+ *     줄어든 만큼의 idle 커넥션은 반납 시 maxIdle 을 넘으므로 닫힙니다.</li>
+ * </ul>
+ * commons-pool2 의 평균 대기/점유 시간은 최근 100회 borrow 기준이므로, 평가 주기 동안 borrow 가 없으면 대기 시간은 0 으로 봅니다.
+ * 점유 시간은 command latency 를 직접 측정한 값이 아니라 borrow 부터 반납까지의 시간이며, Redis 지연의 근사치로 사용합니다.
+ */
+@Slf4j
+@Component
+public class AdaptivePoolSizer implements MeterBinder {
+
+    private final boolean enabled;
+    private final RedisCacheProperties.Pool.Adaptive properties;
+    private final List<ManagedPool> pools = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService scheduler;
+    private volatile MeterRegistry meterRegistry;
+
+    public AdaptivePoolSizer(RedisCacheProperties cacheProperties) {
+        var pool = cacheProperties.getPool();
+        this.enabled = pool != null && Boolean.TRUE.equals(pool.getEnabled())
+                && pool.getMode() == RedisCacheProperties.Pool.Mode.ADAPTIVE;
+        this.properties = pool != null ? pool.getAdaptive() : new RedisCacheProperties.Pool.Adaptive();
+        if (enabled) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                    .name("redis-pool-sizer")
+                    .daemon()
+                    .factory());
+            scheduler.scheduleWithFixedDelay(this::resize, properties.getInterval(), properties.getInterval(),
+                    TimeUnit.MILLISECONDS);
+        } else {
+            scheduler = null;
+        }
+        log.info("AdaptivePoolSizer enabled : {}", enabled);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 초기 maxTotal 을 min-active ~ max-active 범위로 맞춥니다.
+     */
+    public int initialSize(int configured) {
+        return Math.max(properties.getMinActive(), Math.min(properties.getMaxActive(), configured));
+    }
+
+    void register(String name, GenericObjectPool<?> pool, boolean pinnedIdle) {
+        var managed = new ManagedPool(name, pool, pinnedIdle, new Controller(properties));
+        pools.add(managed);
+        MeterRegistry registry = meterRegistry;
+        if (registry != null) {
+            bind(managed, registry);
+        }
+    }
+
+    void unregister(GenericObjectPool<?> pool) {
+        pools.removeIf(managed -> managed.pool() == pool);
+    }
+
+    void resize() {
+        for (ManagedPool managed : pools) {
+            try {
+                resize(managed);
+            } catch (Exception e) {
+                log.error("### Redis Pool Resize Error !!! ::: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void resize(ManagedPool managed) {
+        GenericObjectPool<?> pool = managed.pool();
+        int current = pool.getMaxTotal();
+        int active = pool.getNumActive();
+        int waiters = pool.getNumWaiters();
+        double borrowWait = pool.getMeanBorrowWaitDuration().toNanos() / 1_000_000.0;
+        double holdTime = pool.getMeanActiveDuration().toNanos() / 1_000_000.0;
+        int next = managed.controller().next(current, active, waiters, pool.getBorrowedCount(), borrowWait, holdTime);
+        if (next == current) {
+            return;
+        }
+        // 줄일 때는 maxIdle 을 먼저 줄여 반납되는 커넥션이 닫히도록 합니다.
+        pool.setMaxIdle(next);
+        if (managed.pinnedIdle()) {
+            pool.setMinIdle(next);
+        } else {
+            pool.setMinIdle(Math.min(pool.getMinIdle(), next));
+        }
+        pool.setMaxTotal(next);
+        String direction = next > current ? "grow" : "shrink";
+        log.info("Redis pool {} {} : {} -> {} (active {}, waiters {}, borrow wait {}ms, hold time {}ms)",
+                managed.name(), direction, current, next, active, waiters,
+                String.format("%.2f", borrowWait), String.format("%.2f", holdTime));
+        MeterRegistry registry = meterRegistry;
+        if (registry != null) {
+            registry.counter("green.redis.pool.resize", "pool", managed.name(), "direction", direction).increment();
+        }
+    }
+
+    /**
+     * 평가 주기마다 다음 maxTotal 을 결정합니다. 평가 thread 하나에서만 호출됩니다.
+     */
+    static final class Controller {
+
+        private final RedisCacheProperties.Pool.Adaptive properties;
+        private long lastBorrowed;
+        private int lowStreak;
+
+        Controller(RedisCacheProperties.Pool.Adaptive properties) {
+            this.properties = properties;
+        }
+
+        int next(int current, int active, int waiters, long borrowed, double borrowWaitMillis,
+                 double holdMillis) {
+            boolean borrowedSinceLast = borrowed != lastBorrowed;
+            lastBorrowed = borrowed;
+            double utilization = current == 0 ? 1.0 : (double) active / current;
+            boolean waiting = waiters > 0 || (borrowedSinceLast && borrowWaitMillis >= properties.getGrowBorrowWait());
+
+            if (waiting && utilization >= properties.getHighUtilization()) {
+                lowStreak = 0;
+                if (holdMillis > properties.getHoldTimeCeiling() || current >= properties.getMaxActive()) {
+                    return current;
+                }
+                return Math.min(properties.getMaxActive(), current + Math.max(1, current / 4));
+            }
+            if (waiters == 0 && utilization <= properties.getLowUtilization() && current > properties.getMinActive()) {
+                if (++lowStreak >= properties.getShrinkAfter()) {
+                    lowStreak = 0;
+                    return current - 1;
+                }
+                return current;
+            }
+            lowStreak = 0;
+            return current;
+        }
+    }
+
+    private record ManagedPool(String name, GenericObjectPool<?> pool, boolean pinnedIdle, Controller controller) {
+    }
+
+    private static void bind(ManagedPool managed, MeterRegistry registry) {
+        GenericObjectPool<?> pool = managed.pool();
+        Gauge.builder("green.redis.pool.max-total", pool, p -> p.getMaxTotal())
+                .tag("pool", managed.name())
+                .register(registry);
+        Gauge.builder("green.redis.pool.utilization", pool,
+                        p -> p.getMaxTotal() == 0 ? 0 : (double) p.getNumActive() / p.getMaxTotal())
+                .tag("pool", managed.name())
+                .register(registry);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!enabled) {
+            return;
+        }
+        this.meterRegistry = registry;
+        pools.forEach(managed -> bind(managed, registry));
+    }
+
+    @PreDestroy
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.renzo.green.pool;
+
+import io.lettuce.core.api.StatefulConnection;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.support.ConnectionPoolSupport;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.pool2.impl.GenericObjectPool;
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.redis.connection.PoolException;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionProvider;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * connection type 별 GenericObjectPool 을 {@link AdaptivePoolSizer} 에 등록하여 크기를 조정하는 ConnectionProvider 입니다.
+ * <p>
+ * LettucePoolingConnectionProvider 와 같은 방식으로 동작하지만, pool 을 외부에서 참조할 수 있도록 직접 생성합니다.
+ * shareNativeConnection 이 true 이면 LettuceConnectionFactory 가 일반 command 를 공유 커넥션(이 Pool 에서 1개 대여)으로 보내고,
+ * blocking(BLPOP 등), transaction(MULTI/EXEC), pipeline 등 커넥션을 점유하는 작업만 이 Pool 에서 전용 커넥션을 대여합니다.
+ * <p>
+ * 비동기 대여(reactive 전용 커넥션)는 요청 thread(event loop)를 막지 않도록 전용 executor 에서 borrow 합니다.
+ * borrow 는 maxWait 까지 blocking 되므로 공용 ForkJoinPool 을 사용하면 Pool 고갈 시 JVM 의 다른 비동기 작업까지 멈춥니다.
+ * executor 의 thread 는 maxTotal 개, 대기열은 {@value #ASYNC_QUEUE_CAPACITY} 개로 제한하며 넘치면 대여에 실패합니다.
+ */
+@Slf4j
+public class AdaptivePoolingConnectionProvider implements LettuceConnectionProvider, DisposableBean {
+
+    private static final int ASYNC_QUEUE_CAPACITY = 1024;
+
+    private final String name;
+    private final LettuceConnectionProvider connectionProvider;
+    private final GenericObjectPoolConfig<StatefulConnection<?, ?>> poolConfig;
+    private final AdaptivePoolSizer sizer;
+    private final boolean pinnedIdle;
+    private final ExecutorService borrowExecutor;
+
+    private final Map<Class<?>, GenericObjectPool<StatefulConnection<?, ?>>> pools = new ConcurrentHashMap<>();
+    private final Map<StatefulConnection<?, ?>, GenericObjectPool<StatefulConnection<?, ?>>> poolRef =
+            new ConcurrentHashMap<>();
+
+    /**
+     * @param pinnedIdle minIdle 을 maxTotal 과 같게 유지할지 여부 (virtual thread 모드)
+     */
+    public AdaptivePoolingConnectionProvider(String name, LettuceConnectionProvider connectionProvider,
+                                             GenericObjectPoolConfig<StatefulConnection<?, ?>> poolConfig,
+                                             AdaptivePoolSizer sizer, boolean pinnedIdle) {
+        this.name = name;
+        this.connectionProvider = connectionProvider;
+        this.poolConfig = poolConfig;
+        this.sizer = sizer;
+        this.pinnedIdle = pinnedIdle;
+        int threads = Math.max(1, poolConfig.getMaxTotal());
+        var executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(ASYNC_QUEUE_CAPACITY),
+                Thread.ofPlatform().name("redis-pool-" + name + "-borrow-", 0).daemon().factory());
+        executor.allowCoreThreadTimeOut(true);
+        this.borrowExecutor = executor;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T extends StatefulConnection<?, ?>> T getConnection(Class<T> connectionType) {
+        GenericObjectPool<StatefulConnection<?, ?>> pool = pools.computeIfAbsent(connectionType,
+                type -> createPool(connectionType));
+        try {
+            StatefulConnection<?, ?> connection = pool.borrowObject();
+            poolRef.put(connection, pool);
+            return (T) connection;
+        } catch (Exception e) {
+            throw new PoolException("Could not get a resource from the pool", e);
+        }
+    }
+
+    private <T extends StatefulConnection<?, ?>> GenericObjectPool<StatefulConnection<?, ?>> createPool(
+            Class<T> connectionType) {
+        GenericObjectPool<StatefulConnection<?, ?>> pool = ConnectionPoolSupport.createGenericObjectPool(
+                () -> connectionProvider.getConnection(connectionType), poolConfig.clone(), false);
+        String poolName = name + "-" + connectionType.getSimpleName();
+        sizer.register(poolName, pool, pinnedIdle);
+        log.info("Redis adaptive pool created : {} (maxTotal {})", poolName, pool.getMaxTotal());
+        return pool;
+    }
+
+    @Override
+    public <T extends StatefulConnection<?, ?>> CompletionStage<T> getConnectionAsync(Class<T> connectionType) {
+        try {
+            return CompletableFuture.supplyAsync(() -> getConnection(connectionType), borrowExecutor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(new PoolException("Could not get a resource from the pool", e));
+        }
+    }
+
+    @Override
+    public void release(StatefulConnection<?, ?> connection) {
+        GenericObjectPool<StatefulConnection<?, ?>> pool = poolRef.remove(connection);
+        if (pool == null) {
+            throw new PoolException("Returned connection " + connection
+                    + " was either previously returned or does not belong to this connection provider");
+        }
+        // 진행 중인 transaction 이 남은 커넥션은 다음 사용자에게 넘기기 전에 정리합니다.
+        if (connection instanceof StatefulRedisConnection<?, ?> redisConnection && redisConnection.isMulti()) {
+            redisConnection.async().discard();
+        }
+        if (connection.isOpen()) {
+            pool.returnObject(connection);
+        } else {
+            try {
+                pool.invalidateObject(connection);
+            } catch (Exception e) {
+                log.error("### Redis Pool Invalidate Error !!! ::: {}", e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> releaseAsync(StatefulConnection<?, ?> connection) {
+        try {
+            release(connection);
+            return CompletableFuture.completedFuture(null);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        borrowExecutor.shutdownNow();
+        if (!poolRef.isEmpty()) {
+            log.warn("Redis adaptive pool {} closing with {} connections in use", name, poolRef.size());
+            poolRef.keySet().forEach(StatefulConnection::closeAsync);
+            poolRef.clear();
+        }
+        pools.values().forEach(pool -> {
+            sizer.unregister(pool);
+            pool.close();
+        });
+        pools.clear();
+        if (connectionProvider instanceof DisposableBean disposable) {
+            disposable.destroy();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.renzo.green.resilience;
+
+import com.renzo.green.config.RedisCacheProperties;
+import com.renzo.green.persistence.RedisDataPersistence;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Circuit 이 열려 있는 동안의 쓰기를 보관합니다. (open-writes: QUEUE)
+ * <p>
+ * 같은 key 의 쓰기는 마지막 값 하나로 합쳐지며, capacity 를 넘는 새 key 는 거절됩니다.
+ * Circuit 이 닫히면 RedisService 가 {@link #snapshot()} 으로 꺼내 기록합니다.
+ * <ul>
+ *     <li>기록 직전에 {@link #claim(RedisDataPersistence)} 로 보관된 값이 그대로인지 확인하고 꺼냅니다.
+ *     그 사이 다시 쓰이거나 버려진 key 는 기록하지 않습니다.</li>
+ *     <li>직접 기록 전에 호출되는 {@link #discard(String)} 는 같은 key 의 replay 가 끝날 때까지 기다립니다.
+ *     replay 의 SET 이 직접 기록보다 늦게 도착하여 새 값을 덮어쓰지 않도록 하기 위해서입니다.</li>
+ * </ul>
+ * 대기에는 synchronized 대신 ReentrantLock 을 사용해 virtual thread 가 carrier thread 에 고정되지 않도록 합니다.
+ */
+@Component
+public class PendingWriteQueue implements MeterBinder {
+
+    private final Map<String, RedisDataPersistence> pending = new ConcurrentHashMap<>();
+    /**
+     * replay 로 기록 중인 값. 기록이 끝나기 전까지 {@link #peek(String)} 로 조회됩니다.
+     */
+    private final Map<String, RedisDataPersistence> replaying = new ConcurrentHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition replayed = lock.newCondition();
+    private final int capacity;
+
+    public PendingWriteQueue(RedisCacheProperties cacheProperties) {
+        this.capacity = cacheProperties.getCircuitBreaker().getWriteQueueCapacity();
+    }
+
+    /**
+     * @return 보관되었으면 true, capacity 를 넘으면 false
+     */
+    public boolean offer(RedisDataPersistence persistence) {
+        if (pending.size() >= capacity && !pending.containsKey(persistence.getKey())) {
+            return false;
+        }
+        pending.put(persistence.getKey(), persistence);
+        return true;
+    }
+
+    public RedisDataPersistence peek(String key) {
+        if (pending.isEmpty() && replaying.isEmpty()) {
+            return null;
+        }
+        RedisDataPersistence persistence = pending.get(key);
+        return persistence != null ? persistence : replaying.get(key);
+    }
+
+    public List<RedisDataPersistence> snapshot() {
+        return new ArrayList<>(pending.values());
+    }
+
+    /**
+     * 직접 기록되는 쓰기보다 이전 값이 나중에 기록되지 않도록 보관 중인 값을 버립니다.
+     * 같은 key 가 replay 중이면 replay 가 끝날 때까지 기다립니다.
+     */
+    public void discard(String key) {
+        if (pending.isEmpty() && replaying.isEmpty()) {
+            return;
+        }
+        lock.lock();
+        try {
+            while (replaying.containsKey(key)) {
+                replayed.await();
+            }
+            pending.remove(key);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pending.remove(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * replay 로 기록하기 직전에 호출합니다. 보관된 값이 그대로이면 대기열에서 꺼내 replay 중으로 표시합니다.
+     *
+     * @return false 이면 그 사이 다시 쓰이거나 버려진 key 이므로 기록하지 않습니다.
+     */
+    public boolean claim(RedisDataPersistence persistence) {
+        lock.lock();
+        try {
+            if (!pending.remove(persistence.getKey(), persistence)) {
+                return false;
+            }
+            replaying.put(persistence.getKey(), persistence);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * replay 결과를 반영하고 기다리는 직접 기록을 깨웁니다.
+     * 기록하지 못한 값은 다음 CLOSED 전환에서 다시 기록하도록 보관합니다. (그 사이 보관된 새 값이 있으면 새 값을 유지합니다.)
+     */
+    public void complete(RedisDataPersistence persistence, boolean written) {
+        lock.lock();
+        try {
+            replaying.remove(persistence.getKey());
+            if (!written) {
+                pending.putIfAbsent(persistence.getKey(), persistence);
+            }
+            replayed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        return pending.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("green.redis.circuit.pending.writes", pending, Map::size)
+                .register(registry);
+    }
+}
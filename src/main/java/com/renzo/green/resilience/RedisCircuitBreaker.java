@@ -0,0 +1,270 @@
+package com.renzo.green.resilience;
+
+import com.renzo.green.config.RedisCacheProperties;
+import io.lettuce.core.RedisCommandTimeoutException;
+import io.lettuce.core.RedisConnectionException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * RedisTemplate 호출을 감싸는 오류율/지연 기반 Circuit Breaker 입니다.
+ * <ul>
+ *     <li>CLOSED : 최근 window(초) 동안의 호출이 minimumCalls 이상이고 실패율 또는 slow call 비율이
+ *     기준을 넘으면 OPEN 으로 전환합니다.</li>
+ *     <li>OPEN : Redis 를 호출하지 않고 즉시 {@link RedisUnavailableException} 을 던집니다.
+ *     openDuration 이 지나면 HALF_OPEN 으로 전환합니다.</li>
+ *     <li>HALF_OPEN : halfOpenCalls 개의 호출만 허용하여 모두 정상이면 CLOSED, 하나라도 실패/지연이면 다시 OPEN 으로 전환합니다.</li>
+ * </ul>
+ * 실패는 연결/timeout 계열 오류만 집계합니다. 역직렬화 오류 등은 Redis 장애가 아니므로 성공으로 간주합니다.
+ * 호출 결과는 초 단위 bucket 의 LongAdder 에 기록하므로 호출마다 lock 이나 객체 생성이 없습니다.
+ */
+@Slf4j
+@Component
+public class RedisCircuitBreaker implements MeterBinder {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private static final class Bucket {
+        private final long second;
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder slowCalls = new LongAdder();
+
+        private Bucket(long second) {
+            this.second = second;
+        }
+    }
+
+    private final boolean enabled;
+    private final double failureRateThreshold;
+    private final double slowCallRateThreshold;
+    private final long slowCallNanos;
+    private final int minimumCalls;
+    private final long openNanos;
+    private final int halfOpenCalls;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicReferenceArray<Bucket> buckets;
+    private final AtomicInteger halfOpenPermits = new AtomicInteger();
+    private final AtomicInteger halfOpenSuccesses = new AtomicInteger();
+    private volatile long openedAt;
+
+    private final List<BiConsumer<State, State>> listeners = new CopyOnWriteArrayList<>();
+    private final LongAdder rejected = new LongAdder();
+    private volatile MeterRegistry meterRegistry;
+
+    public RedisCircuitBreaker(RedisCacheProperties cacheProperties) {
+        var properties = cacheProperties.getCircuitBreaker();
+        this.enabled = Boolean.TRUE.equals(properties.getEnabled());
+        this.failureRateThreshold = properties.getFailureRateThreshold();
+        this.slowCallRateThreshold = properties.getSlowCallRateThreshold();
+        this.slowCallNanos = TimeUnit.MILLISECONDS.toNanos(properties.getSlowCallDuration());
+        this.minimumCalls = properties.getMinimumCalls();
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(properties.getOpenDuration());
+        this.halfOpenCalls = properties.getHalfOpenCalls();
+        this.buckets = new AtomicReferenceArray<>(Math.max(1, properties.getWindow()));
+        log.info("RedisCircuitBreaker enabled : {}", enabled);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    /**
+     * 상태가 바뀔 때 (이전 상태, 새 상태) 로 호출됩니다. 상태를 바꾼 호출 스레드에서 실행됩니다.
+     */
+    public void addListener(BiConsumer<State, State> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * 호출이 허용되면 실행하고 결과를 기록합니다.
+     *
+     * @throws RedisUnavailableException Circuit 이 열려 있는 경우
+     */
+    public <T> T execute(Supplier<T> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        if (!tryAcquire()) {
+            rejected.increment();
+            throw new RedisUnavailableException("Redis circuit breaker is " + state.get());
+        }
+        long started = System.nanoTime();
+        try {
+            T result = call.get();
+            onResult(System.nanoTime() - started, false);
+            return result;
+        } catch (RuntimeException e) {
+            onResult(System.nanoTime() - started, isFailure(e));
+            throw e;
+        }
+    }
+
+    public void execute(Runnable call) {
+        execute(() -> {
+            call.run();
+            return null;
+        });
+    }
+
+    private boolean tryAcquire() {
+        State current = state.get();
+        if (current == State.CLOSED) {
+            return true;
+        }
+        if (current == State.OPEN) {
+            if (System.nanoTime() - openedAt < openNanos) {
+                return false;
+            }
+            halfOpenPermits.set(halfOpenCalls);
+            halfOpenSuccesses.set(0);
+            transition(State.OPEN, State.HALF_OPEN);
+        }
+        return halfOpenPermits.getAndDecrement() > 0;
+    }
+
+    private void onResult(long nanos, boolean failed) {
+        boolean slow = nanos >= slowCallNanos;
+        State current = state.get();
+        if (current == State.HALF_OPEN) {
+            if (failed || slow) {
+                open(State.HALF_OPEN);
+            } else if (halfOpenSuccesses.incrementAndGet() >= halfOpenCalls && transition(State.HALF_OPEN, State.CLOSED)) {
+                for (int i = 0; i < buckets.length(); i++) {
+                    buckets.set(i, null);
+                }
+            }
+            return;
+        }
+        if (current != State.CLOSED) {
+            return;
+        }
+        Bucket bucket = bucket(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime()));
+        bucket.calls.increment();
+        if (failed) {
+            bucket.failures.increment();
+        }
+        if (slow) {
+            bucket.slowCalls.increment();
+        }
+        if (failed || slow) {
+            evaluate(bucket.second);
+        }
+    }
+
+    private Bucket bucket(long second) {
+        int index = (int) (second % buckets.length());
+        while (true) {
+            Bucket bucket = buckets.get(index);
+            if (bucket != null && bucket.second == second) {
+                return bucket;
+            }
+            Bucket next = new Bucket(second);
+            if (buckets.compareAndSet(index, bucket, next)) {
+                return next;
+            }
+        }
+    }
+
+    private void evaluate(long now) {
+        long calls = 0;
+        long failures = 0;
+        long slowCalls = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            Bucket bucket = buckets.get(i);
+            if (bucket != null && now - bucket.second < buckets.length()) {
+                calls += bucket.calls.sum();
+                failures += bucket.failures.sum();
+                slowCalls += bucket.slowCalls.sum();
+            }
+        }
+        if (calls < minimumCalls) {
+            return;
+        }
+        if (failures * 100.0 >= failureRateThreshold * calls || slowCalls * 100.0 >= slowCallRateThreshold * calls) {
+            open(State.CLOSED);
+        }
+    }
+
+    private void open(State from) {
+        openedAt = System.nanoTime();
+        transition(from, State.OPEN);
+    }
+
+    private boolean transition(State from, State to) {
+        if (!state.compareAndSet(from, to)) {
+            return false;
+        }
+        log.warn("RedisCircuitBreaker {} -> {}", from, to);
+        MeterRegistry registry = meterRegistry;
+        if (registry != null) {
+            registry.counter("green.redis.circuit.transitions", "from", from.name(), "to", to.name()).increment();
+        }
+        for (BiConsumer<State, State> listener : listeners) {
+            try {
+                listener.accept(from, to);
+            } catch (Exception e) {
+                log.error("### Redis Circuit Listener Error !!! ::: {}", e.getMessage());
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Redis 장애로 볼 수 있는 오류(연결 실패, timeout)인지 확인합니다.
+     */
+    public static boolean isFailure(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DataAccessResourceFailureException
+                    || cause instanceof TransientDataAccessException
+                    || cause instanceof RedisConnectionException
+                    || cause instanceof RedisCommandTimeoutException
+                    || cause instanceof TimeoutException) {
+                return true;
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!enabled) {
+            return;
+        }
+        this.meterRegistry = registry;
+        Gauge.builder("green.redis.circuit.state", state, s -> s.get().ordinal())
+                .description("0=CLOSED, 1=OPEN, 2=HALF_OPEN")
+                .register(registry);
+        FunctionCounter.builder("green.redis.circuit.rejected", rejected, LongAdder::sum)
+                .register(registry);
+    }
+}
@@ -0,0 +1,15 @@
+package com.renzo.green.resilience;
+
+/**
+ * Circuit Breaker 가 열려 있거나 Redis 연결/응답 오류로 요청을 처리할 수 없을 때 발생합니다.
+ */
+public class RedisUnavailableException extends RuntimeException {
+
+    public RedisUnavailableException(String message) {
+        super(message);
+    }
+
+    public RedisUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
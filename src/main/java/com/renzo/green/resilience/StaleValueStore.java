@@ -0,0 +1,80 @@
+package com.renzo.green.resilience;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.renzo.green.config.RedisCacheProperties;
+import com.renzo.green.persistence.RedisDataPersistence;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Redis 에서 마지막으로 읽거나 쓴 값(last-known value)을 보관합니다.
+ * Circuit 이 열려 있거나 Redis 호출이 실패하면 이 값을 대신 반환합니다.
+ * <p>
+ * Near Cache 와 달리 정상 상태의 조회에는 사용하지 않으며, 크기(maximumSize)와
+ * 최대 허용 staleness(expireAfterWrite)로 제한됩니다.
+ * Circuit Breaker 가 비활성화되어 있으면 아무것도 보관하지 않습니다.
+ */
+@Component
+public class StaleValueStore implements MeterBinder {
+
+    private final Cache<String, RedisDataPersistence> values;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public StaleValueStore(RedisCacheProperties cacheProperties) {
+        var properties = cacheProperties.getCircuitBreaker();
+        this.values = Boolean.TRUE.equals(properties.getEnabled())
+                ? Caffeine.newBuilder()
+                        .maximumSize(properties.getStaleMaximumSize())
+                        .expireAfterWrite(Duration.ofMillis(properties.getStaleExpireAfterWrite()))
+                        .build()
+                : null;
+    }
+
+    public void put(String key, RedisDataPersistence value) {
+        if (values == null) {
+            return;
+        }
+        if (value == null) {
+            values.invalidate(key);
+        } else {
+            values.put(key, value);
+        }
+    }
+
+    public void invalidate(Collection<String> keys) {
+        if (values != null) {
+            values.invalidateAll(keys);
+        }
+    }
+
+    public RedisDataPersistence get(String key) {
+        if (values == null) {
+            return null;
+        }
+        RedisDataPersistence value = values.getIfPresent(key);
+        (value == null ? misses : hits).increment();
+        return value;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (values == null) {
+            return;
+        }
+        Gauge.builder("green.redis.circuit.stale.size", values, Cache::estimatedSize)
+                .register(registry);
+        FunctionCounter.builder("green.redis.circuit.stale", hits, LongAdder::sum)
+                .tag("result", "hit").register(registry);
+        FunctionCounter.builder("green.redis.circuit.stale", misses, LongAdder::sum)
+                .tag("result", "miss").register(registry);
+    }
+}
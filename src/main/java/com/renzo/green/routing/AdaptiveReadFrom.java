@@ -0,0 +1,100 @@
+package com.renzo.green.routing;
+
+import com.renzo.green.config.RedisCacheProperties;
+import io.lettuce.core.ReadFrom;
+import io.lettuce.core.models.role.RedisNodeDescription;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 노드별 latency EWMA, replication lag 을 기준으로 읽기 노드 순서를 정하는 ReadFrom 입니다.
+ * <ul>
+ *     <li>replication lag 이 허용치를 넘거나 offline 인 replica 는 제외합니다.</li>
+ *     <li>가장 빠른 replica 대비 outlierFactor 배 이상 느린 replica 는 제외합니다(back-off).</li>
+ *     <li>제외된 replica 도 explorationRate 확률로 읽기를 보내 latency 가 회복되었는지 측정합니다.</li>
+ *     <li>아직 측정되지 않은 replica 는 우선 선택되어 바로 측정됩니다.</li>
+ *     <li>master 는 항상 마지막 후보로 포함되어 사용 가능한 replica 가 없으면 master 에서 읽습니다.</li>
+ * </ul>
+ * Lettuce 는 order sensitive ReadFrom 의 경우 반환된 순서대로 연결 가능한 첫 노드를 사용합니다.
+ */
+public class AdaptiveReadFrom extends ReadFrom {
+
+    private final NodeLatencyRegistry registry;
+    private final RedisCacheProperties.Replica.Adaptive properties;
+
+    public AdaptiveReadFrom(NodeLatencyRegistry registry, RedisCacheProperties.Replica.Adaptive properties) {
+        this.registry = registry;
+        this.properties = properties;
+    }
+
+    @Override
+    public List<RedisNodeDescription> select(Nodes nodes) {
+        List<RedisNodeDescription> upstreams = new ArrayList<>(1);
+        List<Candidate> replicas = new ArrayList<>(nodes.getNodes().size());
+        double fastest = Double.MAX_VALUE;
+        for (RedisNodeDescription node : nodes) {
+            if (!node.getRole().isReplica()) {
+                upstreams.add(node);
+                continue;
+            }
+            var stats = registry.node(node);
+            if (!stats.isReplicationHealthy(properties)) {
+                stats.markOutlier(false);
+                continue;
+            }
+            var candidate = new Candidate(node, stats);
+            replicas.add(candidate);
+            if (candidate.measured()) {
+                fastest = Math.min(fastest, stats.getEwmaLatencyNanos());
+            }
+        }
+
+        double threshold = fastest * properties.getOutlierFactor();
+        List<Candidate> selected = new ArrayList<>(replicas.size());
+        List<Candidate> outliers = new ArrayList<>(0);
+        for (Candidate candidate : replicas) {
+            boolean outlier = candidate.measured() && candidate.stats().getEwmaLatencyNanos() > threshold;
+            candidate.stats().markOutlier(outlier);
+            (outlier ? outliers : selected).add(candidate);
+        }
+        selected.sort(Comparator.comparingDouble(Candidate::latency));
+        if (!outliers.isEmpty() && ThreadLocalRandom.current().nextDouble() < properties.getExplorationRate()) {
+            selected.add(0, outliers.get(ThreadLocalRandom.current().nextInt(outliers.size())));
+        }
+
+        List<RedisNodeDescription> result = new ArrayList<>(selected.size() + upstreams.size());
+        selected.forEach(candidate -> result.add(candidate.node()));
+        result.addAll(upstreams);
+        if (!result.isEmpty()) {
+            registry.node(result.get(0)).markSelected();
+        }
+        return result;
+    }
+
+    @Override
+    protected boolean isOrderSensitive() {
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "AdaptiveReadFrom" + properties;
+    }
+
+    private record Candidate(RedisNodeDescription node, NodeLatencyRegistry.NodeStats stats) {
+
+        boolean measured() {
+            return stats.getSampleCount() > 0;
+        }
+
+        /**
+         * 측정되지 않은 노드는 0 으로 취급하여 가장 먼저 선택합니다.
+         */
+        double latency() {
+            return measured() ? stats.getEwmaLatencyNanos() : 0;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.renzo.green.routing;
+
+import com.renzo.green.config.RedisCacheProperties;
+import com.renzo.green.dto.ReplicaRoutingStats;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.models.role.RedisNodeDescription;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.UnknownHostException;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Redis 노드(ip:port)별 command latency EWMA 와 replication lag 을 보관합니다.
+ * <p>
+ * latency 는 Lettuce CommandLatencyRecorder 에서 command 완료 시점마다 기록되며,
+ * replication lag 은 {@link ReplicationLagProbe} 가 master 의 INFO replication 으로 갱신합니다.
+ * EWMA 갱신은 lock 없이 수행하므로 동시에 완료된 command 의 일부 sample 이 반영되지 않을 수 있습니다.
+ */
+@Component
+public class NodeLatencyRegistry {
+
+    private final RedisCacheProperties.Replica replica;
+    private final RedisCacheProperties.Replica.Adaptive properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, NodeStats> nodes = new ConcurrentHashMap<>();
+    private final Map<String, String> resolved = new ConcurrentHashMap<>();
+
+    public NodeLatencyRegistry(RedisCacheProperties cacheProperties, MeterRegistry meterRegistry) {
+        this.replica = cacheProperties.getReplica() != null ? cacheProperties.getReplica() : new RedisCacheProperties.Replica();
+        this.properties = replica.getAdaptive();
+        this.meterRegistry = meterRegistry;
+    }
+
+    public boolean isEnabled() {
+        return Boolean.TRUE.equals(properties.getEnabled());
+    }
+
+    public void recordLatency(SocketAddress remote, long completionLatencyNanos) {
+        if (remote instanceof InetSocketAddress address) {
+            String host = address.getAddress() != null ? address.getAddress().getHostAddress() : address.getHostString();
+            node(host + ":" + address.getPort()).recordLatency(completionLatencyNanos, properties.getEwmaAlpha());
+        }
+    }
+
+    public NodeStats node(RedisNodeDescription description) {
+        RedisURI uri = description.getUri();
+        return node(uri.getHost(), uri.getPort());
+    }
+
+    public NodeStats node(String host, int port) {
+        return node(resolve(host) + ":" + port);
+    }
+
+    private NodeStats node(String address) {
+        NodeStats stats = nodes.get(address);
+        return stats != null ? stats : nodes.computeIfAbsent(address, this::register);
+    }
+
+    /**
+     * latency event 의 remote address 는 IP 이므로 설정의 hostname 도 IP 로 변환하여 비교합니다.
+     */
+    private String resolve(String host) {
+        String address = resolved.get(host);
+        if (address == null) {
+            try {
+                address = InetAddress.getByName(host).getHostAddress();
+            } catch (UnknownHostException e) {
+                address = host;
+            }
+            resolved.put(host, address);
+        }
+        return address;
+    }
+
+    private NodeStats register(String address) {
+        var stats = new NodeStats(address);
+        Gauge.builder("green.redis.routing.latency.ewma", stats, NodeStats::getEwmaLatencyMillis)
+                .tag("node", address)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("green.redis.routing.replication.lag", stats, NodeStats::getLagBytes)
+                .tag("node", address)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        FunctionCounter.builder("green.redis.routing.selected", stats.selected, LongAdder::sum)
+                .tag("node", address)
+                .register(meterRegistry);
+        return stats;
+    }
+
+    public Collection<NodeStats> nodes() {
+        return nodes.values();
+    }
+
+    /**
+     * 노드별 latency, lag 과 실제 읽기가 전달된 비율(weight)을 반환합니다.
+     */
+    public List<ReplicaRoutingStats> stats() {
+        Set<String> replicaAddresses = replica.getNodes() == null ? Set.of() : replica.getNodes().stream()
+                .map(node -> resolve(node.getHost()) + ":" + node.getPort())
+                .collect(Collectors.toSet());
+        long total = nodes.values().stream().mapToLong(NodeStats::getSelectedCount).sum();
+        return nodes.values().stream()
+                .sorted(Comparator.comparing(NodeStats::getAddress))
+                .map(stats -> {
+                    boolean isReplica = replicaAddresses.contains(stats.getAddress());
+                    return ReplicaRoutingStats.builder()
+                            .node(stats.getAddress())
+                            .role(isReplica ? "replica" : "master")
+                            .healthy(!isReplica || stats.isReplicationHealthy(properties))
+                            .outlier(stats.isOutlier())
+                            .ewmaLatencyMillis(stats.getEwmaLatencyMillis())
+                            .latencySamples(stats.getSampleCount())
+                            .lagBytes(stats.getLagBytes())
+                            .lagSeconds(stats.getLagSeconds())
+                            .selected(stats.getSelectedCount())
+                            .weight(total == 0 ? 0 : (double) stats.getSelectedCount() / total)
+                            .build();
+                })
+                .toList();
+    }
+
+    @Getter
+    public static class NodeStats {
+        private final String address;
+        private volatile double ewmaLatencyNanos;
+        private final LongAdder samples = new LongAdder();
+        private final LongAdder selected = new LongAdder();
+        private volatile boolean replicationKnown;
+        private volatile boolean replicaOnline = true;
+        private volatile long lagBytes;
+        private volatile long lagSeconds;
+        private volatile boolean outlier;
+
+        NodeStats(String address) {
+            this.address = address;
+        }
+
+        void recordLatency(long nanos, double alpha) {
+            double current = ewmaLatencyNanos;
+            ewmaLatencyNanos = samples.sum() == 0 ? nanos : current + alpha * (nanos - current);
+            samples.increment();
+        }
+
+        void updateReplication(boolean online, long lagBytes, long lagSeconds) {
+            this.replicaOnline = online;
+            this.lagBytes = lagBytes;
+            this.lagSeconds = lagSeconds;
+            this.replicationKnown = true;
+        }
+
+        void markOutlier(boolean outlier) {
+            if (this.outlier != outlier) {
+                this.outlier = outlier;
+            }
+        }
+
+        void markSelected() {
+            selected.increment();
+        }
+
+        public long getSampleCount() {
+            return samples.sum();
+        }
+
+        public long getSelectedCount() {
+            return selected.sum();
+        }
+
+        public double getEwmaLatencyMillis() {
+            return ewmaLatencyNanos / TimeUnit.MILLISECONDS.toNanos(1);
+        }
+
+        /**
+         * replication 상태가 아직 조회되지 않은 노드는 정상으로 간주합니다.
+         */
+        public boolean isReplicationHealthy(RedisCacheProperties.Replica.Adaptive properties) {
+            return !replicationKnown || (replicaOnline
+                    && lagBytes <= properties.getMaxLagBytes()
+                    && lagSeconds <= properties.getMaxLagSeconds());
+        }
+    }
+}
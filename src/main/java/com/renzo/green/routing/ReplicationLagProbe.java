@@ -0,0 +1,142 @@
+package com.renzo.green.routing;
+
+import com.renzo.green.config.MasterRedisURI;
+import com.renzo.green.config.RedisCacheProperties;
+import com.renzo.green.metrics.RedisMetrics;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.api.StatefulRedisConnection;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * master 의 INFO replication 을 주기적으로 조회하여 replica 별 replication lag 을 갱신합니다.
+ * <p>
+ * slaveN:ip=..,port=..,state=..,offset=..,lag=.. 항목을 설정된 replica 노드와 ip:port 로 매칭하고,
+ * ip 가 다른 경우(NAT, container 등) port 로 매칭합니다. 매칭되지 않은 replica 는 offline 으로 간주합니다.
+ * 주소가 다르게 보고되는 환경에서는 replica-announce-ip / replica-announce-port 를 설정해야 합니다.
+ * 조회가 실패하면 마지막으로 조회된 상태를 유지합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "spring.data.redis.replica.adaptive", name = "enabled", havingValue = "true")
+public class ReplicationLagProbe {
+
+    private final NodeLatencyRegistry registry;
+    private final RedisProperties redisProperties;
+    private final RedisCacheProperties cacheProperties;
+    private final RedisMetrics redisMetrics;
+
+    private RedisClient redisClient;
+    private StatefulRedisConnection<String, String> connection;
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    public void start() {
+        if (cacheProperties.getTopology() == RedisCacheProperties.Topology.CLUSTER) {
+            // Cluster 는 master 가 여러 개이므로 단일 master 의 INFO replication 으로 lag 을 판단할 수 없습니다.
+            log.info("ReplicationLagProbe disabled : CLUSTER topology");
+            return;
+        }
+        redisClient = RedisClient.create(MasterRedisURI.create(redisProperties, cacheProperties));
+        scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("redis-replication-lag-probe")
+                .daemon()
+                .factory());
+        long interval = cacheProperties.getReplica().getAdaptive().getLagProbeInterval();
+        scheduler.scheduleWithFixedDelay(this::probe, 0, interval, TimeUnit.MILLISECONDS);
+        log.info("ReplicationLagProbe started : {}ms", interval);
+    }
+
+    void probe() {
+        try {
+            if (connection == null || !connection.isOpen()) {
+                connection = redisClient.connect();
+            }
+            apply(connection.sync().info("replication"));
+        } catch (Exception e) {
+            redisMetrics.recordError("replication-probe", e);
+            log.error("### Redis Replication Probe Error !!! ::: {}", e.getMessage());
+        }
+    }
+
+    void apply(String info) {
+        Map<String, String> fields = new HashMap<>();
+        List<Map<String, String>> replicas = new ArrayList<>();
+        for (String line : info.split("\r?\n")) {
+            int separator = line.indexOf(':');
+            if (separator < 0 || line.startsWith("#")) {
+                continue;
+            }
+            String name = line.substring(0, separator);
+            String value = line.substring(separator + 1).trim();
+            if (name.matches("slave\\d+")) {
+                Map<String, String> replica = new HashMap<>();
+                for (String pair : value.split(",")) {
+                    int eq = pair.indexOf('=');
+                    if (eq > 0) {
+                        replica.put(pair.substring(0, eq), pair.substring(eq + 1));
+                    }
+                }
+                replicas.add(replica);
+            } else {
+                fields.put(name, value);
+            }
+        }
+        long masterOffset = Long.parseLong(fields.getOrDefault("master_repl_offset", "0"));
+
+        for (RedisCacheProperties.Replica.Node node : cacheProperties.getReplica().getNodes()) {
+            var stats = registry.node(node.getHost(), node.getPort());
+            Map<String, String> replica = match(stats.getAddress(), node.getPort(), replicas);
+            if (replica == null) {
+                stats.updateReplication(false, 0, 0);
+                continue;
+            }
+            long offset = Long.parseLong(replica.getOrDefault("offset", "0"));
+            stats.updateReplication("online".equals(replica.get("state")),
+                    Math.max(0, masterOffset - offset),
+                    Long.parseLong(replica.getOrDefault("lag", "0")));
+        }
+    }
+
+    private Map<String, String> match(String address, int port, List<Map<String, String>> replicas) {
+        Map<String, String> byPort = null;
+        int portMatches = 0;
+        for (Map<String, String> replica : replicas) {
+            if (address.equals(replica.get("ip") + ":" + replica.get("port"))) {
+                return replica;
+            }
+            if (String.valueOf(port).equals(replica.get("port"))) {
+                byPort = replica;
+                portMatches++;
+            }
+        }
+        return portMatches == 1 ? byPort : null;
+    }
+
+    @PreDestroy
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        if (connection != null) {
+            connection.close();
+        }
+        if (redisClient != null) {
+            redisClient.shutdown();
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package com.renzo.green.routing;
+
+import com.renzo.green.config.MasterRedisURI;
+import com.renzo.green.config.RedisCacheProperties;
+import com.renzo.green.metrics.RedisMetrics;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * replica 읽기를 유지하면서 read-your-writes 를 보장하는 session consistency 입니다. (replica.session.enabled)
+ * <ul>
+ *     <li>쓰기 요청의 응답 직전에 master 에 ROLE 을 조회하여 master_repl_offset 을 token 으로 전달합니다.
+ *     쓰기 응답을 받은 뒤 조회하므로 offset 에는 해당 쓰기가 포함됩니다.</li>
+ *     <li>token 을 전달한 읽기는 ROLE 로 확인된 replica offset 이 token 이상인 replica 에서만 읽고,
+ *     그런 replica 가 없으면 master 에서 읽습니다. ({@link SessionReadFrom})</li>
+ *     <li>replica offset 은 token 발급 시의 ROLE 응답으로 갱신되며, token 을 만족하는 replica 가 없으면
+ *     refreshInterval 마다 한 번 다시 조회합니다. 다른 요청이 조회 중이면 기다리지 않고 master 에서 읽습니다.</li>
+ * </ul>
+ * WAIT 은 쓰기를 보낸 connection 에서 replica 확인을 기다리므로 쓰기 latency 가 늘어나지만,
+ * offset 비교는 쓰기를 기다리게 하지 않고 아직 따라잡지 못한 replica 만 읽기 대상에서 제외합니다.
+ * token 은 응답 전에 master 에 기록된 쓰기만 반영합니다. 모든 쓰기가 응답 전에 master 에 기록되어야 하므로
+ * Write-Behind, Circuit Breaker 의 open-writes QUEUE 와 함께 사용할 수 없습니다. (시작 시 IllegalStateException)
+ * 버퍼/대기열의 값은 쓰기를 받은 인스턴스에서만 조회되고, token 에는 포함되지 않기 때문입니다.
+ * 이 조건에서 token 은 master offset 이므로 여러 애플리케이션 인스턴스 사이에서도 유효합니다.
+ * <p>
+ * 요청 단위 상태는 ThreadLocal 로 전달되므로 요청 스레드에서 실행되는 command 에만 적용됩니다.
+ * (Reactive API, Write-Behind flush 등 다른 스레드의 command 는 기존 ReadFrom 을 따릅니다.)
+ * Near Cache, 조회 Single-Flight 등 Redis 를 거치지 않는 값은 token 과 관계없이 반환됩니다.
+ */
+@Slf4j
+@Component
+public class SessionConsistency {
+
+    private static final ThreadLocal<Long> REQUIRED_OFFSET = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> WRITTEN = new ThreadLocal<>();
+
+    private final RedisProperties redisProperties;
+    private final RedisCacheProperties cacheProperties;
+    private final RedisCacheProperties.Replica.Session properties;
+    private final RedisMetrics redisMetrics;
+
+    private final ReentrantLock connectLock = new ReentrantLock();
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private final Map<String, String> resolved = new ConcurrentHashMap<>();
+    private final LongAdder replicaReads = new LongAdder();
+    private final LongAdder masterReads = new LongAdder();
+
+    private RedisClient redisClient;
+    private volatile StatefulRedisConnection<String, String> connection;
+    /**
+     * 마지막 ROLE 응답. 아직 조회되지 않았으면 null
+     */
+    private volatile Snapshot snapshot;
+
+    public SessionConsistency(RedisProperties redisProperties, RedisCacheProperties cacheProperties,
+                              RedisMetrics redisMetrics, MeterRegistry meterRegistry) {
+        this.redisProperties = redisProperties;
+        this.cacheProperties = cacheProperties;
+        this.properties = cacheProperties.getReplica() != null ?
+                cacheProperties.getReplica().getSession() : new RedisCacheProperties.Replica.Session();
+        this.redisMetrics = redisMetrics;
+        if (isEnabled() && Boolean.TRUE.equals(cacheProperties.getWriteBehind().getEnabled())) {
+            throw new IllegalStateException("replica.session can not be used with write-behind");
+        }
+        if (isEnabled() && Boolean.TRUE.equals(cacheProperties.getCircuitBreaker().getEnabled())
+                && cacheProperties.getCircuitBreaker().getOpenWrites() == RedisCacheProperties.CircuitBreaker.OpenWrites.QUEUE) {
+            throw new IllegalStateException("replica.session can not be used with circuit-breaker.open-writes=QUEUE");
+        }
+        FunctionCounter.builder("green.redis.session.reads", replicaReads, LongAdder::sum)
+                .tag("target", "replica")
+                .register(meterRegistry);
+        FunctionCounter.builder("green.redis.session.reads", masterReads, LongAdder::sum)
+                .tag("target", "master")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Cluster 는 shard 마다 master offset 이 다르므로 하나의 token 으로 비교할 수 없습니다.
+     */
+    public boolean isEnabled() {
+        return Boolean.TRUE.equals(properties.getEnabled())
+                && cacheProperties.getTopology() != RedisCacheProperties.Topology.CLUSTER;
+    }
+
+    public String getHeader() {
+        return properties.getHeader();
+    }
+
+    /**
+     * 요청 시작 시 client 가 전달한 token 을 설정합니다.
+     * token 을 만족하는 replica 가 알려져 있지 않으면 replica offset 을 다시 조회합니다.
+     */
+    public void begin(Long requiredOffset) {
+        if (!isEnabled() || requiredOffset == null || requiredOffset <= 0) {
+            return;
+        }
+        REQUIRED_OFFSET.set(requiredOffset);
+        Snapshot current = snapshot;
+        if ((current == null || (current.maxReplicaOffset() < requiredOffset
+                && System.nanoTime() - current.sampledAtNanos() >= TimeUnit.MILLISECONDS.toNanos(properties.getRefreshInterval())))
+                && refreshLock.tryLock()) {
+            try {
+                refresh();
+            } catch (Exception e) {
+                redisMetrics.recordError("session", e);
+                log.error("### Redis Session Offset Refresh Error !!! ::: {}", e.getMessage());
+            } finally {
+                refreshLock.unlock();
+            }
+        }
+    }
+
+    public void end() {
+        REQUIRED_OFFSET.remove();
+        WRITTEN.remove();
+    }
+
+    /**
+     * 현재 요청 스레드의 읽기가 만족해야 하는 master offset. token 이 없으면 null
+     */
+    public Long requiredOffset() {
+        return REQUIRED_OFFSET.get();
+    }
+
+    public void markWritten() {
+        if (isEnabled()) {
+            WRITTEN.set(Boolean.TRUE);
+        }
+    }
+
+    /**
+     * 응답으로 전달할 token. 쓰기가 있었으면 현재 master offset, 없으면 요청의 token 을 그대로 반환합니다.
+     * master offset 을 조회하지 못하면 다음 쓰기까지 master 에서 읽도록 Long.MAX_VALUE 를 반환합니다.
+     */
+    public Long token() {
+        Long required = REQUIRED_OFFSET.get();
+        if (!Boolean.TRUE.equals(WRITTEN.get())) {
+            return required;
+        }
+        try {
+            long offset = refresh().masterOffset();
+            return required == null ? offset : Math.max(required, offset);
+        } catch (Exception e) {
+            redisMetrics.recordError("session", e);
+            log.error("### Redis Session Token Error !!! ::: {}", e.getMessage());
+            return Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * 마지막으로 조회된 replica offset 이 requiredOffset 이상이면 true
+     */
+    public boolean isCaughtUp(RedisURI replica, long requiredOffset) {
+        Snapshot current = snapshot;
+        return current != null
+                && current.offset(resolve(replica.getHost()) + ":" + replica.getPort(), replica.getPort()) >= requiredOffset;
+    }
+
+    void recordRead(boolean replica) {
+        (replica ? replicaReads : masterReads).increment();
+    }
+
+    /**
+     * master 에 ROLE 을 조회하여 master offset 과 replica 별 offset 을 갱신합니다.
+     * ROLE 응답 : ["master", offset, [[ip, port, offset], ...]]
+     */
+    Snapshot refresh() {
+        long sampledAt = System.nanoTime();
+        return apply(connect().sync().role(), sampledAt);
+    }
+
+    /**
+     * 동시에 조회된 ROLE 응답 중 나중에 전송된 응답만 반영합니다.
+     */
+    Snapshot apply(List<Object> role, long sampledAtNanos) {
+        if (role.isEmpty() || !"master".equals(role.get(0))) {
+            throw new IllegalStateException("configured master is not a master : " + (role.isEmpty() ? "" : role.get(0)));
+        }
+        var next = Snapshot.parse(role, sampledAtNanos);
+        Snapshot current = snapshot;
+        if (current == null || next.sampledAtNanos() - current.sampledAtNanos() > 0) {
+            snapshot = next;
+        }
+        return next;
+    }
+
+    private StatefulRedisConnection<String, String> connect() {
+        StatefulRedisConnection<String, String> current = connection;
+        if (current != null && current.isOpen()) {
+            return current;
+        }
+        connectLock.lock();
+        try {
+            if (connection == null || !connection.isOpen()) {
+                if (redisClient == null) {
+                    redisClient = RedisClient.create(MasterRedisURI.create(redisProperties, cacheProperties));
+                }
+                connection = redisClient.connect();
+            }
+            return connection;
+        } finally {
+            connectLock.unlock();
+        }
+    }
+
+    /**
+     * ROLE 의 replica 주소는 IP 이므로 설정의 hostname 도 IP 로 변환하여 비교합니다.
+     */
+    private String resolve(String host) {
+        String address = resolved.get(host);
+        if (address == null) {
+            try {
+                address = InetAddress.getByName(host).getHostAddress();
+            } catch (UnknownHostException e) {
+                address = host;
+            }
+            resolved.put(host, address);
+        }
+        return address;
+    }
+
+    @PreDestroy
+    public void close() {
+        if (connection != null) {
+            connection.close();
+        }
+        if (redisClient != null) {
+            redisClient.shutdown();
+        }
+    }
+
+    record Replica(String address, int port, long offset) {
+    }
+
+    record Snapshot(long masterOffset, List<Replica> replicas, long sampledAtNanos) {
+
+        @SuppressWarnings("unchecked")
+        static Snapshot parse(List<Object> role, long sampledAtNanos) {
+            List<Replica> replicas = new ArrayList<>();
+            if (role.size() > 2 && role.get(2) instanceof List<?> entries) {
+                for (Object entry : entries) {
+                    List<Object> fields = (List<Object>) entry;
+                    String ip = String.valueOf(fields.get(0));
+                    int port = Integer.parseInt(String.valueOf(fields.get(1)));
+                    replicas.add(new Replica(ip + ":" + port, port, Long.parseLong(String.valueOf(fields.get(2)))));
+                }
+            }
+            return new Snapshot(((Number) role.get(1)).longValue(), replicas, sampledAtNanos);
+        }
+
+        long maxReplicaOffset() {
+            return replicas.stream().mapToLong(Replica::offset).max().orElse(-1);
+        }
+
+        /**
+         * ip:port 가 일치하는 replica, 없으면 port 가 같은 유일한 replica 의 offset. (NAT, container 등)
+         * 찾지 못하면 -1
+         */
+        long offset(String address, int port) {
+            Replica byPort = null;
+            int portMatches = 0;
+            for (Replica replica : replicas) {
+                if (replica.address().equals(address)) {
+                    return replica.offset();
+                }
+                if (replica.port() == port) {
+                    byPort = replica;
+                    portMatches++;
+                }
+            }
+            return portMatches == 1 ? byPort.offset() : -1;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.renzo.green.routing;
+
+import io.lettuce.core.OrderingReadFromAccessor;
+import io.lettuce.core.ReadFrom;
+import io.lettuce.core.models.role.RedisNodeDescription;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 설정된 ReadFrom(또는 {@link AdaptiveReadFrom})의 선택에서 session token 을 따라잡지 못한 replica 를 제외하는 ReadFrom 입니다.
+ * <p>
+ * 요청 스레드에 token 이 없으면 기존 선택을 그대로 사용합니다.
+ * token 을 만족하는 replica 가 하나도 없으면 master 만 반환합니다. (기존 ReadFrom 이 REPLICA 이더라도 master 에서 읽습니다.)
+ * select 는 마지막으로 조회된 offset 만 비교하므로 command 전송을 지연시키지 않습니다.
+ */
+public class SessionReadFrom extends ReadFrom {
+
+    private final ReadFrom delegate;
+    private final SessionConsistency sessionConsistency;
+    private final boolean orderSensitive;
+
+    public SessionReadFrom(ReadFrom delegate, SessionConsistency sessionConsistency) {
+        this.delegate = delegate;
+        this.sessionConsistency = sessionConsistency;
+        this.orderSensitive = OrderingReadFromAccessor.isOrderSensitive(delegate);
+    }
+
+    @Override
+    public List<RedisNodeDescription> select(Nodes nodes) {
+        List<RedisNodeDescription> selected = delegate.select(nodes);
+        Long required = sessionConsistency.requiredOffset();
+        if (required == null) {
+            return selected;
+        }
+
+        List<RedisNodeDescription> result = new ArrayList<>(selected.size());
+        boolean replica = false;
+        for (RedisNodeDescription node : selected) {
+            if (!node.getRole().isReplica()) {
+                result.add(node);
+            } else if (sessionConsistency.isCaughtUp(node.getUri(), required)) {
+                result.add(node);
+                replica = true;
+            }
+        }
+        if (!replica) {
+            result.clear();
+            for (RedisNodeDescription node : nodes) {
+                if (!node.getRole().isReplica()) {
+                    result.add(node);
+                }
+            }
+        }
+        sessionConsistency.recordRead(replica);
+        return result;
+    }
+
+    @Override
+    protected boolean isOrderSensitive() {
+        return orderSensitive;
+    }
+
+    @Override
+    public String toString() {
+        return "SessionReadFrom[" + delegate + "]";
+    }
+}
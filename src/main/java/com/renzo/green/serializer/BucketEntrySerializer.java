@@ -0,0 +1,50 @@
+package com.renzo.green.serializer;
+
+import com.renzo.green.persistence.RedisDataPersistence;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * bucket(hash) field 값 형식입니다. key 는 field 이름이므로 기록하지 않습니다.
+ * <p>
+ * Format : [varint 만료 시각(epoch 초, 0 은 만료 없음)][varint data version][varint(len+1) UTF-8 value]
+ * <p>
+ * hash 가 listpack 으로 유지되려면 field 값이 hash-max-listpack-value(기본 64 bytes) 이하여야 하므로
+ * JSON("@class" 포함)이나 RedisDataPersistenceSerializer 의 header/key 없이 값만 기록합니다.
+ */
+public final class BucketEntrySerializer {
+
+    private BucketEntrySerializer() {
+    }
+
+    public static byte[] serialize(RedisDataPersistence persistence, long expiresAtSeconds) {
+        int valueLength = RedisDataPersistenceSerializer.utf8Length(persistence.getValue());
+        byte[] bytes = new byte[RedisDataPersistenceSerializer.varintSize(expiresAtSeconds)
+                + RedisDataPersistenceSerializer.varintSize(persistence.getVersion())
+                + RedisDataPersistenceSerializer.fieldSize(valueLength)];
+        int position = RedisDataPersistenceSerializer.writeVarint(bytes, 0, expiresAtSeconds);
+        position = RedisDataPersistenceSerializer.writeVarint(bytes, position, persistence.getVersion());
+        RedisDataPersistenceSerializer.writeField(bytes, position, persistence.getValue(), valueLength);
+        return bytes;
+    }
+
+    /**
+     * @return 만료된 값이면 null
+     */
+    public static RedisDataPersistence deserialize(String key, byte[] bytes, long nowSeconds) {
+        try {
+            var reader = new RedisDataPersistenceSerializer.Reader(bytes, 0);
+            long expiresAt = reader.readVarlong();
+            if (expiresAt != 0 && expiresAt <= nowSeconds) {
+                return null;
+            }
+            long version = reader.readVarlong();
+            return RedisDataPersistence.builder()
+                    .key(key)
+                    .value(reader.readString())
+                    .version(version)
+                    .build();
+        } catch (IndexOutOfBoundsException e) {
+            throw new SerializationException("Truncated bucket entry", e);
+        }
+    }
+}
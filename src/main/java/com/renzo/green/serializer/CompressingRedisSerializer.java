@@ -0,0 +1,237 @@
+package com.renzo.green.serializer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * threshold 이상인 값만 압축하여 저장하는 Serializer Wrapper 입니다.
+ * <p>
+ * Format : [MAGIC(0xC0)][ALGORITHM][varint 원본 길이][raw deflate data]
+ * <ul>
+ *     <li>0xC0 은 UTF-8 에서 사용되지 않는 byte 이고 binary codec(0xC1)과도 다르므로
+ *     압축/비압축 값이 같은 keyspace 에 공존할 수 있습니다.</li>
+ *     <li>압축해도 작아지지 않는 값은 원본 그대로 저장합니다.</li>
+ *     <li>Deflater/Inflater 는 native 메모리를 사용하므로 작은 pool 로 재사용합니다.
+ *     (ThreadLocal 을 사용하지 않으므로 virtual thread 환경에서도 인스턴스가 늘어나지 않습니다.)</li>
+ * </ul>
+ * 압축률(green.redis.compression.ratio)과 CPU 비용(green.redis.compression.time)을 Micrometer 로 기록합니다.
+ */
+public class CompressingRedisSerializer implements RedisSerializer<Object> {
+
+    static final byte MAGIC = (byte) 0xC0;
+    static final byte ALGORITHM_DEFLATE = 1;
+    private static final int POOL_SIZE = 32;
+
+    private final RedisSerializer<Object> delegate;
+    private final int threshold;
+    private final int level;
+    private final BlockingQueue<Deflater> deflaters = new ArrayBlockingQueue<>(POOL_SIZE);
+    private final BlockingQueue<Inflater> inflaters = new ArrayBlockingQueue<>(POOL_SIZE);
+
+    private final DistributionSummary ratio;
+    private final Timer compressTime;
+    private final Timer decompressTime;
+    private final Counter skipped;
+
+    /**
+     * @param delegate      원본 직렬화 serializer
+     * @param threshold     압축 대상 최소 크기(bytes)
+     * @param level         Deflater 압축 레벨 (1 = BEST_SPEED)
+     * @param meterRegistry null 이면 metric 을 기록하지 않습니다.
+     */
+    public CompressingRedisSerializer(RedisSerializer<Object> delegate, int threshold, int level,
+                                      MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.threshold = threshold;
+        this.level = level;
+        if (meterRegistry != null) {
+            this.ratio = DistributionSummary.builder("green.redis.compression.ratio")
+                    .description("original size / compressed size")
+                    .publishPercentiles(0.5, 0.99)
+                    .register(meterRegistry);
+            this.compressTime = Timer.builder("green.redis.compression.time")
+                    .tag("operation", "compress")
+                    .register(meterRegistry);
+            this.decompressTime = Timer.builder("green.redis.compression.time")
+                    .tag("operation", "decompress")
+                    .register(meterRegistry);
+            this.skipped = Counter.builder("green.redis.compression.skipped")
+                    .description("values stored uncompressed because compression did not reduce their size")
+                    .register(meterRegistry);
+        } else {
+            this.ratio = null;
+            this.compressTime = null;
+            this.decompressTime = null;
+            this.skipped = null;
+        }
+    }
+
+    public static boolean isCompressed(byte[] bytes) {
+        return bytes != null && bytes.length > 2 && bytes[0] == MAGIC;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        byte[] raw = delegate.serialize(value);
+        if (raw == null || raw.length < threshold) {
+            return raw;
+        }
+        long started = System.nanoTime();
+        byte[] compressed = compress(raw);
+        if (compressTime != null) {
+            compressTime.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+        if (compressed == null) {
+            if (skipped != null) {
+                skipped.increment();
+            }
+            return raw;
+        }
+        if (ratio != null) {
+            ratio.record((double) raw.length / compressed.length);
+        }
+        return compressed;
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        return delegate.deserialize(inflate(bytes));
+    }
+
+    /**
+     * 압축된 값이면 압축을 풀고, 아니면 그대로 반환합니다.
+     */
+    public byte[] inflate(byte[] bytes) throws SerializationException {
+        if (!isCompressed(bytes)) {
+            return bytes;
+        }
+        long started = System.nanoTime();
+        byte[] raw = decompress(bytes);
+        if (decompressTime != null) {
+            decompressTime.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+        return raw;
+    }
+
+    /**
+     * @return 압축 결과가 원본보다 작지 않으면 null
+     */
+    private byte[] compress(byte[] raw) {
+        int headerSize = 2 + varintSize(raw.length);
+        // 헤더 포함 원본보다 작아야 의미가 있으므로 출력 버퍼를 원본 크기로 제한합니다.
+        byte[] out = new byte[raw.length];
+        Deflater deflater = borrowDeflater();
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            int length = headerSize;
+            while (!deflater.finished() && length < out.length) {
+                length += deflater.deflate(out, length, out.length - length);
+            }
+            if (!deflater.finished()) {
+                return null;
+            }
+            out[0] = MAGIC;
+            out[1] = ALGORITHM_DEFLATE;
+            writeVarint(out, 2, raw.length);
+            return Arrays.copyOf(out, length);
+        } finally {
+            release(deflaters, deflater);
+        }
+    }
+
+    private byte[] decompress(byte[] bytes) {
+        if (bytes[1] != ALGORITHM_DEFLATE) {
+            throw new SerializationException("Unknown compression algorithm : " + bytes[1]);
+        }
+        int position = 2;
+        int length = 0;
+        for (int shift = 0; ; shift += 7) {
+            if (shift >= 35 || position >= bytes.length) {
+                throw new SerializationException("Malformed compressed header");
+            }
+            byte b = bytes[position++];
+            length |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                break;
+            }
+        }
+        if (length < 0) {
+            throw new SerializationException("Malformed compressed length : " + length);
+        }
+        byte[] raw = new byte[length];
+        Inflater inflater = borrowInflater();
+        try {
+            inflater.setInput(bytes, position, bytes.length - position);
+            int read = 0;
+            while (read < length && !inflater.finished()) {
+                int n = inflater.inflate(raw, read, length - read);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                read += n;
+            }
+            if (read != length) {
+                throw new SerializationException("Truncated compressed value : " + read + "/" + length);
+            }
+            return raw;
+        } catch (DataFormatException e) {
+            throw new SerializationException("Corrupted compressed value", e);
+        } finally {
+            release(inflaters, inflater);
+        }
+    }
+
+    private Deflater borrowDeflater() {
+        Deflater deflater = deflaters.poll();
+        return deflater != null ? deflater : new Deflater(level, true);
+    }
+
+    private Inflater borrowInflater() {
+        Inflater inflater = inflaters.poll();
+        return inflater != null ? inflater : new Inflater(true);
+    }
+
+    private static void release(BlockingQueue<Deflater> pool, Deflater deflater) {
+        deflater.reset();
+        if (!pool.offer(deflater)) {
+            deflater.end();
+        }
+    }
+
+    private static void release(BlockingQueue<Inflater> pool, Inflater inflater) {
+        inflater.reset();
+        if (!pool.offer(inflater)) {
+            inflater.end();
+        }
+    }
+
+    private static int varintSize(int value) {
+        int size = 1;
+        while ((value & ~0x7F) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    private static void writeVarint(byte[] bytes, int position, int value) {
+        while ((value & ~0x7F) != 0) {
+            bytes[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes[position] = (byte) value;
+    }
+}
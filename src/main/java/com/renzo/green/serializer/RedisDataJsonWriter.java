@@ -0,0 +1,137 @@
+package com.renzo.green.serializer;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.renzo.green.persistence.RedisDataPersistence;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Redis 에 저장된 값을 RedisDataPersistence 로 역직렬화하지 않고 RedisData 응답 JSON({"key":..,"value":..,"version":..})으로 기록합니다.
+ * <ul>
+ *     <li>BINARY : varint 길이로 key/value 위치만 읽고 UTF-8 bytes 를 그대로 escape 하여 기록합니다. 문자열을 만들지 않습니다.</li>
+ *     <li>JSON : token 단위로 읽어 key/value/version field 만 복사합니다. ("@class" 등 타입 정보는 제외)</li>
+ *     <li>version 이 없는 이전 형식의 값은 version 0 으로 기록합니다.</li>
+ *     <li>압축된 값은 압축을 푼 뒤 위 형식으로 처리합니다.</li>
+ * </ul>
+ * 값은 전달된 OutputStream 에 바로 기록되므로 RedisData 객체나 중간 JSON 문자열을 만들지 않습니다.
+ */
+@Component
+public class RedisDataJsonWriter {
+
+    private static final String KEY = "key";
+    private static final String VALUE = "value";
+    private static final String VERSION = "version";
+
+    private final JsonFactory jsonFactory;
+    private final RedisSerializer<Object> redisValueSerializer;
+
+    public RedisDataJsonWriter(ObjectMapper objectMapper, RedisSerializer<Object> redisValueSerializer) {
+        this.jsonFactory = objectMapper.getFactory();
+        this.redisValueSerializer = redisValueSerializer;
+    }
+
+    /**
+     * 저장된 값(bytes)을 응답 JSON 으로 기록합니다.
+     */
+    public void write(byte[] stored, OutputStream out) throws IOException {
+        byte[] bytes = redisValueSerializer instanceof CompressingRedisSerializer compressing
+                ? compressing.inflate(stored)
+                : stored;
+        try (JsonGenerator generator = createGenerator(out)) {
+            if (RedisDataPersistenceSerializer.isBinary(bytes)) {
+                writeBinary(bytes, generator);
+            } else {
+                writeJson(bytes, generator);
+            }
+        }
+    }
+
+    /**
+     * 로컬(Near Cache, Write-Behind 등)에 있는 값을 응답 JSON 으로 기록합니다.
+     */
+    public void write(RedisDataPersistence persistence, OutputStream out) throws IOException {
+        try (JsonGenerator generator = createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeStringField(KEY, persistence.getKey());
+            generator.writeStringField(VALUE, persistence.getValue());
+            generator.writeNumberField(VERSION, persistence.getVersion());
+            generator.writeEndObject();
+        }
+    }
+
+    private JsonGenerator createGenerator(OutputStream out) throws IOException {
+        // 응답 stream 은 Servlet container 가 닫습니다.
+        return jsonFactory.createGenerator(out).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    private static void writeBinary(byte[] bytes, JsonGenerator generator) throws IOException {
+        RedisDataPersistenceSerializer.validateHeader(bytes);
+        var reader = new RedisDataPersistenceSerializer.Reader(bytes, RedisDataPersistenceSerializer.HEADER_SIZE);
+        long version;
+        try {
+            version = RedisDataPersistenceSerializer.readDataVersion(bytes, reader);
+        } catch (IndexOutOfBoundsException e) {
+            throw new SerializationException("Truncated binary value", e);
+        }
+        generator.writeStartObject();
+        writeBinaryField(KEY, bytes, reader, generator);
+        writeBinaryField(VALUE, bytes, reader, generator);
+        generator.writeNumberField(VERSION, version);
+        generator.writeEndObject();
+    }
+
+    private static void writeBinaryField(String name, byte[] bytes, RedisDataPersistenceSerializer.Reader reader,
+                                         JsonGenerator generator) throws IOException {
+        int length;
+        try {
+            length = reader.readLength();
+        } catch (IndexOutOfBoundsException e) {
+            throw new SerializationException("Truncated binary value", e);
+        }
+        generator.writeFieldName(name);
+        if (length < 0) {
+            generator.writeNull();
+            return;
+        }
+        generator.writeUTF8String(bytes, reader.position(), length);
+        reader.skip(length);
+    }
+
+    private void writeJson(byte[] bytes, JsonGenerator generator) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(bytes)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new SerializationException("Stored value is not a RedisDataPersistence");
+            }
+            generator.writeStartObject();
+            boolean versionWritten = false;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                JsonToken token = parser.nextToken();
+                if (!KEY.equals(name) && !VALUE.equals(name) && !VERSION.equals(name)) {
+                    parser.skipChildren();
+                    continue;
+                }
+                versionWritten |= VERSION.equals(name);
+                generator.writeFieldName(name);
+                if (token == JsonToken.VALUE_STRING) {
+                    // 값 문자열(String) 대신 parser 내부 char 버퍼를 그대로 기록합니다.
+                    generator.writeString(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+                } else {
+                    generator.copyCurrentStructure(parser);
+                }
+            }
+            if (!versionWritten) {
+                generator.writeNumberField(VERSION, 0);
+            }
+            generator.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.renzo.green.serializer;
+
+import com.renzo.green.persistence.RedisDataPersistence;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * RedisDataPersistence 전용 Binary Codec 입니다.
+ * <p>
+ * Format : [MAGIC(0xC1)][VERSION][TYPE][varint data version][varint(len+1) UTF-8 key][varint(len+1) UTF-8 value]
+ * <ul>
+ *     <li>길이 0 은 null 을 의미합니다.</li>
+ *     <li>VERSION 1 에는 data version 이 없으며 0 으로 읽습니다.</li>
+ *     <li>조건부 쓰기 Lua script(scripts/record.lua)도 같은 형식으로 읽고 기록하므로, 형식을 바꾸면 script 도 함께 바꿔야 합니다.</li>
+ *     <li>0xC1 은 UTF-8 에서 사용되지 않는 byte 이므로 JSON 값과 구분됩니다.</li>
+ * </ul>
+ * UTF-8 길이를 먼저 계산해 결과 배열에 직접 기록하므로, 결과 byte[] 외의 중간 버퍼를 할당하지 않습니다.
+ * (ThreadLocal 버퍼를 사용하지 않으므로 virtual thread 환경에서도 메모리가 늘어나지 않습니다.)
+ * <p>
+ * RedisDataPersistence 가 아닌 값과 MAGIC 으로 시작하지 않는 값(기존 JSON)은 fallback serializer 가 처리하므로,
+ * 운영 중인 keyspace 를 점진적으로 전환할 수 있습니다.
+ */
+public class RedisDataPersistenceSerializer implements RedisSerializer<Object> {
+
+    static final byte MAGIC = (byte) 0xC1;
+    static final byte VERSION = 2;
+    static final byte TYPE_REDIS_DATA_PERSISTENCE = 1;
+    static final int HEADER_SIZE = 3;
+
+    private final RedisSerializer<Object> fallback;
+    private final boolean writeBinary;
+
+    /**
+     * @param fallback    RedisDataPersistence 외의 값, 기존 포맷 값을 처리할 serializer
+     * @param writeBinary false 이면 읽기만 binary 를 지원하고 쓰기는 fallback 을 사용합니다.
+     */
+    public RedisDataPersistenceSerializer(RedisSerializer<Object> fallback, boolean writeBinary) {
+        this.fallback = fallback;
+        this.writeBinary = writeBinary;
+    }
+
+    public static boolean isBinary(byte[] bytes) {
+        return bytes != null && bytes.length >= HEADER_SIZE && bytes[0] == MAGIC;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (!writeBinary || !(value instanceof RedisDataPersistence persistence)) {
+            return fallback.serialize(value);
+        }
+        int keyLength = utf8Length(persistence.getKey());
+        int valueLength = utf8Length(persistence.getValue());
+
+        byte[] bytes = new byte[HEADER_SIZE + varintSize(persistence.getVersion())
+                + fieldSize(keyLength) + fieldSize(valueLength)];
+        bytes[0] = MAGIC;
+        bytes[1] = VERSION;
+        bytes[2] = TYPE_REDIS_DATA_PERSISTENCE;
+        int position = writeVarint(bytes, HEADER_SIZE, persistence.getVersion());
+        position = writeField(bytes, position, persistence.getKey(), keyLength);
+        writeField(bytes, position, persistence.getValue(), valueLength);
+        return bytes;
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (!isBinary(bytes)) {
+            return fallback.deserialize(bytes);
+        }
+        validateHeader(bytes);
+        try {
+            var reader = new Reader(bytes, HEADER_SIZE);
+            long version = readDataVersion(bytes, reader);
+            return RedisDataPersistence.builder()
+                    .key(reader.readString())
+                    .value(reader.readString())
+                    .version(version)
+                    .build();
+        } catch (IndexOutOfBoundsException e) {
+            throw new SerializationException("Truncated binary value", e);
+        }
+    }
+
+    static void validateHeader(byte[] bytes) {
+        if (bytes[1] > VERSION) {
+            throw new SerializationException("Unsupported codec version : " + bytes[1]);
+        }
+        if (bytes[2] != TYPE_REDIS_DATA_PERSISTENCE) {
+            throw new SerializationException("Unknown codec type : " + bytes[2]);
+        }
+    }
+
+    /**
+     * header 다음의 data version 을 읽습니다. VERSION 1 값은 읽지 않고 0 을 반환합니다.
+     */
+    static long readDataVersion(byte[] bytes, Reader reader) {
+        return bytes[1] >= 2 ? reader.readVarlong() : 0;
+    }
+
+    static int fieldSize(int length) {
+        return length < 0 ? 1 : varintSize(length + 1) + length;
+    }
+
+    static int varintSize(long value) {
+        int size = 1;
+        while ((value & ~0x7FL) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    static int writeVarint(byte[] bytes, int position, long value) {
+        while ((value & ~0x7FL) != 0) {
+            bytes[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes[position++] = (byte) value;
+        return position;
+    }
+
+    static int writeField(byte[] bytes, int position, String text, int length) {
+        if (text == null) {
+            bytes[position] = 0;
+            return position + 1;
+        }
+        position = writeVarint(bytes, position, length + 1);
+        return writeUtf8(bytes, position, text);
+    }
+
+    /**
+     * String.getBytes(UTF_8) 와 동일한 길이를 반환합니다. (짝이 없는 surrogate 는 '?' 1 byte)
+     */
+    static int utf8Length(String text) {
+        if (text == null) {
+            return -1;
+        }
+        int length = 0;
+        for (int i = 0, n = text.length(); i < n; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(text.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                length += 1;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    static int writeUtf8(byte[] bytes, int position, String text) {
+        for (int i = 0, n = text.length(); i < n; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                bytes[position++] = (byte) c;
+            } else if (c < 0x800) {
+                bytes[position++] = (byte) (0xC0 | (c >> 6));
+                bytes[position++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(text.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                bytes[position++] = (byte) (0xF0 | (codePoint >> 18));
+                bytes[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                bytes[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                bytes[position++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                bytes[position++] = (byte) '?';
+            } else {
+                bytes[position++] = (byte) (0xE0 | (c >> 12));
+                bytes[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                bytes[position++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        return position;
+    }
+
+    static final class Reader {
+        private final byte[] bytes;
+        private int position;
+
+        Reader(byte[] bytes, int position) {
+            this.bytes = bytes;
+            this.position = position;
+        }
+
+        int readVarint() {
+            int value = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                byte b = bytes[position++];
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new SerializationException("Malformed varint");
+        }
+
+        long readVarlong() {
+            long value = 0;
+            for (int shift = 0; shift < 70; shift += 7) {
+                byte b = bytes[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new SerializationException("Malformed varint");
+        }
+
+        String readString() {
+            int length = readVarint() - 1;
+            if (length < 0) {
+                return null;
+            }
+            if (position + length > bytes.length) {
+                throw new SerializationException("Truncated binary value");
+            }
+            String text = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return text;
+        }
+
+        /**
+         * 문자열을 만들지 않고 다음 field 의 UTF-8 길이를 읽습니다. 시작 위치는 {@link #position()} 입니다.
+         *
+         * @return null 이면 -1
+         */
+        int readLength() {
+            int length = readVarint() - 1;
+            if (position + Math.max(0, length) > bytes.length) {
+                throw new SerializationException("Truncated binary value");
+            }
+            return length;
+        }
+
+        int position() {
+            return position;
+        }
+
+        void skip(int length) {
+            position += Math.max(0, length);
+        }
+    }
+}
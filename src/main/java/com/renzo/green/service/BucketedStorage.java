@@ -0,0 +1,440 @@
+package com.renzo.green.service;
+
+import com.renzo.green.config.RedisCacheProperties;
+import com.renzo.green.persistence.RedisDataPersistence;
+import com.renzo.green.serializer.BucketEntrySerializer;
+import io.lettuce.core.KeyValue;
+import io.lettuce.core.MapScanCursor;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.ScanArgs;
+import io.lettuce.core.ScanCursor;
+import io.lettuce.core.ScriptOutputType;
+import io.lettuce.core.cluster.api.async.RedisClusterAsyncCommands;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * key 를 hash bucket 에 나누어 저장합니다. (bucket-storage.enabled)
+ * <p>
+ * key 별 string 은 key 마다 dictEntry, redisObject, key/value SDS 등 수십 bytes 의 overhead 가 있지만,
+ * listpack 으로 유지되는 작은 hash 의 field 는 field/value bytes 와 몇 byte 의 header 만 사용합니다.
+ * key 는 FNV-1a hash 로 keyPrefix + (0 ~ buckets-1) bucket 중 하나에 속하며 field 이름이 됩니다.
+ * 값은 {@link BucketEntrySerializer} 형식으로 기록합니다.
+ * <p>
+ * 다건 command 는 bucket 별 HMGET/HSET/HDEL 을 async 로 모두 전송한 뒤 결과를 모으므로 한 번의 round trip 으로 처리됩니다.
+ * readFlatFallback 이 활성화되어 있으면 bucket 에 없는 key 를 기존 key 별 string 에서 조회하고,
+ * 삭제 시에는 bucket 과 string 을 모두 삭제하여 이전 값이 다시 조회되지 않도록 합니다.
+ * <p>
+ * field 에는 TTL 을 설정할 수 없고 bucket TTL 은 쓰기마다 갱신되므로, 만료된 field 는 조회할 때 삭제합니다.
+ * (scripts/prune-bucket.lua, 조회한 값이 그대로인 field 만 삭제) 조회되지 않는 만료 field 는 bucket 이 만료될 때까지 남습니다.
+ */
+@Slf4j
+@Component
+public class BucketedStorage {
+
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(10);
+    private static final int FNV_OFFSET_BASIS = 0x811C9DC5;
+    private static final int FNV_PRIME = 0x01000193;
+    private static final String PRUNE_SCRIPT = read("prune-bucket");
+    private static final int SCAN_PARALLELISM = 64;
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisCacheProperties.BucketStorage properties;
+    private final RedisProperties redisProperties;
+
+    public BucketedStorage(RedisTemplate<String, Object> redisTemplate, RedisCacheProperties cacheProperties,
+                           RedisProperties redisProperties) {
+        this.redisTemplate = redisTemplate;
+        this.properties = cacheProperties.getBucketStorage();
+        this.redisProperties = redisProperties;
+    }
+
+    private static String read(String name) {
+        try {
+            return new ClassPathResource("scripts/" + name + ".lua").getContentAsString(StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read script " + name, e);
+        }
+    }
+
+    public boolean isEnabled() {
+        return Boolean.TRUE.equals(properties.getEnabled());
+    }
+
+    public boolean isReadFlatFallback() {
+        return Boolean.TRUE.equals(properties.getReadFlatFallback());
+    }
+
+    public String bucketKey(String key) {
+        return bucketKey(key, properties.getKeyPrefix(), properties.getBuckets());
+    }
+
+    public static String bucketKey(String key, String keyPrefix, int buckets) {
+        int hash = FNV_OFFSET_BASIS;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xFF;
+            hash *= FNV_PRIME;
+        }
+        return keyPrefix + Integer.remainderUnsigned(hash, buckets);
+    }
+
+    public boolean isBucketKey(String key) {
+        return key.startsWith(properties.getKeyPrefix());
+    }
+
+    public RedisDataPersistence get(String key) {
+        Object result = mGet(List.of(key)).get(0);
+        if (result instanceof RuntimeException e) {
+            throw e;
+        }
+        if (result instanceof Exception e) {
+            throw new IllegalStateException("Redis HGET failed : " + e.getMessage(), e);
+        }
+        return (RedisDataPersistence) result;
+    }
+
+    public void set(RedisDataPersistence persistence) {
+        Object result = mSet(List.of(persistence)).get(0);
+        if (result instanceof RuntimeException e) {
+            throw e;
+        }
+        if (result instanceof Exception e) {
+            throw new IllegalStateException("Redis HSET failed : " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @return key 순서대로 RedisDataPersistence, null(없음/만료) 또는 Exception
+     */
+    public List<Object> mGet(List<String> keys) {
+        Map<String, List<Integer>> buckets = groupByBucket(keys);
+        long now = nowSeconds();
+        return redisTemplate.execute((RedisCallback<List<Object>>) connection -> {
+            var commands = nativeCommands(connection);
+            Map<List<Integer>, RedisFuture<List<KeyValue<byte[], byte[]>>>> futures = new LinkedHashMap<>();
+            buckets.forEach((bucketKey, indexes) -> futures.put(indexes,
+                    commands.hmget(bytes(bucketKey), indexes.stream().map(i -> bytes(keys.get(i))).toArray(byte[][]::new))));
+
+            Object[] results = new Object[keys.size()];
+            List<Integer> missing = new ArrayList<>();
+            Map<String, List<byte[]>> expired = new LinkedHashMap<>();
+            futures.forEach((indexes, future) -> {
+                try {
+                    List<KeyValue<byte[], byte[]>> values = await(future);
+                    for (int i = 0; i < indexes.size(); i++) {
+                        var keyValue = values.get(i);
+                        int index = indexes.get(i);
+                        if (keyValue.hasValue()) {
+                            results[index] = BucketEntrySerializer.deserialize(keys.get(index), keyValue.getValue(), now);
+                            if (results[index] == null) {
+                                List<byte[]> fields = expired.computeIfAbsent(bucketKey(keys.get(index)), bucket -> new ArrayList<>());
+                                fields.add(bytes(keys.get(index)));
+                                fields.add(keyValue.getValue());
+                            }
+                        } else {
+                            missing.add(index);
+                        }
+                    }
+                } catch (Exception e) {
+                    indexes.forEach(index -> results[index] = e);
+                }
+            });
+            if (!missing.isEmpty() && Boolean.TRUE.equals(properties.getReadFlatFallback())) {
+                readFlat(commands, keys, missing, results);
+            }
+            expired.forEach((bucketKey, fields) -> pruneExpired(commands, bucketKey, fields));
+            return Arrays.asList(results);
+        });
+    }
+
+    /**
+     * 조회한 만료 field 를 삭제합니다. 조회 결과에는 영향이 없으므로 응답을 기다리지 않습니다.
+     *
+     * @param fields field, 조회한 값 순서의 목록
+     */
+    private void pruneExpired(RedisClusterAsyncCommands<byte[], byte[]> commands, String bucketKey, List<byte[]> fields) {
+        commands.<Long>eval(PRUNE_SCRIPT, ScriptOutputType.INTEGER, new byte[][]{bytes(bucketKey)},
+                        fields.toArray(byte[][]::new))
+                .whenComplete((pruned, e) -> {
+                    if (e != null) {
+                        log.error("### Redis Bucket Prune Error !!! ::: {}", e.getMessage());
+                    }
+                });
+    }
+
+    /**
+     * bucket 에 없는 key 를 기존 key 별 string 에서 MGET 으로 조회합니다.
+     */
+    private void readFlat(RedisClusterAsyncCommands<byte[], byte[]> commands, List<String> keys, List<Integer> missing,
+                          Object[] results) {
+        var valueSerializer = redisTemplate.getValueSerializer();
+        List<KeyValue<byte[], byte[]>> values;
+        try {
+            values = await(commands.mget(missing.stream().map(i -> bytes(keys.get(i))).toArray(byte[][]::new)));
+        } catch (Exception e) {
+            missing.forEach(index -> results[index] = e);
+            return;
+        }
+        for (int i = 0; i < missing.size(); i++) {
+            var keyValue = values.get(i);
+            try {
+                if (keyValue.hasValue() && valueSerializer.deserialize(keyValue.getValue())
+                        instanceof RedisDataPersistence persistence) {
+                    results[missing.get(i)] = persistence;
+                }
+            } catch (Exception e) {
+                results[missing.get(i)] = e;
+            }
+        }
+    }
+
+    /**
+     * bucket 별 HSET 으로 기록합니다. ttl 이 설정되어 있으면 bucket 의 TTL 을 함께 갱신합니다.
+     *
+     * @return key 순서대로 "OK" 또는 Exception
+     */
+    public List<Object> mSet(List<RedisDataPersistence> persistences) {
+        Map<String, List<Integer>> buckets = groupByBucket(persistences.stream().map(RedisDataPersistence::getKey).toList());
+        long ttl = properties.getTtl();
+        long expiresAt = ttl > 0 ? nowSeconds() + ttl : 0;
+        return redisTemplate.execute((RedisCallback<List<Object>>) connection -> {
+            var commands = nativeCommands(connection);
+            Map<List<Integer>, List<RedisFuture<?>>> futures = new LinkedHashMap<>();
+            buckets.forEach((bucketKey, indexes) -> {
+                Map<byte[], byte[]> fields = new LinkedHashMap<>();
+                indexes.forEach(index -> fields.put(bytes(persistences.get(index).getKey()),
+                        BucketEntrySerializer.serialize(persistences.get(index), expiresAt)));
+                List<RedisFuture<?>> bucketFutures = new ArrayList<>(2);
+                bucketFutures.add(commands.hset(bytes(bucketKey), fields));
+                if (ttl > 0) {
+                    bucketFutures.add(commands.expire(bytes(bucketKey), ttl));
+                }
+                futures.put(indexes, bucketFutures);
+            });
+
+            Object[] results = new Object[persistences.size()];
+            futures.forEach((indexes, bucketFutures) -> {
+                Object result = "OK";
+                try {
+                    for (RedisFuture<?> future : bucketFutures) {
+                        await(future);
+                    }
+                } catch (Exception e) {
+                    result = e;
+                }
+                for (Integer index : indexes) {
+                    results[index] = result;
+                }
+            });
+            return Arrays.asList(results);
+        });
+    }
+
+    /**
+     * bucket 별 HDEL 로 삭제합니다. readFlatFallback 이 활성화되어 있으면 key 별 string 도 삭제합니다.
+     * 실패한 bucket 이 있으면 예외를 던집니다.
+     *
+     * @return 삭제된 key 개수
+     */
+    public long delete(List<String> keys) {
+        Map<String, List<Integer>> buckets = groupByBucket(keys);
+        Long deleted = redisTemplate.execute((RedisCallback<Long>) connection -> {
+            var commands = nativeCommands(connection);
+            List<RedisFuture<Long>> futures = new ArrayList<>(buckets.size() + 1);
+            buckets.forEach((bucketKey, indexes) -> futures.add(commands.hdel(bytes(bucketKey),
+                    indexes.stream().map(i -> bytes(keys.get(i))).toArray(byte[][]::new))));
+            if (Boolean.TRUE.equals(properties.getReadFlatFallback())) {
+                futures.add(commands.del(keys.stream().map(BucketedStorage::bytes).toArray(byte[][]::new)));
+            }
+            long count = 0;
+            for (RedisFuture<Long> future : futures) {
+                try {
+                    count += await(future);
+                } catch (Exception e) {
+                    throw new IllegalStateException("Redis HDEL failed : " + e.getMessage(), e);
+                }
+            }
+            return count;
+        });
+        return deleted == null ? 0 : deleted;
+    }
+
+    /**
+     * 기존 key 별 string 을 bucket 으로 옮깁니다.
+     * <p>
+     * HSETNX 로 기록하므로 이전 중 bucket 에 먼저 기록된(더 새로운) 값은 덮어쓰지 않습니다.
+     * deleteSource 이면 bucket 에 값이 있는 key 의 string 을 삭제합니다.
+     * RedisDataPersistence 가 아닌 값(다른 캐시 등)과 string 이 아닌 key 는 건너뜁니다.
+     *
+     * @return key 순서대로 TRUE(이전), FALSE(건너뜀) 또는 Exception
+     */
+    public List<Object> migrate(List<String> keys, boolean deleteSource) {
+        var valueSerializer = redisTemplate.getValueSerializer();
+        long ttl = properties.getTtl();
+        long expiresAt = ttl > 0 ? nowSeconds() + ttl : 0;
+        return redisTemplate.execute((RedisCallback<List<Object>>) connection -> {
+            var commands = nativeCommands(connection);
+            Object[] results = new Object[keys.size()];
+            Arrays.fill(results, Boolean.FALSE);
+            List<KeyValue<byte[], byte[]>> values;
+            try {
+                values = await(commands.mget(keys.stream().map(BucketedStorage::bytes).toArray(byte[][]::new)));
+            } catch (Exception e) {
+                Arrays.fill(results, e);
+                return Arrays.asList(results);
+            }
+
+            Map<Integer, RedisFuture<Boolean>> futures = new LinkedHashMap<>();
+            for (int i = 0; i < keys.size(); i++) {
+                var keyValue = values.get(i);
+                if (isBucketKey(keys.get(i)) || !keyValue.hasValue()) {
+                    continue;
+                }
+                try {
+                    if (valueSerializer.deserialize(keyValue.getValue()) instanceof RedisDataPersistence persistence) {
+                        futures.put(i, commands.hsetnx(bytes(bucketKey(keys.get(i))), bytes(keys.get(i)),
+                                BucketEntrySerializer.serialize(persistence, expiresAt)));
+                    }
+                } catch (Exception e) {
+                    results[i] = e;
+                }
+            }
+
+            List<byte[]> migrated = new ArrayList<>(futures.size());
+            futures.forEach((index, future) -> {
+                try {
+                    await(future);
+                    results[index] = Boolean.TRUE;
+                    migrated.add(bytes(keys.get(index)));
+                } catch (Exception e) {
+                    results[index] = e;
+                }
+            });
+            if (ttl > 0) {
+                migrated.stream().map(key -> bucketKey(new String(key, StandardCharsets.UTF_8))).distinct()
+                        .forEach(bucketKey -> commands.expire(bytes(bucketKey), ttl));
+            }
+            if (deleteSource && !migrated.isEmpty()) {
+                try {
+                    await(commands.del(migrated.toArray(byte[][]::new)));
+                } catch (Exception e) {
+                    log.error("### Redis Bucket Migration Delete Error !!! ::: {}", e.getMessage());
+                }
+            }
+            return Arrays.asList(results);
+        });
+    }
+
+    /**
+     * 모든 bucket 을 HSCAN 하여 field(key)가 pattern 에 매칭되고 만료되지 않은 값을 consumer 에 전달합니다.
+     * bucket 수만큼 round trip 이 생기지 않도록 {@value #SCAN_PARALLELISM} 개 bucket 의 첫 HSCAN 을 함께 전송합니다.
+     * SCAN 과 같이 진행 중 변경된 값은 누락되거나 중복될 수 있습니다.
+     *
+     * @param count HSCAN COUNT
+     */
+    public void scan(String pattern, int count, Consumer<List<RedisDataPersistence>> consumer) {
+        var args = ScanArgs.Builder.matches(pattern).limit(count);
+        int buckets = properties.getBuckets();
+        redisTemplate.execute((RedisCallback<Void>) connection -> {
+            var commands = nativeCommands(connection);
+            for (int from = 0; from < buckets; from += SCAN_PARALLELISM) {
+                Map<String, RedisFuture<MapScanCursor<byte[], byte[]>>> futures = new LinkedHashMap<>();
+                for (int bucket = from; bucket < Math.min(buckets, from + SCAN_PARALLELISM); bucket++) {
+                    String bucketKey = properties.getKeyPrefix() + bucket;
+                    futures.put(bucketKey, commands.hscan(bytes(bucketKey), ScanCursor.INITIAL, args));
+                }
+                for (var entry : futures.entrySet()) {
+                    MapScanCursor<byte[], byte[]> cursor = awaitScan(entry.getValue());
+                    accept(cursor, consumer);
+                    while (!cursor.isFinished()) {
+                        cursor = awaitScan(commands.hscan(bytes(entry.getKey()), cursor, args));
+                        accept(cursor, consumer);
+                    }
+                }
+            }
+            return null;
+        });
+    }
+
+    private static void accept(MapScanCursor<byte[], byte[]> cursor, Consumer<List<RedisDataPersistence>> consumer) {
+        long now = nowSeconds();
+        List<RedisDataPersistence> persistences = new ArrayList<>(cursor.getMap().size());
+        cursor.getMap().forEach((field, value) -> {
+            var persistence = BucketEntrySerializer.deserialize(new String(field, StandardCharsets.UTF_8), value, now);
+            if (persistence != null) {
+                persistences.add(persistence);
+            }
+        });
+        if (!persistences.isEmpty()) {
+            consumer.accept(persistences);
+        }
+    }
+
+    private <V> V awaitScan(RedisFuture<V> future) {
+        try {
+            return await(future);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException("Redis HSCAN failed : " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * key index 를 bucket 별로 묶습니다. 같은 bucket 안에서는 요청 순서를 유지합니다.
+     */
+    private Map<String, List<Integer>> groupByBucket(List<String> keys) {
+        Map<String, List<Integer>> buckets = new LinkedHashMap<>();
+        for (int i = 0; i < keys.size(); i++) {
+            buckets.computeIfAbsent(bucketKey(keys.get(i)), bucket -> new ArrayList<>()).add(i);
+        }
+        return buckets;
+    }
+
+    private static long nowSeconds() {
+        return TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static RedisClusterAsyncCommands<byte[], byte[]> nativeCommands(RedisConnection connection) {
+        return (RedisClusterAsyncCommands<byte[], byte[]>) connection.getNativeConnection();
+    }
+
+    private <V> V await(RedisFuture<V> future) throws Exception {
+        Duration timeout = redisProperties.getTimeout() != null ? redisProperties.getTimeout() : DEFAULT_TIMEOUT;
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,428 @@
+package com.renzo.green.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.renzo.green.config.MasterRedisURI;
+import com.renzo.green.config.RedisCacheProperties;
+import com.renzo.green.dto.BulkTransferStats;
+import com.renzo.green.dto.RedisBatchResult;
+import com.renzo.green.dto.RedisData;
+import com.renzo.green.metrics.RedisMetrics;
+import com.renzo.green.persistence.RedisDataPersistence;
+import io.lettuce.core.KeyScanCursor;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.ScanArgs;
+import io.lettuce.core.ScanCursor;
+import io.lettuce.core.cluster.api.async.RedisClusterAsyncCommands;
+import io.lettuce.core.resource.ClientResources;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * NDJSON 대량 import 와 SCAN 기반 대량 export 를 처리합니다.
+ * <ul>
+ *     <li>import : 요청 body 를 한 줄씩 읽어 importBatchSize 단위로 {@link RedisService#registerBatch} 에 전달합니다.
+ *     batch 기록이 끝나야 다음 줄을 읽으므로 Redis 처리 속도가 body 읽기 속도를 제한합니다(back-pressure).
+ *     메모리에는 batch 하나만 유지됩니다.</li>
+ *     <li>export : SCAN cursor 로 key 를 exportBatchSize 단위로 모아 MGET 으로 조회하고 바로 응답 stream 에 기록합니다.
+ *     SCAN 특성상 진행 중 변경된 key 는 누락되거나 중복될 수 있습니다.
+ *     bucket 저장 모드에서는 모든 bucket 을 HSCAN 하여 기록하고, readFlatFallback 이 활성화되어 있으면
+ *     아직 이전되지 않은 key 별 string 도 SCAN 으로 기록합니다. (이전 후 string 이 남은 key 는 두 번 기록될 수 있으며,
+ *     두 줄 모두 bucket 의 현재 값이므로 import 결과는 같습니다.)</li>
+ *     <li>migrate : SCAN 으로 찾은 key 별 string 을 {@link BucketedStorage} 의 bucket 으로 옮깁니다.</li>
+ * </ul>
+ * 진행 상황은 {@link #transfers()} 와 progressLogInterval 마다의 로그, green.redis.bulk.records 로 확인합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BulkTransferService {
+
+    private static final int MAX_FINISHED_TRANSFERS = 32;
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(10);
+
+    private final RedisService redisService;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final SlotBatchExecutor slotBatchExecutor;
+    private final BucketedStorage bucketedStorage;
+    private final ClientResources lettuceClientResources;
+    private final RedisProperties redisProperties;
+    private final RedisCacheProperties cacheProperties;
+    private final RedisMetrics redisMetrics;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Transfer> transfers = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    public BulkTransferStats importNdjson(InputStream in) throws IOException {
+        var transfer = start("import");
+        int batchSize = Math.min(cacheProperties.getBulk().getImportBatchSize(), cacheProperties.getBatch().getMaxSize());
+        List<RedisDataPersistence> chunk = new ArrayList<>(batchSize);
+        try (var reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            long lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                RedisData redisData;
+                try {
+                    redisData = objectMapper.readValue(line, RedisData.class);
+                } catch (JsonProcessingException e) {
+                    transfer.malformed("line " + lineNumber + " : " + e.getOriginalMessage());
+                    continue;
+                }
+                if (redisData.getKey() == null) {
+                    transfer.malformed("line " + lineNumber + " : key is required");
+                    continue;
+                }
+                chunk.add(RedisDataPersistence.builder()
+                        .key(redisData.getKey())
+                        .value(redisData.getValue())
+                        .build());
+                if (chunk.size() >= batchSize) {
+                    importChunk(transfer, chunk);
+                    chunk = new ArrayList<>(batchSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                importChunk(transfer, chunk);
+            }
+        } finally {
+            finish(transfer);
+        }
+        return transfer.stats();
+    }
+
+    private void importChunk(Transfer transfer, List<RedisDataPersistence> chunk) {
+        RedisBatchResult result = redisService.registerBatch(chunk);
+        transfer.processed(result.getSucceeded(), result.getFailed());
+        if (result.getFailed() > 0) {
+            result.getResults().stream()
+                    .filter(item -> item.getStatus() == RedisBatchResult.Status.FAILED)
+                    .findFirst()
+                    .ifPresent(item -> transfer.error(item.getKey() + " : " + item.getError()));
+        }
+    }
+
+    /**
+     * pattern 에 매칭되는 key 를 NDJSON(RedisData) 으로 out 에 기록합니다.
+     */
+    public BulkTransferStats export(String pattern, OutputStream out) throws IOException {
+        var transfer = start("export");
+        try {
+            if (bucketedStorage.isEnabled()) {
+                bucketedStorage.scan(pattern, cacheProperties.getBulk().getScanCount(),
+                        persistences -> exportValues(transfer, persistences, out));
+                if (bucketedStorage.isReadFlatFallback()) {
+                    scan(pattern, keys -> exportChunk(transfer, keys.stream()
+                            .filter(key -> !bucketedStorage.isBucketKey(key))
+                            .toList(), out));
+                }
+            } else {
+                scan(pattern, keys -> exportChunk(transfer, keys, out));
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            finish(transfer);
+        }
+        return transfer.stats();
+    }
+
+    private void exportChunk(Transfer transfer, List<String> keys, OutputStream out) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        RedisBatchResult result = redisService.retrieveBatch(keys);
+        try {
+            for (RedisBatchResult.Item item : result.getResults()) {
+                if (item.getStatus() == RedisBatchResult.Status.OK) {
+                    write(out, item.getKey(), item.getValue());
+                }
+            }
+            out.flush();
+        } catch (IOException e) {
+            // client 연결 종료 등. SCAN 을 중단합니다.
+            throw new UncheckedIOException(e);
+        }
+        transfer.processed(result.getSucceeded(), result.getFailed());
+    }
+
+    private void exportValues(Transfer transfer, List<RedisDataPersistence> persistences, OutputStream out) {
+        try {
+            for (RedisDataPersistence persistence : persistences) {
+                write(out, persistence.getKey(), persistence.getValue());
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        transfer.processed(persistences.size(), 0);
+    }
+
+    private void write(OutputStream out, String key, String value) throws IOException {
+        RedisData redisData = new RedisData();
+        redisData.setKey(key);
+        redisData.setValue(value);
+        out.write(objectMapper.writeValueAsBytes(redisData));
+        out.write('\n');
+    }
+
+    /**
+     * pattern 에 매칭되는 key 별 string 을 bucket 으로 옮깁니다.
+     * <p>
+     * bucket 저장 모드가 활성화된 상태에서만 실행합니다. 이전 중 새로 기록되는 값은 bucket 에 기록되고,
+     * 이전은 HSETNX 로 기록하므로 새 값을 덮어쓰지 않습니다. 이전되지 않은 key 는 readFlatFallback 으로 조회됩니다.
+     * 중단되어도 다시 실행하면 남은 key 만 옮겨집니다.
+     *
+     * @param deleteSource 옮긴 key 의 string 을 삭제할지 여부
+     */
+    public BulkTransferStats migrateToBuckets(String pattern, boolean deleteSource) {
+        if (!bucketedStorage.isEnabled()) {
+            throw new UnsupportedOperationException("bucket storage is not enabled");
+        }
+        var transfer = start("migrate");
+        try {
+            scan(pattern, keys -> migrateChunk(transfer, keys, deleteSource));
+        } finally {
+            finish(transfer);
+        }
+        return transfer.stats();
+    }
+
+    private void migrateChunk(Transfer transfer, List<String> keys, boolean deleteSource) {
+        List<Object> results = bucketedStorage.migrate(keys, deleteSource);
+        int succeeded = 0, failed = 0;
+        for (int i = 0; i < keys.size(); i++) {
+            if (results.get(i) instanceof Exception e) {
+                if (failed++ == 0) {
+                    redisMetrics.recordError("migrate", e);
+                    log.error("### Redis Bucket Migration Error !!! ::: {}", e.getMessage());
+                }
+                transfer.error(keys.get(i) + " : " + e.getMessage());
+            } else if (Boolean.TRUE.equals(results.get(i))) {
+                succeeded++;
+            }
+        }
+        transfer.processed(succeeded, failed);
+    }
+
+    /**
+     * SCAN 결과를 exportBatchSize 단위로 consumer 에 전달합니다.
+     * <p>
+     * Master/Replica 구성에서는 cursor 가 다른 노드로 전달되지 않도록 master 전용 연결로 SCAN 합니다.
+     * (ReadFrom 에 따라 매 SCAN 이 다른 replica 로 전송될 수 있기 때문입니다.)
+     * Cluster 구성에서는 Lettuce 가 cursor 에 노드 정보를 유지하며 master 노드를 순서대로 SCAN 합니다.
+     */
+    private void scan(String pattern, Consumer<List<String>> consumer) {
+        var bulk = cacheProperties.getBulk();
+        var args = ScanArgs.Builder.matches(pattern).limit(bulk.getScanCount());
+        int batchSize = Math.min(bulk.getExportBatchSize(), cacheProperties.getBatch().getMaxSize());
+        var batcher = new KeyBatcher(batchSize, consumer);
+        if (slotBatchExecutor.isEnabled()) {
+            scanCluster(args, batcher);
+        } else {
+            scanMaster(args, batcher);
+        }
+        batcher.flush();
+    }
+
+    private void scanMaster(ScanArgs args, KeyBatcher batcher) {
+        var client = RedisClient.create(lettuceClientResources, MasterRedisURI.create(redisProperties, cacheProperties));
+        try (var connection = client.connect()) {
+            var commands = connection.sync();
+            KeyScanCursor<String> cursor = commands.scan(args);
+            batcher.addAll(cursor.getKeys());
+            while (!cursor.isFinished()) {
+                cursor = commands.scan(cursor, args);
+                batcher.addAll(cursor.getKeys());
+            }
+        } finally {
+            client.shutdown();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void scanCluster(ScanArgs args, KeyBatcher batcher) {
+        redisTemplate.execute((RedisCallback<Void>) connection -> {
+            var commands = (RedisClusterAsyncCommands<byte[], byte[]>) connection.getNativeConnection();
+            ScanCursor cursor = ScanCursor.INITIAL;
+            do {
+                KeyScanCursor<byte[]> result = await(commands.scan(cursor, args));
+                result.getKeys().forEach(key -> batcher.add(new String(key, StandardCharsets.UTF_8)));
+                cursor = result;
+            } while (!cursor.isFinished());
+            return null;
+        });
+    }
+
+    private <V> V await(RedisFuture<V> future) {
+        Duration timeout = redisProperties.getTimeout() != null ? redisProperties.getTimeout() : DEFAULT_TIMEOUT;
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while scanning", e);
+        } catch (Exception e) {
+            redisMetrics.recordError("scan", e);
+            throw new IllegalStateException("Redis SCAN failed : " + e.getMessage(), e);
+        }
+    }
+
+    public List<BulkTransferStats> transfers() {
+        return transfers.values().stream()
+                .sorted(Comparator.comparingLong((Transfer transfer) -> transfer.startedNanos).reversed())
+                .map(Transfer::stats)
+                .toList();
+    }
+
+    private Transfer start(String operation) {
+        var transfer = new Transfer(operation + "-" + sequence.incrementAndGet(), operation);
+        transfers.put(transfer.id, transfer);
+        log.info("Bulk {} started : {}", operation, transfer.id);
+        return transfer;
+    }
+
+    private void finish(Transfer transfer) {
+        transfer.finishedNanos = System.nanoTime();
+        var stats = transfer.stats();
+        log.info("Bulk {} finished : {} records ({} failed, {} malformed) in {}ms, {} records/s", stats.getOperation(),
+                stats.getProcessed(), stats.getFailed(), stats.getMalformed(), stats.getElapsedMillis(),
+                String.format("%.0f", stats.getRecordsPerSecond()));
+        if (transfers.size() > MAX_FINISHED_TRANSFERS) {
+            transfers.values().stream()
+                    .filter(candidate -> candidate.finishedNanos != 0)
+                    .min(Comparator.comparingLong(candidate -> candidate.startedNanos))
+                    .ifPresent(oldest -> transfers.remove(oldest.id));
+        }
+    }
+
+    /**
+     * 하나의 import/export 진행 상황입니다. 요청 스레드 하나만 갱신하고 progress 조회는 volatile 값을 읽습니다.
+     */
+    private final class Transfer {
+        private final String id;
+        private final String operation;
+        private final long startedNanos = System.nanoTime();
+        private volatile long finishedNanos;
+        private volatile long succeeded;
+        private volatile long failed;
+        private volatile long malformed;
+        private long nextProgressLog = cacheProperties.getBulk().getProgressLogInterval();
+        private final List<String> errors = new CopyOnWriteArrayList<>();
+
+        private Transfer(String id, String operation) {
+            this.id = id;
+            this.operation = operation;
+        }
+
+        private void processed(int succeeded, int failed) {
+            this.succeeded += succeeded;
+            this.failed += failed;
+            meterRegistry.counter("green.redis.bulk.records", "operation", operation, "result", "succeeded")
+                    .increment(succeeded);
+            if (failed > 0) {
+                meterRegistry.counter("green.redis.bulk.records", "operation", operation, "result", "failed")
+                        .increment(failed);
+            }
+            long processed = this.succeeded + this.failed + this.malformed;
+            if (processed >= nextProgressLog) {
+                nextProgressLog = processed + cacheProperties.getBulk().getProgressLogInterval();
+                var stats = stats();
+                log.info("Bulk {} progress : {} records, {} records/s", id, processed,
+                        String.format("%.0f", stats.getRecordsPerSecond()));
+            }
+        }
+
+        private void malformed(String error) {
+            malformed++;
+            meterRegistry.counter("green.redis.bulk.records", "operation", operation, "result", "malformed")
+                    .increment();
+            error(error);
+        }
+
+        private void error(String error) {
+            if (errors.size() < cacheProperties.getBulk().getMaxErrors()) {
+                errors.add(error);
+            }
+        }
+
+        private BulkTransferStats stats() {
+            long end = finishedNanos != 0 ? finishedNanos : System.nanoTime();
+            long elapsedNanos = Math.max(1, end - startedNanos);
+            long processed = succeeded + failed + malformed;
+            return BulkTransferStats.builder()
+                    .id(id)
+                    .operation(operation)
+                    .running(finishedNanos == 0)
+                    .processed(processed)
+                    .succeeded(succeeded)
+                    .failed(failed)
+                    .malformed(malformed)
+                    .elapsedMillis(TimeUnit.NANOSECONDS.toMillis(elapsedNanos))
+                    .recordsPerSecond(processed * 1e9 / elapsedNanos)
+                    .errors(List.copyOf(errors))
+                    .build();
+        }
+    }
+
+    /**
+     * SCAN 결과 key 를 batchSize 단위로 모아 전달합니다.
+     */
+    static final class KeyBatcher {
+        private final int batchSize;
+        private final Consumer<List<String>> consumer;
+        private List<String> batch;
+
+        KeyBatcher(int batchSize, Consumer<List<String>> consumer) {
+            this.batchSize = batchSize;
+            this.consumer = consumer;
+            this.batch = new ArrayList<>(batchSize);
+        }
+
+        void addAll(List<String> keys) {
+            keys.forEach(this::add);
+        }
+
+        void add(String key) {
+            batch.add(key);
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (!batch.isEmpty()) {
+                consumer.accept(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+    }
+}
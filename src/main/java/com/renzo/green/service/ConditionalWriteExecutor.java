@@ -0,0 +1,189 @@
+package com.renzo.green.service;
+
+import com.renzo.green.dto.ConditionalWriteResult;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.RedisNoScriptException;
+import io.lettuce.core.ScriptOutputType;
+import io.lettuce.core.cluster.api.async.RedisClusterAsyncCommands;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 조건부/versioned 쓰기를 Lua script 로 실행합니다.
+ * <p>
+ * script 는 현재 값을 읽고 조건을 확인한 뒤 기록하므로 한 번의 round trip 으로 원자적으로 처리됩니다.
+ * 시작 시 SCRIPT LOAD 로 등록해 두고 EVALSHA 로 실행하며, Redis 재시작 등으로 script 가 없으면(NOSCRIPT)
+ * EVAL 로 다시 실행합니다. (EVAL 은 script 를 다시 등록합니다.)
+ * <p>
+ * 값은 script 가 binary 형식(RedisDataPersistenceSerializer VERSION 2)으로 직접 기록하므로
+ * codec/압축 설정과 관계없이 압축되지 않은 binary 로 저장됩니다.
+ * <p>
+ * 다건 실행은 모든 EVALSHA 를 async 로 전송한 뒤 결과를 모읍니다. 각 command 는 원자적이지만 batch 전체가 원자적이지는 않습니다.
+ * (Cluster 구성에서는 Lettuce 가 command 별로 slot 을 소유한 노드에 전송합니다.)
+ */
+@Slf4j
+@Component
+public class ConditionalWriteExecutor {
+
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(10);
+
+    public enum Operation {
+        SET_IF_ABSENT("set-if-absent"),
+        COMPARE_AND_SET("compare-and-set"),
+        INCREMENT("increment");
+
+        private final String script;
+
+        Operation(String script) {
+            this.script = script;
+        }
+    }
+
+    /**
+     * @param args ARGV (SET_IF_ABSENT : value, COMPARE_AND_SET : value, 기대 version, INCREMENT : 증가량)
+     */
+    public record Command(String key, String... args) {
+    }
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisProperties redisProperties;
+    private final KeyIndex keyIndex;
+    @SuppressWarnings("rawtypes")
+    private final Map<Operation, DefaultRedisScript<List>> scripts = new EnumMap<>(Operation.class);
+
+    public ConditionalWriteExecutor(RedisTemplate<String, Object> redisTemplate, RedisProperties redisProperties,
+                                    KeyIndex keyIndex) {
+        this.redisTemplate = redisTemplate;
+        this.redisProperties = redisProperties;
+        this.keyIndex = keyIndex;
+        String record = read("record");
+        for (Operation operation : Operation.values()) {
+            scripts.put(operation, new DefaultRedisScript<>(record + "\n" + read(operation.script), List.class));
+        }
+    }
+
+    private static String read(String name) {
+        try {
+            return new ClassPathResource("scripts/" + name + ".lua").getContentAsString(StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read script " + name, e);
+        }
+    }
+
+    /**
+     * 시작 시 script 를 등록합니다. 실패해도 첫 실행에서 EVAL 로 등록되므로 기동을 막지 않습니다.
+     */
+    @PostConstruct
+    public void load() {
+        try {
+            redisTemplate.execute((RedisCallback<Void>) connection -> {
+                scripts.values().forEach(script -> connection.scriptingCommands()
+                        .scriptLoad(script.getScriptAsString().getBytes(StandardCharsets.UTF_8)));
+                return null;
+            });
+            log.info("Redis conditional write scripts loaded : {}", scripts.keySet());
+        } catch (Exception e) {
+            log.warn("Redis conditional write scripts not preloaded : {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @return command 순서대로 ConditionalWriteResult 또는 Exception
+     */
+    public List<Object> execute(Operation operation, List<Command> commands) {
+        @SuppressWarnings("rawtypes")
+        DefaultRedisScript<List> script = scripts.get(operation);
+        return redisTemplate.execute((RedisCallback<List<Object>>) connection -> {
+            var nativeCommands = nativeCommands(connection);
+            List<RedisFuture<List<Object>>> futures = new ArrayList<>(commands.size());
+            commands.forEach(command -> futures.add(nativeCommands.evalsha(script.getSha1(), ScriptOutputType.MULTI,
+                    keys(command), arguments(command))));
+
+            Object[] results = new Object[commands.size()];
+            for (int i = 0; i < commands.size(); i++) {
+                Command command = commands.get(i);
+                try {
+                    List<Object> reply;
+                    try {
+                        reply = await(futures.get(i));
+                    } catch (RedisNoScriptException e) {
+                        reply = await(nativeCommands.eval(script.getScriptAsString(), ScriptOutputType.MULTI,
+                                keys(command), arguments(command)));
+                    }
+                    results[i] = toResult(command.key(), reply);
+                } catch (Exception e) {
+                    results[i] = e;
+                }
+            }
+            return Arrays.asList(results);
+        });
+    }
+
+    private static ConditionalWriteResult toResult(String key, List<Object> reply) {
+        return ConditionalWriteResult.builder()
+                .key(key)
+                .applied(((Long) reply.get(0)) == 1L)
+                .version((Long) reply.get(1))
+                .value(reply.size() > 2 && reply.get(2) instanceof byte[] value
+                        ? new String(value, StandardCharsets.UTF_8)
+                        : null)
+                .build();
+    }
+
+    /**
+     * key-index 가 활성화되어 있으면 script 가 새로 기록한 key 를 index 에 추가하도록 index key 를 함께 전달합니다.
+     */
+    private byte[][] keys(Command command) {
+        return keyIndex.isEnabled() ?
+                new byte[][]{bytes(command.key()), bytes(keyIndex.indexKey(command.key()))} :
+                new byte[][]{bytes(command.key())};
+    }
+
+    private static byte[][] arguments(Command command) {
+        return Arrays.stream(command.args()).map(ConditionalWriteExecutor::bytes).toArray(byte[][]::new);
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static RedisClusterAsyncCommands<byte[], byte[]> nativeCommands(RedisConnection connection) {
+        return (RedisClusterAsyncCommands<byte[], byte[]>) connection.getNativeConnection();
+    }
+
+    private <V> V await(RedisFuture<V> future) throws Exception {
+        Duration timeout = redisProperties.getTimeout() != null ? redisProperties.getTimeout() : DEFAULT_TIMEOUT;
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw e;
+        }
+    }
+}
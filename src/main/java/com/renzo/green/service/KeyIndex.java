@@ -0,0 +1,162 @@
+package com.renzo.green.service;
+
+import com.renzo.green.config.RedisCacheProperties;
+import com.renzo.green.persistence.RedisDataPersistence;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * prefix 조회용 lexicographic key index 입니다. (key-index.enabled)
+ * <p>
+ * namespace(key 의 마지막 구분자 앞까지) 별 ZSET 에 모든 member 를 score 0 으로 추가하면
+ * member 가 byte 순서로 정렬되므로 ZRANGEBYLEX 로 prefix 범위를 O(log N + 결과 개수) 에 조회할 수 있습니다.
+ * KEYS / SCAN 처럼 keyspace 전체를 순회하지 않습니다.
+ * <p>
+ * 쓰기/삭제는 값과 index 를 하나의 Lua script 로 처리하므로 원자적입니다.
+ * index key 와 값 key 가 서로 다른 slot 에 속하므로 CLUSTER topology 에서는 사용할 수 없고,
+ * bucket 저장 모드와도 함께 사용할 수 없습니다. (시작 시 IllegalStateException)
+ * <p>
+ * namespace 는 디렉터리처럼 동작합니다. prefix green:renzo: 는 green:renzo 의 key 만 조회하며
+ * green:renzo:a:b 처럼 더 깊은 namespace 의 key 는 green:renzo:a: 로 조회합니다.
+ * index 를 거치지 않고 삭제/만료된 key 는 값을 함께 조회할 때 index 에서 제거합니다. ({@link #prune(List)})
+ */
+@Slf4j
+@Component
+public class KeyIndex {
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisCacheProperties.KeyIndex properties;
+    private final DefaultRedisScript<Long> setScript;
+    private final DefaultRedisScript<Long> deleteScript;
+    private final DefaultRedisScript<Long> pruneScript;
+
+    public KeyIndex(RedisTemplate<String, Object> redisTemplate, RedisCacheProperties cacheProperties) {
+        this.redisTemplate = redisTemplate;
+        this.properties = cacheProperties.getKeyIndex();
+        if (isEnabled() && cacheProperties.getTopology() == RedisCacheProperties.Topology.CLUSTER) {
+            throw new IllegalStateException("key-index is not supported for CLUSTER topology");
+        }
+        if (isEnabled() && Boolean.TRUE.equals(cacheProperties.getBucketStorage().getEnabled())) {
+            throw new IllegalStateException("key-index can not be used with bucket-storage");
+        }
+        this.setScript = new DefaultRedisScript<>(read("set-indexed"), Long.class);
+        this.deleteScript = new DefaultRedisScript<>(read("delete-indexed"), Long.class);
+        this.pruneScript = new DefaultRedisScript<>(read("prune-index"), Long.class);
+    }
+
+    private static String read(String name) {
+        try {
+            return new ClassPathResource("scripts/" + name + ".lua").getContentAsString(StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read script " + name, e);
+        }
+    }
+
+    public boolean isEnabled() {
+        return Boolean.TRUE.equals(properties.getEnabled());
+    }
+
+    public int getPageSize() {
+        return properties.getPageSize();
+    }
+
+    /**
+     * key 가 속한 namespace 의 index key. 구분자가 없는 key 는 빈 namespace(keyPrefix) 에 속합니다.
+     */
+    public String indexKey(String key) {
+        int end = key.lastIndexOf(properties.getDelimiter());
+        return properties.getKeyPrefix() + (end < 0 ? "" : key.substring(0, end));
+    }
+
+    /**
+     * 값(SET)과 index(ZADD)를 하나의 script 로 기록합니다. script 는 원자적이므로 결과는 모두 성공이거나 예외입니다.
+     * 값은 RedisTemplate 의 value serializer 로 직렬화하므로 일반 SET 과 같은 형식으로 저장됩니다.
+     *
+     * @return key 순서대로 Boolean.TRUE
+     */
+    public List<Object> set(List<RedisDataPersistence> persistences) {
+        List<String> keys = persistences.stream().map(RedisDataPersistence::getKey).toList();
+        redisTemplate.execute(setScript, withIndexKeys(keys), persistences.toArray());
+        return Collections.nCopies(persistences.size(), Boolean.TRUE);
+    }
+
+    /**
+     * @return 삭제된 key 개수
+     */
+    public long delete(List<String> keys) {
+        Long deleted = redisTemplate.execute(deleteScript, withIndexKeys(keys));
+        return deleted == null ? 0 : deleted;
+    }
+
+    /**
+     * 존재하지 않는 key 를 index 에서 제거합니다. 확인과 제거가 하나의 script 로 실행되므로
+     * 그 사이 다시 기록된 key 는 제거되지 않습니다.
+     *
+     * @return 제거된 index 항목 개수
+     */
+    public long prune(List<String> keys) {
+        Long pruned = redisTemplate.execute(pruneScript, withIndexKeys(keys));
+        return pruned == null ? 0 : pruned;
+    }
+
+    /**
+     * prefix 로 시작하는 key 를 사전 순으로 최대 count 개 조회합니다.
+     *
+     * @param after 이 key 다음부터 조회합니다. (이전 page 의 마지막 key, 없으면 처음부터)
+     */
+    public List<String> range(String prefix, String after, int count) {
+        byte[] indexKey = bytes(indexKey(prefix));
+        byte[] lowerBytes = bytes(after != null ? after : prefix);
+        byte[] upperBytes = successor(bytes(prefix));
+        Range.Bound<byte[]> lower = after != null ? Range.Bound.exclusive(lowerBytes) : Range.Bound.inclusive(lowerBytes);
+        Range.Bound<byte[]> upper = upperBytes != null ? Range.Bound.exclusive(upperBytes) : Range.Bound.unbounded();
+
+        Set<byte[]> members = redisTemplate.execute((RedisCallback<Set<byte[]>>) connection -> connection.zSetCommands()
+                .zRangeByLex(indexKey, Range.of(lower, upper), Limit.limit().count(count)));
+        List<String> keys = new ArrayList<>(members == null ? 0 : members.size());
+        if (members != null) {
+            members.forEach(member -> keys.add(new String(member, StandardCharsets.UTF_8)));
+        }
+        return keys;
+    }
+
+    /**
+     * prefix 로 시작하는 모든 bytes 보다 큰 가장 작은 bytes. (0xFF 로만 이루어져 있으면 null)
+     */
+    static byte[] successor(byte[] prefix) {
+        for (int i = prefix.length - 1; i >= 0; i--) {
+            if (prefix[i] != (byte) 0xFF) {
+                byte[] successor = Arrays.copyOf(prefix, i + 1);
+                successor[i]++;
+                return successor;
+            }
+        }
+        return null;
+    }
+
+    private List<String> withIndexKeys(List<String> keys) {
+        List<String> scriptKeys = new ArrayList<>(keys.size() * 2);
+        scriptKeys.addAll(keys);
+        keys.forEach(key -> scriptKeys.add(indexKey(key)));
+        return scriptKeys;
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+}
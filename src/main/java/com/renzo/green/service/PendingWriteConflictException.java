@@ -0,0 +1,11 @@
+package com.renzo.green.service;
+
+/**
+ * Write-Behind 버퍼나 Circuit 대기열에 아직 기록되지 않은 쓰기가 있는 key 에 조건부 쓰기를 요청했을 때 발생합니다.
+ */
+public class PendingWriteConflictException extends RuntimeException {
+
+    public PendingWriteConflictException(String key) {
+        super("pending write exists : " + key);
+    }
+}
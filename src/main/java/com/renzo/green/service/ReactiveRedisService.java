@@ -0,0 +1,139 @@
+package com.renzo.green.service;
+
+import com.renzo.green.cache.HotKeyDetector;
+import com.renzo.green.cache.NearCache;
+import com.renzo.green.config.RedisCacheProperties;
+import com.renzo.green.dto.RedisBatchResult;
+import com.renzo.green.metrics.RedisMetrics;
+import com.renzo.green.persistence.RedisDataPersistence;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+
+/**
+ * ReactiveRedisTemplate 기반의 Non-Blocking Redis 접근 서비스 입니다.
+ * 요청 스레드를 점유하지 않고 Lettuce(Netty) event loop 에서 응답을 처리합니다.
+ * <p>
+ * bucket 저장 모드에서는 값이 hash field 형식으로 저장되므로 {@link BucketedStorage} 로 읽고 기록합니다.
+ * key-index 가 활성화되어 있으면 prefix 조회에 포함되도록 {@link KeyIndex} 로 기록합니다.
+ * BucketedStorage, KeyIndex 는 blocking API 이므로 event loop 를 막지 않도록 boundedElastic scheduler 에서 실행합니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveRedisService {
+
+    private final ReactiveRedisTemplate<String, Object> reactiveRedisTemplate;
+    private final ReactiveStringRedisTemplate reactiveStringRedisTemplate;
+    private final NearCache nearCache;
+    private final RedisCacheProperties cacheProperties;
+    private final WriteBehindBuffer writeBehindBuffer;
+    private final RedisMetrics redisMetrics;
+    private final HotKeyDetector hotKeyDetector;
+    private final BucketedStorage bucketedStorage;
+    private final KeyIndex keyIndex;
+
+    public Mono<Boolean> registerData(RedisDataPersistence persistence) {
+        // event loop 를 막지 않도록 버퍼가 가득 찬 경우 기다리지 않고 직접 기록합니다.
+        if (writeBehindBuffer.isEnabled() && writeBehindBuffer.offer(persistence, 0)) {
+            return Mono.just(Boolean.TRUE);
+        }
+        return write(persistence)
+                .flatMap(result -> invalidateNearCache(persistence.getKey()).thenReturn(result))
+                .doOnError(e -> {
+                    redisMetrics.recordError("reactive-set", e);
+                    log.error("### Redis Set Key Error !!! ::: {}", e.getMessage());
+                });
+    }
+
+    public Mono<RedisDataPersistence> retrieveData(String key) {
+        if (writeBehindBuffer.isEnabled()) {
+            RedisDataPersistence pending = writeBehindBuffer.peek(key);
+            if (pending != null) {
+                return Mono.just(pending);
+            }
+        }
+        return read(key)
+                .doOnError(e -> {
+                    redisMetrics.recordError("reactive-get", e);
+                    log.error("### Redis Get Key Error !!! ::: {}", e.getMessage());
+                });
+    }
+
+    private Mono<Boolean> write(RedisDataPersistence persistence) {
+        if (bucketedStorage.isEnabled()) {
+            return Mono.fromCallable(() -> {
+                bucketedStorage.set(persistence);
+                return Boolean.TRUE;
+            }).subscribeOn(Schedulers.boundedElastic());
+        }
+        if (keyIndex.isEnabled()) {
+            return Mono.fromCallable(() -> {
+                keyIndex.set(List.of(persistence));
+                return Boolean.TRUE;
+            }).subscribeOn(Schedulers.boundedElastic());
+        }
+        return reactiveRedisTemplate.opsForValue().set(persistence.getKey(), persistence);
+    }
+
+    private Mono<RedisDataPersistence> read(String key) {
+        if (bucketedStorage.isEnabled()) {
+            return Mono.fromCallable(() -> bucketedStorage.get(key)).subscribeOn(Schedulers.boundedElastic());
+        }
+        return reactiveRedisTemplate.opsForValue().get(key)
+                .cast(RedisDataPersistence.class);
+    }
+
+    /**
+     * 여러 key 를 조회하여 요청 순서대로 stream 으로 반환합니다.
+     * 각 key 는 개별 GET 으로 조회되므로 일부 key 의 실패가 나머지 결과에 영향을 주지 않습니다.
+     */
+    public Flux<RedisBatchResult.Item> retrieveStream(List<String> keys) {
+        var batch = cacheProperties.getBatch();
+        if (keys.size() > batch.getMaxSize()) {
+            throw new IllegalArgumentException("batch size " + keys.size() + " exceeds max size " + batch.getMaxSize());
+        }
+        return Flux.fromIterable(keys)
+                .flatMapSequential(this::retrieveItem, batch.getStreamConcurrency());
+    }
+
+    private Mono<RedisBatchResult.Item> retrieveItem(String key) {
+        return retrieveData(key)
+                .map(persistence -> RedisBatchResult.Item.builder()
+                        .key(key)
+                        .value(persistence.getValue())
+                        .status(RedisBatchResult.Status.OK)
+                        .build())
+                .defaultIfEmpty(RedisBatchResult.Item.builder()
+                        .key(key)
+                        .status(RedisBatchResult.Status.MISSING)
+                        .build())
+                .onErrorResume(e -> Mono.just(RedisBatchResult.Item.builder()
+                        .key(key)
+                        .status(RedisBatchResult.Status.FAILED)
+                        .error(e.getMessage())
+                        .build()));
+    }
+
+    private Mono<Void> invalidateNearCache(String key) {
+        hotKeyDetector.unpin(key);
+        if (!nearCache.isEnabled()) {
+            return Mono.empty();
+        }
+        nearCache.invalidateLocal(key);
+        return reactiveStringRedisTemplate.convertAndSend(nearCache.getInvalidationChannel(), key)
+                .doOnError(e -> {
+                    redisMetrics.recordError("publish", e);
+                    log.error("### NearCache Invalidation Publish Error !!! ::: {}", e.getMessage());
+                })
+                .onErrorResume(e -> Mono.empty())
+                .then();
+    }
+}
@@ -1,36 +1,696 @@
 package com.renzo.green.service;
 
+import com.renzo.green.cache.HotKeyDetector;
+import com.renzo.green.cache.NearCache;
+import com.renzo.green.cache.SingleFlight;
+import com.renzo.green.config.RedisCacheProperties;
+import com.renzo.green.dto.ConditionalWriteResult;
+import com.renzo.green.dto.RawRedisData;
+import com.renzo.green.dto.RedisBatchResult;
+import com.renzo.green.dto.RedisKeyPage;
+import com.renzo.green.metrics.RedisMetrics;
 import com.renzo.green.persistence.RedisDataPersistence;
+import com.renzo.green.resilience.PendingWriteQueue;
+import com.renzo.green.resilience.RedisCircuitBreaker;
+import com.renzo.green.resilience.RedisUnavailableException;
+import com.renzo.green.resilience.StaleValueStore;
+import com.renzo.green.routing.SessionConsistency;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import io.lettuce.core.RedisCommandExecutionException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.connection.RedisPipelineException;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class RedisService {
 
     private final RedisTemplate<String, Object> redisTemplate;
+    private final NearCache nearCache;
+    private final RedisCacheProperties cacheProperties;
+    private final WriteBehindBuffer writeBehindBuffer;
+    private final RedisMetrics redisMetrics;
+    private final SingleFlight<String, RedisDataPersistence> redisServiceSingleFlight;
+    private final SlotBatchExecutor slotBatchExecutor;
+    private final HotKeyDetector hotKeyDetector;
+    private final RedisCircuitBreaker circuitBreaker;
+    private final StaleValueStore staleValueStore;
+    private final PendingWriteQueue pendingWriteQueue;
+    private final ConditionalWriteExecutor conditionalWriteExecutor;
+    private final BucketedStorage bucketedStorage;
+    private final KeyIndex keyIndex;
+    private final SessionConsistency sessionConsistency;
+
+    @PostConstruct
+    public void registerCircuitListener() {
+        circuitBreaker.addListener((from, to) -> {
+            if (to == RedisCircuitBreaker.State.CLOSED && pendingWriteQueue.size() > 0) {
+                Thread.ofVirtual().name("redis-pending-write-replay").start(this::replayPendingWrites);
+            }
+        });
+    }
 
+    /**
+     * Circuit 이 열려 있으면 open-writes 설정에 따라 쓰기를 보관(QUEUE)하거나
+     * {@link RedisUnavailableException} 을 던집니다(REJECT).
+     */
     public void registerData(RedisDataPersistence persistence) {
+        sessionConsistency.markWritten();
+        // Write-Behind 로 버퍼링된 쓰기도 pin 된 이전 값이 읽히지 않도록 먼저 제거합니다.
+        hotKeyDetector.unpin(persistence.getKey());
+        if (writeBehindBuffer.isEnabled() && writeBehindBuffer.offer(persistence)) {
+            return;
+        }
+        pendingWriteQueue.discard(persistence.getKey());
         try{
-            redisTemplate.opsForValue().set(persistence.getKey(), persistence);
+            circuitBreaker.execute(() -> {
+                if (bucketedStorage.isEnabled()) {
+                    bucketedStorage.set(persistence);
+                } else if (keyIndex.isEnabled()) {
+                    keyIndex.set(List.of(persistence));
+                } else {
+                    redisTemplate.opsForValue().set(persistence.getKey(), persistence);
+                }
+            });
+            staleValueStore.put(persistence.getKey(), persistence);
+        }catch (RedisUnavailableException e){
+            if (!queue(persistence)) {
+                throw e;
+            }
+            return;
         }catch (Exception e){
-
+            redisMetrics.recordError("set", e);
             log.error("### Redis Set Key Error !!! ::: {}", e.getMessage());
         }
+        nearCache.invalidate(persistence.getKey());
+        // 기록이 끝나기 전에 시작된 조회가 이전 값을 pin 했을 수 있으므로 기록 후에도 제거합니다.
+        hotKeyDetector.unpin(persistence.getKey());
+    }
+
+    /**
+     * open-writes 가 QUEUE 이면 쓰기를 보관하고, 이후 조회는 보관된 값을 반환합니다.
+     * Redis 로 invalidation 을 전파할 수 없으므로 Near Cache 는 로컬만 제거합니다.
+     *
+     * @return 보관되었으면 true
+     */
+    private boolean queue(RedisDataPersistence persistence) {
+        if (cacheProperties.getCircuitBreaker().getOpenWrites() != RedisCacheProperties.CircuitBreaker.OpenWrites.QUEUE
+                || !pendingWriteQueue.offer(persistence)) {
+            return false;
+        }
+        staleValueStore.put(persistence.getKey(), persistence);
+        nearCache.invalidateLocal(persistence.getKey());
+        return true;
+    }
+
+    /**
+     * Circuit 이 닫히면 보관된 쓰기를 batch 단위로 기록합니다.
+     * 기록 직전에 보관된 값이 그대로인 key 만 꺼내므로(claim) 그 사이 다시 쓰인 key 는 새 값이 남고,
+     * 꺼낸 key 의 직접 기록은 replay 가 끝날 때까지 기다립니다. ({@link PendingWriteQueue#discard(String)})
+     * 다시 실패하면 남은 쓰기는 다음 CLOSED 전환에서 기록합니다.
+     */
+    void replayPendingWrites() {
+        List<RedisDataPersistence> pending = pendingWriteQueue.snapshot();
+        log.info("Replaying pending writes : {}", pending.size());
+        int batchSize = cacheProperties.getBatch().getMaxSize();
+        for (int from = 0; from < pending.size(); from += batchSize) {
+            List<RedisDataPersistence> chunk = pending.subList(from, Math.min(pending.size(), from + batchSize)).stream()
+                    .filter(pendingWriteQueue::claim)
+                    .toList();
+            if (chunk.isEmpty()) {
+                continue;
+            }
+            List<Object> results;
+            try {
+                results = writePipelined(chunk);
+            } catch (Exception e) {
+                redisMetrics.recordError("replay", e);
+                log.error("### Redis Pending Write Replay Error !!! ::: {}", e.getMessage());
+                chunk.forEach(persistence -> pendingWriteQueue.complete(persistence, false));
+                return;
+            }
+            for (int i = 0; i < chunk.size(); i++) {
+                pendingWriteQueue.complete(chunk.get(i), i < results.size() && !(results.get(i) instanceof Exception));
+            }
+            nearCache.invalidate(chunk.stream().map(RedisDataPersistence::getKey).toList());
+        }
     }
 
     public RedisDataPersistence retrieveData(String key) {
+        hotKeyDetector.record(key);
+        return lookup(key);
+    }
+
+    /**
+     * 값을 역직렬화하지 않고 Redis 에 저장된 bytes 로 조회합니다.
+     * <p>
+     * Write-Behind 버퍼, Circuit 대기열, pin 에 있는 값은 그대로 반환합니다.
+     * Near Cache 가 활성화되어 있거나 hot key 인 경우에는 로컬에 적재할 수 있도록 {@link #retrieveData} 와 같이 조회합니다.
+     * bucket 저장 모드에서는 저장 형식이 다르므로 항상 {@link #retrieveData} 와 같이 조회합니다.
+     * bytes 로 조회한 값은 stale fallback 에 기록되지 않으므로, Circuit 이 열리면 쓰기/객체 조회로 기록된 값만 반환됩니다.
+     */
+    public RawRedisData retrieveRaw(String key) {
+        hotKeyDetector.record(key);
+        if (nearCache.isEnabled() || bucketedStorage.isEnabled() || hotKeyDetector.isHot(key)) {
+            return RawRedisData.builder().persistence(lookup(key)).build();
+        }
+        RedisDataPersistence local = peekLocal(key);
+        if (local != null) {
+            return RawRedisData.builder().persistence(local).build();
+        }
+        try {
+            return RawRedisData.builder().bytes(fetchRaw(key)).build();
+        } catch (RedisUnavailableException e) {
+            return RawRedisData.builder().persistence(staleValueStore.get(key)).build();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private byte[] fetchRaw(String key) {
+        var keySerializer = (RedisSerializer<String>) redisTemplate.getKeySerializer();
+        try {
+            return circuitBreaker.execute(() -> redisTemplate.execute((RedisCallback<byte[]>) connection ->
+                    connection.stringCommands().get(keySerializer.serialize(key))));
+        } catch (RedisUnavailableException e) {
+            throw e;
+        } catch (Exception e) {
+            redisMetrics.recordError("get", e);
+            log.error("### Redis Get Raw Key Error !!! ::: {}", e.getMessage());
+            if (circuitBreaker.isEnabled() && RedisCircuitBreaker.isFailure(e)) {
+                throw new RedisUnavailableException(e.getMessage(), e);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * 아직 Redis 에 기록되지 않았거나 로컬에 고정된 값을 조회합니다.
+     */
+    private RedisDataPersistence peekLocal(String key) {
+        if (writeBehindBuffer.isEnabled()) {
+            RedisDataPersistence pending = writeBehindBuffer.peek(key);
+            if (pending != null) {
+                return pending;
+            }
+        }
+        RedisDataPersistence queued = pendingWriteQueue.peek(key);
+        if (queued != null) {
+            return queued;
+        }
+        return hotKeyDetector.pinned(key);
+    }
+
+    private RedisDataPersistence lookup(String key) {
+        // 조회 중 쓰기가 겹치면 이전 값을 pin 하지 않도록 조회 전에 기록합니다.
+        long pinGeneration = hotKeyDetector.pinGeneration(key);
+        RedisDataPersistence local = peekLocal(key);
+        if (local != null) {
+            return local;
+        }
+        RedisDataPersistence persistence;
+        try {
+            persistence = nearCache.get(key, k -> redisServiceSingleFlight.execute(k, () -> fetchData(k)));
+        } catch (RedisUnavailableException e) {
+            // Near Cache 에 적재되지 않도록 fallback 은 loader 밖에서 처리합니다.
+            return staleValueStore.get(key);
+        }
+        hotKeyDetector.pin(key, persistence, pinGeneration);
+        return persistence;
+    }
+
+    private RedisDataPersistence fetchData(String key) {
         RedisDataPersistence redisDataPersistence = null;
         try{
-            redisDataPersistence = (RedisDataPersistence)redisTemplate.opsForValue().get(key);
+            redisDataPersistence = circuitBreaker.execute(() -> bucketedStorage.isEnabled() ?
+                    bucketedStorage.get(key) :
+                    (RedisDataPersistence)redisTemplate.opsForValue().get(key));
+            staleValueStore.put(key, redisDataPersistence);
+        }catch (RedisUnavailableException e){
+            throw e;
         }catch (Exception e){
-
+            redisMetrics.recordError("get", e);
             log.error("### Redis Set Key Error !!! ::: {}", e.getMessage());
+            if (circuitBreaker.isEnabled() && RedisCircuitBreaker.isFailure(e)) {
+                throw new RedisUnavailableException(e.getMessage(), e);
+            }
         }
         return redisDataPersistence;
     }
 
+    /**
+     * 여러 건을 하나의 pipeline 으로 등록합니다.
+     * 개별 SET 의 성공/실패 여부를 key 별로 반환합니다.
+     */
+    public RedisBatchResult registerBatch(List<RedisDataPersistence> persistences) {
+        validateBatchSize(persistences.size());
+        sessionConsistency.markWritten();
+        hotKeyDetector.unpin(persistences.stream().map(RedisDataPersistence::getKey).toList());
+        if (writeBehindBuffer.isEnabled()) {
+            return registerBatchWriteBehind(persistences);
+        }
+        return registerBatchPipelined(persistences);
+    }
+
+    /**
+     * Write-Behind 모드에서는 버퍼를 거쳐야 이전에 버퍼링된 같은 key 의 값이 나중에 덮어쓰지 않습니다.
+     * 버퍼에 들어가지 못한 항목만 pipeline 으로 직접 기록합니다.
+     */
+    private RedisBatchResult registerBatchWriteBehind(List<RedisDataPersistence> persistences) {
+        List<RedisDataPersistence> overflow = new ArrayList<>();
+        List<RedisBatchResult.Item> items = new ArrayList<>(persistences.size());
+        for (RedisDataPersistence persistence : persistences) {
+            if (writeBehindBuffer.offer(persistence)) {
+                items.add(RedisBatchResult.Item.builder()
+                        .key(persistence.getKey())
+                        .status(RedisBatchResult.Status.OK)
+                        .build());
+            } else {
+                overflow.add(persistence);
+            }
+        }
+        if (!overflow.isEmpty()) {
+            items.addAll(registerBatchPipelined(overflow).getResults());
+        }
+        return RedisBatchResult.of(items);
+    }
+
+    private RedisBatchResult registerBatchPipelined(List<RedisDataPersistence> persistences) {
+        persistences.forEach(persistence -> pendingWriteQueue.discard(persistence.getKey()));
+        List<Object> results;
+        try {
+            results = writePipelined(persistences);
+        } catch (RedisUnavailableException e) {
+            return queueBatch(persistences, e);
+        } catch (RedisPipelineException e) {
+            redisMetrics.recordError("pipeline-set", e);
+            log.error("### Redis Pipeline Set Error !!! ::: {}", e.getMessage());
+            results = e.getPipelineResult();
+        } catch (Exception e) {
+            redisMetrics.recordError("pipeline-set", e);
+            log.error("### Redis Pipeline Set Error !!! ::: {}", e.getMessage());
+            results = Collections.nCopies(persistences.size(), e);
+        }
+        List<String> keys = persistences.stream().map(RedisDataPersistence::getKey).toList();
+        nearCache.invalidate(keys);
+        hotKeyDetector.unpin(keys);
+
+        List<RedisBatchResult.Item> items = new ArrayList<>(persistences.size());
+        for (int i = 0; i < persistences.size(); i++) {
+            Object result = i < results.size() ? results.get(i) : null;
+            var item = RedisBatchResult.Item.builder().key(persistences.get(i).getKey());
+            if (result instanceof Exception exception) {
+                item.status(RedisBatchResult.Status.FAILED).error(exception.getMessage());
+            } else {
+                staleValueStore.put(persistences.get(i).getKey(), persistences.get(i));
+                item.status(RedisBatchResult.Status.OK);
+            }
+            items.add(item.build());
+        }
+        return RedisBatchResult.of(items);
+    }
+
+    private List<Object> writePipelined(List<RedisDataPersistence> persistences) {
+        if (bucketedStorage.isEnabled()) {
+            return circuitBreaker.execute(() -> bucketedStorage.mSet(persistences));
+        }
+        if (keyIndex.isEnabled()) {
+            return circuitBreaker.execute(() -> keyIndex.set(persistences));
+        }
+        return circuitBreaker.execute(() -> slotBatchExecutor.isEnabled() ?
+                slotBatchExecutor.mSet(persistences, RedisDataPersistence::getKey) :
+                redisTemplate.executePipelined(new SessionCallback<Object>() {
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                        var valueOperations = ((RedisOperations<String, Object>) operations).opsForValue();
+                        persistences.forEach(persistence -> valueOperations.set(persistence.getKey(), persistence));
+                        return null;
+                    }
+                }));
+    }
+
+    /**
+     * Circuit 이 열려 있는 동안의 다건 등록입니다. REJECT 이면 예외를 던지고,
+     * QUEUE 이면 보관된 key 는 OK, 보관하지 못한 key 는 FAILED 로 반환합니다.
+     */
+    private RedisBatchResult queueBatch(List<RedisDataPersistence> persistences, RedisUnavailableException e) {
+        if (cacheProperties.getCircuitBreaker().getOpenWrites() != RedisCacheProperties.CircuitBreaker.OpenWrites.QUEUE) {
+            throw e;
+        }
+        List<RedisBatchResult.Item> items = new ArrayList<>(persistences.size());
+        for (RedisDataPersistence persistence : persistences) {
+            var item = RedisBatchResult.Item.builder().key(persistence.getKey());
+            if (queue(persistence)) {
+                item.status(RedisBatchResult.Status.OK);
+            } else {
+                item.status(RedisBatchResult.Status.FAILED).error("pending write queue is full");
+            }
+            items.add(item.build());
+        }
+        return RedisBatchResult.of(items);
+    }
+
+    /**
+     * 여러 key 를 하나의 MGET 으로 조회합니다. (Cluster 구성에서는 hash slot 별 MGET)
+     * 값은 key 별로 역직렬화하므로 일부 값이 손상되어도 나머지 key 의 결과는 반환됩니다.
+     */
+    public RedisBatchResult retrieveBatch(List<String> keys) {
+        validateBatchSize(keys.size());
+        var valueSerializer = redisTemplate.getValueSerializer();
+
+        List<?> values;
+        try {
+            values = circuitBreaker.execute(() -> bucketedStorage.isEnabled() ? bucketedStorage.mGet(keys) :
+                    slotBatchExecutor.isEnabled() ? slotBatchExecutor.mGet(keys) : mGet(keys));
+        } catch (Exception e) {
+            values = Collections.nCopies(keys.size(), e);
+        }
+
+        List<RedisBatchResult.Item> items = new ArrayList<>(keys.size());
+        Exception lastFailure = null;
+        for (int i = 0; i < keys.size(); i++) {
+            var item = RedisBatchResult.Item.builder().key(keys.get(i));
+            Object result = values == null || i >= values.size() ? null : values.get(i);
+            RedisDataPersistence queued = pendingWriteQueue.peek(keys.get(i));
+            if (queued != null) {
+                item.status(RedisBatchResult.Status.OK).value(queued.getValue()).version(queued.getVersion());
+            } else if (result instanceof Exception failure) {
+                // 같은 command(slot) 의 key 들은 같은 Exception 을 공유하므로 한 번만 기록합니다.
+                if (failure != lastFailure) {
+                    if (!(failure instanceof RedisUnavailableException)) {
+                        redisMetrics.recordError("mget", failure);
+                        log.error("### Redis MGET Error !!! ::: {}", failure.getMessage());
+                    }
+                    lastFailure = failure;
+                }
+                RedisDataPersistence stale = staleValueStore.get(keys.get(i));
+                if (stale != null) {
+                    item.status(RedisBatchResult.Status.OK).value(stale.getValue()).version(stale.getVersion());
+                } else {
+                    item.status(RedisBatchResult.Status.FAILED).error(failure.getMessage());
+                }
+            } else if (result instanceof RedisDataPersistence persistence) {
+                // bucket 저장 모드는 역직렬화된 값을 반환합니다.
+                staleValueStore.put(keys.get(i), persistence);
+                item.status(RedisBatchResult.Status.OK).value(persistence.getValue()).version(persistence.getVersion());
+            } else if (!(result instanceof byte[] raw)) {
+                staleValueStore.put(keys.get(i), null);
+                item.status(RedisBatchResult.Status.MISSING);
+            } else {
+                try {
+                    var persistence = (RedisDataPersistence) valueSerializer.deserialize(raw);
+                    staleValueStore.put(keys.get(i), persistence);
+                    item.status(RedisBatchResult.Status.OK)
+                            .value(persistence == null ? null : persistence.getValue())
+                            .version(persistence == null ? null : persistence.getVersion());
+                } catch (Exception e) {
+                    redisMetrics.recordError("mget", e);
+                    item.status(RedisBatchResult.Status.FAILED).error(e.getMessage());
+                }
+            }
+            items.add(item.build());
+        }
+        return RedisBatchResult.of(items);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<byte[]> mGet(List<String> keys) {
+        var keySerializer = (RedisSerializer<String>) redisTemplate.getKeySerializer();
+        return redisTemplate.execute((RedisCallback<List<byte[]>>) connection -> connection.stringCommands()
+                .mGet(keys.stream().map(keySerializer::serialize).toArray(byte[][]::new)));
+    }
+
+    /**
+     * 여러 key 를 삭제합니다. (Cluster 구성에서는 hash slot 별 DEL 을 병렬로 실행합니다.)
+     * Circuit 이 열려 있으면 open-writes 설정과 관계없이 {@link RedisUnavailableException} 을 던집니다.
+     *
+     * @return 삭제된 key 개수
+     */
+    public long deleteBatch(List<String> keys) {
+        validateBatchSize(keys.size());
+        sessionConsistency.markWritten();
+        writeBehindBuffer.discard(keys);
+        keys.forEach(pendingWriteQueue::discard);
+        staleValueStore.invalidate(keys);
+        long deleted = 0;
+        try {
+            Long count = circuitBreaker.execute(() -> bucketedStorage.isEnabled() ?
+                    Long.valueOf(bucketedStorage.delete(keys)) :
+                    keyIndex.isEnabled() ?
+                    Long.valueOf(keyIndex.delete(keys)) :
+                    slotBatchExecutor.isEnabled() ?
+                    Long.valueOf(slotBatchExecutor.delete(keys)) :
+                    redisTemplate.delete(keys));
+            deleted = count == null ? 0 : count;
+        } catch (RedisUnavailableException e) {
+            throw e;
+        } catch (Exception e) {
+            redisMetrics.recordError("del", e);
+            log.error("### Redis Delete Key Error !!! ::: {}", e.getMessage());
+        }
+        nearCache.invalidate(keys);
+        hotKeyDetector.unpin(keys);
+        return deleted;
+    }
+
+    /**
+     * prefix 로 시작하는 key 를 사전 순으로 조회합니다. (key-index 필요)
+     * index 의 ZRANGEBYLEX 를 사용하므로 keyspace 크기와 관계없이 page 크기에 비례하는 시간이 걸립니다.
+     * values 가 true 이면 page 의 값을 retrieveBatch 로 함께 조회하고, 존재하지 않는 key 는 index 에서 제거한 뒤 결과에서 제외합니다.
+     * Write-Behind 버퍼나 Circuit 대기열의 쓰기는 Redis 에 기록된 뒤 조회됩니다.
+     *
+     * @param cursor 이전 page 의 nextCursor. 없으면 처음부터 조회합니다.
+     */
+    public RedisKeyPage findByPrefix(String prefix, String cursor, Integer limit, boolean values) {
+        if (!keyIndex.isEnabled()) {
+            throw new UnsupportedOperationException("key-index is not enabled");
+        }
+        int count = limit == null ? keyIndex.getPageSize() : limit;
+        if (count < 1) {
+            throw new IllegalArgumentException("limit must be positive : " + count);
+        }
+        validateBatchSize(count);
+        if (cursor != null && !cursor.startsWith(prefix)) {
+            throw new IllegalArgumentException("cursor does not match prefix : " + cursor);
+        }
+
+        // 한 건 더 조회해 다음 page 가 있는지 확인합니다.
+        List<String> keys = circuitBreaker.execute(() -> keyIndex.range(prefix, cursor, count + 1));
+        String nextCursor = null;
+        if (keys.size() > count) {
+            keys = keys.subList(0, count);
+            nextCursor = keys.get(count - 1);
+        }
+
+        var page = RedisKeyPage.builder().prefix(prefix).nextCursor(nextCursor);
+        if (!values || keys.isEmpty()) {
+            return page.keys(keys).build();
+        }
+        List<RedisBatchResult.Item> items = new ArrayList<>(retrieveBatch(keys).getResults());
+        List<String> missing = items.stream()
+                .filter(item -> item.getStatus() == RedisBatchResult.Status.MISSING)
+                .map(RedisBatchResult.Item::getKey)
+                .toList();
+        if (!missing.isEmpty()) {
+            try {
+                circuitBreaker.execute(() -> keyIndex.prune(missing));
+            } catch (Exception e) {
+                redisMetrics.recordError("index", e);
+                log.error("### Redis Key Index Prune Error !!! ::: {}", e.getMessage());
+            }
+            items.removeIf(item -> item.getStatus() == RedisBatchResult.Status.MISSING);
+        }
+        return page.keys(items.stream().map(RedisBatchResult.Item::getKey).toList())
+                .results(items)
+                .build();
+    }
+
+    /**
+     * key 가 없을 때만 version 1 로 기록합니다. 이미 있으면 현재 값을 applied=false 로 반환합니다.
+     */
+    public ConditionalWriteResult setIfAbsent(RedisDataPersistence persistence) {
+        return conditionalWrite(ConditionalWriteExecutor.Operation.SET_IF_ABSENT, setIfAbsentCommand(persistence));
+    }
+
+    /**
+     * 현재 version 이 persistence.version 과 같을 때만 기록하고 version 을 1 증가시킵니다.
+     * key 가 없거나 일반 SET 으로 기록된 값의 version 은 0 입니다.
+     */
+    public ConditionalWriteResult compareAndSet(RedisDataPersistence persistence) {
+        return conditionalWrite(ConditionalWriteExecutor.Operation.COMPARE_AND_SET, compareAndSetCommand(persistence));
+    }
+
+    /**
+     * 정수 값을 delta 만큼 증가시키고 증가된 값을 반환합니다. key 가 없으면 0 에서 시작합니다.
+     */
+    public ConditionalWriteResult increment(String key, long delta) {
+        return conditionalWrite(ConditionalWriteExecutor.Operation.INCREMENT, incrementCommand(key, delta));
+    }
+
+    public RedisBatchResult setIfAbsentBatch(List<RedisDataPersistence> persistences) {
+        return conditionalWriteBatch(ConditionalWriteExecutor.Operation.SET_IF_ABSENT,
+                persistences.stream().map(RedisService::setIfAbsentCommand).toList());
+    }
+
+    public RedisBatchResult compareAndSetBatch(List<RedisDataPersistence> persistences) {
+        return conditionalWriteBatch(ConditionalWriteExecutor.Operation.COMPARE_AND_SET,
+                persistences.stream().map(RedisService::compareAndSetCommand).toList());
+    }
+
+    public RedisBatchResult incrementBatch(List<String> keys, long delta) {
+        return conditionalWriteBatch(ConditionalWriteExecutor.Operation.INCREMENT,
+                keys.stream().map(key -> incrementCommand(key, delta)).toList());
+    }
+
+    private static ConditionalWriteExecutor.Command setIfAbsentCommand(RedisDataPersistence persistence) {
+        return new ConditionalWriteExecutor.Command(persistence.getKey(), requireValue(persistence));
+    }
+
+    private static ConditionalWriteExecutor.Command compareAndSetCommand(RedisDataPersistence persistence) {
+        return new ConditionalWriteExecutor.Command(persistence.getKey(), requireValue(persistence),
+                String.valueOf(persistence.getVersion()));
+    }
+
+    private static ConditionalWriteExecutor.Command incrementCommand(String key, long delta) {
+        return new ConditionalWriteExecutor.Command(key, String.valueOf(delta));
+    }
+
+    private static String requireValue(RedisDataPersistence persistence) {
+        if (persistence.getValue() == null) {
+            throw new IllegalArgumentException("value is required : " + persistence.getKey());
+        }
+        return persistence.getValue();
+    }
+
+    /**
+     * 단건 조건부 쓰기. script 오류(정수가 아닌 값 등)는 IllegalArgumentException,
+     * 기록 대기 중인 쓰기가 있는 key 는 {@link PendingWriteConflictException} 으로 던집니다.
+     */
+    private ConditionalWriteResult conditionalWrite(ConditionalWriteExecutor.Operation operation,
+                                                    ConditionalWriteExecutor.Command command) {
+        Object result = executeConditional(operation, List.of(command)).get(0);
+        if (result instanceof RedisCommandExecutionException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+        if (result instanceof RuntimeException e) {
+            throw e;
+        }
+        if (result instanceof Exception e) {
+            throw new RedisSystemException(e.getMessage(), e);
+        }
+        return (ConditionalWriteResult) result;
+    }
+
+    /**
+     * 조건부 쓰기를 key 별 결과로 반환합니다. 조건이 맞지 않은 key 는 CONFLICT 와 현재 값/version 을 담습니다.
+     */
+    private RedisBatchResult conditionalWriteBatch(ConditionalWriteExecutor.Operation operation,
+                                                   List<ConditionalWriteExecutor.Command> commands) {
+        validateBatchSize(commands.size());
+        List<Object> results = executeConditional(operation, commands);
+
+        List<RedisBatchResult.Item> items = new ArrayList<>(commands.size());
+        for (int i = 0; i < commands.size(); i++) {
+            var item = RedisBatchResult.Item.builder().key(commands.get(i).key());
+            if (results.get(i) instanceof ConditionalWriteResult result) {
+                item.status(result.isApplied() ? RedisBatchResult.Status.OK : RedisBatchResult.Status.CONFLICT)
+                        .value(result.getValue())
+                        .version(result.getVersion());
+            } else {
+                item.status(RedisBatchResult.Status.FAILED).error(((Exception) results.get(i)).getMessage());
+            }
+            items.add(item.build());
+        }
+        return RedisBatchResult.of(items);
+    }
+
+    /**
+     * 조건부 쓰기는 Redis 의 현재 값을 기준으로 판단하므로, Write-Behind 버퍼나 Circuit 대기열에
+     * 아직 기록되지 않은 쓰기가 있는 key 는 실행하지 않고 {@link PendingWriteConflictException} 을 결과로 반환합니다.
+     * (대기 중인 쓰기가 나중에 기록되어 조건부 쓰기를 덮어쓰지 않도록 합니다.)
+     * Circuit 이 열려 있으면 open-writes 설정과 관계없이 {@link RedisUnavailableException} 을 던집니다.
+     * script 는 key 별 string 형식을 사용하므로 bucket 저장 모드에서는 UnsupportedOperationException 을 던집니다.
+     *
+     * @return command 순서대로 ConditionalWriteResult 또는 Exception
+     */
+    private List<Object> executeConditional(ConditionalWriteExecutor.Operation operation,
+                                            List<ConditionalWriteExecutor.Command> commands) {
+        if (bucketedStorage.isEnabled()) {
+            throw new UnsupportedOperationException("conditional writes are not supported in bucket storage mode");
+        }
+        Object[] results = new Object[commands.size()];
+        List<ConditionalWriteExecutor.Command> executable = new ArrayList<>(commands.size());
+        List<Integer> indexes = new ArrayList<>(commands.size());
+        for (int i = 0; i < commands.size(); i++) {
+            String key = commands.get(i).key();
+            if ((writeBehindBuffer.isEnabled() && writeBehindBuffer.peek(key) != null) || pendingWriteQueue.peek(key) != null) {
+                results[i] = new PendingWriteConflictException(key);
+            } else {
+                executable.add(commands.get(i));
+                indexes.add(i);
+            }
+        }
+        if (executable.isEmpty()) {
+            return List.of(results);
+        }
+        hotKeyDetector.unpin(executable.stream().map(ConditionalWriteExecutor.Command::key).toList());
+        sessionConsistency.markWritten();
+
+        List<Object> executed;
+        Exception failure = null;
+        try {
+            executed = circuitBreaker.execute(() -> conditionalWriteExecutor.execute(operation, executable));
+        } catch (RedisUnavailableException e) {
+            throw e;
+        } catch (Exception e) {
+            redisMetrics.recordError("script", e);
+            log.error("### Redis Conditional Write Error !!! ::: {}", e.getMessage());
+            failure = e;
+            executed = Collections.nCopies(executable.size(), e);
+        }
+
+        List<String> written = new ArrayList<>(executable.size());
+        for (int i = 0; i < executable.size(); i++) {
+            Object result = executed.get(i);
+            if (result instanceof ConditionalWriteResult writeResult && writeResult.isApplied()) {
+                staleValueStore.put(writeResult.getKey(), RedisDataPersistence.builder()
+                        .key(writeResult.getKey())
+                        .value(writeResult.getValue())
+                        .version(writeResult.getVersion())
+                        .build());
+                written.add(writeResult.getKey());
+            } else if (result instanceof Exception e && e != failure && !(e instanceof RedisCommandExecutionException)) {
+                redisMetrics.recordError("script", e);
+                log.error("### Redis Conditional Write Key Error !!! ::: {}", e.getMessage());
+            }
+            results[indexes.get(i)] = result;
+        }
+        if (!written.isEmpty()) {
+            nearCache.invalidate(written);
+            hotKeyDetector.unpin(written);
+        }
+        return Arrays.asList(results);
+    }
+
+    private void validateBatchSize(int size) {
+        int maxSize = cacheProperties.getBatch().getMaxSize();
+        if (size > maxSize) {
+            throw new IllegalArgumentException("batch size " + size + " exceeds max size " + maxSize);
+        }
+    }
+
 }
@@ -0,0 +1,184 @@
+package com.renzo.green.service;
+
+import com.renzo.green.config.RedisCacheProperties;
+import io.lettuce.core.KeyValue;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.cluster.SlotHash;
+import io.lettuce.core.cluster.api.async.RedisClusterAsyncCommands;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Cluster 구성에서 다건 command(MGET, MSET, DEL)를 hash slot 별로 나누어 실행합니다.
+ * <p>
+ * 서로 다른 slot 의 key 를 하나의 command 로 보내면 CROSSSLOT 오류가 발생하므로,
+ * slot 별 command 를 async 로 모두 전송한 뒤 결과를 모읍니다.
+ * Lettuce 는 각 command 를 slot 을 소유한 노드의 커넥션으로 보내므로
+ * 같은 노드의 command 는 pipeline 으로, 서로 다른 노드의 command 는 병렬로 처리됩니다.
+ * <p>
+ * 결과는 executePipelined 와 같이 key 순서대로 값 또는 Exception 을 담아 반환하므로
+ * 일부 노드(slot)의 실패가 나머지 key 의 결과에 영향을 주지 않습니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SlotBatchExecutor {
+
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(10);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisCacheProperties cacheProperties;
+    private final RedisProperties redisProperties;
+
+    public boolean isEnabled() {
+        return cacheProperties.getTopology() == RedisCacheProperties.Topology.CLUSTER;
+    }
+
+    /**
+     * @return key 순서대로 byte[](값), null(없음) 또는 Exception
+     */
+    public List<Object> mGet(List<String> keys) {
+        byte[][] rawKeys = serializeKeys(keys);
+        Map<Integer, List<Integer>> slots = groupBySlot(rawKeys);
+        return redisTemplate.execute((RedisCallback<List<Object>>) connection -> {
+            var commands = nativeCommands(connection);
+            Map<List<Integer>, RedisFuture<List<KeyValue<byte[], byte[]>>>> futures = new LinkedHashMap<>();
+            slots.values().forEach(indexes -> futures.put(indexes, commands.mget(select(rawKeys, indexes))));
+
+            Object[] results = new Object[keys.size()];
+            futures.forEach((indexes, future) -> {
+                try {
+                    List<KeyValue<byte[], byte[]>> values = await(future);
+                    for (int i = 0; i < indexes.size(); i++) {
+                        var keyValue = values.get(i);
+                        results[indexes.get(i)] = keyValue.hasValue() ? keyValue.getValue() : null;
+                    }
+                } catch (Exception e) {
+                    indexes.forEach(index -> results[index] = e);
+                }
+            });
+            return Arrays.asList(results);
+        });
+    }
+
+    /**
+     * slot 별 MSET 으로 기록합니다.
+     *
+     * @return key 순서대로 "OK" 또는 Exception
+     */
+    public <T> List<Object> mSet(List<T> values, Function<T, String> keyMapper) {
+        byte[][] rawKeys = serializeKeys(values.stream().map(keyMapper).toList());
+        var valueSerializer = redisTemplate.getValueSerializer();
+        Map<Integer, List<Integer>> slots = groupBySlot(rawKeys);
+        return redisTemplate.execute((RedisCallback<List<Object>>) connection -> {
+            var commands = nativeCommands(connection);
+            Map<List<Integer>, RedisFuture<String>> futures = new LinkedHashMap<>();
+            slots.values().forEach(indexes -> {
+                Map<byte[], byte[]> entries = new LinkedHashMap<>();
+                indexes.forEach(index -> entries.put(rawKeys[index], valueSerializer.serialize(values.get(index))));
+                futures.put(indexes, commands.mset(entries));
+            });
+
+            Object[] results = new Object[values.size()];
+            futures.forEach((indexes, future) -> {
+                Object result;
+                try {
+                    result = await(future);
+                } catch (Exception e) {
+                    result = e;
+                }
+                for (Integer index : indexes) {
+                    results[index] = result;
+                }
+            });
+            return Arrays.asList(results);
+        });
+    }
+
+    /**
+     * slot 별 DEL 로 삭제합니다. 실패한 slot 이 있으면 예외를 던집니다.
+     *
+     * @return 삭제된 key 개수
+     */
+    public long delete(List<String> keys) {
+        byte[][] rawKeys = serializeKeys(keys);
+        Map<Integer, List<Integer>> slots = groupBySlot(rawKeys);
+        Long deleted = redisTemplate.execute((RedisCallback<Long>) connection -> {
+            var commands = nativeCommands(connection);
+            List<RedisFuture<Long>> futures = new ArrayList<>(slots.size());
+            slots.values().forEach(indexes -> futures.add(commands.del(select(rawKeys, indexes))));
+            long count = 0;
+            for (RedisFuture<Long> future : futures) {
+                try {
+                    count += await(future);
+                } catch (Exception e) {
+                    throw new IllegalStateException("Redis DEL failed : " + e.getMessage(), e);
+                }
+            }
+            return count;
+        });
+        return deleted == null ? 0 : deleted;
+    }
+
+    @SuppressWarnings("unchecked")
+    private byte[][] serializeKeys(List<String> keys) {
+        var keySerializer = (RedisSerializer<String>) redisTemplate.getKeySerializer();
+        return keys.stream().map(keySerializer::serialize).toArray(byte[][]::new);
+    }
+
+    /**
+     * key index 를 slot 별로 묶습니다. 같은 slot 안에서는 요청 순서를 유지합니다.
+     */
+    static Map<Integer, List<Integer>> groupBySlot(byte[][] rawKeys) {
+        Map<Integer, List<Integer>> slots = new LinkedHashMap<>();
+        for (int i = 0; i < rawKeys.length; i++) {
+            slots.computeIfAbsent(SlotHash.getSlot(rawKeys[i]), slot -> new ArrayList<>()).add(i);
+        }
+        return slots;
+    }
+
+    private static byte[][] select(byte[][] rawKeys, List<Integer> indexes) {
+        byte[][] selected = new byte[indexes.size()][];
+        for (int i = 0; i < indexes.size(); i++) {
+            selected[i] = rawKeys[indexes.get(i)];
+        }
+        return selected;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static RedisClusterAsyncCommands<byte[], byte[]> nativeCommands(RedisConnection connection) {
+        return (RedisClusterAsyncCommands<byte[], byte[]>) connection.getNativeConnection();
+    }
+
+    private <V> V await(RedisFuture<V> future) throws Exception {
+        Duration timeout = redisProperties.getTimeout() != null ? redisProperties.getTimeout() : DEFAULT_TIMEOUT;
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw e;
+        }
+    }
+}
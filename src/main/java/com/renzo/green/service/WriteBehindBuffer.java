@@ -0,0 +1,393 @@
+package com.renzo.green.service;
+
+import com.renzo.green.cache.NearCache;
+import com.renzo.green.config.RedisCacheProperties;
+import com.renzo.green.dto.WriteBehindStats;
+import com.renzo.green.metrics.RedisMetrics;
+import com.renzo.green.persistence.RedisDataPersistence;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisPipelineException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * registerData 의 Write-Behind 버퍼 입니다.
+ * <ul>
+ *     <li>같은 key 의 반복 쓰기는 마지막 값 하나로 합쳐집니다(coalescing).</li>
+ *     <li>batchSize 에 도달하거나 flushInterval 이 지나면 flush 스레드가 pipeline 으로 기록합니다.</li>
+ *     <li>버퍼가 가득 차면 쓰기 스레드는 offerTimeout 만큼 대기합니다(back-pressure). 쓰기는 버려지지 않습니다.
+ *     단, 이미 버퍼(pending, inflight)에 있는 key 는 대기하지 않고 추가하므로, 호출자의 직접 기록이 이전 값의 flush 에 덮어쓰이지 않습니다.</li>
+ *     <li>쓰기마다 sequence 를 부여하여, 실패한 값은 그 뒤에 더 새로운 쓰기나 {@link #discard(Collection)} 가 없을 때만 다시 버퍼에 넣습니다.</li>
+ *     <li>기록 전 값은 {@link #peek(String)} 로 조회되므로 같은 인스턴스에서는 자신의 쓰기를 바로 읽을 수 있습니다.</li>
+ *     <li>종료 시 남은 쓰기를 drainTimeout 동안 기록합니다.</li>
+ * </ul>
+ * 대기에는 synchronized 대신 ReentrantLock 을 사용해 virtual thread 가 carrier thread 에 고정되지 않도록 합니다.
+ */
+@Slf4j
+@Component
+public class WriteBehindBuffer implements MeterBinder {
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final NearCache nearCache;
+    private final RedisCacheProperties.WriteBehind properties;
+    private final RedisMetrics redisMetrics;
+    private final SlotBatchExecutor slotBatchExecutor;
+    private final BucketedStorage bucketedStorage;
+    private final KeyIndex keyIndex;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+    private final Condition flushRequested = lock.newCondition();
+
+    private volatile Map<String, Entry> pending = new ConcurrentHashMap<>();
+    private volatile Map<String, Entry> inflight = Collections.emptyMap();
+    /**
+     * pending 또는 inflight 에 있는 key 의 마지막 쓰기 sequence. lock 안에서만 변경합니다.
+     */
+    private final Map<String, Long> latest = new ConcurrentHashMap<>();
+    private long sequence;
+    private volatile boolean running;
+    private Thread flusher;
+
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder flushCount = new LongAdder();
+    private final LongAdder flushNanos = new LongAdder();
+    private final AtomicLong lastFlushNanos = new AtomicLong();
+    private final AtomicLong maxFlushNanos = new AtomicLong();
+    private volatile Timer flushTimer;
+
+    public WriteBehindBuffer(RedisTemplate<String, Object> redisTemplate, NearCache nearCache,
+                             RedisCacheProperties cacheProperties, RedisMetrics redisMetrics,
+                             SlotBatchExecutor slotBatchExecutor, BucketedStorage bucketedStorage,
+                             KeyIndex keyIndex) {
+        this.redisTemplate = redisTemplate;
+        this.nearCache = nearCache;
+        this.properties = cacheProperties.getWriteBehind();
+        this.redisMetrics = redisMetrics;
+        this.slotBatchExecutor = slotBatchExecutor;
+        this.bucketedStorage = bucketedStorage;
+        this.keyIndex = keyIndex;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!isEnabled()) {
+            return;
+        }
+        running = true;
+        flusher = Thread.ofPlatform().name("redis-write-behind").daemon().start(this::run);
+        log.info("WriteBehindBuffer started : {}", properties);
+    }
+
+    public boolean isEnabled() {
+        return Boolean.TRUE.equals(properties.getEnabled());
+    }
+
+    /**
+     * 버퍼에 쓰기를 추가합니다. 버퍼가 가득 차 있으면 offerTimeout 만큼 기다립니다.
+     * 같은 key 의 이전 값이 아직 기록 중(inflight)이거나 대기 중이면 기다리지 않고 추가합니다.
+     * (종료 중에도 마찬가지입니다.) 이전 값보다 직접 기록이 먼저 끝나 새 값이 덮어쓰이는 것을 막기 위해서입니다.
+     *
+     * @return false 이면 버퍼에 추가되지 않았으므로 호출자가 직접 기록해야 합니다.
+     *         이때 같은 key 의 이전 값은 버퍼에 없으므로 직접 기록이 덮어쓰이지 않습니다.
+     */
+    public boolean offer(RedisDataPersistence persistence) {
+        return offer(persistence, properties.getOfferTimeout());
+    }
+
+    public boolean offer(RedisDataPersistence persistence, long timeoutMillis) {
+        if (flusher == null || (!running && !flusher.isAlive())) {
+            return false;
+        }
+        String key = persistence.getKey();
+        lock.lock();
+        try {
+            long remaining = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+            while (!latest.containsKey(key) && (!running || pending.size() >= properties.getCapacity())) {
+                if (remaining <= 0 || !running) {
+                    rejected.increment();
+                    return false;
+                }
+                flushRequested.signal();
+                remaining = notFull.awaitNanos(remaining);
+            }
+            long next = ++sequence;
+            pending.put(key, new Entry(persistence, next));
+            latest.put(key, next);
+            enqueued.increment();
+            if (pending.size() >= properties.getBatchSize()) {
+                flushRequested.signal();
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            rejected.increment();
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 아직 Redis 에 기록되지 않은 값을 조회합니다.
+     */
+    public RedisDataPersistence peek(String key) {
+        Entry entry = pending.get(key);
+        if (entry == null) {
+            entry = inflight.get(key);
+        }
+        return entry != null ? entry.persistence() : null;
+    }
+
+    /**
+     * 버퍼를 거치지 않는 쓰기(삭제 등) 전에 호출합니다.
+     * 대기 중인 값은 버리고, 기록 중인 값은 실패하더라도 다시 버퍼에 넣지 않습니다.
+     * (이미 전송된 기록은 취소할 수 없습니다.)
+     */
+    public void discard(Collection<String> keys) {
+        if (flusher == null) {
+            return;
+        }
+        lock.lock();
+        try {
+            for (String key : keys) {
+                if (pending.remove(key) != null) {
+                    notFull.signalAll();
+                }
+                if (inflight.containsKey(key)) {
+                    latest.put(key, ++sequence);
+                } else {
+                    latest.remove(key);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void run() {
+        while (running || !pending.isEmpty()) {
+            try {
+                Map<String, Entry> batch = awaitBatch();
+                if (!batch.isEmpty()) {
+                    flush(batch);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.error("### Redis Write-Behind Flush Error !!! ::: {}", e.getMessage());
+            }
+        }
+    }
+
+    private Map<String, Entry> awaitBatch() throws InterruptedException {
+        lock.lock();
+        try {
+            if (running && pending.size() < properties.getBatchSize()) {
+                flushRequested.awaitNanos(TimeUnit.MILLISECONDS.toNanos(properties.getFlushInterval()));
+            }
+            if (pending.isEmpty()) {
+                return Collections.emptyMap();
+            }
+            Map<String, Entry> batch = pending;
+            inflight = batch;
+            pending = new ConcurrentHashMap<>();
+            notFull.signalAll();
+            return batch;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void flush(Map<String, Entry> batch) {
+        long started = System.nanoTime();
+        List<Entry> entries = new ArrayList<>(batch.values());
+        List<String> succeeded = new ArrayList<>(entries.size());
+        int batchSize = properties.getBatchSize();
+        for (int from = 0; from < entries.size(); from += batchSize) {
+            List<Entry> chunk = entries.subList(from, Math.min(entries.size(), from + batchSize));
+            List<Object> results = writePipelined(chunk.stream().map(Entry::persistence).toList());
+            for (int i = 0; i < chunk.size(); i++) {
+                Object result = i < results.size() ? results.get(i) : null;
+                if (result instanceof Exception) {
+                    requeue(chunk.get(i));
+                } else {
+                    succeeded.add(chunk.get(i).persistence().getKey());
+                }
+            }
+        }
+        complete(batch);
+        nearCache.invalidate(succeeded);
+
+        long elapsed = System.nanoTime() - started;
+        written.add(succeeded.size());
+        flushCount.increment();
+        flushNanos.add(elapsed);
+        lastFlushNanos.set(elapsed);
+        maxFlushNanos.accumulateAndGet(elapsed, Math::max);
+        if (flushTimer != null) {
+            flushTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private List<Object> writePipelined(List<RedisDataPersistence> chunk) {
+        try {
+            if (bucketedStorage.isEnabled()) {
+                return bucketedStorage.mSet(chunk);
+            }
+            if (keyIndex.isEnabled()) {
+                return keyIndex.set(chunk);
+            }
+            if (slotBatchExecutor.isEnabled()) {
+                return slotBatchExecutor.mSet(chunk, RedisDataPersistence::getKey);
+            }
+            return redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                    var valueOperations = ((RedisOperations<String, Object>) operations).opsForValue();
+                    chunk.forEach(persistence -> valueOperations.set(persistence.getKey(), persistence));
+                    return null;
+                }
+            });
+        } catch (RedisPipelineException e) {
+            redisMetrics.recordError("write-behind", e);
+            log.error("### Redis Write-Behind Pipeline Error !!! ::: {}", e.getMessage());
+            return e.getPipelineResult();
+        } catch (Exception e) {
+            redisMetrics.recordError("write-behind", e);
+            log.error("### Redis Write-Behind Pipeline Error !!! ::: {}", e.getMessage());
+            return Collections.nCopies(chunk.size(), e);
+        }
+    }
+
+    /**
+     * 실패한 쓰기를 다시 버퍼에 넣습니다. 그 사이 같은 key 에 더 새로운 쓰기나 discard 가 있었으면
+     * (sequence 가 다르면) 새 값을 유지하고 실패한 값은 버립니다. 종료 중에는 재시도하지 않습니다.
+     */
+    private void requeue(Entry entry) {
+        failed.increment();
+        String key = entry.persistence().getKey();
+        lock.lock();
+        try {
+            if (!Long.valueOf(entry.sequence()).equals(latest.get(key))) {
+                return;
+            }
+            if (!running) {
+                latest.remove(key);
+                log.error("### Redis Write-Behind Write Lost On Shutdown !!! ::: {}", key);
+                return;
+            }
+            pending.put(key, entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * flush 가 끝난 key 중 다시 버퍼에 들어오지 않은 key 의 sequence 를 제거합니다.
+     */
+    private void complete(Map<String, Entry> batch) {
+        lock.lock();
+        try {
+            inflight = Collections.emptyMap();
+            for (String key : batch.keySet()) {
+                if (!pending.containsKey(key)) {
+                    latest.remove(key);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void drain() throws InterruptedException {
+        if (flusher == null) {
+            return;
+        }
+        log.info("WriteBehindBuffer draining : {} pending", pending.size());
+        lock.lock();
+        try {
+            running = false;
+            flushRequested.signal();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        flusher.join(properties.getDrainTimeout());
+        if (!pending.isEmpty()) {
+            log.error("### Redis Write-Behind Drain Timeout !!! ::: {} pending", pending.size());
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!isEnabled()) {
+            return;
+        }
+        Gauge.builder("green.redis.write-behind.queue.depth", this, buffer -> buffer.pending.size() + buffer.inflight.size())
+                .register(registry);
+        Gauge.builder("green.redis.write-behind.coalescing.ratio", this,
+                        buffer -> buffer.written.sum() == 0 ? 0 : (double) buffer.enqueued.sum() / buffer.written.sum())
+                .register(registry);
+        FunctionCounter.builder("green.redis.write-behind.writes", enqueued, LongAdder::sum)
+                .tag("result", "enqueued").register(registry);
+        FunctionCounter.builder("green.redis.write-behind.writes", written, LongAdder::sum)
+                .tag("result", "written").register(registry);
+        FunctionCounter.builder("green.redis.write-behind.writes", failed, LongAdder::sum)
+                .tag("result", "failed").register(registry);
+        FunctionCounter.builder("green.redis.write-behind.writes", rejected, LongAdder::sum)
+                .tag("result", "rejected").register(registry);
+        flushTimer = Timer.builder("green.redis.write-behind.flush")
+                .publishPercentiles(0.5, 0.99, 0.999)
+                .register(registry);
+    }
+
+    public WriteBehindStats stats() {
+        long flushes = flushCount.sum();
+        long writes = written.sum();
+        return WriteBehindStats.builder()
+                .enabled(isEnabled())
+                .queueDepth(pending.size() + inflight.size())
+                .enqueued(enqueued.sum())
+                .written(writes)
+                .failed(failed.sum())
+                .rejected(rejected.sum())
+                .coalescingRatio(writes == 0 ? 0 : (double) enqueued.sum() / writes)
+                .flushCount(flushes)
+                .lastFlushMillis(lastFlushNanos.get() / 1_000_000d)
+                .avgFlushMillis(flushes == 0 ? 0 : flushNanos.sum() / 1_000_000d / flushes)
+                .maxFlushMillis(maxFlushNanos.get() / 1_000_000d)
+                .build();
+    }
+
+    private record Entry(RedisDataPersistence persistence, long sequence) {
+    }
+}
@@ -0,0 +1,9 @@
+-- KEYS[1] : key, KEYS[2] : index key (key-index 활성화 시), ARGV[1] : value, ARGV[2] : 기대 version (key 가 없으면 0)
+-- 기록하면 {1, 새 version, value}, version 이 다르면 {0, 현재 version, 현재 value}
+local version, value = decode(redis.call('GET', KEYS[1]))
+if version ~= tonumber(ARGV[2]) then
+    return {0, version, value}
+end
+redis.call('SET', KEYS[1], encode(KEYS[1], ARGV[1], version + 1))
+index()
+return {1, version + 1, ARGV[1]}
@@ -0,0 +1,9 @@
+-- KEYS[1..n] : key, KEYS[n+1..2n] : key 별 index(ZSET) key
+-- 삭제된 key 개수를 반환합니다.
+local n = #KEYS / 2
+local deleted = 0
+for i = 1, n do
+    deleted = deleted + redis.call('DEL', KEYS[i])
+    redis.call('ZREM', KEYS[n + i], KEYS[i])
+end
+return deleted
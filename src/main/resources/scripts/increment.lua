@@ -0,0 +1,17 @@
+-- KEYS[1] : key, KEYS[2] : index key (key-index 활성화 시), ARGV[1] : 증가량 (key 가 없으면 0 에서 시작)
+-- {1, 새 version, 증가된 value}. Lua number(double)이므로 2^53 까지 정확합니다.
+local version, value = decode(redis.call('GET', KEYS[1]))
+if value == false then
+    return redis.error_reply('ERR value is not readable by script')
+end
+local current = 0
+if value then
+    current = tonumber(value)
+    if not current or current ~= math.floor(current) then
+        return redis.error_reply('ERR value is not an integer')
+    end
+end
+local result = string.format('%.0f', current + tonumber(ARGV[1]))
+redis.call('SET', KEYS[1], encode(KEYS[1], result, version + 1))
+index()
+return {1, version + 1, result}
@@ -0,0 +1,9 @@
+-- KEYS[1] : bucket key, ARGV : field, 조회한 만료 값 쌍
+-- 조회한 값이 그대로인 field 만 삭제하므로, 조회 후 다시 기록된 field 는 유지됩니다.
+local pruned = 0
+for i = 1, #ARGV, 2 do
+    if redis.call('HGET', KEYS[1], ARGV[i]) == ARGV[i + 1] then
+        pruned = pruned + redis.call('HDEL', KEYS[1], ARGV[i])
+    end
+end
+return pruned
@@ -0,0 +1,10 @@
+-- KEYS[1..n] : key, KEYS[n+1..2n] : key 별 index(ZSET) key
+-- 존재하지 않는 key 만 index 에서 제거하므로, 조회 후 다시 기록된 key 의 index 는 유지됩니다.
+local n = #KEYS / 2
+local pruned = 0
+for i = 1, n do
+    if redis.call('EXISTS', KEYS[i]) == 0 then
+        pruned = pruned + redis.call('ZREM', KEYS[n + i], KEYS[i])
+    end
+end
+return pruned
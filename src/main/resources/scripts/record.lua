@@ -0,0 +1,74 @@
+-- RedisDataPersistenceSerializer binary 형식을 읽고 기록하는 공통 함수입니다.
+-- 각 조건부 쓰기 script 앞에 붙여 하나의 script 로 등록합니다.
+-- [0xC1][VERSION][TYPE][varint data version][varint(len+1) key][varint(len+1) value]
+
+local function read_varint(bytes, position)
+    local value, multiplier = 0, 1
+    while true do
+        local b = string.byte(bytes, position)
+        if not b then
+            error(redis.error_reply('ERR truncated binary value'))
+        end
+        position = position + 1
+        if b < 128 then
+            return value + b * multiplier, position
+        end
+        value = value + (b - 128) * multiplier
+        multiplier = multiplier * 128
+    end
+end
+
+local function varint(value)
+    local bytes = ''
+    while value >= 128 do
+        bytes = bytes .. string.char(value % 128 + 128)
+        value = math.floor(value / 128)
+    end
+    return bytes .. string.char(value)
+end
+
+-- 저장된 값의 version 과 value 를 반환합니다.
+-- key 가 없으면 0, nil 을 반환하고, script 로 읽을 수 없는 값(압축)은 value 가 false 입니다.
+-- 일반 SET 으로 기록된 값(VERSION 1, JSON, 압축)의 version 은 0 입니다.
+local function decode(stored)
+    if not stored then
+        return 0, nil
+    end
+    local magic, codec = string.byte(stored, 1, 2)
+    if magic == 193 and #stored >= 3 then
+        local version, position = 0, 4
+        if codec >= 2 then
+            version, position = read_varint(stored, position)
+        end
+        local length
+        length, position = read_varint(stored, position)
+        position = position + math.max(length - 1, 0)
+        length, position = read_varint(stored, position)
+        if length == 0 then
+            return version, nil
+        end
+        return version, string.sub(stored, position, position + length - 2)
+    end
+    if magic == 123 then
+        local ok, decoded = pcall(cjson.decode, stored)
+        if ok and type(decoded) == 'table' then
+            local value = decoded.value
+            if value == cjson.null then
+                value = nil
+            end
+            return tonumber(decoded.version) or 0, value
+        end
+    end
+    return 0, false
+end
+
+local function encode(key, value, version)
+    return '\193\2\1' .. varint(version) .. varint(#key + 1) .. key .. varint(#value + 1) .. value
+end
+
+-- KEYS[2](index key)가 있으면 key 를 prefix 조회용 index(ZSET)에 추가합니다.
+local function index()
+    if KEYS[2] then
+        redis.call('ZADD', KEYS[2], 0, KEYS[1])
+    end
+end
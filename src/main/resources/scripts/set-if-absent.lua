@@ -0,0 +1,10 @@
+-- KEYS[1] : key, KEYS[2] : index key (key-index 활성화 시), ARGV[1] : value
+-- 기록하면 {1, 1, value}, 이미 있으면 {0, 현재 version, 현재 value}
+local stored = redis.call('GET', KEYS[1])
+if stored then
+    local version, value = decode(stored)
+    return {0, version, value}
+end
+redis.call('SET', KEYS[1], encode(KEYS[1], ARGV[1], 1))
+index()
+return {1, 1, ARGV[1]}
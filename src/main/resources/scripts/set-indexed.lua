@@ -0,0 +1,8 @@
+-- KEYS[1..n] : key, KEYS[n+1..2n] : key 별 index(ZSET) key, ARGV[1..n] : 직렬화된 값
+-- 값 기록과 index 추가를 하나의 script 로 실행하므로 index 와 key 가 어긋나지 않습니다.
+local n = #ARGV
+for i = 1, n do
+    redis.call('SET', KEYS[i], ARGV[i])
+    redis.call('ZADD', KEYS[n + i], 0, KEYS[i])
+end
+return n
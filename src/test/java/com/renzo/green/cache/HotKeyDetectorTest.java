@@ -0,0 +1,94 @@
+package com.renzo.green.cache;
+
+import com.renzo.green.config.RedisCacheProperties;
+import com.renzo.green.dto.HotKeyStats;
+import com.renzo.green.persistence.RedisDataPersistence;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+class HotKeyDetectorTest {
+
+    private HotKeyDetector detector;
+
+    private HotKeyDetector detector(boolean pin) {
+        var properties = new RedisCacheProperties();
+        properties.getHotKey().setEnabled(true);
+        properties.getHotKey().setSampleRate(1);
+        properties.getHotKey().setTopK(4);
+        properties.getHotKey().setWindow(60_000L);
+        properties.getHotKey().setMinRate(1.0);
+        properties.getHotKey().getPin().setEnabled(pin);
+        detector = new HotKeyDetector(properties);
+        return detector;
+    }
+
+    @AfterEach
+    void tearDown(){
+        detector.close();
+    }
+
+    @Test
+    void detectHeavyHittersAmongBackgroundKeys(){
+        var detector = detector(false);
+        for (int i = 0; i < 20_000; i++) {
+            detector.record("hot:" + (i % 2));
+            detector.record("cold:" + i);
+        }
+        detector.roll();
+
+        Assertions.assertThat(detector.hotKeys())
+                .extracting(HotKeyStats::getKey)
+                .containsExactlyInAnyOrder("hot:0", "hot:1");
+        Assertions.assertThat(detector.hotKeys().get(0).getEstimatedCount()).isGreaterThanOrEqualTo(10_000);
+        Assertions.assertThat(detector.isHot("hot:0")).isTrue();
+    }
+
+    @Test
+    void pinOnlyHotKeysUntilWrite(){
+        var detector = detector(true);
+        var value = RedisDataPersistence.builder().key("hot").value("v").build();
+        for (int i = 0; i < 1_000; i++) {
+            detector.record("hot");
+        }
+        detector.pin("hot", value, detector.pinGeneration("hot"));
+        Assertions.assertThat(detector.pinned("hot")).isNull();
+
+        detector.roll();
+        detector.pin("hot", value, detector.pinGeneration("hot"));
+        detector.pin("cold", value, detector.pinGeneration("cold"));
+
+        Assertions.assertThat(detector.pinned("hot")).isSameAs(value);
+        Assertions.assertThat(detector.pinned("cold")).isNull();
+
+        detector.unpin("hot");
+        Assertions.assertThat(detector.pinned("hot")).isNull();
+    }
+
+    @Test
+    void writeDuringReadDoesNotPinOldValue(){
+        var detector = detector(true);
+        var old = RedisDataPersistence.builder().key("hot").value("old").build();
+        var current = RedisDataPersistence.builder().key("hot").value("new").build();
+        for (int i = 0; i < 1_000; i++) {
+            detector.record("hot");
+        }
+        detector.roll();
+
+        // 조회가 이전 값을 읽은 뒤 pin 하기 전에 쓰기가 unpin 한 경우입니다.
+        long generation = detector.pinGeneration("hot");
+        detector.unpin("hot");
+        detector.pin("hot", old, generation);
+        Assertions.assertThat(detector.pinned("hot")).isNull();
+
+        detector.pin("hot", current, detector.pinGeneration("hot"));
+        Assertions.assertThat(detector.pinned("hot")).isSameAs(current);
+
+        generation = detector.pinGeneration("hot");
+        detector.unpin(List.of("hot"));
+        detector.pin("hot", old, generation);
+        Assertions.assertThat(detector.pinned("hot")).isNull();
+    }
+}
@@ -0,0 +1,93 @@
+package com.renzo.green.cache;
+
+import com.renzo.green.config.RedisCacheProperties;
+import com.renzo.green.persistence.RedisDataPersistence;
+import com.renzo.green.serializer.RedisDataPersistenceSerializer;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+
+class MappedLocalTierTest {
+
+    private final RedisDataPersistenceSerializer serializer =
+            new RedisDataPersistenceSerializer(new GenericJackson2JsonRedisSerializer(), true);
+
+    @TempDir
+    Path dir;
+
+    private MappedLocalTier open(long ttl) {
+        var cacheProperties = new RedisCacheProperties();
+        var properties = cacheProperties.getLocalTier();
+        properties.setEnabled(true);
+        properties.setPath(dir.resolve("l2.dat").toString());
+        properties.setCapacity(DataSize.ofMegabytes(1));
+        properties.setMaxEntries(1024L);
+        properties.setTtl(ttl);
+        return new MappedLocalTier(cacheProperties, serializer);
+    }
+
+    private static RedisDataPersistence persistence(String key, String value) {
+        return RedisDataPersistence.builder().key(key).value(value).build();
+    }
+
+    @Test
+    void putGetAndOverwrite(){
+        var tier = open(60_000);
+
+        tier.put("green:a", persistence("green:a", "v1"));
+        tier.put("green:a", persistence("green:a", "v2"));
+        tier.put("green:b", persistence("green:b", "한글"));
+
+        Assertions.assertThat(tier.get("green:a").getValue()).isEqualTo("v2");
+        Assertions.assertThat(tier.get("green:b").getValue()).isEqualTo("한글");
+        Assertions.assertThat(tier.get("green:c")).isNull();
+        Assertions.assertThat(tier.size()).isEqualTo(2);
+
+        tier.invalidate("green:a");
+        Assertions.assertThat(tier.get("green:a")).isNull();
+        Assertions.assertThat(tier.size()).isEqualTo(1);
+        tier.close();
+    }
+
+    @Test
+    void reopenKeepsEntries(){
+        var tier = open(60_000);
+        tier.put("green:a", persistence("green:a", "v1"));
+        tier.close();
+
+        var reopened = open(60_000);
+
+        Assertions.assertThat(reopened.size()).isEqualTo(1);
+        Assertions.assertThat(reopened.get("green:a").getValue()).isEqualTo("v1");
+        reopened.close();
+    }
+
+    @Test
+    void expiredEntryIsMissing() throws InterruptedException {
+        var tier = open(20);
+        tier.put("green:a", persistence("green:a", "v1"));
+
+        Thread.sleep(50);
+
+        Assertions.assertThat(tier.get("green:a")).isNull();
+        tier.close();
+    }
+
+    @Test
+    void overwrittenRecordsAreMissingAfterWrapAround(){
+        var tier = open(60_000);
+        String value = "x".repeat(10_000);
+        for (int i = 0; i < 200; i++) {
+            tier.put("green:" + i, persistence("green:" + i, value));
+        }
+
+        // 1MB data 영역을 약 2바퀴 기록했으므로 앞쪽 record 는 덮어써졌습니다.
+        Assertions.assertThat(tier.get("green:0")).isNull();
+        Assertions.assertThat(tier.get("green:199").getValue()).isEqualTo(value);
+        tier.close();
+    }
+}
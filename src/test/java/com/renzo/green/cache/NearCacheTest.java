@@ -0,0 +1,157 @@
+package com.renzo.green.cache;
+
+import com.renzo.green.config.RedisCacheProperties;
+import com.renzo.green.metrics.RedisMetrics;
+import com.renzo.green.persistence.RedisDataPersistence;
+import com.renzo.green.resilience.RedisCircuitBreaker;
+import com.renzo.green.resilience.RedisUnavailableException;
+import com.renzo.green.serializer.RedisDataPersistenceSerializer;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+
+class NearCacheTest {
+
+    @TempDir
+    Path dir;
+
+    private MappedLocalTier tier;
+    private NearCache nearCache;
+
+    @BeforeEach
+    void setUp(){
+        var cacheProperties = new RedisCacheProperties();
+        var properties = cacheProperties.getLocalTier();
+        properties.setEnabled(true);
+        properties.setPath(dir.resolve("l2.dat").toString());
+        properties.setCapacity(DataSize.ofMegabytes(1));
+        properties.setMaxEntries(1024L);
+        properties.setTtl(60_000L);
+        tier = new MappedLocalTier(cacheProperties,
+                new RedisDataPersistenceSerializer(new GenericJackson2JsonRedisSerializer(), true));
+        nearCache = new NearCache(cacheProperties, Mockito.mock(StringRedisTemplate.class),
+                Mockito.mock(RedisMetrics.class), tier);
+    }
+
+    @AfterEach
+    void tearDown(){
+        tier.close();
+    }
+
+    private static RedisDataPersistence persistence(String value) {
+        return RedisDataPersistence.builder().key("green:a").value(value).build();
+    }
+
+    @Test
+    void loadedValueIsStoredInLocalTier(){
+        Assertions.assertThat(nearCache.get("green:a", key -> persistence("v1")).getValue()).isEqualTo("v1");
+
+        Assertions.assertThat(tier.get("green:a").getValue()).isEqualTo("v1");
+        Assertions.assertThat(nearCache.get("green:a", key -> persistence("v2")).getValue()).isEqualTo("v1");
+    }
+
+    @Test
+    void valueInvalidatedDuringLoadIsNotStored(){
+        // loader 가 이전 값을 읽은 뒤 다른 인스턴스의 쓰기로 invalidation 이 도착합니다.
+        var loaded = nearCache.get("green:a", key -> {
+            nearCache.invalidateLocal(key);
+            return persistence("old");
+        });
+
+        Assertions.assertThat(loaded.getValue()).isEqualTo("old");
+        Assertions.assertThat(tier.get("green:a")).isNull();
+        Assertions.assertThat(nearCache.get("green:a", key -> persistence("new")).getValue()).isEqualTo("new");
+        Assertions.assertThat(tier.get("green:a").getValue()).isEqualTo("new");
+    }
+
+    @Test
+    void valueIsNotStoredAfterInvalidateAll(){
+        nearCache.get("green:a", key -> {
+            nearCache.invalidateAllLocal(true);
+            return persistence("old");
+        });
+
+        Assertions.assertThat(tier.get("green:a")).isNull();
+    }
+
+    @Test
+    void followersReceiveLoaderExceptionUnwrapped() throws InterruptedException {
+        var cacheProperties = new RedisCacheProperties();
+        cacheProperties.getNearCache().setEnabled(true);
+        cacheProperties.getCircuitBreaker().setEnabled(true);
+        cacheProperties.getCircuitBreaker().setMinimumCalls(10);
+        var circuitBreaker = new RedisCircuitBreaker(cacheProperties);
+        for (int i = 0; i < 10; i++) {
+            try {
+                circuitBreaker.execute(() -> {
+                    throw new RedisConnectionFailureException("refused");
+                });
+            } catch (RuntimeException ignored) {
+            }
+        }
+        Assertions.assertThat(circuitBreaker.getState()).isEqualTo(RedisCircuitBreaker.State.OPEN);
+        var caching = new NearCache(cacheProperties, Mockito.mock(StringRedisTemplate.class),
+                Mockito.mock(RedisMetrics.class), new MappedLocalTier(cacheProperties,
+                new RedisDataPersistenceSerializer(new GenericJackson2JsonRedisSerializer(), true)));
+
+        var loading = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var failures = new ConcurrentLinkedQueue<Throwable>();
+        Thread leader = Thread.ofVirtual().start(() -> {
+            try {
+                caching.get("green:a", key -> {
+                    loading.countDown();
+                    awaitQuietly(release);
+                    return circuitBreaker.execute(() -> persistence("v1"));
+                });
+            } catch (Throwable e) {
+                failures.add(e);
+            }
+        });
+        loading.await();
+        List<Thread> followers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            followers.add(Thread.ofVirtual().start(() -> {
+                try {
+                    caching.get("green:a", key -> persistence("follower must not load"));
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            }));
+        }
+        // follower 가 모두 leader 의 load 를 기다리는 중에 leader 가 실패합니다.
+        for (Thread follower : followers) {
+            while (follower.getState() != Thread.State.WAITING) {
+                Thread.onSpinWait();
+            }
+        }
+        release.countDown();
+        leader.join();
+        for (Thread follower : followers) {
+            follower.join();
+        }
+
+        Assertions.assertThat(failures).hasSize(5).allMatch(e -> e instanceof RedisUnavailableException);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.renzo.green.cache;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class RefreshAheadTest {
+
+    private static final long NOW = 1_000_000L;
+
+    @Test
+    void fractionRefreshesAfterConfiguredPortionOfTtl(){
+        var refreshAhead = new RefreshAhead("test", RefreshAhead.Mode.FRACTION, 1.0, 0.8, Runnable::run);
+
+        // ttl 10s 중 7s 경과
+        Assertions.assertThat(refreshAhead.shouldRefresh(new RefreshAheadValue("v", NOW + 3_000, 10_000, 0), NOW)).isFalse();
+        // ttl 10s 중 9s 경과
+        Assertions.assertThat(refreshAhead.shouldRefresh(new RefreshAheadValue("v", NOW + 1_000, 10_000, 0), NOW)).isTrue();
+        // 이미 만료
+        Assertions.assertThat(refreshAhead.shouldRefresh(new RefreshAheadValue("v", NOW, 10_000, 0), NOW)).isFalse();
+    }
+
+    @Test
+    void xfetchProbabilityGrowsAsExpiryApproaches(){
+        var refreshAhead = new RefreshAhead("test", RefreshAhead.Mode.XFETCH, 1.0, 0.8, Runnable::run);
+
+        int far = 0;
+        int near = 0;
+        for (int i = 0; i < 10_000; i++) {
+            // delta 100ms : 만료 1s 전이면 exp(-10), 만료 10ms 전이면 exp(-0.1) 확률로 재계산합니다.
+            if (refreshAhead.shouldRefresh(new RefreshAheadValue("v", NOW + 1_000, 60_000, 100), NOW)) {
+                far++;
+            }
+            if (refreshAhead.shouldRefresh(new RefreshAheadValue("v", NOW + 10, 60_000, 100), NOW)) {
+                near++;
+            }
+        }
+        Assertions.assertThat(far).isLessThan(50);
+        Assertions.assertThat(near).isGreaterThan(8_000);
+    }
+
+    @Test
+    void scheduleOnceUntilRefreshFinishes(){
+        List<Runnable> queued = new ArrayList<>();
+        var refreshAhead = new RefreshAhead("test", RefreshAhead.Mode.XFETCH, 1.0, 0.8, queued::add);
+        var refreshes = new AtomicInteger();
+
+        Assertions.assertThat(refreshAhead.schedule("key", refreshes::incrementAndGet)).isTrue();
+        Assertions.assertThat(refreshAhead.schedule("key", refreshes::incrementAndGet)).isFalse();
+        Assertions.assertThat(refreshAhead.refreshingCount()).isEqualTo(1);
+
+        queued.forEach(Runnable::run);
+
+        Assertions.assertThat(refreshes.get()).isEqualTo(1);
+        Assertions.assertThat(refreshAhead.refreshingCount()).isZero();
+        Assertions.assertThat(refreshAhead.schedule("key", refreshes::incrementAndGet)).isTrue();
+    }
+
+    @Test
+    void skipWhenExecutorIsFull(){
+        var refreshAhead = new RefreshAhead("test", RefreshAhead.Mode.XFETCH, 1.0, 0.8, task -> {
+            throw new RejectedExecutionException("full");
+        });
+
+        Assertions.assertThat(refreshAhead.schedule("key", () -> {})).isFalse();
+        Assertions.assertThat(refreshAhead.refreshingCount()).isZero();
+    }
+}
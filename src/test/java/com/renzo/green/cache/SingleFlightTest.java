@@ -0,0 +1,78 @@
+package com.renzo.green.cache;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class SingleFlightTest {
+
+    @Test
+    void concurrentCallsShareOneLoad() throws Exception {
+        var singleFlight = new SingleFlight<String, String>("test", true, 5000);
+        var loads = new AtomicInteger();
+        var release = new CountDownLatch(1);
+
+        List<Future<String>> results = new ArrayList<>();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 32; i++) {
+                results.add(executor.submit(() -> singleFlight.execute("key", () -> {
+                    loads.incrementAndGet();
+                    awaitQuietly(release);
+                    return "value";
+                })));
+            }
+            while (singleFlight.inflightCount() == 0) {
+                Thread.onSpinWait();
+            }
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<String> result : results) {
+                Assertions.assertThat(result.get()).isEqualTo("value");
+            }
+        }
+        Assertions.assertThat(loads.get()).isEqualTo(1);
+        Assertions.assertThat(singleFlight.inflightCount()).isZero();
+    }
+
+    @Test
+    void timeoutLoadsDirectly(){
+        var singleFlight = new SingleFlight<String, String>("test", true, 10);
+        var release = new CountDownLatch(1);
+
+        Thread.ofVirtual().start(() -> singleFlight.execute("key", () -> {
+            awaitQuietly(release);
+            return "leader";
+        }));
+        while (singleFlight.inflightCount() == 0) {
+            Thread.onSpinWait();
+        }
+
+        Assertions.assertThat(singleFlight.execute("key", () -> "direct")).isEqualTo("direct");
+        release.countDown();
+    }
+
+    @Test
+    void leaderFailureIsPropagated(){
+        var singleFlight = new SingleFlight<String, String>("test", true, 1000);
+
+        Assertions.assertThatThrownBy(() -> singleFlight.execute("key", () -> {
+                    throw new IllegalStateException("boom");
+                }))
+                .isInstanceOf(IllegalStateException.class);
+        Assertions.assertThat(singleFlight.execute("key", () -> "retry")).isEqualTo("retry");
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
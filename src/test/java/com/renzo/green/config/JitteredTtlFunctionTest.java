@@ -0,0 +1,43 @@
+package com.renzo.green.config;
+
+import com.renzo.green.cache.RefreshAheadValue;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+class JitteredTtlFunctionTest {
+
+    @Test
+    void spreadTtlWithinJitterRange(){
+        var ttlFunction = new JitteredTtlFunction(Duration.ofSeconds(100), 0.1);
+
+        Set<Duration> ttls = new HashSet<>();
+        for (int i = 0; i < 1_000; i++) {
+            Duration ttl = ttlFunction.getTimeToLive("key", "value");
+            Assertions.assertThat(ttl).isBetween(Duration.ofSeconds(100), Duration.ofSeconds(110));
+            ttls.add(ttl);
+        }
+        Assertions.assertThat(ttls.size()).isGreaterThan(100);
+    }
+
+    @Test
+    void keepTtlWithoutJitterOrExpiry(){
+        Assertions.assertThat(new JitteredTtlFunction(Duration.ofSeconds(30), 0).getTimeToLive("key", "value"))
+                .isEqualTo(Duration.ofSeconds(30));
+        Assertions.assertThat(new JitteredTtlFunction(Duration.ZERO, 0.5).getTimeToLive("key", "value"))
+                .isEqualTo(Duration.ZERO);
+    }
+
+    @Test
+    void keepTtlOfRefreshAheadValue(){
+        var ttlFunction = new JitteredTtlFunction(Duration.ofSeconds(100), 0.5);
+        var entry = new RefreshAheadValue("value", System.currentTimeMillis() + 123_456, 123_456, 10);
+
+        for (int i = 0; i < 100; i++) {
+            Assertions.assertThat(ttlFunction.getTimeToLive("key", entry)).isEqualTo(Duration.ofMillis(123_456));
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.renzo.green.pool;
+
+import com.renzo.green.config.RedisCacheProperties;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class AdaptivePoolSizerTest {
+
+    private static RedisCacheProperties.Pool.Adaptive properties() {
+        var properties = new RedisCacheProperties.Pool.Adaptive();
+        properties.setMinActive(2);
+        properties.setMaxActive(16);
+        properties.setShrinkAfter(3);
+        return properties;
+    }
+
+    @Test
+    void growWhenBorrowersWaitOnBusyPool(){
+        var controller = new AdaptivePoolSizer.Controller(properties());
+
+        Assertions.assertThat(controller.next(8, 8, 3, 100, 0.0, 1.0)).isEqualTo(10);
+        // 대기는 없지만 평균 borrow 대기 시간이 기준 이상
+        Assertions.assertThat(controller.next(10, 9, 0, 200, 12.0, 1.0)).isEqualTo(12);
+        Assertions.assertThat(controller.next(15, 15, 1, 300, 0.0, 1.0)).isEqualTo(16);
+        Assertions.assertThat(controller.next(16, 16, 1, 400, 0.0, 1.0)).isEqualTo(16);
+    }
+
+    @Test
+    void holdWhenRedisIsTheBottleneck(){
+        var controller = new AdaptivePoolSizer.Controller(properties());
+
+        Assertions.assertThat(controller.next(8, 8, 5, 100, 20.0, 200.0)).isEqualTo(8);
+    }
+
+    @Test
+    void ignoreStaleBorrowWaitWithoutNewBorrows(){
+        var controller = new AdaptivePoolSizer.Controller(properties());
+        controller.next(8, 8, 0, 100, 0.0, 1.0);
+
+        // borrow 횟수가 그대로이면 최근 100회 평균 대기 시간은 이전 부하의 값입니다.
+        Assertions.assertThat(controller.next(8, 8, 0, 100, 30.0, 1.0)).isEqualTo(8);
+    }
+
+    @Test
+    void shrinkAfterSustainedLowUtilization(){
+        var controller = new AdaptivePoolSizer.Controller(properties());
+
+        Assertions.assertThat(controller.next(8, 1, 0, 100, 0.0, 1.0)).isEqualTo(8);
+        Assertions.assertThat(controller.next(8, 1, 0, 101, 0.0, 1.0)).isEqualTo(8);
+        Assertions.assertThat(controller.next(8, 1, 0, 102, 0.0, 1.0)).isEqualTo(7);
+
+        // 중간에 사용률이 오르면 다시 센다
+        Assertions.assertThat(controller.next(7, 1, 0, 103, 0.0, 1.0)).isEqualTo(7);
+        Assertions.assertThat(controller.next(7, 5, 0, 104, 0.0, 1.0)).isEqualTo(7);
+        Assertions.assertThat(controller.next(7, 1, 0, 105, 0.0, 1.0)).isEqualTo(7);
+        Assertions.assertThat(controller.next(7, 1, 0, 106, 0.0, 1.0)).isEqualTo(7);
+        Assertions.assertThat(controller.next(7, 1, 0, 107, 0.0, 1.0)).isEqualTo(6);
+
+        // min-active 아래로는 줄이지 않는다
+        for (int i = 0; i < 10; i++) {
+            Assertions.assertThat(controller.next(2, 0, 0, 108, 0.0, 1.0)).isEqualTo(2);
+        }
+    }
+}
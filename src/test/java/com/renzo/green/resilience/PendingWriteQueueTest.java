@@ -0,0 +1,76 @@
+package com.renzo.green.resilience;
+
+import com.renzo.green.config.RedisCacheProperties;
+import com.renzo.green.persistence.RedisDataPersistence;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class PendingWriteQueueTest {
+
+    private final PendingWriteQueue queue = new PendingWriteQueue(new RedisCacheProperties());
+
+    private static RedisDataPersistence persistence(String value) {
+        return RedisDataPersistence.builder().key("green:a").value(value).build();
+    }
+
+    @Test
+    void claimSkipsRewrittenKey(){
+        var queued = persistence("1");
+        queue.offer(queued);
+        queue.offer(persistence("2"));
+
+        Assertions.assertThat(queue.claim(queued)).isFalse();
+        Assertions.assertThat(queue.peek("green:a").getValue()).isEqualTo("2");
+    }
+
+    @Test
+    void claimSkipsDiscardedKey(){
+        var queued = persistence("1");
+        queue.offer(queued);
+        queue.discard("green:a");
+
+        Assertions.assertThat(queue.claim(queued)).isFalse();
+        Assertions.assertThat(queue.size()).isZero();
+    }
+
+    @Test
+    void claimedValueIsVisibleUntilComplete(){
+        var queued = persistence("1");
+        queue.offer(queued);
+
+        Assertions.assertThat(queue.claim(queued)).isTrue();
+        Assertions.assertThat(queue.size()).isZero();
+        Assertions.assertThat(queue.peek("green:a")).isSameAs(queued);
+
+        queue.complete(queued, true);
+        Assertions.assertThat(queue.peek("green:a")).isNull();
+    }
+
+    @Test
+    void failedReplayIsKeptForNextReplay(){
+        var queued = persistence("1");
+        queue.offer(queued);
+        queue.claim(queued);
+
+        queue.complete(queued, false);
+
+        Assertions.assertThat(queue.snapshot()).containsExactly(queued);
+    }
+
+    @Test
+    void discardWaitsForReplayOfSameKey() throws InterruptedException {
+        var queued = persistence("1");
+        queue.offer(queued);
+        queue.claim(queued);
+
+        Thread writer = Thread.ofVirtual().start(() -> queue.discard("green:a"));
+        writer.join(200);
+        Assertions.assertThat(writer.isAlive()).isTrue();
+
+        // replay 가 실패하여 다시 보관된 값도 직접 기록 전에 버려집니다.
+        queue.complete(queued, false);
+        writer.join(5_000);
+        Assertions.assertThat(writer.isAlive()).isFalse();
+        Assertions.assertThat(queue.peek("green:a")).isNull();
+    }
+}
@@ -0,0 +1,103 @@
+package com.renzo.green.resilience;
+
+import com.renzo.green.config.RedisCacheProperties;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class RedisCircuitBreakerTest {
+
+    private RedisCircuitBreaker circuitBreaker(long slowCallDuration) {
+        var properties = new RedisCacheProperties();
+        var circuitBreaker = properties.getCircuitBreaker();
+        circuitBreaker.setEnabled(true);
+        circuitBreaker.setMinimumCalls(10);
+        circuitBreaker.setOpenDuration(100L);
+        circuitBreaker.setHalfOpenCalls(2);
+        circuitBreaker.setSlowCallDuration(slowCallDuration);
+        return new RedisCircuitBreaker(properties);
+    }
+
+    private static void fail(RedisCircuitBreaker circuitBreaker, RuntimeException e) {
+        try {
+            circuitBreaker.execute(() -> {
+                throw e;
+            });
+        } catch (RuntimeException ignored) {
+        }
+    }
+
+    @Test
+    void openOnFailureRateAndRejectWithoutCalling(){
+        var circuitBreaker = circuitBreaker(1000);
+        for (int i = 0; i < 5; i++) {
+            circuitBreaker.execute(() -> "ok");
+        }
+        for (int i = 0; i < 4; i++) {
+            fail(circuitBreaker, new QueryTimeoutException("timeout"));
+        }
+        // 9 건은 minimumCalls 미만
+        Assertions.assertThat(circuitBreaker.getState()).isEqualTo(RedisCircuitBreaker.State.CLOSED);
+
+        fail(circuitBreaker, new RedisConnectionFailureException("refused"));
+
+        Assertions.assertThat(circuitBreaker.getState()).isEqualTo(RedisCircuitBreaker.State.OPEN);
+        Assertions.assertThatThrownBy(() -> circuitBreaker.execute(() -> {
+            throw new IllegalStateException("must not be called");
+        })).isInstanceOf(RedisUnavailableException.class);
+    }
+
+    @Test
+    void ignoreNonRedisFailures(){
+        var circuitBreaker = circuitBreaker(1000);
+        for (int i = 0; i < 20; i++) {
+            fail(circuitBreaker, new SerializationException("broken value"));
+        }
+        Assertions.assertThat(circuitBreaker.getState()).isEqualTo(RedisCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void openOnSlowCalls(){
+        var circuitBreaker = circuitBreaker(0);
+        for (int i = 0; i < 10; i++) {
+            circuitBreaker.execute(() -> "slow");
+        }
+        Assertions.assertThat(circuitBreaker.getState()).isEqualTo(RedisCircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void closeAfterSuccessfulHalfOpenCalls() throws Exception {
+        var circuitBreaker = circuitBreaker(1000);
+        List<String> transitions = new ArrayList<>();
+        circuitBreaker.addListener((from, to) -> transitions.add(from + "->" + to));
+        for (int i = 0; i < 10; i++) {
+            fail(circuitBreaker, new QueryTimeoutException("timeout"));
+        }
+        Thread.sleep(150);
+
+        circuitBreaker.execute(() -> "ok");
+        Assertions.assertThat(circuitBreaker.getState()).isEqualTo(RedisCircuitBreaker.State.HALF_OPEN);
+        circuitBreaker.execute(() -> "ok");
+
+        Assertions.assertThat(circuitBreaker.getState()).isEqualTo(RedisCircuitBreaker.State.CLOSED);
+        Assertions.assertThat(transitions).containsExactly("CLOSED->OPEN", "OPEN->HALF_OPEN", "HALF_OPEN->CLOSED");
+    }
+
+    @Test
+    void reopenWhenHalfOpenCallFails() throws Exception {
+        var circuitBreaker = circuitBreaker(1000);
+        for (int i = 0; i < 10; i++) {
+            fail(circuitBreaker, new QueryTimeoutException("timeout"));
+        }
+        Thread.sleep(150);
+
+        fail(circuitBreaker, new QueryTimeoutException("timeout"));
+
+        Assertions.assertThat(circuitBreaker.getState()).isEqualTo(RedisCircuitBreaker.State.OPEN);
+    }
+}
@@ -0,0 +1,81 @@
+package com.renzo.green.routing;
+
+import com.renzo.green.config.RedisCacheProperties;
+import io.lettuce.core.ReadFrom;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.models.role.RedisInstance;
+import io.lettuce.core.models.role.RedisNodeDescription;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+
+class AdaptiveReadFromTest {
+
+    private final RedisNodeDescription master = node(6379, RedisInstance.Role.UPSTREAM);
+    private final RedisNodeDescription fast = node(6380, RedisInstance.Role.REPLICA);
+    private final RedisNodeDescription slow = node(6381, RedisInstance.Role.REPLICA);
+    private final ReadFrom.Nodes nodes = () -> List.of(master, fast, slow);
+
+    private RedisCacheProperties cacheProperties;
+    private NodeLatencyRegistry registry;
+    private AdaptiveReadFrom readFrom;
+
+    @BeforeEach
+    void setUp(){
+        cacheProperties = new RedisCacheProperties();
+        cacheProperties.setReplica(new RedisCacheProperties.Replica());
+        cacheProperties.getReplica().getAdaptive().setEnabled(true);
+        cacheProperties.getReplica().getAdaptive().setExplorationRate(0.0);
+        registry = new NodeLatencyRegistry(cacheProperties, new SimpleMeterRegistry());
+        readFrom = new AdaptiveReadFrom(registry, cacheProperties.getReplica().getAdaptive());
+    }
+
+    @Test
+    void fastestReplicaFirstAndMasterLast(){
+        record(6380, 1_000_000);
+        record(6381, 2_000_000);
+
+        Assertions.assertThat(readFrom.select(nodes)).containsExactly(fast, slow, master);
+    }
+
+    @Test
+    void outlierIsExcluded(){
+        record(6380, 1_000_000);
+        record(6381, 10_000_000);
+
+        Assertions.assertThat(readFrom.select(nodes)).containsExactly(fast, master);
+        Assertions.assertThat(registry.node("127.0.0.1", 6381).isOutlier()).isTrue();
+    }
+
+    @Test
+    void laggingReplicaFallsBackToMaster(){
+        record(6380, 1_000_000);
+        record(6381, 1_000_000);
+        registry.node("127.0.0.1", 6380).updateReplication(true, 10L * 1024 * 1024, 0);
+        registry.node("127.0.0.1", 6381).updateReplication(false, 0, 0);
+
+        Assertions.assertThat(readFrom.select(nodes)).containsExactly(master);
+    }
+
+    private void record(int port, long nanos) {
+        registry.recordLatency(new InetSocketAddress("127.0.0.1", port), nanos);
+    }
+
+    private static RedisNodeDescription node(int port, RedisInstance.Role role) {
+        return new RedisNodeDescription() {
+            @Override
+            public RedisURI getUri() {
+                return RedisURI.create("127.0.0.1", port);
+            }
+
+            @Override
+            public RedisInstance.Role getRole() {
+                return role;
+            }
+        };
+    }
+}
@@ -0,0 +1,49 @@
+package com.renzo.green.routing;
+
+import com.renzo.green.config.RedisCacheProperties;
+import com.renzo.green.metrics.RedisMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class SessionConsistencyTest {
+
+    private static RedisCacheProperties sessionProperties() {
+        var cacheProperties = new RedisCacheProperties();
+        cacheProperties.setReplica(new RedisCacheProperties.Replica());
+        cacheProperties.getReplica().getSession().setEnabled(true);
+        return cacheProperties;
+    }
+
+    private static SessionConsistency create(RedisCacheProperties cacheProperties) {
+        var meterRegistry = new SimpleMeterRegistry();
+        return new SessionConsistency(null, cacheProperties, new RedisMetrics(meterRegistry), meterRegistry);
+    }
+
+    @Test
+    void writeBehindIsRejected(){
+        var cacheProperties = sessionProperties();
+        cacheProperties.getWriteBehind().setEnabled(true);
+
+        Assertions.assertThatThrownBy(() -> create(cacheProperties))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void queuedOpenWritesAreRejected(){
+        var cacheProperties = sessionProperties();
+        cacheProperties.getCircuitBreaker().setEnabled(true);
+        cacheProperties.getCircuitBreaker().setOpenWrites(RedisCacheProperties.CircuitBreaker.OpenWrites.QUEUE);
+
+        Assertions.assertThatThrownBy(() -> create(cacheProperties))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void rejectedOpenWritesAreAllowed(){
+        var cacheProperties = sessionProperties();
+        cacheProperties.getCircuitBreaker().setEnabled(true);
+
+        Assertions.assertThat(create(cacheProperties).isEnabled()).isTrue();
+    }
+}
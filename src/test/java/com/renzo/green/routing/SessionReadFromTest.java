@@ -0,0 +1,88 @@
+package com.renzo.green.routing;
+
+import com.renzo.green.config.RedisCacheProperties;
+import com.renzo.green.metrics.RedisMetrics;
+import io.lettuce.core.ReadFrom;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.models.role.RedisInstance;
+import io.lettuce.core.models.role.RedisNodeDescription;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+class SessionReadFromTest {
+
+    private final RedisNodeDescription master = node(6379, RedisInstance.Role.UPSTREAM);
+    private final RedisNodeDescription caughtUp = node(6380, RedisInstance.Role.REPLICA);
+    private final RedisNodeDescription lagging = node(6381, RedisInstance.Role.REPLICA);
+    private final ReadFrom.Nodes nodes = () -> List.of(master, caughtUp, lagging);
+
+    private SessionConsistency sessionConsistency;
+    private SessionReadFrom readFrom;
+
+    @BeforeEach
+    void setUp(){
+        var cacheProperties = new RedisCacheProperties();
+        cacheProperties.setReplica(new RedisCacheProperties.Replica());
+        cacheProperties.getReplica().getSession().setEnabled(true);
+        // 테스트 중 ROLE 을 다시 조회하지 않도록 합니다.
+        cacheProperties.getReplica().getSession().setRefreshInterval(60_000L);
+        var meterRegistry = new SimpleMeterRegistry();
+        sessionConsistency = new SessionConsistency(null, cacheProperties, new RedisMetrics(meterRegistry), meterRegistry);
+        sessionConsistency.apply(List.of("master", 1000L, List.of(
+                List.of("127.0.0.1", "6380", "1000"),
+                List.of("127.0.0.1", "6381", "400"))), System.nanoTime());
+        readFrom = new SessionReadFrom(ReadFrom.REPLICA_PREFERRED, sessionConsistency);
+    }
+
+    @AfterEach
+    void tearDown(){
+        sessionConsistency.end();
+    }
+
+    @Test
+    void withoutTokenUsesDelegate(){
+        Assertions.assertThat(readFrom.select(nodes)).containsExactly(caughtUp, lagging, master);
+    }
+
+    @Test
+    void laggingReplicaIsExcluded(){
+        sessionConsistency.begin(800L);
+
+        Assertions.assertThat(readFrom.select(nodes)).containsExactly(caughtUp, master);
+    }
+
+    @Test
+    void noCaughtUpReplicaReadsMaster(){
+        sessionConsistency.begin(1200L);
+
+        Assertions.assertThat(readFrom.select(nodes)).containsExactly(master);
+        Assertions.assertThat(new SessionReadFrom(ReadFrom.REPLICA, sessionConsistency).select(nodes))
+                .containsExactly(master);
+    }
+
+    @Test
+    void tokenWithoutWriteIsEchoed(){
+        sessionConsistency.begin(800L);
+
+        Assertions.assertThat(sessionConsistency.token()).isEqualTo(800L);
+    }
+
+    private static RedisNodeDescription node(int port, RedisInstance.Role role) {
+        return new RedisNodeDescription() {
+            @Override
+            public RedisURI getUri() {
+                return RedisURI.create("127.0.0.1", port);
+            }
+
+            @Override
+            public RedisInstance.Role getRole() {
+                return role;
+            }
+        };
+    }
+}
@@ -0,0 +1,55 @@
+package com.renzo.green.serializer;
+
+import com.renzo.green.persistence.RedisDataPersistence;
+import com.renzo.green.service.BucketedStorage;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class BucketEntrySerializerTest {
+
+    @Test
+    void roundTrip(){
+        var persistence = RedisDataPersistence.builder()
+                .key("green:renzo:code")
+                .value("한글 value 😀")
+                .version(7)
+                .build();
+
+        byte[] bytes = BucketEntrySerializer.serialize(persistence, 2_000);
+        var result = BucketEntrySerializer.deserialize("green:renzo:code", bytes, 1_000);
+
+        Assertions.assertThat(bytes.length).isLessThan(64);
+        Assertions.assertThat(result.getKey()).isEqualTo(persistence.getKey());
+        Assertions.assertThat(result.getValue()).isEqualTo(persistence.getValue());
+        Assertions.assertThat(result.getVersion()).isEqualTo(7);
+    }
+
+    @Test
+    void expired(){
+        var persistence = RedisDataPersistence.builder().key("green:renzo:expired").value("value").build();
+
+        byte[] bytes = BucketEntrySerializer.serialize(persistence, 1_000);
+
+        Assertions.assertThat(BucketEntrySerializer.deserialize("green:renzo:expired", bytes, 1_000)).isNull();
+        Assertions.assertThat(BucketEntrySerializer.deserialize("green:renzo:expired",
+                BucketEntrySerializer.serialize(persistence, 0), Long.MAX_VALUE)).isNotNull();
+    }
+
+    @Test
+    void nullValue(){
+        var persistence = RedisDataPersistence.builder().key("green:renzo:null").build();
+
+        var result = BucketEntrySerializer.deserialize("green:renzo:null",
+                BucketEntrySerializer.serialize(persistence, 0), 0);
+
+        Assertions.assertThat(result.getValue()).isNull();
+    }
+
+    @Test
+    void bucketKeyIsStable(){
+        String bucket = BucketedStorage.bucketKey("green:renzo:code", "green:bucket:", 65536);
+
+        Assertions.assertThat(bucket).isEqualTo(BucketedStorage.bucketKey("green:renzo:code", "green:bucket:", 65536));
+        Assertions.assertThat(Integer.parseInt(bucket.substring("green:bucket:".length()))).isBetween(0, 65535);
+    }
+}
@@ -0,0 +1,59 @@
+package com.renzo.green.serializer;
+
+import com.renzo.green.persistence.RedisDataPersistence;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+class CompressingRedisSerializerTest {
+
+    private final GenericJackson2JsonRedisSerializer json = new GenericJackson2JsonRedisSerializer();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CompressingRedisSerializer serializer = new CompressingRedisSerializer(json, 256, 1, meterRegistry);
+
+    @Test
+    void compressAboveThreshold(){
+        var persistence = RedisDataPersistence.builder()
+                .key("green:renzo:large")
+                .value("{\"zone\":\"green\"}".repeat(200))
+                .build();
+
+        byte[] bytes = serializer.serialize(persistence);
+        var result = (RedisDataPersistence) serializer.deserialize(bytes);
+
+        Assertions.assertThat(CompressingRedisSerializer.isCompressed(bytes)).isTrue();
+        Assertions.assertThat(bytes.length).isLessThan(json.serialize(persistence).length / 4);
+        Assertions.assertThat(result.getValue()).isEqualTo(persistence.getValue());
+        Assertions.assertThat(meterRegistry.get("green.redis.compression.ratio").summary().count()).isEqualTo(1);
+    }
+
+    @Test
+    void keepSmallValueUncompressed(){
+        var persistence = RedisDataPersistence.builder().key("green:renzo:small").value("v").build();
+
+        byte[] bytes = serializer.serialize(persistence);
+
+        Assertions.assertThat(CompressingRedisSerializer.isCompressed(bytes)).isFalse();
+        Assertions.assertThat(bytes).isEqualTo(json.serialize(persistence));
+    }
+
+    @Test
+    void readUncompressedAndBinaryValues(){
+        var binary = new RedisDataPersistenceSerializer(json, true);
+        var reader = new CompressingRedisSerializer(binary, Integer.MAX_VALUE, 1, null);
+        var persistence = RedisDataPersistence.builder().key("green:renzo:code").value("value").build();
+
+        var fromJson = (RedisDataPersistence) reader.deserialize(json.serialize(persistence));
+        var fromBinary = (RedisDataPersistence) reader.deserialize(binary.serialize(persistence));
+        var fromCompressed = (RedisDataPersistence) reader.deserialize(
+                new CompressingRedisSerializer(binary, 0, 1, null).serialize(RedisDataPersistence.builder()
+                        .key("green:renzo:code")
+                        .value("value".repeat(100))
+                        .build()));
+
+        Assertions.assertThat(fromJson.getValue()).isEqualTo("value");
+        Assertions.assertThat(fromBinary.getValue()).isEqualTo("value");
+        Assertions.assertThat(fromCompressed.getValue()).isEqualTo("value".repeat(100));
+    }
+}
@@ -0,0 +1,83 @@
+package com.renzo.green.serializer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.renzo.green.dto.RedisData;
+import com.renzo.green.persistence.RedisDataPersistence;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+class RedisDataJsonWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final GenericJackson2JsonRedisSerializer json = new GenericJackson2JsonRedisSerializer();
+    private final RedisDataPersistenceSerializer binary = new RedisDataPersistenceSerializer(json, true);
+    private final CompressingRedisSerializer compressing = new CompressingRedisSerializer(binary, 0, 1, null);
+    private final RedisDataJsonWriter writer = new RedisDataJsonWriter(objectMapper, compressing);
+
+    private final RedisDataPersistence persistence = RedisDataPersistence.builder()
+            .key("green:renzo:code")
+            .value("한글 \"quoted\" \\ value 😀\n")
+            .build();
+
+    private String expected(RedisDataPersistence persistence) throws IOException {
+        var redisData = new RedisData();
+        redisData.setKey(persistence.getKey());
+        redisData.setValue(persistence.getValue());
+        redisData.setVersion(persistence.getVersion());
+        return objectMapper.writeValueAsString(redisData);
+    }
+
+    private String write(byte[] stored) throws IOException {
+        var out = new ByteArrayOutputStream();
+        writer.write(stored, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void writeBinaryValue() throws IOException {
+        Assertions.assertThat(write(binary.serialize(persistence))).isEqualTo(expected(persistence));
+    }
+
+    @Test
+    void writeJsonValueWithoutTypeInformation() throws IOException {
+        Assertions.assertThat(write(json.serialize(persistence))).isEqualTo(expected(persistence));
+    }
+
+    @Test
+    void writeVersionedValue() throws IOException {
+        var versioned = RedisDataPersistence.builder().key("green:versioned").value("7").version(1L << 40).build();
+
+        Assertions.assertThat(write(binary.serialize(versioned))).isEqualTo(expected(versioned));
+        Assertions.assertThat(write(json.serialize(versioned))).isEqualTo(expected(versioned));
+    }
+
+    @Test
+    void writeCompressedValue() throws IOException {
+        var large = RedisDataPersistence.builder().key("green:large").value("v".repeat(4096)).build();
+        byte[] stored = compressing.serialize(large);
+
+        Assertions.assertThat(CompressingRedisSerializer.isCompressed(stored)).isTrue();
+        Assertions.assertThat(write(stored)).isEqualTo(expected(large));
+    }
+
+    @Test
+    void writeNullValue() throws IOException {
+        var nullValue = RedisDataPersistence.builder().key("green:null").build();
+
+        Assertions.assertThat(write(binary.serialize(nullValue))).isEqualTo(expected(nullValue));
+        Assertions.assertThat(write(json.serialize(nullValue))).isEqualTo(expected(nullValue));
+    }
+
+    @Test
+    void writeLocalValue() throws IOException {
+        var out = new ByteArrayOutputStream();
+        writer.write(persistence, out);
+
+        Assertions.assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(expected(persistence));
+    }
+}
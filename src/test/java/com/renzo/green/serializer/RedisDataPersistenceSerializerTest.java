@@ -0,0 +1,75 @@
+package com.renzo.green.serializer;
+
+import com.renzo.green.persistence.RedisDataPersistence;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+class RedisDataPersistenceSerializerTest {
+
+    private final GenericJackson2JsonRedisSerializer json = new GenericJackson2JsonRedisSerializer();
+    private final RedisDataPersistenceSerializer binary = new RedisDataPersistenceSerializer(json, true);
+
+    @Test
+    void roundTrip(){
+        var persistence = RedisDataPersistence.builder()
+                .key("green:renzo:code")
+                .value("한글 value 😀")
+                .build();
+
+        byte[] bytes = binary.serialize(persistence);
+        var result = (RedisDataPersistence) binary.deserialize(bytes);
+
+        Assertions.assertThat(RedisDataPersistenceSerializer.isBinary(bytes)).isTrue();
+        Assertions.assertThat(bytes.length).isLessThan(json.serialize(persistence).length);
+        Assertions.assertThat(result.getKey()).isEqualTo(persistence.getKey());
+        Assertions.assertThat(result.getValue()).isEqualTo(persistence.getValue());
+    }
+
+    @Test
+    void nullValue(){
+        var persistence = RedisDataPersistence.builder().key("green:renzo:null").build();
+
+        var result = (RedisDataPersistence) binary.deserialize(binary.serialize(persistence));
+
+        Assertions.assertThat(result.getKey()).isEqualTo("green:renzo:null");
+        Assertions.assertThat(result.getValue()).isNull();
+    }
+
+    @Test
+    void versionRoundTrip(){
+        var persistence = RedisDataPersistence.builder().key("green:renzo:code").value("002").version(300).build();
+
+        var result = (RedisDataPersistence) binary.deserialize(binary.serialize(persistence));
+
+        Assertions.assertThat(result.getValue()).isEqualTo("002");
+        Assertions.assertThat(result.getVersion()).isEqualTo(300);
+    }
+
+    @Test
+    void readVersion1WithoutDataVersion(){
+        // [MAGIC][VERSION 1][TYPE][varint(len+1) key][varint(len+1) value]
+        byte[] bytes = {(byte) 0xC1, 1, 1, 2, 'k', 4, '0', '0', '1'};
+
+        var result = (RedisDataPersistence) binary.deserialize(bytes);
+
+        Assertions.assertThat(result.getKey()).isEqualTo("k");
+        Assertions.assertThat(result.getValue()).isEqualTo("001");
+        Assertions.assertThat(result.getVersion()).isZero();
+    }
+
+    @Test
+    void readLegacyJson(){
+        var persistence = RedisDataPersistence.builder().key("green:renzo:code").value("001").build();
+
+        var result = (RedisDataPersistence) binary.deserialize(json.serialize(persistence));
+
+        Assertions.assertThat(result.getValue()).isEqualTo("001");
+    }
+
+    @Test
+    void otherTypesUseFallback(){
+        Assertions.assertThat(binary.deserialize(binary.serialize("green_val"))).isEqualTo("green_val");
+    }
+
+}
@@ -0,0 +1,203 @@
+package com.renzo.green.service;
+
+import com.renzo.green.config.RedisCacheProperties;
+import com.renzo.green.persistence.RedisDataPersistence;
+import com.renzo.green.serializer.BucketEntrySerializer;
+import com.renzo.green.serializer.RedisDataPersistenceSerializer;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * bucket(hash) 저장을 실제 redis-server 에서 확인합니다. Docker 가 없으면 실행하지 않습니다.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class BucketedStorageTest {
+
+    @Container
+    private static final GenericContainer<?> redis = new GenericContainer<>(DockerImageName.parse("redis:7.2-alpine"))
+            .withExposedPorts(6379);
+
+    private static LettuceConnectionFactory connectionFactory;
+
+    private RedisCacheProperties properties;
+    private RedisTemplate<String, Object> redisTemplate;
+    private BucketedStorage storage;
+
+    @BeforeAll
+    static void connect(){
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(redis.getHost(), redis.getMappedPort(6379)));
+        connectionFactory.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void disconnect(){
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void setUp(){
+        redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(connectionFactory);
+        redisTemplate.setKeySerializer(RedisSerializer.string());
+        redisTemplate.setValueSerializer(new RedisDataPersistenceSerializer(new GenericJackson2JsonRedisSerializer(), true));
+        redisTemplate.afterPropertiesSet();
+        redisTemplate.execute((RedisCallback<Void>) connection -> {
+            connection.serverCommands().flushDb();
+            return null;
+        });
+        properties = new RedisCacheProperties();
+        properties.getBucketStorage().setEnabled(true);
+        properties.getBucketStorage().setBuckets(4);
+        storage = new BucketedStorage(redisTemplate, properties, new RedisProperties());
+    }
+
+    private static RedisDataPersistence persistence(String key, String value) {
+        return RedisDataPersistence.builder().key(key).value(value).build();
+    }
+
+    private void hset(String key, byte[] value) {
+        redisTemplate.execute((RedisCallback<Boolean>) connection -> connection.hashCommands()
+                .hSet(bytes(storage.bucketKey(key)), bytes(key), value));
+    }
+
+    private boolean hexists(String key) {
+        return Boolean.TRUE.equals(redisTemplate.execute((RedisCallback<Boolean>) connection -> connection.hashCommands()
+                .hExists(bytes(storage.bucketKey(key)), bytes(key))));
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void setAndGetThroughBuckets(){
+        storage.set(persistence("green:a", "1"));
+        storage.mSet(List.of(persistence("green:b", "2"), persistence("green:c", "값")));
+
+        Assertions.assertThat(storage.get("green:a").getValue()).isEqualTo("1");
+        Assertions.assertThat(storage.mGet(List.of("green:c", "green:missing", "green:b")))
+                .extracting(result -> result == null ? null : ((RedisDataPersistence) result).getValue())
+                .containsExactly("값", null, "2");
+        Assertions.assertThat(redisTemplate.hasKey("green:a")).isFalse();
+        Assertions.assertThat(hexists("green:a")).isTrue();
+    }
+
+    @Test
+    void readFlatFallback(){
+        redisTemplate.opsForValue().set("green:a", persistence("green:a", "flat"));
+
+        Assertions.assertThat(storage.get("green:a").getValue()).isEqualTo("flat");
+
+        storage.set(persistence("green:a", "bucket"));
+        Assertions.assertThat(storage.get("green:a").getValue()).isEqualTo("bucket");
+
+        properties.getBucketStorage().setReadFlatFallback(false);
+        Assertions.assertThat(storage.get("green:a").getValue()).isEqualTo("bucket");
+        redisTemplate.opsForValue().set("green:b", persistence("green:b", "flat"));
+        Assertions.assertThat(storage.get("green:b")).isNull();
+    }
+
+    @Test
+    void deleteRemovesBucketAndFlatValues(){
+        storage.set(persistence("green:a", "bucket"));
+        redisTemplate.opsForValue().set("green:a", persistence("green:a", "flat"));
+        storage.set(persistence("green:b", "bucket"));
+
+        Assertions.assertThat(storage.delete(List.of("green:a", "green:b", "green:missing"))).isEqualTo(3);
+        Assertions.assertThat(storage.get("green:a")).isNull();
+        Assertions.assertThat(storage.get("green:b")).isNull();
+    }
+
+    @Test
+    void expiredEntryIsFilteredAndPrunedOnRead() throws InterruptedException {
+        // 만료 시각 1(epoch 초)은 이미 지났습니다. bucket 의 만료 값은 flat 값보다 새로운 값이므로 flat 값도 반환하지 않습니다.
+        hset("green:a", BucketEntrySerializer.serialize(persistence("green:a", "expired"), 1));
+        redisTemplate.opsForValue().set("green:a", persistence("green:a", "flat"));
+
+        Assertions.assertThat(storage.get("green:a")).isNull();
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (hexists("green:a") && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assertions.assertThat(hexists("green:a")).isFalse();
+    }
+
+    @Test
+    void ttlIsWrittenIntoEntryAndBucket(){
+        properties.getBucketStorage().setTtl(60L);
+        storage.set(persistence("green:a", "1"));
+
+        Assertions.assertThat(storage.get("green:a").getValue()).isEqualTo("1");
+        Assertions.assertThat(redisTemplate.getExpire(storage.bucketKey("green:a"))).isBetween(1L, 60L);
+    }
+
+    @Test
+    void pruneScriptKeepsRewrittenField() throws IOException {
+        String script = new ClassPathResource("scripts/prune-bucket.lua").getContentAsString(StandardCharsets.UTF_8);
+        byte[] read = BucketEntrySerializer.serialize(persistence("green:a", "old"), 1);
+        byte[] rewritten = BucketEntrySerializer.serialize(persistence("green:a", "new"), 0);
+        hset("green:a", rewritten);
+
+        Long kept = redisTemplate.execute((RedisCallback<Long>) connection -> connection.scriptingCommands()
+                .eval(bytes(script), ReturnType.INTEGER, 1, bytes(storage.bucketKey("green:a")), bytes("green:a"), read));
+        Assertions.assertThat(kept).isZero();
+        Assertions.assertThat(storage.get("green:a").getValue()).isEqualTo("new");
+
+        hset("green:a", read);
+        Long pruned = redisTemplate.execute((RedisCallback<Long>) connection -> connection.scriptingCommands()
+                .eval(bytes(script), ReturnType.INTEGER, 1, bytes(storage.bucketKey("green:a")), bytes("green:a"), read));
+        Assertions.assertThat(pruned).isEqualTo(1);
+        Assertions.assertThat(hexists("green:a")).isFalse();
+    }
+
+    @Test
+    void migrateDoesNotOverwriteNewerBucketValue(){
+        redisTemplate.opsForValue().set("green:a", persistence("green:a", "old"));
+        redisTemplate.opsForValue().set("green:b", persistence("green:b", "flat"));
+        storage.set(persistence("green:a", "new"));
+        String bucketKey = storage.bucketKey("green:a");
+
+        List<Object> results = storage.migrate(List.of("green:a", "green:b", "green:missing", bucketKey), true);
+
+        Assertions.assertThat(results).containsExactly(Boolean.TRUE, Boolean.TRUE, Boolean.FALSE, Boolean.FALSE);
+        Assertions.assertThat(storage.get("green:a").getValue()).isEqualTo("new");
+        Assertions.assertThat(storage.get("green:b").getValue()).isEqualTo("flat");
+        Assertions.assertThat(redisTemplate.hasKey("green:a")).isFalse();
+        Assertions.assertThat(redisTemplate.hasKey("green:b")).isFalse();
+    }
+
+    @Test
+    void scanReturnsMatchingLiveEntries(){
+        storage.mSet(List.of(persistence("green:a", "1"), persistence("green:b", "2"), persistence("other:c", "3")));
+        hset("green:d", BucketEntrySerializer.serialize(persistence("green:d", "expired"), 1));
+
+        List<String> scanned = new ArrayList<>();
+        storage.scan("green:*", 10, persistences -> persistences
+                .forEach(persistence -> scanned.add(persistence.getKey() + "=" + persistence.getValue())));
+
+        Assertions.assertThat(scanned).containsExactlyInAnyOrder("green:a=1", "green:b=2");
+    }
+}
@@ -0,0 +1,233 @@
+package com.renzo.green.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.renzo.green.config.RedisCacheProperties;
+import com.renzo.green.dto.BulkTransferStats;
+import com.renzo.green.dto.RedisBatchResult;
+import com.renzo.green.metrics.RedisMetrics;
+import com.renzo.green.persistence.RedisDataPersistence;
+import io.lettuce.core.KeyScanCursor;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.cluster.api.async.RedisClusterAsyncCommands;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * RedisService 와 SCAN(Cluster 경로)은 mock 으로 대체합니다.
+ * SCAN 은 pages 를 한 page 씩 반환하고, registerBatch/retrieveBatch 로 전달된 batch 는 그대로 기록합니다.
+ */
+class BulkTransferServiceTest {
+
+    private final List<List<String>> imported = new ArrayList<>();
+    private final List<List<String>> exported = new ArrayList<>();
+    private final AtomicInteger scans = new AtomicInteger();
+    private List<List<String>> pages = List.of();
+
+    private RedisCacheProperties properties;
+    private BucketedStorage bucketedStorage;
+    private BulkTransferService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp(){
+        properties = new RedisCacheProperties();
+        properties.getBulk().setImportBatchSize(2);
+        properties.getBulk().setExportBatchSize(2);
+
+        RedisService redisService = Mockito.mock(RedisService.class);
+        Mockito.when(redisService.registerBatch(Mockito.anyList())).thenAnswer(invocation -> {
+            List<RedisDataPersistence> chunk = invocation.getArgument(0);
+            imported.add(chunk.stream().map(persistence -> persistence.getKey() + "=" + persistence.getValue()).toList());
+            return RedisBatchResult.of(chunk.stream()
+                    .map(persistence -> item(persistence.getKey(), persistence.getValue()))
+                    .toList());
+        });
+        Mockito.when(redisService.retrieveBatch(Mockito.anyList())).thenAnswer(invocation -> {
+            List<String> keys = invocation.getArgument(0);
+            exported.add(List.copyOf(keys));
+            return RedisBatchResult.of(keys.stream().map(key -> item(key, "value-" + key)).toList());
+        });
+
+        RedisClusterAsyncCommands<byte[], byte[]> nativeCommands = Mockito.mock(RedisClusterAsyncCommands.class, invocation -> {
+            if (!invocation.getMethod().getName().equals("scan")) {
+                return Mockito.RETURNS_DEFAULTS.answer(invocation);
+            }
+            int page = scans.getAndIncrement();
+            var cursor = new KeyScanCursor<byte[]>();
+            pages.get(page).forEach(key -> cursor.getKeys().add(key.getBytes(StandardCharsets.UTF_8)));
+            cursor.setCursor(String.valueOf(page + 1));
+            cursor.setFinished(page == pages.size() - 1);
+            return future(cursor);
+        });
+        RedisConnection connection = Mockito.mock(RedisConnection.class);
+        Mockito.when(connection.getNativeConnection()).thenReturn(nativeCommands);
+        RedisTemplate<String, Object> redisTemplate = Mockito.mock(RedisTemplate.class);
+        Mockito.when(redisTemplate.execute(Mockito.any(RedisCallback.class)))
+                .thenAnswer(invocation -> ((RedisCallback<?>) invocation.getArgument(0)).doInRedis(connection));
+
+        SlotBatchExecutor slotBatchExecutor = Mockito.mock(SlotBatchExecutor.class);
+        Mockito.when(slotBatchExecutor.isEnabled()).thenReturn(true);
+
+        bucketedStorage = Mockito.mock(BucketedStorage.class);
+        service = new BulkTransferService(redisService, redisTemplate, slotBatchExecutor, bucketedStorage,
+                null, new RedisProperties(), properties, Mockito.mock(RedisMetrics.class), new ObjectMapper(),
+                new SimpleMeterRegistry());
+    }
+
+    private static RedisBatchResult.Item item(String key, String value){
+        return RedisBatchResult.Item.builder().key(key).value(value).status(RedisBatchResult.Status.OK).build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> RedisFuture<V> future(V result){
+        return Mockito.mock(RedisFuture.class, invocation -> invocation.getMethod().getName().equals("get") ?
+                result : Mockito.RETURNS_DEFAULTS.answer(invocation));
+    }
+
+    private BulkTransferStats importNdjson(String body) throws IOException {
+        return service.importNdjson(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void importSkipsBlankAndMalformedLines() throws IOException {
+        BulkTransferStats stats = importNdjson("""
+                {"key":"green:a","value":"1"}
+
+                {"key":"green:b",
+                {"value":"no key"}
+                   \t
+                {"key":"green:c","value":"3"}
+                """);
+
+        Assertions.assertThat(imported).containsExactly(List.of("green:a=1", "green:c=3"));
+        Assertions.assertThat(stats.getSucceeded()).isEqualTo(2);
+        Assertions.assertThat(stats.getMalformed()).isEqualTo(2);
+        Assertions.assertThat(stats.getProcessed()).isEqualTo(4);
+        Assertions.assertThat(stats.getErrors()).hasSize(2);
+        Assertions.assertThat(stats.getErrors().get(0)).startsWith("line 3 : ");
+        Assertions.assertThat(stats.getErrors().get(1)).isEqualTo("line 4 : key is required");
+        Assertions.assertThat(stats.isRunning()).isFalse();
+    }
+
+    @Test
+    void importWritesPartialLastChunk() throws IOException {
+        // 마지막 줄은 개행 없이 끝납니다.
+        BulkTransferStats stats = importNdjson("""
+                {"key":"green:a","value":"1"}
+                {"key":"green:b","value":"2"}
+                {"key":"green:c","value":"3"}
+                {"key":"green:d","value":"4"}
+                {"key":"green:e","value":"5"}""");
+
+        Assertions.assertThat(imported).containsExactly(
+                List.of("green:a=1", "green:b=2"),
+                List.of("green:c=3", "green:d=4"),
+                List.of("green:e=5"));
+        Assertions.assertThat(stats.getSucceeded()).isEqualTo(5);
+        Assertions.assertThat(stats.getMalformed()).isZero();
+    }
+
+    @Test
+    void importBatchSizeIsLimitedByBatchMaxSize() throws IOException {
+        properties.getBulk().setImportBatchSize(500);
+        properties.getBatch().setMaxSize(3);
+
+        importNdjson("""
+                {"key":"green:a","value":"1"}
+                {"key":"green:b","value":"2"}
+                {"key":"green:c","value":"3"}
+                {"key":"green:d","value":"4"}
+                """);
+
+        Assertions.assertThat(imported).extracting(List::size).containsExactly(3, 1);
+    }
+
+    @Test
+    void keyBatcherFlushesOnBatchSizeAndOnFlush(){
+        List<List<String>> batches = new ArrayList<>();
+        var batcher = new BulkTransferService.KeyBatcher(2, batches::add);
+
+        batcher.add("a");
+        Assertions.assertThat(batches).isEmpty();
+        batcher.addAll(List.of("b", "c", "d", "e"));
+        Assertions.assertThat(batches).containsExactly(List.of("a", "b"), List.of("c", "d"));
+
+        batcher.flush();
+        batcher.flush();
+        Assertions.assertThat(batches).containsExactly(List.of("a", "b"), List.of("c", "d"), List.of("e"));
+    }
+
+    @Test
+    void exportBatchesKeysAcrossScanPages() throws IOException {
+        pages = List.of(List.of("green:a", "green:b", "green:c"), List.of(), List.of("green:d"));
+        var out = new ByteArrayOutputStream();
+
+        BulkTransferStats stats = service.export("green:*", out);
+
+        Assertions.assertThat(scans.get()).isEqualTo(3);
+        Assertions.assertThat(exported).containsExactly(List.of("green:a", "green:b"), List.of("green:c", "green:d"));
+        Assertions.assertThat(out.toString(StandardCharsets.UTF_8).lines().toList()).hasSize(4)
+                .first().asString().contains("\"key\":\"green:a\"").contains("\"value\":\"value-green:a\"");
+        Assertions.assertThat(stats.getSucceeded()).isEqualTo(4);
+    }
+
+    @Test
+    void exportStopsWhenClientDisconnects(){
+        pages = List.of(List.of("green:a", "green:b"), List.of("green:c", "green:d"), List.of("green:e"));
+        var disconnected = new IOException("Broken pipe");
+        OutputStream out = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw disconnected;
+            }
+        };
+
+        Assertions.assertThatThrownBy(() -> service.export("green:*", out)).isSameAs(disconnected);
+        Assertions.assertThat(exported).containsExactly(List.of("green:a", "green:b"));
+        Assertions.assertThat(scans.get()).isEqualTo(1);
+        Assertions.assertThat(service.transfers()).first()
+                .satisfies(stats -> Assertions.assertThat(stats.isRunning()).isFalse());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void exportReadsBucketsAndUnmigratedFlatKeys() throws IOException {
+        Mockito.when(bucketedStorage.isEnabled()).thenReturn(true);
+        Mockito.when(bucketedStorage.isReadFlatFallback()).thenReturn(true);
+        Mockito.when(bucketedStorage.isBucketKey(Mockito.anyString()))
+                .thenAnswer(invocation -> invocation.<String>getArgument(0).startsWith("green:bucket:"));
+        Mockito.doAnswer(invocation -> {
+            Consumer<List<RedisDataPersistence>> consumer = invocation.getArgument(2);
+            consumer.accept(List.of(RedisDataPersistence.builder().key("green:a").value("1").build(),
+                    RedisDataPersistence.builder().key("green:b").value("2").build()));
+            consumer.accept(List.of(RedisDataPersistence.builder().key("green:c").value("3").build()));
+            return null;
+        }).when(bucketedStorage).scan(Mockito.eq("green:*"), Mockito.anyInt(), Mockito.any(Consumer.class));
+        // bucket hash 자체는 flat SCAN 에서 제외합니다.
+        pages = List.of(List.of("green:bucket:1", "green:d"), List.of("green:bucket:2"));
+        var out = new ByteArrayOutputStream();
+
+        BulkTransferStats stats = service.export("green:*", out);
+
+        Assertions.assertThat(out.toString(StandardCharsets.UTF_8).lines().toList()).hasSize(4);
+        Assertions.assertThat(exported).containsExactly(List.of("green:d"));
+        Assertions.assertThat(stats.getSucceeded()).isEqualTo(4);
+    }
+}
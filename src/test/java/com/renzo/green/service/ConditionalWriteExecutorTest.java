@@ -0,0 +1,210 @@
+package com.renzo.green.service;
+
+import com.renzo.green.config.RedisCacheProperties;
+import com.renzo.green.dto.ConditionalWriteResult;
+import com.renzo.green.persistence.RedisDataPersistence;
+import com.renzo.green.serializer.RedisDataPersistenceSerializer;
+import io.lettuce.core.RedisCommandExecutionException;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.List;
+
+/**
+ * Lua script(record.lua 와 각 조건부 쓰기 script)를 실제 redis-server 에서 실행하여
+ * RedisDataPersistenceSerializer 와 같은 형식으로 읽고 기록하는지 확인합니다. Docker 가 없으면 실행하지 않습니다.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ConditionalWriteExecutorTest {
+
+    @Container
+    private static final GenericContainer<?> redis = new GenericContainer<>(DockerImageName.parse("redis:7.2-alpine"))
+            .withExposedPorts(6379);
+
+    private static LettuceConnectionFactory connectionFactory;
+
+    private final RedisDataPersistenceSerializer binary =
+            new RedisDataPersistenceSerializer(new GenericJackson2JsonRedisSerializer(), true);
+    private final RedisDataPersistenceSerializer json =
+            new RedisDataPersistenceSerializer(new GenericJackson2JsonRedisSerializer(), false);
+
+    private RedisTemplate<String, Object> redisTemplate;
+    private ConditionalWriteExecutor executor;
+
+    @BeforeAll
+    static void connect(){
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(redis.getHost(), redis.getMappedPort(6379)));
+        connectionFactory.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void disconnect(){
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void setUp(){
+        redisTemplate = template(binary);
+        redisTemplate.execute((RedisCallback<Void>) connection -> {
+            connection.serverCommands().flushDb();
+            return null;
+        });
+        executor = new ConditionalWriteExecutor(redisTemplate, new RedisProperties(),
+                new KeyIndex(redisTemplate, new RedisCacheProperties()));
+    }
+
+    private static RedisTemplate<String, Object> template(RedisSerializer<Object> valueSerializer) {
+        RedisTemplate<String, Object> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(RedisSerializer.string());
+        template.setValueSerializer(valueSerializer);
+        template.afterPropertiesSet();
+        return template;
+    }
+
+    private static RedisDataPersistence persistence(String key, String value, long version) {
+        return RedisDataPersistence.builder().key(key).value(value).version(version).build();
+    }
+
+    private Object execute(ConditionalWriteExecutor.Operation operation, String key, String... args) {
+        return executor.execute(operation, List.of(new ConditionalWriteExecutor.Command(key, args))).get(0);
+    }
+
+    private RedisDataPersistence stored(String key) {
+        return (RedisDataPersistence) redisTemplate.opsForValue().get(key);
+    }
+
+    @Test
+    void scriptReadsAndWritesJavaBinaryFormat(){
+        // varint 길이가 2 byte 이상이 되도록 128 byte 를 넘는 multi-byte UTF-8 값을 사용합니다.
+        String value = "값".repeat(100);
+        redisTemplate.opsForValue().set("green:a", persistence("green:a", value, 300));
+
+        var result = (ConditionalWriteResult) execute(ConditionalWriteExecutor.Operation.COMPARE_AND_SET,
+                "green:a", value + "!", "300");
+
+        Assertions.assertThat(result.isApplied()).isTrue();
+        Assertions.assertThat(result.getVersion()).isEqualTo(301);
+        RedisDataPersistence stored = stored("green:a");
+        Assertions.assertThat(stored.getKey()).isEqualTo("green:a");
+        Assertions.assertThat(stored.getValue()).isEqualTo(value + "!");
+        Assertions.assertThat(stored.getVersion()).isEqualTo(301);
+        Assertions.assertThat(redisTemplate.execute((RedisCallback<byte[]>) connection -> connection.stringCommands()
+                .get("green:a".getBytes()))).isEqualTo(binary.serialize(stored));
+    }
+
+    @Test
+    void scriptReadsJavaJsonFormat(){
+        template(json).opsForValue().set("green:a", persistence("green:a", "json", 2));
+
+        var conflict = (ConditionalWriteResult) execute(ConditionalWriteExecutor.Operation.SET_IF_ABSENT,
+                "green:a", "other");
+        Assertions.assertThat(conflict.getVersion()).isEqualTo(2);
+        Assertions.assertThat(conflict.getValue()).isEqualTo("json");
+
+        var result = (ConditionalWriteResult) execute(ConditionalWriteExecutor.Operation.COMPARE_AND_SET,
+                "green:a", "binary", "2");
+        Assertions.assertThat(result.isApplied()).isTrue();
+        Assertions.assertThat(stored("green:a").getValue()).isEqualTo("binary");
+        Assertions.assertThat(stored("green:a").getVersion()).isEqualTo(3);
+    }
+
+    @Test
+    void setIfAbsentReturnsCurrentValueOnConflict(){
+        var first = (ConditionalWriteResult) execute(ConditionalWriteExecutor.Operation.SET_IF_ABSENT, "green:a", "1");
+        var second = (ConditionalWriteResult) execute(ConditionalWriteExecutor.Operation.SET_IF_ABSENT, "green:a", "2");
+
+        Assertions.assertThat(first.isApplied()).isTrue();
+        Assertions.assertThat(first.getVersion()).isEqualTo(1);
+        Assertions.assertThat(second.isApplied()).isFalse();
+        Assertions.assertThat(second.getVersion()).isEqualTo(1);
+        Assertions.assertThat(second.getValue()).isEqualTo("1");
+        Assertions.assertThat(stored("green:a").getValue()).isEqualTo("1");
+    }
+
+    @Test
+    void compareAndSetRejectsVersionMismatch(){
+        redisTemplate.opsForValue().set("green:a", persistence("green:a", "1", 1));
+
+        var result = (ConditionalWriteResult) execute(ConditionalWriteExecutor.Operation.COMPARE_AND_SET,
+                "green:a", "2", "5");
+
+        Assertions.assertThat(result.isApplied()).isFalse();
+        Assertions.assertThat(result.getVersion()).isEqualTo(1);
+        Assertions.assertThat(result.getValue()).isEqualTo("1");
+        Assertions.assertThat(stored("green:a").getVersion()).isEqualTo(1);
+    }
+
+    @Test
+    void compareAndSetTreatsMissingKeyAsVersionZero(){
+        var mismatch = (ConditionalWriteResult) execute(ConditionalWriteExecutor.Operation.COMPARE_AND_SET,
+                "green:a", "1", "1");
+        Assertions.assertThat(mismatch.isApplied()).isFalse();
+        Assertions.assertThat(mismatch.getVersion()).isZero();
+        Assertions.assertThat(mismatch.getValue()).isNull();
+        Assertions.assertThat(redisTemplate.hasKey("green:a")).isFalse();
+
+        var created = (ConditionalWriteResult) execute(ConditionalWriteExecutor.Operation.COMPARE_AND_SET,
+                "green:a", "1", "0");
+        Assertions.assertThat(created.isApplied()).isTrue();
+        Assertions.assertThat(created.getVersion()).isEqualTo(1);
+        Assertions.assertThat(stored("green:a").getValue()).isEqualTo("1");
+    }
+
+    @Test
+    void incrementStartsFromZero(){
+        execute(ConditionalWriteExecutor.Operation.INCREMENT, "green:a", "5");
+        var result = (ConditionalWriteResult) execute(ConditionalWriteExecutor.Operation.INCREMENT, "green:a", "-7");
+
+        Assertions.assertThat(result.getVersion()).isEqualTo(2);
+        Assertions.assertThat(result.getValue()).isEqualTo("-2");
+        Assertions.assertThat(stored("green:a").getValue()).isEqualTo("-2");
+    }
+
+    @Test
+    void incrementRejectsNonIntegerValue(){
+        redisTemplate.opsForValue().set("green:a", persistence("green:a", "abc", 0));
+        redisTemplate.opsForValue().set("green:b", persistence("green:b", "1.5", 0));
+
+        Assertions.assertThat(execute(ConditionalWriteExecutor.Operation.INCREMENT, "green:a", "1"))
+                .isInstanceOf(RedisCommandExecutionException.class)
+                .asString().contains("not an integer");
+        Assertions.assertThat(execute(ConditionalWriteExecutor.Operation.INCREMENT, "green:b", "1"))
+                .isInstanceOf(RedisCommandExecutionException.class);
+        Assertions.assertThat(stored("green:a").getValue()).isEqualTo("abc");
+    }
+
+    @Test
+    void batchReturnsResultPerKey(){
+        redisTemplate.opsForValue().set("green:b", persistence("green:b", "abc", 0));
+        redisTemplate.opsForValue().set("green:c", persistence("green:c", "10", 4));
+
+        List<Object> results = executor.execute(ConditionalWriteExecutor.Operation.INCREMENT, List.of(
+                new ConditionalWriteExecutor.Command("green:a", "1"),
+                new ConditionalWriteExecutor.Command("green:b", "1"),
+                new ConditionalWriteExecutor.Command("green:c", "1")));
+
+        Assertions.assertThat(results).hasSize(3);
+        Assertions.assertThat(((ConditionalWriteResult) results.get(0)).getKey()).isEqualTo("green:a");
+        Assertions.assertThat(((ConditionalWriteResult) results.get(0)).getValue()).isEqualTo("1");
+        Assertions.assertThat(results.get(1)).isInstanceOf(RedisCommandExecutionException.class);
+        Assertions.assertThat(((ConditionalWriteResult) results.get(2)).getKey()).isEqualTo("green:c");
+        Assertions.assertThat(((ConditionalWriteResult) results.get(2)).getValue()).isEqualTo("11");
+        Assertions.assertThat(((ConditionalWriteResult) results.get(2)).getVersion()).isEqualTo(5);
+    }
+}
@@ -0,0 +1,199 @@
+package com.renzo.green.service;
+
+import com.renzo.green.cache.HotKeyDetector;
+import com.renzo.green.cache.NearCache;
+import com.renzo.green.cache.SingleFlight;
+import com.renzo.green.config.RedisCacheProperties;
+import com.renzo.green.dto.RedisBatchResult;
+import com.renzo.green.dto.RedisKeyPage;
+import com.renzo.green.metrics.RedisMetrics;
+import com.renzo.green.persistence.RedisDataPersistence;
+import com.renzo.green.resilience.PendingWriteQueue;
+import com.renzo.green.resilience.RedisCircuitBreaker;
+import com.renzo.green.resilience.StaleValueStore;
+import com.renzo.green.routing.SessionConsistency;
+import com.renzo.green.serializer.RedisDataPersistenceSerializer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * key index script(set-indexed, delete-indexed, prune-index.lua)와 prefix 조회를 실제 redis-server 에서 확인합니다.
+ * Docker 가 없으면 실행하지 않습니다.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class KeyIndexScriptTest {
+
+    private static final String INDEX_KEY = "green:index:green:renzo";
+
+    @Container
+    private static final GenericContainer<?> redis = new GenericContainer<>(DockerImageName.parse("redis:7.2-alpine"))
+            .withExposedPorts(6379);
+
+    private static LettuceConnectionFactory connectionFactory;
+
+    private RedisTemplate<String, Object> redisTemplate;
+    private KeyIndex keyIndex;
+    private RedisService redisService;
+
+    @BeforeAll
+    static void connect(){
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(redis.getHost(), redis.getMappedPort(6379)));
+        connectionFactory.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void disconnect(){
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void setUp(){
+        redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(connectionFactory);
+        redisTemplate.setKeySerializer(RedisSerializer.string());
+        redisTemplate.setValueSerializer(new RedisDataPersistenceSerializer(new GenericJackson2JsonRedisSerializer(), true));
+        redisTemplate.afterPropertiesSet();
+        redisTemplate.execute((RedisCallback<Void>) connection -> {
+            connection.serverCommands().flushDb();
+            return null;
+        });
+
+        var properties = new RedisCacheProperties();
+        properties.getKeyIndex().setEnabled(true);
+        keyIndex = new KeyIndex(redisTemplate, properties);
+        // findByPrefix 가 사용하지 않는 Near Cache, Write-Behind, session 은 mock 으로 대체합니다.
+        redisService = new RedisService(redisTemplate, Mockito.mock(NearCache.class), properties,
+                Mockito.mock(WriteBehindBuffer.class), new RedisMetrics(new SimpleMeterRegistry()),
+                new SingleFlight<>("test", false, 1000),
+                new SlotBatchExecutor(redisTemplate, properties, new RedisProperties()),
+                new HotKeyDetector(properties), new RedisCircuitBreaker(properties), new StaleValueStore(properties),
+                new PendingWriteQueue(properties),
+                new ConditionalWriteExecutor(redisTemplate, new RedisProperties(), keyIndex),
+                new BucketedStorage(redisTemplate, properties, new RedisProperties()), keyIndex,
+                Mockito.mock(SessionConsistency.class));
+    }
+
+    private static RedisDataPersistence persistence(String key, String value) {
+        return RedisDataPersistence.builder().key(key).value(value).build();
+    }
+
+    private void set(String... keys) {
+        List<RedisDataPersistence> persistences = new ArrayList<>();
+        for (String key : keys) {
+            persistences.add(persistence(key, key.substring(key.lastIndexOf(':') + 1)));
+        }
+        keyIndex.set(persistences);
+    }
+
+    private List<String> indexed(String indexKey) {
+        Set<byte[]> members = redisTemplate.execute((RedisCallback<Set<byte[]>>) connection -> connection.zSetCommands()
+                .zRange(indexKey.getBytes(StandardCharsets.UTF_8), 0, -1));
+        return members.stream().map(member -> new String(member, StandardCharsets.UTF_8)).toList();
+    }
+
+    @Test
+    void setWritesValueAndIndex(){
+        set("green:renzo:b", "green:renzo:a", "green:renzo:x:y", "green");
+
+        Assertions.assertThat(((RedisDataPersistence) redisTemplate.opsForValue().get("green:renzo:a")).getValue())
+                .isEqualTo("a");
+        Assertions.assertThat(indexed(INDEX_KEY)).containsExactly("green:renzo:a", "green:renzo:b");
+        Assertions.assertThat(indexed("green:index:green:renzo:x")).containsExactly("green:renzo:x:y");
+        Assertions.assertThat(indexed("green:index:")).containsExactly("green");
+    }
+
+    @Test
+    void findByPrefixPagesWithExclusiveCursor(){
+        set("green:renzo:e", "green:renzo:d", "green:renzo:c", "green:renzo:b", "green:renzo:a",
+                "green:renzo:x:y", "green:renzoz:a");
+
+        RedisKeyPage first = redisService.findByPrefix("green:renzo:", null, 2, false);
+        Assertions.assertThat(first.getKeys()).containsExactly("green:renzo:a", "green:renzo:b");
+        Assertions.assertThat(first.getNextCursor()).isEqualTo("green:renzo:b");
+
+        RedisKeyPage second = redisService.findByPrefix("green:renzo:", first.getNextCursor(), 2, true);
+        Assertions.assertThat(second.getKeys()).containsExactly("green:renzo:c", "green:renzo:d");
+        Assertions.assertThat(second.getResults()).extracting(RedisBatchResult.Item::getValue).containsExactly("c", "d");
+        Assertions.assertThat(second.getNextCursor()).isEqualTo("green:renzo:d");
+
+        RedisKeyPage last = redisService.findByPrefix("green:renzo:", second.getNextCursor(), 2, false);
+        Assertions.assertThat(last.getKeys()).containsExactly("green:renzo:e");
+        Assertions.assertThat(last.getNextCursor()).isNull();
+    }
+
+    @Test
+    void findByPrefixMatchesPartialLastSegment(){
+        set("green:renzo:a", "green:renzo:b", "green:renzo:bb", "green:renzo:c");
+
+        Assertions.assertThat(redisService.findByPrefix("green:renzo:b", null, 10, false).getKeys())
+                .containsExactly("green:renzo:b", "green:renzo:bb");
+        Assertions.assertThat(redisService.findByPrefix("green:renzo:b", "green:renzo:b", 10, false).getKeys())
+                .containsExactly("green:renzo:bb");
+    }
+
+    @Test
+    void findByPrefixPrunesMissingKeys(){
+        set("green:renzo:a", "green:renzo:b", "green:renzo:c");
+        // TTL 만료처럼 script 를 거치지 않고 값만 사라진 경우입니다.
+        redisTemplate.delete("green:renzo:b");
+
+        RedisKeyPage page = redisService.findByPrefix("green:renzo:", null, 10, true);
+
+        Assertions.assertThat(page.getKeys()).containsExactly("green:renzo:a", "green:renzo:c");
+        Assertions.assertThat(page.getResults()).extracting(RedisBatchResult.Item::getStatus)
+                .containsOnly(RedisBatchResult.Status.OK);
+        Assertions.assertThat(indexed(INDEX_KEY)).containsExactly("green:renzo:a", "green:renzo:c");
+    }
+
+    @Test
+    void deleteRemovesValueAndIndex(){
+        set("green:renzo:a", "green:renzo:b");
+
+        Assertions.assertThat(keyIndex.delete(List.of("green:renzo:a", "green:renzo:missing"))).isEqualTo(1);
+        Assertions.assertThat(redisTemplate.hasKey("green:renzo:a")).isFalse();
+        Assertions.assertThat(indexed(INDEX_KEY)).containsExactly("green:renzo:b");
+
+        Assertions.assertThat(redisService.deleteBatch(List.of("green:renzo:b"))).isEqualTo(1);
+        Assertions.assertThat(indexed(INDEX_KEY)).isEmpty();
+        Assertions.assertThat(redisService.findByPrefix("green:renzo:", null, 10, false).getKeys()).isEmpty();
+    }
+
+    @Test
+    void pruneKeepsKeyRewrittenAfterRead(){
+        set("green:renzo:a", "green:renzo:b");
+        redisTemplate.delete(List.of("green:renzo:a", "green:renzo:b"));
+        Assertions.assertThat(redisService.retrieveBatch(List.of("green:renzo:a", "green:renzo:b")).getResults())
+                .extracting(RedisBatchResult.Item::getStatus)
+                .containsExactly(RedisBatchResult.Status.MISSING, RedisBatchResult.Status.MISSING);
+
+        // MISSING 으로 읽은 뒤 prune 전에 다른 요청이 다시 기록한 경우입니다.
+        set("green:renzo:a");
+
+        Assertions.assertThat(keyIndex.prune(List.of("green:renzo:a", "green:renzo:b"))).isEqualTo(1);
+        Assertions.assertThat(indexed(INDEX_KEY)).containsExactly("green:renzo:a");
+        Assertions.assertThat(redisService.findByPrefix("green:renzo:", null, 10, true).getResults())
+                .extracting(RedisBatchResult.Item::getValue).containsExactly("a");
+    }
+}
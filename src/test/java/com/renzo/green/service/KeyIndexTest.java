@@ -0,0 +1,36 @@
+package com.renzo.green.service;
+
+import com.renzo.green.config.RedisCacheProperties;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class KeyIndexTest {
+
+    private final KeyIndex keyIndex = new KeyIndex(null, new RedisCacheProperties());
+
+    @Test
+    void indexKeyIsNamespace(){
+        Assertions.assertThat(keyIndex.indexKey("green:renzo:code")).isEqualTo("green:index:green:renzo");
+        Assertions.assertThat(keyIndex.indexKey("green:renzo:")).isEqualTo("green:index:green:renzo");
+        Assertions.assertThat(keyIndex.indexKey("green:renzo:co")).isEqualTo("green:index:green:renzo");
+        Assertions.assertThat(keyIndex.indexKey("green")).isEqualTo("green:index:");
+    }
+
+    @Test
+    void successor(){
+        Assertions.assertThat(KeyIndex.successor(new byte[]{'a', 'b'})).containsExactly('a', 'c');
+        Assertions.assertThat(KeyIndex.successor(new byte[]{'a', (byte) 0xFF})).containsExactly('b');
+        Assertions.assertThat(KeyIndex.successor(new byte[]{(byte) 0xFF})).isNull();
+        Assertions.assertThat(KeyIndex.successor(new byte[0])).isNull();
+    }
+
+    @Test
+    void clusterTopologyIsRejected(){
+        var properties = new RedisCacheProperties();
+        properties.getKeyIndex().setEnabled(true);
+        properties.setTopology(RedisCacheProperties.Topology.CLUSTER);
+
+        Assertions.assertThatThrownBy(() -> new KeyIndex(null, properties))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,97 @@
+package com.renzo.green.service;
+
+import com.renzo.green.cache.HotKeyDetector;
+import com.renzo.green.cache.NearCache;
+import com.renzo.green.config.RedisCacheProperties;
+import com.renzo.green.dto.RedisBatchResult;
+import com.renzo.green.metrics.RedisMetrics;
+import com.renzo.green.persistence.RedisDataPersistence;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * ReactiveRedisService 의 stream 조회가 응답 순서와 관계없이 요청 순서대로 key 별 결과를 반환하는지 확인합니다.
+ * Redis 응답은 mock ReactiveRedisTemplate 으로 대체합니다.
+ */
+class ReactiveRedisServiceTest {
+
+    private RedisCacheProperties properties;
+    private ReactiveValueOperations<String, Object> valueOperations;
+    private WriteBehindBuffer writeBehindBuffer;
+    private ReactiveRedisService reactiveRedisService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp(){
+        properties = new RedisCacheProperties();
+        properties.getBatch().setMaxSize(4);
+        valueOperations = Mockito.mock(ReactiveValueOperations.class);
+        ReactiveRedisTemplate<String, Object> reactiveRedisTemplate = Mockito.mock(ReactiveRedisTemplate.class);
+        Mockito.doReturn(valueOperations).when(reactiveRedisTemplate).opsForValue();
+        writeBehindBuffer = Mockito.mock(WriteBehindBuffer.class);
+        reactiveRedisService = new ReactiveRedisService(reactiveRedisTemplate, Mockito.mock(ReactiveStringRedisTemplate.class),
+                Mockito.mock(NearCache.class), properties, writeBehindBuffer, new RedisMetrics(new SimpleMeterRegistry()),
+                new HotKeyDetector(properties), Mockito.mock(BucketedStorage.class), Mockito.mock(KeyIndex.class));
+    }
+
+    private static RedisDataPersistence persistence(String key, String value) {
+        return RedisDataPersistence.builder().key(key).value(value).build();
+    }
+
+    @Test
+    void retrieveStreamKeepsRequestOrder(){
+        // 앞선 key 의 응답이 더 늦게 도착하도록 지연시킵니다.
+        Mockito.doReturn(Mono.just(persistence("green:a", "1")).delayElement(Duration.ofMillis(100)))
+                .when(valueOperations).get("green:a");
+        Mockito.doReturn(Mono.empty()).when(valueOperations).get("green:b");
+        Mockito.doReturn(Mono.error(new RedisSystemException("timeout", null))).when(valueOperations).get("green:c");
+        Mockito.doReturn(Mono.just(persistence("green:d", "4"))).when(valueOperations).get("green:d");
+
+        List<RedisBatchResult.Item> items = reactiveRedisService
+                .retrieveStream(List.of("green:a", "green:b", "green:c", "green:d"))
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        Assertions.assertThat(items).extracting(RedisBatchResult.Item::getKey)
+                .containsExactly("green:a", "green:b", "green:c", "green:d");
+        Assertions.assertThat(items).extracting(RedisBatchResult.Item::getStatus).containsExactly(
+                RedisBatchResult.Status.OK, RedisBatchResult.Status.MISSING,
+                RedisBatchResult.Status.FAILED, RedisBatchResult.Status.OK);
+        Assertions.assertThat(items).extracting(RedisBatchResult.Item::getValue).containsExactly("1", null, null, "4");
+        Assertions.assertThat(items.get(2).getError()).isEqualTo("timeout");
+    }
+
+    @Test
+    void retrieveStreamReadsPendingWriteBehindValue(){
+        Mockito.when(writeBehindBuffer.isEnabled()).thenReturn(true);
+        Mockito.when(writeBehindBuffer.peek("green:a")).thenReturn(persistence("green:a", "pending"));
+
+        List<RedisBatchResult.Item> items = reactiveRedisService.retrieveStream(List.of("green:a"))
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        Assertions.assertThat(items).extracting(RedisBatchResult.Item::getValue).containsExactly("pending");
+        Mockito.verifyNoInteractions(valueOperations);
+    }
+
+    @Test
+    void retrieveStreamAboveMaxSizeIsRejected(){
+        List<String> keys = List.of("green:a", "green:b", "green:c", "green:d", "green:e");
+
+        Assertions.assertThatThrownBy(() -> reactiveRedisService.retrieveStream(keys))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("exceeds max size 4");
+        Mockito.verifyNoInteractions(valueOperations);
+    }
+}
@@ -0,0 +1,174 @@
+package com.renzo.green.service;
+
+import com.renzo.green.cache.HotKeyDetector;
+import com.renzo.green.cache.NearCache;
+import com.renzo.green.cache.SingleFlight;
+import com.renzo.green.config.RedisCacheProperties;
+import com.renzo.green.dto.RedisBatchResult;
+import com.renzo.green.metrics.RedisMetrics;
+import com.renzo.green.persistence.RedisDataPersistence;
+import com.renzo.green.resilience.PendingWriteQueue;
+import com.renzo.green.resilience.RedisCircuitBreaker;
+import com.renzo.green.resilience.StaleValueStore;
+import com.renzo.green.routing.SessionConsistency;
+import com.renzo.green.serializer.RedisDataPersistenceSerializer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.connection.RedisPipelineException;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * RedisService 의 다건 등록/조회/삭제가 key 별 결과(OK, MISSING, FAILED)를 요청 순서대로 반환하는지 확인합니다.
+ * Redis 응답은 mock RedisTemplate 으로 대체합니다.
+ */
+class RedisServiceBatchTest {
+
+    private final RedisDataPersistenceSerializer serializer =
+            new RedisDataPersistenceSerializer(new GenericJackson2JsonRedisSerializer(), true);
+
+    private RedisCacheProperties properties;
+    private RedisTemplate<String, Object> redisTemplate;
+    private NearCache nearCache;
+    private WriteBehindBuffer writeBehindBuffer;
+    private RedisService redisService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp(){
+        properties = new RedisCacheProperties();
+        properties.getBatch().setMaxSize(3);
+        redisTemplate = Mockito.mock(RedisTemplate.class);
+        Mockito.doReturn(serializer).when(redisTemplate).getValueSerializer();
+        nearCache = Mockito.mock(NearCache.class);
+        writeBehindBuffer = Mockito.mock(WriteBehindBuffer.class);
+        var keyIndex = new KeyIndex(redisTemplate, properties);
+        redisService = new RedisService(redisTemplate, nearCache, properties, writeBehindBuffer,
+                new RedisMetrics(new SimpleMeterRegistry()), new SingleFlight<>("test", false, 1000),
+                new SlotBatchExecutor(redisTemplate, properties, new RedisProperties()),
+                new HotKeyDetector(properties), new RedisCircuitBreaker(properties), new StaleValueStore(properties),
+                new PendingWriteQueue(properties),
+                new ConditionalWriteExecutor(redisTemplate, new RedisProperties(), keyIndex),
+                new BucketedStorage(redisTemplate, properties, new RedisProperties()), keyIndex,
+                Mockito.mock(SessionConsistency.class));
+    }
+
+    private static RedisDataPersistence persistence(String key, String value) {
+        return RedisDataPersistence.builder().key(key).value(value).build();
+    }
+
+    private static List<RedisBatchResult.Status> statuses(RedisBatchResult result) {
+        return result.getResults().stream().map(RedisBatchResult.Item::getStatus).toList();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void registerBatchMapsPipelineResultPerKey(){
+        Mockito.doReturn(Arrays.asList(Boolean.TRUE, new RedisSystemException("WRONGTYPE", null), Boolean.TRUE))
+                .when(redisTemplate).executePipelined(Mockito.any(SessionCallback.class));
+
+        RedisBatchResult result = redisService.registerBatch(List.of(
+                persistence("green:a", "1"), persistence("green:b", "2"), persistence("green:c", "3")));
+
+        Assertions.assertThat(result.getResults()).extracting(RedisBatchResult.Item::getKey)
+                .containsExactly("green:a", "green:b", "green:c");
+        Assertions.assertThat(statuses(result)).containsExactly(
+                RedisBatchResult.Status.OK, RedisBatchResult.Status.FAILED, RedisBatchResult.Status.OK);
+        Assertions.assertThat(result.getResults().get(1).getError()).isEqualTo("WRONGTYPE");
+        Mockito.verify(nearCache).invalidate(List.of("green:a", "green:b", "green:c"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void registerBatchUsesPartialResultOfFailedPipeline(){
+        Mockito.doThrow(new RedisPipelineException(new IllegalStateException("closed"),
+                        Arrays.<Object>asList(Boolean.TRUE, new IllegalStateException("closed"))))
+                .when(redisTemplate).executePipelined(Mockito.any(SessionCallback.class));
+
+        RedisBatchResult result = redisService.registerBatch(List.of(
+                persistence("green:a", "1"), persistence("green:b", "2")));
+
+        Assertions.assertThat(statuses(result)).containsExactly(RedisBatchResult.Status.OK, RedisBatchResult.Status.FAILED);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void registerBatchWritesBufferOverflowDirectly(){
+        Mockito.when(writeBehindBuffer.isEnabled()).thenReturn(true);
+        Mockito.when(writeBehindBuffer.offer(Mockito.argThat(persistence -> persistence.getKey().equals("green:a"))))
+                .thenReturn(true);
+        Mockito.doReturn(List.of(Boolean.TRUE)).when(redisTemplate).executePipelined(Mockito.any(SessionCallback.class));
+
+        RedisBatchResult result = redisService.registerBatch(List.of(
+                persistence("green:a", "1"), persistence("green:b", "2")));
+
+        Assertions.assertThat(result.getResults()).extracting(RedisBatchResult.Item::getKey)
+                .containsExactly("green:a", "green:b");
+        Assertions.assertThat(statuses(result)).containsOnly(RedisBatchResult.Status.OK);
+        Mockito.verify(redisTemplate, Mockito.times(1)).executePipelined(Mockito.any(SessionCallback.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void retrieveBatchMapsValuePerKey(){
+        Mockito.doReturn(Arrays.asList(serializer.serialize(persistence("green:a", "1")), null,
+                        "not json".getBytes(StandardCharsets.UTF_8)))
+                .when(redisTemplate).execute(Mockito.any(RedisCallback.class));
+
+        RedisBatchResult result = redisService.retrieveBatch(List.of("green:a", "green:b", "green:c"));
+
+        Assertions.assertThat(result.getResults()).extracting(RedisBatchResult.Item::getKey)
+                .containsExactly("green:a", "green:b", "green:c");
+        Assertions.assertThat(statuses(result)).containsExactly(
+                RedisBatchResult.Status.OK, RedisBatchResult.Status.MISSING, RedisBatchResult.Status.FAILED);
+        Assertions.assertThat(result.getResults().get(0).getValue()).isEqualTo("1");
+        Assertions.assertThat(result.getResults().get(2).getError()).isNotNull();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void retrieveBatchFailsEveryKeyWhenMgetFails(){
+        Mockito.doThrow(new RedisSystemException("timeout", null))
+                .when(redisTemplate).execute(Mockito.any(RedisCallback.class));
+
+        RedisBatchResult result = redisService.retrieveBatch(List.of("green:a", "green:b"));
+
+        Assertions.assertThat(statuses(result)).containsExactly(RedisBatchResult.Status.FAILED, RedisBatchResult.Status.FAILED);
+        Assertions.assertThat(result.getResults()).extracting(RedisBatchResult.Item::getError).containsOnly("timeout");
+    }
+
+    @Test
+    void deleteBatchReturnsDeletedCount(){
+        Mockito.doReturn(1L).when(redisTemplate).delete(Mockito.anyCollection());
+
+        Assertions.assertThat(redisService.deleteBatch(List.of("green:a", "green:b"))).isEqualTo(1);
+        Mockito.verify(writeBehindBuffer).discard(List.of("green:a", "green:b"));
+        Mockito.verify(nearCache).invalidate(List.of("green:a", "green:b"));
+    }
+
+    @Test
+    void batchSizeAboveMaxSizeIsRejected(){
+        List<String> keys = List.of("green:a", "green:b", "green:c", "green:d");
+
+        Assertions.assertThatThrownBy(() -> redisService.registerBatch(keys.stream()
+                        .map(key -> persistence(key, "1")).toList()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("exceeds max size 3");
+        Assertions.assertThatThrownBy(() -> redisService.retrieveBatch(keys))
+                .isInstanceOf(IllegalArgumentException.class);
+        Assertions.assertThatThrownBy(() -> redisService.deleteBatch(keys))
+                .isInstanceOf(IllegalArgumentException.class);
+        Mockito.verifyNoInteractions(writeBehindBuffer, nearCache);
+    }
+}
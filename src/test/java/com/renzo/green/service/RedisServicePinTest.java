@@ -0,0 +1,96 @@
+package com.renzo.green.service;
+
+import com.renzo.green.cache.HotKeyDetector;
+import com.renzo.green.cache.NearCache;
+import com.renzo.green.cache.SingleFlight;
+import com.renzo.green.config.RedisCacheProperties;
+import com.renzo.green.metrics.RedisMetrics;
+import com.renzo.green.persistence.RedisDataPersistence;
+import com.renzo.green.resilience.PendingWriteQueue;
+import com.renzo.green.resilience.RedisCircuitBreaker;
+import com.renzo.green.resilience.StaleValueStore;
+import com.renzo.green.routing.SessionConsistency;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 진행 중인 조회와 쓰기가 겹쳐도 hot key pin 에 이전 값이 남지 않는지 확인합니다.
+ */
+class RedisServicePinTest {
+
+    private final RedisDataPersistence old = RedisDataPersistence.builder().key("hot").value("old").build();
+    private final RedisDataPersistence current = RedisDataPersistence.builder().key("hot").value("new").build();
+
+    private final CountDownLatch fetching = new CountDownLatch(1);
+    private final CountDownLatch written = new CountDownLatch(1);
+
+    private HotKeyDetector hotKeyDetector;
+    private RedisService redisService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp(){
+        var properties = new RedisCacheProperties();
+        properties.getHotKey().setEnabled(true);
+        properties.getHotKey().setWindow(60_000L);
+        properties.getHotKey().getPin().setEnabled(true);
+        hotKeyDetector = Mockito.spy(new HotKeyDetector(properties));
+        Mockito.doReturn(true).when(hotKeyDetector).isHot("hot");
+
+        // 첫 조회는 쓰기가 끝날 때까지 이전 값을 들고 기다립니다.
+        ValueOperations<String, Object> valueOperations = Mockito.mock(ValueOperations.class);
+        Mockito.when(valueOperations.get("hot")).thenAnswer(invocation -> {
+            fetching.countDown();
+            written.await(5, TimeUnit.SECONDS);
+            return old;
+        }).thenReturn(current);
+        RedisTemplate<String, Object> redisTemplate = Mockito.mock(RedisTemplate.class);
+        Mockito.doReturn(valueOperations).when(redisTemplate).opsForValue();
+
+        NearCache nearCache = Mockito.mock(NearCache.class);
+        Mockito.when(nearCache.get(Mockito.anyString(), Mockito.any())).thenAnswer(invocation ->
+                ((Function<String, RedisDataPersistence>) invocation.getArgument(1)).apply(invocation.getArgument(0)));
+
+        var keyIndex = new KeyIndex(redisTemplate, properties);
+        redisService = new RedisService(redisTemplate, nearCache, properties, Mockito.mock(WriteBehindBuffer.class),
+                new RedisMetrics(new SimpleMeterRegistry()), new SingleFlight<>("test", false, 1000),
+                new SlotBatchExecutor(redisTemplate, properties, new RedisProperties()),
+                hotKeyDetector, new RedisCircuitBreaker(properties), new StaleValueStore(properties),
+                new PendingWriteQueue(properties),
+                new ConditionalWriteExecutor(redisTemplate, new RedisProperties(), keyIndex),
+                new BucketedStorage(redisTemplate, properties, new RedisProperties()), keyIndex,
+                Mockito.mock(SessionConsistency.class));
+    }
+
+    @AfterEach
+    void tearDown(){
+        hotKeyDetector.close();
+    }
+
+    @Test
+    void writeDuringReadDoesNotPinOldValue() throws Exception {
+        var read = CompletableFuture.supplyAsync(() -> redisService.retrieveData("hot"));
+        Assertions.assertThat(fetching.await(5, TimeUnit.SECONDS)).isTrue();
+
+        redisService.registerData(current);
+        written.countDown();
+
+        // 쓰기 전에 시작된 조회는 이전 값을 반환할 수 있지만 pin 하지는 않습니다.
+        Assertions.assertThat(read.get(5, TimeUnit.SECONDS).getValue()).isEqualTo("old");
+        Assertions.assertThat(hotKeyDetector.pinned("hot")).isNull();
+        Assertions.assertThat(redisService.retrieveData("hot").getValue()).isEqualTo("new");
+        Assertions.assertThat(hotKeyDetector.pinned("hot")).isSameAs(current);
+    }
+}
@@ -0,0 +1,166 @@
+package com.renzo.green.service;
+
+import com.renzo.green.config.RedisCacheProperties;
+import io.lettuce.core.KeyValue;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.cluster.SlotHash;
+import io.lettuce.core.cluster.api.async.RedisClusterAsyncCommands;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+
+/**
+ * hash tag 로 slot 을 나눈 key 를 섞어서 요청하고, slot 별 command 의 결과가 요청 순서대로 다시 조립되는지 확인합니다.
+ * RedisTemplate 과 Lettuce async command 는 mock 으로 대체합니다.
+ */
+class SlotBatchExecutorTest {
+
+    private static final List<String> KEYS = List.of("{a}1", "{b}1", "{a}2", "{c}1", "{b}2");
+    private static final RuntimeException FAILURE = new IllegalStateException("node down");
+
+    /**
+     * 이 hash tag 의 slot 으로 보낸 command 는 실패합니다.
+     */
+    private String failingTag;
+    private final List<List<String>> commands = new ArrayList<>();
+    private SlotBatchExecutor executor;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws Exception {
+        RedisClusterAsyncCommands<byte[], byte[]> nativeCommands = Mockito.mock(RedisClusterAsyncCommands.class, invocation -> {
+            if (invocation.getRawArguments().length == 0) {
+                return Mockito.RETURNS_DEFAULTS.answer(invocation);
+            }
+            Object argument = invocation.getRawArguments()[0];
+            List<String> keys = argument instanceof Map<?, ?> entries ?
+                    ((Map<byte[], byte[]>) entries).keySet().stream().map(SlotBatchExecutorTest::text).toList() :
+                    Arrays.stream((byte[][]) argument).map(SlotBatchExecutorTest::text).toList();
+            commands.add(keys);
+            if (failingTag != null && keys.get(0).startsWith("{" + failingTag + "}")) {
+                return future(new ExecutionException(FAILURE));
+            }
+            return switch (invocation.getMethod().getName()) {
+                case "mget" -> future(keys.stream()
+                        .map(key -> key.endsWith("2") ? KeyValue.<byte[], byte[]>empty(bytes(key)) :
+                                KeyValue.just(bytes(key), bytes("value-" + key)))
+                        .toList());
+                case "mset" -> future("OK");
+                case "del" -> future((long) keys.size());
+                default -> throw new UnsupportedOperationException(invocation.getMethod().getName());
+            };
+        });
+        RedisConnection connection = Mockito.mock(RedisConnection.class);
+        Mockito.when(connection.getNativeConnection()).thenReturn(nativeCommands);
+
+        RedisTemplate<String, Object> redisTemplate = Mockito.mock(RedisTemplate.class);
+        Mockito.doReturn(RedisSerializer.string()).when(redisTemplate).getKeySerializer();
+        Mockito.doReturn(RedisSerializer.string()).when(redisTemplate).getValueSerializer();
+        Mockito.when(redisTemplate.execute(Mockito.any(RedisCallback.class)))
+                .thenAnswer(invocation -> ((RedisCallback<?>) invocation.getArgument(0)).doInRedis(connection));
+
+        var properties = new RedisCacheProperties();
+        properties.setTopology(RedisCacheProperties.Topology.CLUSTER);
+        executor = new SlotBatchExecutor(redisTemplate, properties, new RedisProperties());
+    }
+
+    /**
+     * get(timeout) 은 result 를 반환하거나, result 가 ExecutionException 이면 던집니다.
+     */
+    @SuppressWarnings("unchecked")
+    private static <V> RedisFuture<V> future(Object result){
+        return Mockito.mock(RedisFuture.class, invocation -> {
+            if (!invocation.getMethod().getName().equals("get")) {
+                return Mockito.RETURNS_DEFAULTS.answer(invocation);
+            }
+            if (result instanceof ExecutionException e) {
+                throw e;
+            }
+            return result;
+        });
+    }
+
+    private static byte[] bytes(String text){
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String text(byte[] bytes){
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int slot(String tag){
+        return SlotHash.getSlot(tag);
+    }
+
+    @Test
+    void groupBySlotKeepsRequestOrder(){
+        Map<Integer, List<Integer>> slots = SlotBatchExecutor.groupBySlot(KEYS.stream()
+                .map(SlotBatchExecutorTest::bytes)
+                .toArray(byte[][]::new));
+
+        Assertions.assertThat(slots.keySet()).containsExactly(slot("a"), slot("b"), slot("c"));
+        Assertions.assertThat(slots.get(slot("a"))).containsExactly(0, 2);
+        Assertions.assertThat(slots.get(slot("b"))).containsExactly(1, 4);
+        Assertions.assertThat(slots.get(slot("c"))).containsExactly(3);
+    }
+
+    @Test
+    void mGetResultsAreInRequestOrder(){
+        List<Object> results = executor.mGet(KEYS);
+
+        Assertions.assertThat(commands).containsExactly(List.of("{a}1", "{a}2"), List.of("{b}1", "{b}2"), List.of("{c}1"));
+        Assertions.assertThat(results).hasSize(KEYS.size());
+        Assertions.assertThat(text((byte[]) results.get(0))).isEqualTo("value-{a}1");
+        Assertions.assertThat(text((byte[]) results.get(1))).isEqualTo("value-{b}1");
+        Assertions.assertThat(results.get(2)).isNull();
+        Assertions.assertThat(text((byte[]) results.get(3))).isEqualTo("value-{c}1");
+        Assertions.assertThat(results.get(4)).isNull();
+    }
+
+    @Test
+    void mGetFailureOnlyAffectsKeysOfFailedSlot(){
+        failingTag = "b";
+
+        List<Object> results = executor.mGet(KEYS);
+
+        Assertions.assertThat(results.get(1)).isSameAs(FAILURE);
+        Assertions.assertThat(results.get(4)).isSameAs(FAILURE);
+        Assertions.assertThat(text((byte[]) results.get(0))).isEqualTo("value-{a}1");
+        Assertions.assertThat(results.get(2)).isNull();
+        Assertions.assertThat(text((byte[]) results.get(3))).isEqualTo("value-{c}1");
+    }
+
+    @Test
+    void mSetFailureOnlyAffectsKeysOfFailedSlot(){
+        failingTag = "c";
+
+        List<Object> results = executor.mSet(KEYS, Function.identity());
+
+        Assertions.assertThat(commands).containsExactly(List.of("{a}1", "{a}2"), List.of("{b}1", "{b}2"), List.of("{c}1"));
+        Assertions.assertThat(results).containsExactly("OK", "OK", "OK", FAILURE, "OK");
+    }
+
+    @Test
+    void deleteSumsSlotsAndFailsOnFailedSlot(){
+        Assertions.assertThat(executor.delete(KEYS)).isEqualTo(5);
+
+        failingTag = "a";
+        Assertions.assertThatThrownBy(() -> executor.delete(KEYS))
+                .isInstanceOf(IllegalStateException.class)
+                .hasCause(FAILURE);
+    }
+}
@@ -0,0 +1,256 @@
+package com.renzo.green.service;
+
+import com.renzo.green.cache.NearCache;
+import com.renzo.green.config.RedisCacheProperties;
+import com.renzo.green.metrics.RedisMetrics;
+import com.renzo.green.persistence.RedisDataPersistence;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+/**
+ * flush 는 SlotBatchExecutor.mSet 으로 기록되며, 기록된 chunk 는 writes 에 순서대로 쌓입니다.
+ */
+class WriteBehindBufferTest {
+
+    private static final RuntimeException FAILURE = new IllegalStateException("write failed");
+
+    private final BlockingQueue<List<RedisDataPersistence>> writes = new LinkedBlockingQueue<>();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private volatile Function<List<RedisDataPersistence>, List<Object>> writer = WriteBehindBufferTest::succeed;
+
+    private RedisCacheProperties properties;
+    private WriteBehindBuffer buffer;
+
+    @BeforeEach
+    void setUp(){
+        properties = new RedisCacheProperties();
+        properties.getWriteBehind().setEnabled(true);
+        properties.getWriteBehind().setCapacity(100);
+        properties.getWriteBehind().setBatchSize(100);
+        properties.getWriteBehind().setFlushInterval(60_000L);
+        properties.getWriteBehind().setOfferTimeout(10L);
+        properties.getWriteBehind().setDrainTimeout(1_000L);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        release.countDown();
+        if (buffer != null) {
+            buffer.drain();
+        }
+    }
+
+    private void start(){
+        SlotBatchExecutor slotBatchExecutor = Mockito.mock(SlotBatchExecutor.class);
+        Mockito.when(slotBatchExecutor.isEnabled()).thenReturn(true);
+        Mockito.when(slotBatchExecutor.mSet(Mockito.anyList(), Mockito.any())).thenAnswer(invocation -> {
+            List<RedisDataPersistence> chunk = new ArrayList<>(invocation.getArgument(0));
+            writes.add(chunk);
+            return writer.apply(chunk);
+        });
+        buffer = new WriteBehindBuffer(null, Mockito.mock(NearCache.class), properties, Mockito.mock(RedisMetrics.class),
+                slotBatchExecutor, Mockito.mock(BucketedStorage.class), new KeyIndex(null, properties));
+        buffer.start();
+    }
+
+    private static List<Object> succeed(List<RedisDataPersistence> chunk){
+        return Collections.nCopies(chunk.size(), Boolean.TRUE);
+    }
+
+    private static RedisDataPersistence persistence(String key, String value){
+        return RedisDataPersistence.builder().key(key).value(value).build();
+    }
+
+    private List<RedisDataPersistence> nextWrite() throws InterruptedException {
+        List<RedisDataPersistence> chunk = writes.poll(5, TimeUnit.SECONDS);
+        Assertions.assertThat(chunk).as("flush").isNotNull();
+        return chunk;
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            Assertions.assertThat(System.nanoTime() - deadline).as("timeout").isNegative();
+            Thread.sleep(5);
+        }
+    }
+
+    /**
+     * 다른 값이 먼저 기록되는 동안 release 를 기다립니다.
+     */
+    private List<Object> blockUntilReleased(List<RedisDataPersistence> chunk){
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return succeed(chunk);
+    }
+
+    @Test
+    void sameKeyWritesAreCoalesced() throws InterruptedException {
+        properties.getWriteBehind().setBatchSize(2);
+        start();
+
+        Assertions.assertThat(buffer.offer(persistence("green:a", "1"))).isTrue();
+        Assertions.assertThat(buffer.offer(persistence("green:a", "2"))).isTrue();
+        Assertions.assertThat(buffer.offer(persistence("green:a", "3"))).isTrue();
+        Assertions.assertThat(buffer.peek("green:a").getValue()).isEqualTo("3");
+        Assertions.assertThat(writes).isEmpty();
+
+        Assertions.assertThat(buffer.offer(persistence("green:b", "1"))).isTrue();
+        List<RedisDataPersistence> chunk = nextWrite();
+
+        Assertions.assertThat(chunk).extracting(RedisDataPersistence::getKey).containsExactlyInAnyOrder("green:a", "green:b");
+        Assertions.assertThat(chunk).filteredOn(p -> p.getKey().equals("green:a"))
+                .extracting(RedisDataPersistence::getValue).containsExactly("3");
+        await(() -> buffer.stats().getWritten() == 2);
+        Assertions.assertThat(buffer.stats().getEnqueued()).isEqualTo(4);
+        Assertions.assertThat(buffer.stats().getCoalescingRatio()).isEqualTo(2.0);
+    }
+
+    @Test
+    void flushOnBatchSize() throws InterruptedException {
+        properties.getWriteBehind().setBatchSize(3);
+        start();
+
+        buffer.offer(persistence("green:a", "1"));
+        buffer.offer(persistence("green:b", "1"));
+        Assertions.assertThat(writes.poll(200, TimeUnit.MILLISECONDS)).isNull();
+
+        buffer.offer(persistence("green:c", "1"));
+        Assertions.assertThat(nextWrite()).hasSize(3);
+    }
+
+    @Test
+    void flushOnInterval() throws InterruptedException {
+        properties.getWriteBehind().setFlushInterval(50L);
+        start();
+
+        long started = System.nanoTime();
+        buffer.offer(persistence("green:a", "1"));
+
+        Assertions.assertThat(nextWrite()).extracting(RedisDataPersistence::getKey).containsExactly("green:a");
+        Assertions.assertThat(System.nanoTime() - started).isLessThan(TimeUnit.SECONDS.toNanos(2));
+        await(() -> buffer.peek("green:a") == null);
+    }
+
+    @Test
+    void peekReturnsInflightValueDuringFlush() throws InterruptedException {
+        properties.getWriteBehind().setBatchSize(1);
+        writer = this::blockUntilReleased;
+        start();
+
+        buffer.offer(persistence("green:a", "1"));
+        nextWrite();
+        Assertions.assertThat(buffer.peek("green:a").getValue()).isEqualTo("1");
+        Assertions.assertThat(buffer.stats().getQueueDepth()).isEqualTo(1);
+
+        release.countDown();
+        await(() -> buffer.stats().getWritten() == 1);
+        Assertions.assertThat(buffer.peek("green:a")).isNull();
+    }
+
+    @Test
+    void failedWriteIsRequeued() throws InterruptedException {
+        properties.getWriteBehind().setBatchSize(1);
+        properties.getWriteBehind().setFlushInterval(50L);
+        writer = chunk -> {
+            writer = WriteBehindBufferTest::succeed;
+            return Collections.nCopies(chunk.size(), FAILURE);
+        };
+        start();
+
+        buffer.offer(persistence("green:a", "1"));
+
+        Assertions.assertThat(nextWrite()).extracting(RedisDataPersistence::getValue).containsExactly("1");
+        Assertions.assertThat(nextWrite()).extracting(RedisDataPersistence::getValue).containsExactly("1");
+        await(() -> buffer.stats().getWritten() == 1);
+        Assertions.assertThat(buffer.stats().getFailed()).isEqualTo(1);
+        Assertions.assertThat(buffer.peek("green:a")).isNull();
+    }
+
+    @Test
+    void failedWriteIsNotRequeuedOverNewerWrite() throws InterruptedException {
+        properties.getWriteBehind().setBatchSize(1);
+        properties.getWriteBehind().setFlushInterval(50L);
+        writer = chunk -> {
+            writer = WriteBehindBufferTest::succeed;
+            blockUntilReleased(chunk);
+            return Collections.nCopies(chunk.size(), FAILURE);
+        };
+        start();
+
+        buffer.offer(persistence("green:a", "1"));
+        nextWrite();
+        Assertions.assertThat(buffer.offer(persistence("green:a", "2"), 0)).isTrue();
+        release.countDown();
+
+        Assertions.assertThat(nextWrite()).extracting(RedisDataPersistence::getValue).containsExactly("2");
+        await(() -> buffer.stats().getWritten() == 1);
+        Assertions.assertThat(writes.poll(200, TimeUnit.MILLISECONDS)).isNull();
+        Assertions.assertThat(buffer.peek("green:a")).isNull();
+    }
+
+    @Test
+    void failedWriteIsNotRequeuedAfterDiscard() throws InterruptedException {
+        properties.getWriteBehind().setBatchSize(1);
+        properties.getWriteBehind().setFlushInterval(50L);
+        writer = chunk -> {
+            blockUntilReleased(chunk);
+            return Collections.nCopies(chunk.size(), FAILURE);
+        };
+        start();
+
+        buffer.offer(persistence("green:a", "1"));
+        nextWrite();
+        buffer.discard(List.of("green:a"));
+        release.countDown();
+
+        await(() -> buffer.stats().getFailed() == 1);
+        Assertions.assertThat(writes.poll(200, TimeUnit.MILLISECONDS)).isNull();
+        Assertions.assertThat(buffer.peek("green:a")).isNull();
+    }
+
+    @Test
+    void fullBufferRejectsNewKeysButAcceptsBufferedKeys() throws InterruptedException {
+        properties.getWriteBehind().setCapacity(1);
+        properties.getWriteBehind().setBatchSize(1);
+        writer = this::blockUntilReleased;
+        start();
+
+        Assertions.assertThat(buffer.offer(persistence("green:a", "1"))).isTrue();
+        nextWrite();
+        Assertions.assertThat(buffer.offer(persistence("green:b", "1"))).isTrue();
+
+        // 새 key 는 offerTimeout 후 거절되어 호출자가 직접 기록합니다.
+        Assertions.assertThat(buffer.offer(persistence("green:c", "1"))).isFalse();
+        Assertions.assertThat(buffer.stats().getRejected()).isEqualTo(1);
+
+        // 기록 중(inflight)이거나 대기 중인 key 는 가득 차 있어도 버퍼를 거칩니다.
+        Assertions.assertThat(buffer.offer(persistence("green:a", "2"), 0)).isTrue();
+        Assertions.assertThat(buffer.offer(persistence("green:b", "2"), 0)).isTrue();
+        Assertions.assertThat(buffer.peek("green:a").getValue()).isEqualTo("2");
+
+        release.countDown();
+        await(() -> buffer.peek("green:a") == null && buffer.peek("green:b") == null);
+        List<RedisDataPersistence> written = new ArrayList<>();
+        writes.forEach(written::addAll);
+        Assertions.assertThat(written).extracting(RedisDataPersistence::getKey).doesNotContain("green:c");
+        Assertions.assertThat(written).filteredOn(p -> p.getKey().equals("green:a"))
+                .extracting(RedisDataPersistence::getValue).containsExactly("2");
+    }
+}